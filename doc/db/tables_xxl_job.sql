@@ -61,7 +61,8 @@ CREATE TABLE `xxl_job_info`
     `trigger_status`            tinyint(4)   NOT NULL DEFAULT '0' COMMENT '调度状态：0-停止，1-运行',
     `trigger_last_time`         bigint(13)   NOT NULL DEFAULT '0' COMMENT '上次调度时间',
     `trigger_next_time`         bigint(13)   NOT NULL DEFAULT '0' COMMENT '下次调度时间',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    KEY `i_trigger` (`trigger_status`, `trigger_next_time`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4;
 
@@ -118,6 +119,89 @@ CREATE TABLE `xxl_job_log_report`
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4;
 
+CREATE TABLE `xxl_job_log_running`
+(
+    `log_id`           bigint(20)   NOT NULL COMMENT '调度日志ID',
+    `job_id`           int(11)      NOT NULL COMMENT '任务，主键ID',
+    `executor_address` varchar(255) NOT NULL COMMENT '执行器地址，本次执行的地址',
+    `trigger_time`     datetime     NOT NULL COMMENT '调度-时间',
+    PRIMARY KEY (`log_id`),
+    KEY `I_trigger_time` (`trigger_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+# upgrade (one-time, no-op on new install): track running log written before upgrade, for lost job detect
+INSERT IGNORE INTO `xxl_job_log_running` (`log_id`, `job_id`, `executor_address`, `trigger_time`)
+SELECT t.id, t.job_id, t.executor_address, t.trigger_time
+FROM `xxl_job_log` AS t
+WHERE t.trigger_code = 200
+  AND t.handle_code = 0
+  AND t.executor_address IS NOT NULL
+  AND t.trigger_time IS NOT NULL;
+
+CREATE TABLE `xxl_job_log_alarm`
+(
+    `log_id`      bigint(20)  NOT NULL COMMENT '调度日志ID，失败待告警',
+    `job_id`      int(11)     NOT NULL COMMENT '任务，主键ID',
+    `add_time`    datetime    NOT NULL,
+    `claim_token` varchar(64)          DEFAULT NULL COMMENT '领取标识，处理中的调度中心',
+    `claim_time`  datetime             DEFAULT NULL COMMENT '领取时间，超时可重新领取',
+    PRIMARY KEY (`log_id`),
+    KEY `I_claim_token` (`claim_token`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+# upgrade (one-time, no-op on new install): fail log not alarmed before upgrade, to alarm (and fail retry)
+INSERT IGNORE INTO `xxl_job_log_alarm` (`log_id`, `job_id`, `add_time`)
+SELECT t.id, t.job_id, now()
+FROM `xxl_job_log` AS t
+WHERE !(
+        (t.trigger_code IN (0, 200) AND t.handle_code = 0)
+        OR
+        (t.handle_code = 200)
+    )
+  AND t.alarm_status = 0;
+
+CREATE TABLE `xxl_job_stat`
+(
+    `id`             bigint(20) NOT NULL AUTO_INCREMENT,
+    `stat_type`      tinyint(4) NOT NULL COMMENT '统计粒度：1-小时、2-天、3-月',
+    `stat_time`      datetime   NOT NULL COMMENT '统计时间，粒度起始时间（按调度时间）',
+    `job_group`      int(11)    NOT NULL COMMENT '执行器主键ID',
+    `job_id`         int(11)    NOT NULL COMMENT '任务，主键ID',
+    `running_count`  int(11)    NOT NULL DEFAULT '0' COMMENT '运行中-日志数量',
+    `suc_count`      int(11)    NOT NULL DEFAULT '0' COMMENT '执行成功-日志数量',
+    `fail_count`     int(11)    NOT NULL DEFAULT '0' COMMENT '执行失败-日志数量',
+    `total_duration` bigint(20) NOT NULL DEFAULT '0' COMMENT '执行总耗时，毫秒',
+    `max_duration`   bigint(20) NOT NULL DEFAULT '0' COMMENT '执行最大耗时，毫秒',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `i_stat` (`stat_type`, `stat_time`, `job_group`, `job_id`),
+    KEY `i_job_id` (`job_id`, `stat_type`, `stat_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE `xxl_job_schedule_change`
+(
+    `id`       bigint(20) NOT NULL AUTO_INCREMENT,
+    `job_id`   int(11)    NOT NULL COMMENT '任务，主键ID，调度信息变更（新增、更新、启停、删除）',
+    `add_time` datetime   NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `I_add_time` (`add_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+## —————————————————————— id segment ——————————————————
+
+CREATE TABLE `xxl_job_id_segment`
+(
+    `biz_tag`     varchar(50) NOT NULL COMMENT '业务标识，如 job_log',
+    `max_id`      bigint(20)  NOT NULL DEFAULT '0' COMMENT '已分配最大ID',
+    `step`        int(11)     NOT NULL DEFAULT '1000' COMMENT '号段步长',
+    `update_time` datetime             DEFAULT NULL,
+    PRIMARY KEY (`biz_tag`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
 ## —————————————————————— lock ——————————————————
 
 CREATE TABLE `xxl_job_lock`
@@ -179,6 +263,9 @@ INSERT INTO `xxl_job_user`(`id`, `username`, `password`, `role`, `permission`)
 VALUES (1, 'admin', '8d969eef6ecad3c29a3a629280e686cf0c3f5d5a86aff3ca12020c923adc6c92', 1, NULL);
 
 INSERT INTO `xxl_job_lock` (`lock_name`)
-VALUES ('schedule_lock');
+VALUES ('schedule_lock'), ('log_report_lock');
+
+INSERT INTO `xxl_job_id_segment` (`biz_tag`, `max_id`, `step`, `update_time`)
+VALUES ('job_log', 0, 1000, now());
 
 commit;
@@ -23,45 +23,10 @@ public class WebhookProperties {
     private String urls;
 
     /**
-     * Request timeout in milliseconds
+     * Request timeout in milliseconds (connect and read), retry by alarm dispatcher "xxl.job.alarm.dispatch.*"
      */
     private int timeout = 5000;
 
-    /**
-     * Retry configuration
-     */
-    private Retry retry = new Retry();
-
-    public static class Retry {
-        private boolean enabled = true;
-        private int maxAttempts = 3;
-        private int delay = 1000; // milliseconds
-
-        public boolean isEnabled() {
-            return enabled;
-        }
-
-        public void setEnabled(boolean enabled) {
-            this.enabled = enabled;
-        }
-
-        public int getMaxAttempts() {
-            return maxAttempts;
-        }
-
-        public void setMaxAttempts(int maxAttempts) {
-            this.maxAttempts = maxAttempts;
-        }
-
-        public int getDelay() {
-            return delay;
-        }
-
-        public void setDelay(int delay) {
-            this.delay = delay;
-        }
-    }
-
     // Getters and Setters
 
     public boolean isEnabled() {
@@ -87,12 +52,4 @@ public class WebhookProperties {
     public void setTimeout(int timeout) {
         this.timeout = timeout;
     }
-
-    public Retry getRetry() {
-        return retry;
-    }
-
-    public void setRetry(Retry retry) {
-        this.retry = retry;
-    }
 }
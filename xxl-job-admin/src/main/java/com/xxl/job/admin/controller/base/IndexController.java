@@ -97,6 +97,17 @@ public class IndexController {
 		return chartInfo;
 	}
 
+	@RequestMapping("/statInfo")
+	@ResponseBody
+	public Response<Map<String, Object>> statInfo(HttpServletRequest request,
+												  @RequestParam("startDate") Date startDate,
+												  @RequestParam("endDate") Date endDate,
+												  @RequestParam(value = "jobGroup", required = false, defaultValue = "0") int jobGroup,
+												  @RequestParam(value = "jobId", required = false, defaultValue = "0") int jobId) {
+		Response<LoginInfo> loginInfoResponse = XxlSsoHelper.loginCheckWithAttr(request);
+		return xxlJobService.statInfo(loginInfoResponse.getData(), startDate, endDate, jobGroup, jobId);
+	}
+
 	/**
 	 * help
 	 */
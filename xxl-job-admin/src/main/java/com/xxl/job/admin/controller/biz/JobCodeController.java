@@ -4,6 +4,7 @@ import com.xxl.job.admin.mapper.XxlJobInfoMapper;
 import com.xxl.job.admin.mapper.XxlJobLogGlueMapper;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLogGlue;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.admin.util.JobGroupPermissionUtil;
 import com.xxl.job.core.glue.GlueTypeEnum;
@@ -93,6 +94,7 @@ public class JobCodeController {
 
 		existsJobInfo.setUpdateTime(new Date());
 		xxlJobInfoMapper.update(existsJobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateJob(existsJobInfo.getId());
 
 		// log old code
 		XxlJobLogGlue xxlJobLogGlue = new XxlJobLogGlue();
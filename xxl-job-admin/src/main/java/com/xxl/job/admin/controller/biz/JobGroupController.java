@@ -3,6 +3,8 @@ package com.xxl.job.admin.controller.biz;
 import com.xxl.job.admin.constant.Consts;
 import com.xxl.job.admin.model.XxlJobGroup;
 import com.xxl.job.admin.model.XxlJobRegistry;
+import com.xxl.job.admin.scheduler.client.ExecutorClientMetric;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.admin.mapper.XxlJobGroupMapper;
 import com.xxl.job.admin.mapper.XxlJobInfoMapper;
@@ -155,6 +157,7 @@ public class JobGroupController {
 		xxlJobGroup.setUpdateTime(new Date());
 
 		int ret = xxlJobGroupMapper.update(xxlJobGroup);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateGroup(xxlJobGroup.getId());
 		return (ret>0)?Response.ofSuccess():Response.ofFail();
 	}
 
@@ -209,6 +212,7 @@ public class JobGroupController {
 
         // remove group
 		int ret = xxlJobGroupMapper.remove(id);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateGroup(id);
         // remove registry-data
         xxlJobRegistryMapper.removeByRegistryGroupAndKey(RegistType.EXECUTOR.name(), xxlJobGroup.getAppname());
 		return (ret>0)?Response.ofSuccess():Response.ofFail();
@@ -222,4 +226,12 @@ public class JobGroupController {
 		return jobGroup!=null?Response.ofSuccess(jobGroup):Response.ofFail();
 	}
 
+	@RequestMapping("/clientMetric")
+	@ResponseBody
+	@XxlSso(role = Consts.ADMIN_ROLE)
+	public Response<List<ExecutorClientMetric>> clientMetric(){
+		// executor client metric, in last minute (circuit state, error rate, latency)
+		return Response.ofSuccess(XxlJobAdminBootstrap.getInstance().getExecutorClientRegistry().metrics());
+	}
+
 }
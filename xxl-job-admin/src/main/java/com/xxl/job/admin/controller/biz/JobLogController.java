@@ -6,8 +6,10 @@ import com.xxl.job.admin.mapper.XxlJobLogMapper;
 import com.xxl.job.admin.model.XxlJobGroup;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.complete.HandleMsg;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.scheduler.exception.XxlJobException;
+import com.xxl.job.admin.scheduler.trigger.TriggerMsg;
 import com.xxl.job.admin.service.XxlJobService;
 import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.admin.util.JobGroupPermissionUtil;
@@ -152,6 +154,12 @@ public class JobLogController {
 		List<XxlJobLog> list = xxlJobLogMapper.pageList(offset, pagesize, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus);
 		int list_count = xxlJobLogMapper.pageListCount(offset, pagesize, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus);
 
+		// render msg (stored structured)
+		for (XxlJobLog item : list) {
+			item.setTriggerMsg(TriggerMsg.render(item));
+			item.setHandleMsg(HandleMsg.render(item));
+		}
+
 		// package result
 		PageModel<XxlJobLog> pageModel = new PageModel<>();
 		pageModel.setData(list);
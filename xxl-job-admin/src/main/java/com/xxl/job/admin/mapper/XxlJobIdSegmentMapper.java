@@ -0,0 +1,32 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobIdSegment;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * id segment
+ *
+ * @author xuxueli 2026-10-16
+ */
+@Mapper
+public interface XxlJobIdSegmentMapper {
+
+    /**
+     * init segment row, ignore if exists
+     */
+    int init(@Param("bizTag") String bizTag,
+             @Param("step") int step);
+
+    /**
+     * lease next segment, max_id move forward one step (and not less than "minMaxId")
+     */
+    int lease(@Param("bizTag") String bizTag,
+              @Param("minMaxId") long minMaxId);
+
+    /**
+     * load segment, get the lease just now when in same transaction
+     */
+    XxlJobIdSegment load(@Param("bizTag") String bizTag);
+
+}
@@ -42,24 +42,31 @@ public interface XxlJobInfoMapper {
 	public int findAllCount();
 
 	/**
-	 * find schedule job, limit "trigger_status = 1"
+	 * find all running job, only "id, trigger_status, trigger_next_time", for schedule index
 	 *
-	 * @param maxNextTime
-	 * @param pagesize
 	 * @return
 	 */
-	public List<XxlJobInfo> scheduleJobQuery(@Param("maxNextTime") long maxNextTime, @Param("pagesize") int pagesize );
+	public List<XxlJobInfo> scheduleIndexQuery();
 
 	/**
-	 * update schedule job
+	 * load schedule job by ids
+	 *
+	 * @param ids
+	 * @return
+	 */
+	public List<XxlJobInfo> scheduleJobLoadByIds(@Param("ids") List<Integer> ids);
+
+	/**
+	 * update schedule job, batch (multi-row "CASE id" update)
 	 *
 	 * 	1、can only update "trigger_status = 1", Avoid stopping tasks from being opened
-	 * 	2、valid "triggerStatus gte 0", filter illegal state
+	 * 	2、"triggerStatus lt 0" keep origin status, filter illegal state
+	 * 	3、caller should limit list size, avoid huge sql
 	 *
-	 * @param xxlJobInfo
+	 * @param list
 	 * @return
 	 */
-	public int scheduleUpdate(XxlJobInfo xxlJobInfo);
+	public int scheduleUpdateBatch(@Param("list") List<XxlJobInfo> list);
 
 
 }
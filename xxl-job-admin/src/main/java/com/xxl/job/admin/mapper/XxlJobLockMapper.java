@@ -1,6 +1,9 @@
 package com.xxl.job.admin.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * job lock
@@ -15,4 +18,19 @@ public interface XxlJobLockMapper {
      */
     String scheduleLock();
 
+    /**
+     * init lock row, ignore if exists
+     */
+    int scheduleLockInit(@Param("lockName") String lockName);
+
+    /**
+     * get schedule lock of partitions, lock in order of lock name
+     */
+    List<String> schedulePartitionLock(@Param("lockNameList") List<String> lockNameList);
+
+    /**
+     * get lock by name (e.g. log report reconcile), lock row init by "scheduleLockInit"
+     */
+    String lock(@Param("lockName") String lockName);
+
 }
\ No newline at end of file
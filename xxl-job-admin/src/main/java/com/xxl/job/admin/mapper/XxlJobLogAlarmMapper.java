@@ -0,0 +1,41 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * job log alarm, outbox of fail log wait for alarm (and fail retry)
+ *
+ * @author xuxueli 2026-10-16
+ */
+@Mapper
+public interface XxlJobLogAlarmMapper {
+
+    /**
+     * save fail log, ignore if exists
+     */
+    int saveBatch(@Param("list") List<XxlJobLog> list);
+
+    /**
+     * claim fail log not claimed (or claim expired), by token
+     */
+    int claim(@Param("claimToken") String claimToken,
+              @Param("claimTime") Date claimTime,
+              @Param("expireTime") Date expireTime,
+              @Param("pagesize") int pagesize);
+
+    /**
+     * find fail log claimed by token
+     */
+    List<Long> findClaimedLogIds(@Param("claimToken") String claimToken);
+
+    /**
+     * remove fail log, after alarm
+     */
+    int removeByLogIds(@Param("logIds") List<Long> logIds);
+
+}
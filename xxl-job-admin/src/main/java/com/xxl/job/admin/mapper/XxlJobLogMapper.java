@@ -33,11 +33,21 @@ public interface XxlJobLogMapper {
 	
 	public XxlJobLog load(@Param("id") long id);
 
+	public List<XxlJobLog> loadByIds(@Param("ids") List<Long> ids);
+
 	public long save(XxlJobLog xxlJobLog);
 
 	public int updateTriggerInfo(XxlJobLog xxlJobLog);
 
 	public int updateHandleInfo(XxlJobLog xxlJobLog);
+
+	public long findMaxId();
+
+	public int saveBatch(@Param("list") List<XxlJobLog> list);
+
+	public int updateTriggerInfoBatch(@Param("list") List<XxlJobLog> list);
+
+	public int updateHandleInfoBatch(@Param("list") List<XxlJobLog> list);
 	
 	public int delete(@Param("jobId") int jobId);
 
@@ -51,12 +61,8 @@ public interface XxlJobLogMapper {
 									  @Param("pagesize") int pagesize);
 	public int clearLog(@Param("logIds") List<Long> logIds);
 
-	public List<Long> findFailJobLogIds(@Param("pagesize") int pagesize);
-
 	public int updateAlarmStatus(@Param("logId") long logId,
 								 @Param("oldAlarmStatus") int oldAlarmStatus,
 								 @Param("newAlarmStatus") int newAlarmStatus);
 
-	public List<Long> findLostJobIds(@Param("losedTime") Date losedTime);
-
 }
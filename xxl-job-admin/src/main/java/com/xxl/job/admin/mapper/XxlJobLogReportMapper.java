@@ -20,6 +20,11 @@ public interface XxlJobLogReportMapper {
 
 	public int saveOrUpdate(XxlJobLogReport xxlJobLogReport);
 
+	/**
+	 * save or increment report count, by count delta of each trigger day
+	 */
+	public int saveOrIncrementBatch(@Param("reportList") List<XxlJobLogReport> reportList);
+
 	public List<XxlJobLogReport> queryLogReport(@Param("triggerDayFrom") Date triggerDayFrom,
 												@Param("triggerDayTo") Date triggerDayTo);
 
@@ -0,0 +1,40 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * job log running, in-flight log (trigger success, not handled yet)
+ *
+ * @author xuxueli 2026-10-16
+ */
+@Mapper
+public interface XxlJobLogRunningMapper {
+
+    /**
+     * save running log, copy from log still running (trigger success, not handled), ignore if exists
+     */
+    int saveByLogIds(@Param("logIds") List<Long> logIds);
+
+    /**
+     * remove running log, after handled
+     */
+    int removeByLogIds(@Param("logIds") List<Long> logIds);
+
+    /**
+     * find lost log, running before "losedTime" and executor offline
+     *
+     * @return lost log, with id, job id, job group, executor address and trigger time
+     */
+    List<XxlJobLog> findLostLogs(@Param("losedTime") Date losedTime);
+
+    /**
+     * remove running log already handled or cleared
+     */
+    int removeFinished();
+
+}
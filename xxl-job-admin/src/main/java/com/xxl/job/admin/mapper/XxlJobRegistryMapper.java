@@ -21,11 +21,22 @@ public interface XxlJobRegistryMapper {
     public List<XxlJobRegistry> findAll(@Param("timeout") int timeout,
                                         @Param("nowTime") Date nowTime);
 
+    public List<XxlJobRegistry> findAllByRegistryGroup(@Param("registryGroup") String registryGroup,
+                                                       @Param("timeout") int timeout,
+                                                       @Param("nowTime") Date nowTime);
+
+    public List<XxlJobRegistry> findAllByRegistryKey(@Param("registryGroup") String registryGroup,
+                                                     @Param("registryKey") String registryKey,
+                                                     @Param("timeout") int timeout,
+                                                     @Param("nowTime") Date nowTime);
+
     public int registrySaveOrUpdate(@Param("registryGroup") String registryGroup,
                             @Param("registryKey") String registryKey,
                             @Param("registryValue") String registryValue,
                             @Param("updateTime") Date updateTime);
 
+    public int registrySaveOrUpdateBatch(@Param("registryList") List<XxlJobRegistry> registryList);
+
     /*public int registryUpdate(@Param("registryGroup") String registryGroup,
                               @Param("registryKey") String registryKey,
                               @Param("registryValue") String registryValue,
@@ -40,6 +51,12 @@ public interface XxlJobRegistryMapper {
                           @Param("registryKey") String registryKey,
                           @Param("registryValue") String registryValue);
 
+    public int registryDeleteDead(@Param("registryGroup") String registryGroup,
+                                  @Param("registryKey") String registryKey,
+                                  @Param("registryValue") String registryValue,
+                                  @Param("timeout") int timeout,
+                                  @Param("nowTime") Date nowTime);
+
     public int removeByRegistryGroupAndKey(@Param("registryGroup") String registryGroup,
                                            @Param("registryKey") String registryKey);
 
@@ -0,0 +1,39 @@
+package com.xxl.job.admin.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * job schedule change, job changed (add/update/start/stop/remove) by one admin, applied to schedule index of others
+ *
+ * @author xuxueli 2026-10-16
+ */
+@Mapper
+public interface XxlJobScheduleChangeMapper {
+
+    /**
+     * save job change
+     */
+    int save(@Param("jobId") int jobId);
+
+    /**
+     * max change id, 0 if empty
+     */
+    long findMaxId();
+
+    /**
+     * find changed job id, change id in "(fromId, toId]"
+     */
+    List<Integer> findJobIds(@Param("fromId") long fromId,
+                             @Param("toId") long toId);
+
+    /**
+     * clean change, added before "clearBeforeTime"
+     */
+    int clean(@Param("clearBeforeTime") Date clearBeforeTime,
+              @Param("pagesize") int pagesize);
+
+}
@@ -0,0 +1,69 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobStat;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * job stat, by hour / day / month
+ *
+ * @author xuxueli 2026-10-16
+ */
+@Mapper
+public interface XxlJobStatMapper {
+
+    /**
+     * save or increment stat, by count delta of each stat time and job (max duration keep the max)
+     */
+    int saveOrIncrementBatch(@Param("statList") List<XxlJobStat> statList);
+
+    /**
+     * stat trend, sum by stat time
+     *
+     * @param jobGroup      filter by job group, ignore if less than or equal to 0
+     * @param jobGroupList  filter by job group list (e.g. permitted), ignore if null; not empty
+     * @param jobId         filter by job, ignore if less than or equal to 0
+     */
+    List<XxlJobStat> queryStatTrend(@Param("statType") int statType,
+                                    @Param("statTimeFrom") Date statTimeFrom,
+                                    @Param("statTimeTo") Date statTimeTo,
+                                    @Param("jobGroup") int jobGroup,
+                                    @Param("jobGroupList") List<Integer> jobGroupList,
+                                    @Param("jobId") int jobId);
+
+    /**
+     * stat of job, sum by job, ordered by log count desc
+     *
+     * @param jobGroup      filter by job group, ignore if less than or equal to 0
+     * @param jobGroupList  filter by job group list (e.g. permitted), ignore if null; not empty
+     */
+    List<XxlJobStat> queryStatByJob(@Param("statType") int statType,
+                                    @Param("statTimeFrom") Date statTimeFrom,
+                                    @Param("statTimeTo") Date statTimeTo,
+                                    @Param("jobGroup") int jobGroup,
+                                    @Param("jobGroupList") List<Integer> jobGroupList,
+                                    @Param("pagesize") int pagesize);
+
+    /**
+     * stat of job group, sum by job group, ordered by log count desc
+     *
+     * @param jobGroup      filter by job group, ignore if less than or equal to 0
+     * @param jobGroupList  filter by job group list (e.g. permitted), ignore if null; not empty
+     */
+    List<XxlJobStat> queryStatByGroup(@Param("statType") int statType,
+                                      @Param("statTimeFrom") Date statTimeFrom,
+                                      @Param("statTimeTo") Date statTimeTo,
+                                      @Param("jobGroup") int jobGroup,
+                                      @Param("jobGroupList") List<Integer> jobGroupList);
+
+    /**
+     * clear expired stat of stat type, max "pagesize" once
+     */
+    int clearStat(@Param("statType") int statType,
+                  @Param("clearBeforeTime") Date clearBeforeTime,
+                  @Param("pagesize") int pagesize);
+
+}
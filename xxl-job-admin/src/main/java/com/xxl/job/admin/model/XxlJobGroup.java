@@ -4,6 +4,7 @@ import com.xxl.tool.core.StringTool;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -20,13 +21,16 @@ public class XxlJobGroup {
     private Date updateTime;
 
     // registry list
-    private List<String> registryList;  // 执行器地址列表(系统注册)
+    private List<String> registryList;  // 执行器地址列表(系统注册)，parsed from addressList once, read-only
     public List<String> getRegistryList() {
-        if (StringTool.isNotBlank(addressList)) {
-            registryList = new ArrayList<>(Arrays.asList(addressList.split(",")));
+        if (registryList == null && StringTool.isNotBlank(addressList)) {
+            registryList = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(addressList.split(","))));
         }
         return registryList;
     }
+    public void setRegistryList(List<String> registryList) {
+        this.registryList = registryList;
+    }
 
     public int getId() {
         return id;
@@ -74,6 +78,7 @@ public class XxlJobGroup {
 
     public void setAddressList(String addressList) {
         this.addressList = addressList;
+        this.registryList = null;       // re-parse when used
     }
 
 }
@@ -0,0 +1,49 @@
+package com.xxl.job.admin.model;
+
+import java.util.Date;
+
+/**
+ * id segment, lease id range by step
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class XxlJobIdSegment {
+
+    private String bizTag;
+    private long maxId;
+    private int step;
+    private Date updateTime;
+
+    public String getBizTag() {
+        return bizTag;
+    }
+
+    public void setBizTag(String bizTag) {
+        this.bizTag = bizTag;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public void setMaxId(long maxId) {
+        this.maxId = maxId;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public void setStep(int step) {
+        this.step = step;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.xxl.job.admin.model;
+
+import java.util.Date;
+
+/**
+ * job stat, count of job by hour / day / month (by trigger time)
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class XxlJobStat {
+
+    public static final int STAT_TYPE_HOUR = 1;
+    public static final int STAT_TYPE_DAY = 2;
+    public static final int STAT_TYPE_MONTH = 3;
+
+    private long id;
+
+    private int statType;       // 统计粒度：1-小时、2-天、3-月
+    private Date statTime;      // 统计时间，粒度起始时间
+    private int jobGroup;
+    private int jobId;
+
+    private int runningCount;
+    private int sucCount;
+    private int failCount;
+    private long totalDuration;
+    private long maxDuration;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getStatType() {
+        return statType;
+    }
+
+    public void setStatType(int statType) {
+        this.statType = statType;
+    }
+
+    public Date getStatTime() {
+        return statTime;
+    }
+
+    public void setStatTime(Date statTime) {
+        this.statTime = statTime;
+    }
+
+    public int getJobGroup() {
+        return jobGroup;
+    }
+
+    public void setJobGroup(int jobGroup) {
+        this.jobGroup = jobGroup;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    public void setRunningCount(int runningCount) {
+        this.runningCount = runningCount;
+    }
+
+    public int getSucCount() {
+        return sucCount;
+    }
+
+    public void setSucCount(int sucCount) {
+        this.sucCount = sucCount;
+    }
+
+    public int getFailCount() {
+        return failCount;
+    }
+
+    public void setFailCount(int failCount) {
+        this.failCount = failCount;
+    }
+
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    public void setTotalDuration(long totalDuration) {
+        this.totalDuration = totalDuration;
+    }
+
+    public long getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(long maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+}
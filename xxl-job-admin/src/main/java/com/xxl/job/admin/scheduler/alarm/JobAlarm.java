@@ -3,6 +3,8 @@ package com.xxl.job.admin.scheduler.alarm;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
 
+import java.util.List;
+
 /**
  * @author xuxueli 2020-01-19
  */
@@ -17,4 +19,58 @@ public interface JobAlarm {
      */
     public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog);
 
+    /**
+     * alarm endpoint of this channel (e.g. webhook url, email), each endpoint sent and retried separately
+     *
+     * @param info
+     * @param jobLog
+     * @return null if not split by endpoint, alarm sent by "doAlarm(info, jobLog)"
+     */
+    public default List<String> endpoints(XxlJobInfo info, XxlJobLog jobLog) {
+        return null;
+    }
+
+    /**
+     * job alarm to one endpoint
+     *
+     * @param info
+     * @param jobLog
+     * @param endpoint  endpoint from "endpoints"
+     * @return
+     */
+    public default boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog, String endpoint) {
+        return doAlarm(info, jobLog);
+    }
+
+    /**
+     * job alarm digest, aggregated alarm in window (default alarm the first log of digest)
+     *
+     * @param digest
+     * @return
+     */
+    public default boolean doAlarm(JobAlarmDigest digest) {
+        return doAlarm(digest.getInfo(), digest.getJobLog());
+    }
+
+    /**
+     * alarm endpoint of digest
+     *
+     * @param digest
+     * @return null if not split by endpoint, alarm sent by "doAlarm(digest)"
+     */
+    public default List<String> endpoints(JobAlarmDigest digest) {
+        return endpoints(digest.getInfo(), digest.getJobLog());
+    }
+
+    /**
+     * job alarm digest to one endpoint
+     *
+     * @param digest
+     * @param endpoint  endpoint from "endpoints"
+     * @return
+     */
+    public default boolean doAlarm(JobAlarmDigest digest, String endpoint) {
+        return doAlarm(digest.getInfo(), digest.getJobLog(), endpoint);
+    }
+
 }
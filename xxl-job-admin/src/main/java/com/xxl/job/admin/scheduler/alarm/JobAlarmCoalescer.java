@@ -0,0 +1,190 @@
+package com.xxl.job.admin.scheduler.alarm;
+
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.model.XxlJobLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job alarm coalescer, avoid alarm storm (e.g. executor down, all job of group fail at once)
+ *
+ *      a、key：fail alarm aggregated by "job group + executor address + fail type"；
+ *      b、window：the first alarm of key sent single directly, and open window; alarm in window aggregated, not sent；
+ *      c、digest：window closed after "window" ms, aggregated alarm sent as one digest (count, sample log id)；
+ *      d、result：alarm in window completed with digest result；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobAlarmCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(JobAlarmCoalescer.class);
+
+    private final JobAlarmDispatcher jobAlarmDispatcher;
+    private final long window;
+    private final int sampleSize;
+
+    private final Map<String, Bucket> bucketMap = new HashMap<>();
+    private Thread flushThread;
+    private volatile boolean toStop = false;
+
+    /**
+     * @param jobAlarmDispatcher    alarm dispatcher
+     * @param window                aggregate window, by millisecond; not aggregate if less than or equal to 0
+     * @param sampleSize            max sample log id of digest
+     */
+    public JobAlarmCoalescer(JobAlarmDispatcher jobAlarmDispatcher, long window, int sampleSize) {
+        this.jobAlarmDispatcher = jobAlarmDispatcher;
+        this.window = window;
+        this.sampleSize = Math.max(sampleSize, 1);
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        if (window <= 0) {
+            return;
+        }
+        flushThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(Math.min(window, 1000));
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                    if (toStop) {
+                        break;
+                    }
+
+                    try {
+                        flush();
+                    } catch (Throwable e) {
+                        logger.error(">>>>>>>>>>> xxl-job, JobAlarmCoalescer flush error:{}", e.getMessage(), e);
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobAlarmCoalescer flush thread stop");
+            }
+        });
+        flushThread.setDaemon(true);
+        flushThread.setName("xxl-job, admin JobAlarmCoalescer");
+        flushThread.start();
+    }
+
+    /**
+     * stop, alarm aggregated not sent yet completed as fail
+     */
+    public void stop() {
+        toStop = true;
+        if (flushThread != null) {
+            flushThread.interrupt();
+            try {
+                flushThread.join();
+            } catch (Throwable e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        List<Bucket> bucketList;
+        synchronized (bucketMap) {
+            bucketList = new ArrayList<>(bucketMap.values());
+            bucketMap.clear();
+        }
+        for (Bucket bucket: bucketList) {
+            bucket.result.complete(false);
+        }
+    }
+
+
+    // ---------------------- alarm ----------------------
+
+    /**
+     * job alarm, sent single or aggregated in window
+     *
+     * @return alarm result, of single alarm or digest
+     */
+    public CompletableFuture<Boolean> alarm(XxlJobInfo info, XxlJobLog jobLog) {
+        if (window <= 0) {
+            return jobAlarmDispatcher.dispatch(info, jobLog);
+        }
+
+        String executorAddress = jobLog.getExecutorAddress()!=null?jobLog.getExecutorAddress():"";
+        String failType = JobAlarmDigest.failType(jobLog);
+        String key = jobLog.getJobGroup() + "#" + executorAddress + "#" + failType;
+
+        synchronized (bucketMap) {
+            Bucket bucket = bucketMap.get(key);
+            if (bucket != null) {
+                bucket.digest.add(info, jobLog, sampleSize);
+                return bucket.result;
+            }
+
+            // first alarm of key, open window
+            long nowTime = System.currentTimeMillis();
+            bucketMap.put(key, new Bucket(new JobAlarmDigest(jobLog.getJobGroup(), executorAddress, failType, new Date(nowTime)), nowTime + window));
+        }
+        return jobAlarmDispatcher.dispatch(info, jobLog);
+    }
+
+    /**
+     * close expired window, send digest
+     */
+    private void flush() {
+        // 1、close window
+        long nowTime = System.currentTimeMillis();
+        List<Bucket> expiredList = new ArrayList<>();
+        synchronized (bucketMap) {
+            Iterator<Bucket> iterator = bucketMap.values().iterator();
+            while (iterator.hasNext()) {
+                Bucket bucket = iterator.next();
+                if (nowTime >= bucket.windowEnd) {
+                    iterator.remove();
+                    expiredList.add(bucket);
+                }
+            }
+        }
+
+        // 2、send digest
+        for (Bucket bucket: expiredList) {
+            if (bucket.digest.getCount() == 0) {
+                continue;       // only single alarm in window
+            }
+            bucket.digest.setWindowEnd(new Date(nowTime));
+            logger.info(">>>>>>>>>>> xxl-job, JobAlarmCoalescer send digest, jobGroup:{}, executorAddress:{}, failType:{}, count:{}",
+                    bucket.digest.getJobGroup(), bucket.digest.getExecutorAddress(), bucket.digest.getFailType(), bucket.digest.getCount());
+            jobAlarmDispatcher.dispatch(bucket.digest).whenComplete((alarmResult, e) -> {
+                bucket.result.complete(alarmResult!=null && alarmResult);
+            });
+        }
+    }
+
+    /**
+     * window opened
+     */
+    public int getWindowSize() {
+        synchronized (bucketMap) {
+            return bucketMap.size();
+        }
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static class Bucket {
+        private final JobAlarmDigest digest;
+        private final long windowEnd;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private Bucket(JobAlarmDigest digest, long windowEnd) {
+            this.digest = digest;
+            this.windowEnd = windowEnd;
+        }
+    }
+
+}
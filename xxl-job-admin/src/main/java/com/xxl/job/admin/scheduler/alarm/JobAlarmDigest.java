@@ -0,0 +1,164 @@
+package com.xxl.job.admin.scheduler.alarm;
+
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.core.context.XxlJobContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * job alarm digest, fail alarm of same "job group + executor address + fail type" aggregated in window
+ *
+ *      a、count：alarm count aggregated in window (the first alarm of window sent single, not counted)；
+ *      b、sample：sample log id, max "sampleSize"；
+ *      c、job：job info of aggregated alarm, by job id; count and sample kept by job too, for recipient of part job (e.g. alarm email)；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobAlarmDigest {
+
+    public static final String FAIL_TYPE_TRIGGER = "TRIGGER_FAIL";
+    public static final String FAIL_TYPE_HANDLE = "HANDLE_FAIL";
+    public static final String FAIL_TYPE_HANDLE_TIMEOUT = "HANDLE_TIMEOUT";
+
+    /**
+     * fail type of job log
+     */
+    public static String failType(XxlJobLog jobLog) {
+        if (jobLog.getTriggerCode() != XxlJobContext.HANDLE_CODE_SUCCESS) {
+            return FAIL_TYPE_TRIGGER;
+        }
+        if (jobLog.getHandleCode() == XxlJobContext.HANDLE_CODE_TIMEOUT) {
+            return FAIL_TYPE_HANDLE_TIMEOUT;
+        }
+        return FAIL_TYPE_HANDLE;
+    }
+
+    private final int jobGroup;
+    private final String executorAddress;
+    private final String failType;
+    private final Date windowStart;
+    private Date windowEnd;
+
+    private int count;
+    private final List<Long> sampleLogIds = new ArrayList<>();
+    private final Map<Integer, XxlJobInfo> jobInfoMap = new LinkedHashMap<>();
+    private final Map<Integer, Integer> jobCountMap = new HashMap<>();
+    private final Map<Integer, List<Long>> jobSampleLogIdsMap = new HashMap<>();
+    private int sampleSize = 1;
+    private XxlJobInfo info;
+    private XxlJobLog jobLog;
+
+    public JobAlarmDigest(int jobGroup, String executorAddress, String failType, Date windowStart) {
+        this.jobGroup = jobGroup;
+        this.executorAddress = executorAddress;
+        this.failType = failType;
+        this.windowStart = windowStart;
+    }
+
+    /**
+     * aggregate one alarm
+     */
+    public void add(XxlJobInfo info, XxlJobLog jobLog, int sampleSize) {
+        if (this.jobLog == null) {
+            this.info = info;
+            this.jobLog = jobLog;
+        }
+        this.sampleSize = sampleSize;
+        count++;
+        if (sampleLogIds.size() < sampleSize) {
+            sampleLogIds.add(jobLog.getId());
+        }
+        jobInfoMap.putIfAbsent(info.getId(), info);
+
+        // by job
+        jobCountMap.merge(info.getId(), 1, Integer::sum);
+        List<Long> jobSampleLogIds = jobSampleLogIdsMap.computeIfAbsent(info.getId(), k -> new ArrayList<>());
+        if (jobSampleLogIds.size() < sampleSize) {
+            jobSampleLogIds.add(jobLog.getId());
+        }
+    }
+
+    /**
+     * alarm count of part job
+     */
+    public int getCount(Collection<Integer> jobIds) {
+        int jobCount = 0;
+        for (Integer jobId : jobIds) {
+            jobCount += jobCountMap.getOrDefault(jobId, 0);
+        }
+        return jobCount;
+    }
+
+    /**
+     * sample log id of part job, earliest first, max "sampleSize"
+     */
+    public List<Long> getSampleLogIds(Collection<Integer> jobIds) {
+        List<Long> jobSampleLogIds = new ArrayList<>();
+        for (Integer jobId : jobIds) {
+            jobSampleLogIds.addAll(jobSampleLogIdsMap.getOrDefault(jobId, Collections.emptyList()));
+        }
+        Collections.sort(jobSampleLogIds);
+        return jobSampleLogIds.size() > sampleSize
+                ? new ArrayList<>(jobSampleLogIds.subList(0, sampleSize))
+                : jobSampleLogIds;
+    }
+
+    public int getJobGroup() {
+        return jobGroup;
+    }
+
+    public String getExecutorAddress() {
+        return executorAddress;
+    }
+
+    public String getFailType() {
+        return failType;
+    }
+
+    public Date getWindowStart() {
+        return windowStart;
+    }
+
+    public Date getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(Date windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public List<Long> getSampleLogIds() {
+        return sampleLogIds;
+    }
+
+    public Map<Integer, XxlJobInfo> getJobInfoMap() {
+        return jobInfoMap;
+    }
+
+    /**
+     * job info of first aggregated alarm
+     */
+    public XxlJobInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * job log of first aggregated alarm
+     */
+    public XxlJobLog getJobLog() {
+        return jobLog;
+    }
+
+}
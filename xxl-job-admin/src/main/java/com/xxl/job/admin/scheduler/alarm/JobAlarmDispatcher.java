@@ -0,0 +1,374 @@
+package com.xxl.job.admin.scheduler.alarm;
+
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.model.XxlJobLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * job alarm dispatcher, send alarm async, fail monitor not wait for alarm channel
+ *
+ *      a、channel：each alarm channel (JobAlarm) has bounded thread pool, slow channel not block others；
+ *      b、endpoint：channel split by endpoint (e.g. webhook url, email) sent and retried by endpoint；
+ *      c、timeout：send attempt not complete in "timeout" interrupted (channel timeout itself, e.g. http / smtp), fail unless it still return success；
+ *      d、retry：fail attempt retried with backoff "retryDelay * 2^n" by retry queue, max "maxAttempts"; retried only after attempt returned, endpoint not sent concurrently；
+ *      e、result：alarm success when all endpoint success, fail when any endpoint fail finally；
+ *      f、digest：alarm digest (aggregated by JobAlarmCoalescer) sent and retried as single alarm；
+ *      g、stop：alarm queued or wait for retry when stop completed as fail；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobAlarmDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(JobAlarmDispatcher.class);
+
+    private final List<JobAlarm> jobAlarmList;
+    private final int channelThreads;
+    private final int channelQueueSize;
+    private final long timeout;
+    private final int maxAttempts;
+    private final long retryDelay;
+
+    private final List<Channel> channelList = new ArrayList<>();
+    private ScheduledThreadPoolExecutor retryExecutor;
+    private final Set<AlarmTask> pendingTaskSet = ConcurrentHashMap.newKeySet();
+    private volatile boolean toStop = false;
+
+    // metrics
+    private final LongAdder sendCount = new LongAdder();
+    private final LongAdder failCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder rejectCount = new LongAdder();
+
+    /**
+     * @param jobAlarmList      alarm channel
+     * @param channelThreads    max thread of each channel
+     * @param channelQueueSize  max queued alarm of each channel, attempt rejected when full (and retried)
+     * @param timeout           send attempt timeout, by millisecond
+     * @param maxAttempts       max attempt of each endpoint
+     * @param retryDelay        first retry delay, by millisecond
+     */
+    public JobAlarmDispatcher(List<JobAlarm> jobAlarmList, int channelThreads, int channelQueueSize, long timeout, int maxAttempts, long retryDelay) {
+        this.jobAlarmList = jobAlarmList!=null?jobAlarmList:new ArrayList<>();
+        this.channelThreads = Math.max(channelThreads, 1);
+        this.channelQueueSize = Math.max(channelQueueSize, 1);
+        this.timeout = Math.max(timeout, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryDelay = Math.max(retryDelay, 0);
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        for (JobAlarm jobAlarm: jobAlarmList) {
+            String name = !jobAlarm.getClass().getSimpleName().isEmpty()?jobAlarm.getClass().getSimpleName():jobAlarm.getClass().getName();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    channelThreads,
+                    channelThreads,
+                    60L,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(channelQueueSize),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, "xxl-job, admin JobAlarmDispatcher-" + name + "-" + r.hashCode());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            channelList.add(new Channel(name, jobAlarm, executor));
+        }
+
+        // retry queue, and attempt timeout
+        retryExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "xxl-job, admin JobAlarmDispatcher-retry-" + r.hashCode());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        retryExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * stop, alarm not sent yet (queued, or wait for retry) completed as fail
+     */
+    public void stop() {
+        toStop = true;
+        if (retryExecutor != null) {
+            retryExecutor.shutdownNow();
+        }
+        for (Channel channel: channelList) {
+            channel.executor.shutdownNow();
+        }
+
+        // fail pending alarm
+        List<AlarmTask> pendingTaskList = new ArrayList<>(pendingTaskSet);
+        for (AlarmTask task: pendingTaskList) {
+            task.result.complete(false);
+        }
+        if (!pendingTaskList.isEmpty()) {
+            logger.warn(">>>>>>>>>>> xxl-job, JobAlarmDispatcher stop, pending alarm fail, size:{}", pendingTaskList.size());
+        }
+        logger.info(">>>>>>>>>>> xxl-job, JobAlarmDispatcher stop");
+    }
+
+
+    // ---------------------- dispatch ----------------------
+
+    /**
+     * dispatch alarm to all channel, async
+     *
+     * @param info      job info
+     * @param jobLog    job log
+     * @return alarm result, true if all endpoint success
+     */
+    public CompletableFuture<Boolean> dispatch(XxlJobInfo info, XxlJobLog jobLog) {
+        return dispatch(info, jobLog, null);
+    }
+
+    /**
+     * dispatch alarm digest to all channel, async
+     *
+     * @param digest    alarm digest
+     * @return alarm result, true if all endpoint success
+     */
+    public CompletableFuture<Boolean> dispatch(JobAlarmDigest digest) {
+        return dispatch(digest.getInfo(), digest.getJobLog(), digest);
+    }
+
+    private CompletableFuture<Boolean> dispatch(XxlJobInfo info, XxlJobLog jobLog, JobAlarmDigest digest) {
+        if (channelList.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        List<CompletableFuture<Boolean>> resultList = new ArrayList<>();
+        for (Channel channel: channelList) {
+            List<String> endpoints;
+            try {
+                endpoints = digest!=null
+                        ?channel.jobAlarm.endpoints(digest)
+                        :channel.jobAlarm.endpoints(info, jobLog);
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> xxl-job, JobAlarmDispatcher load endpoint error, channel:{}, logId:{}", channel.name, jobLog.getId(), e);
+                resultList.add(CompletableFuture.completedFuture(false));
+                continue;
+            }
+
+            if (endpoints == null) {
+                resultList.add(send(new AlarmTask(channel, info, jobLog, digest, null)));
+            } else {
+                for (String endpoint: endpoints) {
+                    resultList.add(send(new AlarmTask(channel, info, jobLog, digest, endpoint)));
+                }
+            }
+        }
+
+        return CompletableFuture.allOf(resultList.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            for (CompletableFuture<Boolean> result: resultList) {
+                if (!result.join()) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private CompletableFuture<Boolean> send(AlarmTask task) {
+        pendingTaskSet.add(task);
+        task.result.whenComplete((result, e) -> pendingTaskSet.remove(task));
+        submit(task);
+        return task.result;
+    }
+
+    /**
+     * submit one attempt to channel
+     */
+    private void submit(AlarmTask task) {
+        if (toStop) {
+            task.result.complete(false);
+            return;
+        }
+        task.attempt++;
+        try {
+            task.channel.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runAttempt(task);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectCount.increment();
+            logger.warn(">>>>>>>>>>> xxl-job, JobAlarmDispatcher channel busy, channel:{}, logId:{}", task.channel.name, task.jobLog.getId());
+            onAttemptFail(task);
+        }
+    }
+
+    private void runAttempt(AlarmTask task) {
+        // attempt timeout, from attempt start: interrupt attempt, retry decided after attempt returned
+        Thread attemptThread = Thread.currentThread();
+        AttemptState state = new AttemptState();
+        ScheduledFuture<?> timeoutFuture = null;
+        try {
+            timeoutFuture = retryExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (state) {
+                        if (state.done) {
+                            return;
+                        }
+                        state.timeout = true;
+                        attemptThread.interrupt();
+                    }
+                    timeoutCount.increment();
+                    logger.warn(">>>>>>>>>>> xxl-job, JobAlarmDispatcher send timeout, channel:{}, endpoint:{}, logId:{}", task.channel.name, task.endpoint, task.jobLog.getId());
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // stopped
+        }
+
+        // send
+        boolean success = false;
+        try {
+            sendCount.increment();
+            if (task.digest != null) {
+                success = task.endpoint!=null
+                        ?task.channel.jobAlarm.doAlarm(task.digest, task.endpoint)
+                        :task.channel.jobAlarm.doAlarm(task.digest);
+            } else {
+                success = task.endpoint!=null
+                        ?task.channel.jobAlarm.doAlarm(task.info, task.jobLog, task.endpoint)
+                        :task.channel.jobAlarm.doAlarm(task.info, task.jobLog);
+            }
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobAlarmDispatcher send error, channel:{}, endpoint:{}, logId:{}", task.channel.name, task.endpoint, task.jobLog.getId(), e);
+        }
+
+        // attempt returned, timeout not interrupt any more
+        synchronized (state) {
+            state.done = true;
+        }
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+        }
+        if (state.timeout) {
+            Thread.interrupted();       // clear interrupt of timeout, thread reused by channel
+        }
+
+        if (success) {
+            task.result.complete(true);
+        } else {
+            onAttemptFail(task);
+        }
+    }
+
+    /**
+     * attempt fail, retry with backoff or fail finally
+     */
+    private void onAttemptFail(AlarmTask task) {
+        if (toStop || task.attempt >= maxAttempts) {
+            failCount.increment();
+            logger.warn(">>>>>>>>>>> xxl-job, JobAlarmDispatcher send fail, channel:{}, endpoint:{}, logId:{}, attempt:{}", task.channel.name, task.endpoint, task.jobLog.getId(), task.attempt);
+            task.result.complete(false);
+            return;
+        }
+
+        long delay = retryDelay << Math.min(task.attempt - 1, 16);
+        try {
+            retryCount.increment();
+            retryExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    submit(task);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            task.result.complete(false);        // stopped
+        }
+    }
+
+
+    // ---------------------- metrics ----------------------
+
+    /**
+     * alarm attempt wait for retry
+     */
+    public int getRetryQueueSize() {
+        return retryExecutor!=null?retryExecutor.getQueue().size():0;
+    }
+
+    public long getSendCount() {
+        return sendCount.sum();
+    }
+
+    public long getFailCount() {
+        return failCount.sum();
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+
+    // ---------------------- model ----------------------
+
+    /**
+     * state of one attempt, guarded by itself
+     */
+    private static class AttemptState {
+        private boolean done = false;
+        private boolean timeout = false;
+    }
+
+    private static class Channel {
+        private final String name;
+        private final JobAlarm jobAlarm;
+        private final ThreadPoolExecutor executor;
+
+        private Channel(String name, JobAlarm jobAlarm, ThreadPoolExecutor executor) {
+            this.name = name;
+            this.jobAlarm = jobAlarm;
+            this.executor = executor;
+        }
+    }
+
+    /**
+     * alarm of one endpoint, attempt one by one (not concurrent)
+     */
+    private static class AlarmTask {
+        private final Channel channel;
+        private final XxlJobInfo info;
+        private final XxlJobLog jobLog;
+        private final JobAlarmDigest digest;
+        private final String endpoint;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private volatile int attempt = 0;
+
+        private AlarmTask(Channel channel, XxlJobInfo info, XxlJobLog jobLog, JobAlarmDigest digest, String endpoint) {
+            this.channel = channel;
+            this.info = info;
+            this.jobLog = jobLog;
+            this.digest = digest;
+            this.endpoint = endpoint;
+        }
+    }
+
+}
@@ -2,12 +2,13 @@ package com.xxl.job.admin.scheduler.alarm;
 
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
-import com.xxl.tool.core.CollectionTool;
 import com.xxl.tool.core.MapTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * xxl-job alarmer
@@ -22,11 +24,34 @@ import java.util.Map;
  * @author xuxueli 17/7/13.
  */
 @Component
-public class JobAlarmer implements ApplicationContextAware, InitializingBean {
+public class JobAlarmer implements ApplicationContextAware, InitializingBean, DisposableBean {
     private static final Logger logger = LoggerFactory.getLogger(JobAlarmer.class);
 
     private ApplicationContext applicationContext;
     private List<JobAlarm> jobAlarmList;
+    private JobAlarmDispatcher jobAlarmDispatcher;
+    private JobAlarmCoalescer jobAlarmCoalescer;
+
+    @Value("${xxl.job.alarm.dispatch.threads:5}")
+    private int dispatchThreads;
+    @Value("${xxl.job.alarm.dispatch.queue:1000}")
+    private int dispatchQueue;
+    @Value("${xxl.job.alarm.dispatch.timeout:10000}")
+    private long dispatchTimeout;
+    @Value("${xxl.job.alarm.dispatch.retry.max-attempts:${xxl.job.alarm.webhook.retry.max-attempts:3}}")
+    private int dispatchMaxAttempts;
+    @Value("${xxl.job.alarm.dispatch.retry.delay:${xxl.job.alarm.webhook.retry.delay:1000}}")
+    private long dispatchRetryDelay;
+    /**
+     * deprecated, alias of "xxl.job.alarm.dispatch.retry.*" (used when not set), "enabled=false" means no retry
+     */
+    @Deprecated
+    @Value("${xxl.job.alarm.webhook.retry.enabled:true}")
+    private boolean webhookRetryEnabled;
+    @Value("${xxl.job.alarm.aggregate.window:0}")
+    private long aggregateWindow;
+    @Value("${xxl.job.alarm.aggregate.sample:10}")
+    private int aggregateSample;
 
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
@@ -39,30 +64,47 @@ public class JobAlarmer implements ApplicationContextAware, InitializingBean {
         if (MapTool.isNotEmpty(serviceBeanMap)) {
             jobAlarmList = new ArrayList<>(serviceBeanMap.values());
         }
+
+        // deprecated retry config
+        if (!webhookRetryEnabled) {
+            dispatchMaxAttempts = 1;
+            logger.warn(">>>>>>>>>>> xxl-job, \"xxl.job.alarm.webhook.retry.*\" is deprecated, replaced by \"xxl.job.alarm.dispatch.retry.*\"");
+        }
+
+        // dispatcher start
+        jobAlarmDispatcher = new JobAlarmDispatcher(jobAlarmList, dispatchThreads, dispatchQueue, dispatchTimeout, dispatchMaxAttempts, dispatchRetryDelay);
+        jobAlarmDispatcher.start();
+
+        // coalescer start
+        jobAlarmCoalescer = new JobAlarmCoalescer(jobAlarmDispatcher, aggregateWindow, aggregateSample);
+        jobAlarmCoalescer.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (jobAlarmCoalescer != null) {
+            jobAlarmCoalescer.stop();
+        }
+        if (jobAlarmDispatcher != null) {
+            jobAlarmDispatcher.stop();
+        }
     }
 
     /**
-     * job alarm
+     * job alarm, async (channel in parallel, fail endpoint retried), aggregated as digest in window
+     *
+     * @return alarm result, success means all-success
      */
-    public boolean alarm(XxlJobInfo info, XxlJobLog jobLog) {
+    public CompletableFuture<Boolean> alarm(XxlJobInfo info, XxlJobLog jobLog) {
+        return jobAlarmCoalescer.alarm(info, jobLog);
+    }
 
-        boolean result = false;
-        if (CollectionTool.isNotEmpty(jobAlarmList)) {
-            result = true;  // success means all-success
-            for (JobAlarm alarm: jobAlarmList) {
-                boolean resultItem = false;
-                try {
-                    resultItem = alarm.doAlarm(info, jobLog);
-                } catch (Exception e) {
-                    logger.error(e.getMessage(), e);
-                }
-                if (!resultItem) {
-                    result = false;
-                }
-            }
-        }
+    public JobAlarmDispatcher getJobAlarmDispatcher() {
+        return jobAlarmDispatcher;
+    }
 
-        return result;
+    public JobAlarmCoalescer getJobAlarmCoalescer() {
+        return jobAlarmCoalescer;
     }
 
 }
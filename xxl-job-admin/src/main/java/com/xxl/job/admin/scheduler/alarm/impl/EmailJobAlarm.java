@@ -1,12 +1,16 @@
 package com.xxl.job.admin.scheduler.alarm.impl;
 
 import com.xxl.job.admin.scheduler.alarm.JobAlarm;
+import com.xxl.job.admin.scheduler.alarm.JobAlarmDigest;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.model.XxlJobGroup;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.complete.HandleMsg;
+import com.xxl.job.admin.scheduler.trigger.TriggerMsg;
 import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.tool.core.DateTool;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +18,7 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
 import java.text.MessageFormat;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 /**
  * job alarm by email
@@ -35,53 +37,126 @@ public class EmailJobAlarm implements JobAlarm {
     @Override
     public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog){
         boolean alarmResult = true;
-
-        // send monitor email
-        if (info!=null && info.getAlarmEmail()!=null && !info.getAlarmEmail().trim().isEmpty()) {
-
-            // alarmContent
-            String alarmContent = "Alarm Job LogId=" + jobLog.getId();
-            if (jobLog.getTriggerCode() != XxlJobContext.HANDLE_CODE_SUCCESS) {
-                alarmContent += "<br>TriggerMsg=<br>" + jobLog.getTriggerMsg();
-            }
-            if (jobLog.getHandleCode()>0 && jobLog.getHandleCode() != XxlJobContext.HANDLE_CODE_SUCCESS) {
-                alarmContent += "<br>HandleCode=" + jobLog.getHandleMsg();
+        for (String email: endpoints(info, jobLog)) {
+            if (!doAlarm(info, jobLog, email)) {
+                alarmResult = false;
             }
+        }
+        return alarmResult;
+    }
 
-            // email info
-            XxlJobGroup group = XxlJobAdminBootstrap.getInstance().getXxlJobGroupMapper().load(Integer.valueOf(info.getJobGroup()));
-            String personal = I18nUtil.getString("admin_name_full");
-            String title = I18nUtil.getString("jobconf_monitor");
-            String content = MessageFormat.format(loadEmailJobAlarmTemplate(),
-                    group!=null?group.getTitle():"null",
-                    info.getId(),
-                    info.getJobDesc(),
-                    alarmContent);
+    /**
+     * alarm email of job, each email sent and retried separately by dispatcher
+     */
+    @Override
+    public List<String> endpoints(XxlJobInfo info, XxlJobLog jobLog) {
+        if (info==null || info.getAlarmEmail()==null || info.getAlarmEmail().trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> emailSet = new LinkedHashSet<String>(Arrays.asList(info.getAlarmEmail().split(",")));
+        return new ArrayList<>(emailSet);
+    }
 
-            Set<String> emailSet = new HashSet<String>(Arrays.asList(info.getAlarmEmail().split(",")));
-            for (String email: emailSet) {
+    @Override
+    public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog, String email) {
 
-                // make mail
-                try {
-                    MimeMessage mimeMessage = XxlJobAdminBootstrap.getInstance().getMailSender().createMimeMessage();
+        // alarmContent
+        String alarmContent = "Alarm Job LogId=" + jobLog.getId();
+        if (jobLog.getTriggerCode() != XxlJobContext.HANDLE_CODE_SUCCESS) {
+            alarmContent += "<br>TriggerMsg=<br>" + TriggerMsg.render(jobLog);
+        }
+        if (jobLog.getHandleCode()>0 && jobLog.getHandleCode() != XxlJobContext.HANDLE_CODE_SUCCESS) {
+            alarmContent += "<br>HandleCode=" + HandleMsg.render(jobLog);
+        }
 
-                    MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
-                    helper.setFrom(XxlJobAdminBootstrap.getInstance().getEmailFrom(), personal);
-                    helper.setTo(email);
-                    helper.setSubject(title);
-                    helper.setText(content, true);
+        return sendEmail(email, info.getJobGroup(), String.valueOf(info.getId()), info.getJobDesc(), alarmContent, jobLog.getId());
+    }
 
-                    XxlJobAdminBootstrap.getInstance().getMailSender().send(mimeMessage);
-                } catch (Exception e) {
-                    logger.error(">>>>>>>>>>> xxl-job, job fail alarm email send error, JobLogId:{}", jobLog.getId(), e);
+    /**
+     * fail alarm digest
+     */
+    @Override
+    public boolean doAlarm(JobAlarmDigest digest) {
+        boolean alarmResult = true;
+        for (String email: endpoints(digest)) {
+            if (!doAlarm(digest, email)) {
+                alarmResult = false;
+            }
+        }
+        return alarmResult;
+    }
 
-                    alarmResult = false;
-                }
+    /**
+     * alarm email of all job in digest
+     */
+    @Override
+    public List<String> endpoints(JobAlarmDigest digest) {
+        Set<String> emailSet = new LinkedHashSet<String>();
+        for (XxlJobInfo info: digest.getJobInfoMap().values()) {
+            emailSet.addAll(endpoints(info, null));
+        }
+        return new ArrayList<>(emailSet);
+    }
 
+    @Override
+    public boolean doAlarm(JobAlarmDigest digest, String email) {
+
+        // job of this email, count and sample only of these job
+        List<Integer> jobIdList = new ArrayList<>();
+        List<String> jobIds = new ArrayList<>();
+        List<String> jobDescs = new ArrayList<>();
+        for (XxlJobInfo info: digest.getJobInfoMap().values()) {
+            if (endpoints(info, null).contains(email)) {
+                jobIdList.add(info.getId());
+                jobIds.add(String.valueOf(info.getId()));
+                jobDescs.add(info.getJobDesc());
             }
         }
+        if (jobIdList.isEmpty()) {
+            return true;        // no job of this email
+        }
 
-        return alarmResult;
+        // alarmContent
+        String alarmContent = "Alarm Digest Count=" + digest.getCount(jobIdList)
+                + "<br>FailType=" + digest.getFailType()
+                + "<br>ExecutorAddress=" + digest.getExecutorAddress()
+                + "<br>Window=" + DateTool.formatDateTime(digest.getWindowStart()) + " ~ " + (digest.getWindowEnd()!=null?DateTool.formatDateTime(digest.getWindowEnd()):"")
+                + "<br>Sample LogId=" + digest.getSampleLogIds(jobIdList);
+
+        return sendEmail(email, digest.getJobGroup(), String.join(",", jobIds), String.join(",", jobDescs), alarmContent, digest.getJobLog().getId());
+    }
+
+    /**
+     * send one alarm email
+     */
+    private boolean sendEmail(String email, int jobGroup, String jobId, String jobDesc, String alarmContent, long logId) {
+
+        // email info
+        XxlJobGroup group = XxlJobAdminBootstrap.getInstance().getJobMetaCache().loadGroup(jobGroup);
+        String personal = I18nUtil.getString("admin_name_full");
+        String title = I18nUtil.getString("jobconf_monitor");
+        String content = MessageFormat.format(loadEmailJobAlarmTemplate(),
+                group!=null?group.getTitle():"null",
+                jobId,
+                jobDesc,
+                alarmContent);
+
+        // make mail
+        try {
+            MimeMessage mimeMessage = XxlJobAdminBootstrap.getInstance().getMailSender().createMimeMessage();
+
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+            helper.setFrom(XxlJobAdminBootstrap.getInstance().getEmailFrom(), personal);
+            helper.setTo(email);
+            helper.setSubject(title);
+            helper.setText(content, true);
+
+            XxlJobAdminBootstrap.getInstance().getMailSender().send(mimeMessage);
+            return true;
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, job fail alarm email send error, JobLogId:{}", logId, e);
+            return false;
+        }
     }
 
     /**
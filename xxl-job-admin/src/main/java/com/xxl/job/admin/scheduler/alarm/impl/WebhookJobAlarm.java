@@ -4,18 +4,25 @@ import com.xxl.job.admin.config.WebhookProperties;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
 import com.xxl.job.admin.scheduler.alarm.JobAlarm;
+import com.xxl.job.admin.scheduler.alarm.JobAlarmDigest;
+import com.xxl.job.admin.scheduler.complete.HandleMsg;
+import com.xxl.job.admin.scheduler.trigger.TriggerMsg;
 import com.xxl.tool.core.StringTool;
 import jakarta.annotation.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,41 +41,79 @@ public class WebhookJobAlarm implements JobAlarm {
     @Resource
     private WebhookProperties webhookProperties;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private volatile RestTemplate restTemplate;
 
     @Override
     public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog) {
-        if (!webhookProperties.isEnabled()) {
-            return true; // Webhook disabled, consider success
-        }
-
-        if (StringTool.isBlank(webhookProperties.getUrls())) {
+        List<String> urls = endpoints(info, jobLog);
+        if (urls == null) {
             logger.warn("Webhook URLs not configured");
             return false;
         }
 
-        // Build alarm message
-        Map<String, Object> alarmMessage = buildAlarmMessage(info, jobLog);
-
         // Send to all configured webhook URLs
-        String[] urls = webhookProperties.getUrls().split(",");
         boolean allSuccess = true;
-
         for (String url : urls) {
+            if (!doAlarm(info, jobLog, url)) {
+                allSuccess = false;
+            }
+        }
+        return allSuccess;
+    }
+
+    /**
+     * Webhook URLs, each URL sent and retried separately by dispatcher
+     */
+    @Override
+    public List<String> endpoints(XxlJobInfo info, XxlJobLog jobLog) {
+        if (!webhookProperties.isEnabled()) {
+            return Collections.emptyList(); // Webhook disabled, consider success
+        }
+        if (StringTool.isBlank(webhookProperties.getUrls())) {
+            return null;
+        }
+
+        List<String> urls = new ArrayList<>();
+        for (String url : webhookProperties.getUrls().split(",")) {
             url = url.trim();
-            if (StringTool.isBlank(url)) {
-                continue;
+            if (StringTool.isNotBlank(url) && !urls.contains(url)) {
+                urls.add(url);
             }
+        }
+        return urls;
+    }
 
-            boolean success = sendWebhook(url, alarmMessage);
-            if (!success) {
+    @Override
+    public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog, String url) {
+        // Build alarm message
+        Map<String, Object> alarmMessage = buildAlarmMessage(info, jobLog);
+        return sendWebhook(url, alarmMessage);
+    }
+
+    @Override
+    public boolean doAlarm(JobAlarmDigest digest) {
+        List<String> urls = endpoints(digest);
+        if (urls == null) {
+            logger.warn("Webhook URLs not configured");
+            return false;
+        }
+
+        boolean allSuccess = true;
+        for (String url : urls) {
+            if (!doAlarm(digest, url)) {
                 allSuccess = false;
             }
         }
-
         return allSuccess;
     }
 
+    @Override
+    public boolean doAlarm(JobAlarmDigest digest, String url) {
+        // Build digest message
+        Map<String, Object> digestMessage = buildDigestMessage(digest);
+        return sendWebhook(url, digestMessage);
+    }
+
     /**
      * Build standard JSON alarm message
      */
@@ -99,13 +144,13 @@ public class WebhookJobAlarm implements JobAlarm {
             logInfo.put("triggerTime", ISO_FORMATTER.format(jobLog.getTriggerTime().toInstant()));
         }
         logInfo.put("triggerCode", jobLog.getTriggerCode());
-        logInfo.put("triggerMsg", jobLog.getTriggerMsg());
+        logInfo.put("triggerMsg", TriggerMsg.render(jobLog));
 
         if (jobLog.getHandleTime() != null) {
             logInfo.put("handleTime", ISO_FORMATTER.format(jobLog.getHandleTime().toInstant()));
         }
         logInfo.put("handleCode", jobLog.getHandleCode());
-        logInfo.put("handleMsg", jobLog.getHandleMsg());
+        logInfo.put("handleMsg", HandleMsg.render(jobLog));
 
         message.put("logInfo", logInfo);
 
@@ -113,42 +158,70 @@ public class WebhookJobAlarm implements JobAlarm {
     }
 
     /**
-     * Send webhook with retry logic
+     * Build JSON digest message, fail alarm aggregated in window
      */
-    private boolean sendWebhook(String url, Map<String, Object> message) {
-        int maxAttempts = webhookProperties.getRetry().isEnabled() ? webhookProperties.getRetry().getMaxAttempts() : 1;
+    private Map<String, Object> buildDigestMessage(JobAlarmDigest digest) {
+        Map<String, Object> message = new HashMap<>();
+
+        // Alarm type
+        message.put("alarmType", "JOB_FAIL_DIGEST");
+        message.put("timestamp", ISO_FORMATTER.format(Instant.now()));
+
+        // Digest info
+        Map<String, Object> digestInfo = new HashMap<>();
+        digestInfo.put("jobGroup", digest.getJobGroup());
+        digestInfo.put("executorAddress", digest.getExecutorAddress());
+        digestInfo.put("failType", digest.getFailType());
+        digestInfo.put("count", digest.getCount());
+        digestInfo.put("sampleLogIds", digest.getSampleLogIds());
+        digestInfo.put("jobIds", new ArrayList<>(digest.getJobInfoMap().keySet()));
+        digestInfo.put("windowStart", ISO_FORMATTER.format(digest.getWindowStart().toInstant()));
+        if (digest.getWindowEnd() != null) {
+            digestInfo.put("windowEnd", ISO_FORMATTER.format(digest.getWindowEnd().toInstant()));
+        }
+        message.put("digestInfo", digestInfo);
 
-        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-            try {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
+        return message;
+    }
 
-                HttpEntity<Map<String, Object>> request = new HttpEntity<>(message, headers);
+    /**
+     * Send webhook once, retried by dispatcher
+     */
+    private boolean sendWebhook(String url, Map<String, Object> message) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
 
-                ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+            HttpEntity<Map<String, Object>> request = new HttpEntity<>(message, headers);
 
-                if (response.getStatusCode().is2xxSuccessful()) {
-                    logger.info("Webhook sent successfully to: {}", url);
-                    return true;
-                }
+            ResponseEntity<String> response = getRestTemplate().postForEntity(url, request, String.class);
 
-                logger.warn("Webhook failed with status {}: {}", response.getStatusCode(), url);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                logger.info("Webhook sent successfully to: {}", url);
+                return true;
+            }
 
-            } catch (Exception e) {
-                logger.error("Webhook send failed (attempt {}/{}): {}", attempt, maxAttempts, url, e);
+            logger.warn("Webhook failed with status {}: {}", response.getStatusCode(), url);
+        } catch (Exception e) {
+            logger.error("Webhook send failed: {}", url, e);
+        }
+        return false;
+    }
 
-                // Retry with delay
-                if (attempt < maxAttempts && webhookProperties.getRetry().isEnabled()) {
-                    try {
-                        Thread.sleep(webhookProperties.getRetry().getDelay());
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        return false;
-                    }
+    /**
+     * RestTemplate with connect and read timeout
+     */
+    private RestTemplate getRestTemplate() {
+        if (restTemplate == null) {
+            synchronized (this) {
+                if (restTemplate == null) {
+                    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+                    requestFactory.setConnectTimeout(webhookProperties.getTimeout());
+                    requestFactory.setReadTimeout(webhookProperties.getTimeout());
+                    restTemplate = new RestTemplate(requestFactory);
                 }
             }
         }
-
-        return false;
+        return restTemplate;
     }
 }
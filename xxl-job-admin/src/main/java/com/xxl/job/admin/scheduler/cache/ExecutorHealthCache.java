@@ -0,0 +1,75 @@
+package com.xxl.job.admin.scheduler.cache;
+
+import com.xxl.tool.response.Response;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * executor health cache, recent probe result (beat, idle beat) of executor, for route (FAILOVER, BUSYOVER)
+ *
+ *      a、ttl：result expired after "EXPIRE_MS", executor probed again；
+ *      b、skip：executor failed recently probed after others, back-to-back trigger not wait for dead executor；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorHealthCache {
+
+    /**
+     * result expire time, by millisecond
+     */
+    public static final long EXPIRE_MS = 3 * 1000;
+    private static final int CLEAN_SIZE = 10000;
+
+    private final ConcurrentMap<String, Entry> resultMap = new ConcurrentHashMap<>();
+
+    /**
+     * put probe result
+     *
+     * @param key       probe key, such as "beat#address"
+     * @param result    probe result
+     */
+    public void put(String key, Response<String> result) {
+        // clean expired
+        if (resultMap.size() >= CLEAN_SIZE) {
+            resultMap.values().removeIf(Entry::isExpired);
+        }
+        resultMap.put(key, new Entry(result));
+    }
+
+    /**
+     * get probe result
+     *
+     * @param key       probe key
+     * @return probe result, null if not probed or expired
+     */
+    public Response<String> get(String key) {
+        Entry entry = resultMap.get(key);
+        if (entry == null || entry.isExpired()) {
+            return null;
+        }
+        return entry.result;
+    }
+
+    public int size() {
+        return resultMap.size();
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static class Entry {
+        private final Response<String> result;
+        private final long probeTime;
+
+        private Entry(Response<String> result) {
+            this.result = result;
+            this.probeTime = System.currentTimeMillis();
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - probeTime > EXPIRE_MS;
+        }
+    }
+
+}
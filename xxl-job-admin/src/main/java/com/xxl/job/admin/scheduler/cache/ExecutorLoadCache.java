@@ -0,0 +1,136 @@
+package com.xxl.job.admin.scheduler.cache;
+
+import com.xxl.job.core.constant.Const;
+import com.xxl.job.core.openapi.model.ExecutorLoad;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * executor load cache, load snapshot reported by executor registry beat, for route (LEAST_LOADED) without rpc
+ *
+ *      a、report：snapshot replaced when executor beat (JobRegistryHelper), removed when executor registry remove；
+ *      b、dispatched：trigger routed to executor after snapshot counted, as snapshot not fresh between beat；
+ *      c、expire：snapshot expired after "DEAD_TIMEOUT", same as registry；
+ *      d、cluster：executor beat to one admin only, admin without snapshot route by its own dispatched count；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorLoadCache {
+
+    /**
+     * snapshot expire time, by millisecond
+     */
+    public static final long EXPIRE_MS = Const.DEAD_TIMEOUT * 1000L;
+
+    private final ConcurrentMap<String, LoadEntry> loadMap = new ConcurrentHashMap<>();
+
+    /**
+     * report load of executor, replace old snapshot
+     *
+     * @param address   executor address
+     * @param load      executor load
+     */
+    public void report(String address, ExecutorLoad load) {
+        loadMap.put(address, new LoadEntry(load));
+    }
+
+    /**
+     * remove load of executor
+     *
+     * @param address   executor address
+     */
+    public void remove(String address) {
+        loadMap.remove(address);
+    }
+
+    /**
+     * mark trigger routed to executor
+     *
+     * @param address   executor address
+     */
+    public void markDispatched(String address) {
+        LoadEntry entry = loadMap.get(address);
+        if (entry == null || entry.isExpired()) {
+            // no snapshot, count dispatched only
+            entry = new LoadEntry(null);
+            LoadEntry existEntry = loadMap.putIfAbsent(address, entry);
+            if (existEntry != null && !existEntry.isExpired()) {
+                entry = existEntry;
+            } else if (existEntry != null) {
+                loadMap.replace(address, existEntry, entry);
+            }
+        }
+        entry.dispatched.incrementAndGet();
+    }
+
+    /**
+     * load count of executor: active thread + queued trigger + queued request + dispatched after snapshot
+     *
+     * @param address   executor address
+     * @return load count, 0 if unknown
+     */
+    public int loadCount(String address) {
+        LoadEntry entry = loadMap.get(address);
+        if (entry == null || entry.isExpired()) {
+            return 0;
+        }
+        int loadCount = entry.dispatched.get();
+        if (entry.load != null) {
+            loadCount += entry.load.getActiveThreadCount() + entry.load.getQueueSize() + entry.load.getBizQueueSize();
+        }
+        return loadCount;
+    }
+
+    /**
+     * cpu load of executor
+     *
+     * @param address   executor address
+     * @return cpu load per processor, -1 if unknown
+     */
+    public double cpuLoad(String address) {
+        LoadEntry entry = loadMap.get(address);
+        if (entry == null || entry.isExpired() || entry.load == null) {
+            return -1;
+        }
+        return entry.load.getCpuLoad();
+    }
+
+    /**
+     * load snapshot of executor
+     *
+     * @param address   executor address
+     * @return load, null if unknown
+     */
+    public ExecutorLoad load(String address) {
+        LoadEntry entry = loadMap.get(address);
+        if (entry == null || entry.isExpired()) {
+            return null;
+        }
+        return entry.load;
+    }
+
+    public int size() {
+        return loadMap.size();
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static class LoadEntry {
+        private final ExecutorLoad load;
+        private final long reportTime;
+        private final AtomicInteger dispatched = new AtomicInteger(0);
+
+        private LoadEntry(ExecutorLoad load) {
+            this.load = load;
+            this.reportTime = System.currentTimeMillis();
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - reportTime > EXPIRE_MS;
+        }
+    }
+
+}
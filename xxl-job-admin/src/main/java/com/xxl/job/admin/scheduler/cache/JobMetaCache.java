@@ -0,0 +1,216 @@
+package com.xxl.job.admin.scheduler.cache;
+
+import com.xxl.job.admin.model.XxlJobGroup;
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * job meta cache, job info and job group (with parsed registry list) for trigger hot path
+ *
+ *      a、load：load from db when miss or expired, entry expire after "EXPIRE_MS" (change made by other admin)；
+ *      b、invalidate：job/group change (XxlJobServiceImpl, JobCodeController, JobGroupController) remove entry, registry refresh (JobRegistryHelper) put fresh group；
+ *      c、version：invalidate increase version, db load started before invalidate is not cached (avoid old data back)；
+ *      d、copy：return copy, caller can modify it freely (cover param, cover address)；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobMetaCache {
+
+    /**
+     * entry expire time, by millisecond
+     */
+    public static final long EXPIRE_MS = 30 * 1000;
+
+    private final ConcurrentMap<Integer, Entry<XxlJobInfo>> jobMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Entry<XxlJobGroup>> groupMap = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong(0);
+
+
+    // ---------------------- job ----------------------
+
+    /**
+     * load job info
+     *
+     * @param jobId job id
+     * @return job info copy, null if not exists
+     */
+    public XxlJobInfo loadJob(int jobId) {
+        Entry<XxlJobInfo> entry = jobMap.get(jobId);
+        if (entry != null && !entry.isExpired()) {
+            return copyJob(entry.value);
+        }
+
+        // load from db
+        long loadVersion = version.get();
+        XxlJobInfo jobInfo = XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().loadById(jobId);
+        if (jobInfo == null) {
+            jobMap.remove(jobId);
+            return null;
+        }
+        if (loadVersion == version.get()) {
+            jobMap.put(jobId, new Entry<>(copyJob(jobInfo)));
+        }
+        return jobInfo;
+    }
+
+    /**
+     * put fresh job info, loaded from db just now
+     *
+     * @param jobInfo       job info
+     * @param loadVersion   version before load from db, skip if invalidated during load
+     */
+    public void putJob(XxlJobInfo jobInfo, long loadVersion) {
+        if (loadVersion == version.get()) {
+            jobMap.put(jobInfo.getId(), new Entry<>(copyJob(jobInfo)));
+        }
+    }
+
+    /**
+     * invalidate job info, after job changed
+     *
+     * @param jobId job id
+     */
+    public void invalidateJob(int jobId) {
+        version.incrementAndGet();
+        jobMap.remove(jobId);
+    }
+
+
+    // ---------------------- group ----------------------
+
+    /**
+     * load job group, registry list parsed once and shared
+     *
+     * @param groupId group id
+     * @return job group copy, null if not exists
+     */
+    public XxlJobGroup loadGroup(int groupId) {
+        Entry<XxlJobGroup> entry = groupMap.get(groupId);
+        if (entry != null && !entry.isExpired()) {
+            return copyGroup(entry.value);
+        }
+
+        // load from db
+        long loadVersion = version.get();
+        XxlJobGroup group = XxlJobAdminBootstrap.getInstance().getXxlJobGroupMapper().load(groupId);
+        if (group == null) {
+            groupMap.remove(groupId);
+            return null;
+        }
+        XxlJobGroup cacheGroup = copyGroup(group);
+        if (loadVersion == version.get()) {
+            groupMap.put(groupId, new Entry<>(cacheGroup));
+        }
+        return copyGroup(cacheGroup);
+    }
+
+    /**
+     * put fresh job group, loaded or updated to db just now
+     *
+     * @param group job group
+     */
+    public void putGroup(XxlJobGroup group) {
+        version.incrementAndGet();
+        groupMap.put(group.getId(), new Entry<>(copyGroup(group)));
+    }
+
+    /**
+     * invalidate job group, after group changed
+     *
+     * @param groupId group id
+     */
+    public void invalidateGroup(int groupId) {
+        version.incrementAndGet();
+        groupMap.remove(groupId);
+    }
+
+    /**
+     * current version, get before load from db
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * clear all
+     */
+    public void clear() {
+        version.incrementAndGet();
+        jobMap.clear();
+        groupMap.clear();
+    }
+
+    public int jobSize() {
+        return jobMap.size();
+    }
+
+    public int groupSize() {
+        return groupMap.size();
+    }
+
+
+    // ---------------------- copy ----------------------
+
+    private static XxlJobInfo copyJob(XxlJobInfo source) {
+        XxlJobInfo target = new XxlJobInfo();
+        target.setId(source.getId());
+        target.setJobGroup(source.getJobGroup());
+        target.setJobDesc(source.getJobDesc());
+        target.setAddTime(source.getAddTime());
+        target.setUpdateTime(source.getUpdateTime());
+        target.setAuthor(source.getAuthor());
+        target.setAlarmEmail(source.getAlarmEmail());
+        target.setScheduleType(source.getScheduleType());
+        target.setScheduleConf(source.getScheduleConf());
+        target.setMisfireStrategy(source.getMisfireStrategy());
+        target.setExecutorRouteStrategy(source.getExecutorRouteStrategy());
+        target.setExecutorHandler(source.getExecutorHandler());
+        target.setExecutorParam(source.getExecutorParam());
+        target.setExecutorBlockStrategy(source.getExecutorBlockStrategy());
+        target.setExecutorTimeout(source.getExecutorTimeout());
+        target.setExecutorFailRetryCount(source.getExecutorFailRetryCount());
+        target.setGlueType(source.getGlueType());
+        target.setGlueSource(source.getGlueSource());
+        target.setGlueRemark(source.getGlueRemark());
+        target.setGlueUpdatetime(source.getGlueUpdatetime());
+        target.setChildJobId(source.getChildJobId());
+        target.setTriggerStatus(source.getTriggerStatus());
+        target.setTriggerLastTime(source.getTriggerLastTime());
+        target.setTriggerNextTime(source.getTriggerNextTime());
+        return target;
+    }
+
+    private static XxlJobGroup copyGroup(XxlJobGroup source) {
+        XxlJobGroup target = new XxlJobGroup();
+        target.setId(source.getId());
+        target.setAppname(source.getAppname());
+        target.setTitle(source.getTitle());
+        target.setAddressType(source.getAddressType());
+        target.setAddressList(source.getAddressList());
+        target.setUpdateTime(source.getUpdateTime());
+        target.setRegistryList(source.getRegistryList());      // read-only, shared
+        return target;
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static class Entry<T> {
+        private final T value;
+        private final long loadTime;
+
+        private Entry(T value) {
+            this.value = value;
+            this.loadTime = System.currentTimeMillis();
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - loadTime > EXPIRE_MS;
+        }
+    }
+
+}
@@ -0,0 +1,375 @@
+package com.xxl.job.admin.scheduler.client;
+
+import com.google.gson.reflect.TypeToken;
+import com.xxl.job.core.constant.Const;
+import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.job.core.openapi.model.IdleBeatRequest;
+import com.xxl.job.core.openapi.model.TriggerRequest;
+import com.xxl.tool.core.StringTool;
+import com.xxl.tool.json.GsonTool;
+import com.xxl.tool.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * executor async client, non-blocking rpc from admin to executor
+ *
+ *      a、connection：jdk HttpClient (http/1.1), keep-alive connection pooled per address, reused between request；
+ *      b、async：request return CompletableFuture directly, caller thread not blocked by rpc；
+ *      c、in-flight：limited by "maxInFlight", caller wait when exceed (backpressure)；
+ *      d、callback：future completed on callback thread pool, follow-up stage (write log) run on it；
+ *      e、batch："/runBatch" send multi trigger in one request, fallback to "/run" when executor not support (404/405, or uri-mapping not found),
+ *          fallback request sent on fallback thread pool, in-flight wait not run on callback thread；
+ *      f、circuit breaker：request of address with circuit open fail fast, remoting result recorded (ExecutorClientRegistry)；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorAsyncClient {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorAsyncClient.class);
+
+    private final String accessToken;
+    private final int timeout;
+    private final int maxInFlight;
+    private final ExecutorClientRegistry clientRegistry;
+
+    /**
+     * executor not support "/runBatch" (old version), "address -> found time", retry batch after expired
+     */
+    private static final long BATCH_UNSUPPORTED_EXPIRE = 5 * 60 * 1000;
+    private final ConcurrentMap<String, Long> batchUnsupportedMap = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor callbackThreadPool;
+    private ThreadPoolExecutor fallbackThreadPool;
+    private HttpClient httpClient;
+    private Semaphore inFlightSemaphore;
+
+    /**
+     * @param accessToken   access token
+     * @param timeout       request timeout, by second
+     * @param maxInFlight   max in-flight request
+     */
+    public ExecutorAsyncClient(String accessToken, int timeout, int maxInFlight) {
+        this(accessToken, timeout, maxInFlight, null);
+    }
+
+    /**
+     * @param accessToken       access token
+     * @param timeout           request timeout, by second
+     * @param maxInFlight       max in-flight request
+     * @param clientRegistry    client registry, for circuit breaker and metrics (nullable)
+     */
+    public ExecutorAsyncClient(String accessToken, int timeout, int maxInFlight, ExecutorClientRegistry clientRegistry) {
+        this.accessToken = accessToken;
+        this.timeout = timeout;
+        this.maxInFlight = maxInFlight;
+        this.clientRegistry = clientRegistry;
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        int threadCount = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        callbackThreadPool = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),      // bounded by in-flight
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "xxl-job, admin ExecutorAsyncClient-callbackThreadPool-" + r.hashCode());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        fallbackThreadPool = new ThreadPoolExecutor(
+                2,
+                2,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "xxl-job, admin ExecutorAsyncClient-fallbackThreadPool-" + r.hashCode());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(timeout))
+                .executor(callbackThreadPool)
+                .build();
+        inFlightSemaphore = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * stop
+     */
+    public void stop() {
+        if (callbackThreadPool != null) {
+            callbackThreadPool.shutdownNow();
+        }
+        if (fallbackThreadPool != null) {
+            fallbackThreadPool.shutdownNow();
+        }
+        logger.info(">>>>>>>>>>> xxl-job, ExecutorAsyncClient stop");
+    }
+
+    /**
+     * in-flight request count
+     */
+    public int inFlight() {
+        return maxInFlight - inFlightSemaphore.availablePermits();
+    }
+
+
+    // ---------------------- api ----------------------
+
+    /**
+     * run job on executor, async
+     *
+     * @param address           executor address
+     * @param triggerRequest    trigger request
+     * @return future of run result, never completed exceptionally
+     */
+    public CompletableFuture<Response<String>> run(String address, TriggerRequest triggerRequest) {
+        return post(address, "run", GsonTool.toJson(triggerRequest), this::parseResponse, ExecutorAsyncClient::failResponse);
+    }
+
+    /**
+     * run multi job on executor in one request, async
+     *
+     * @param address               executor address
+     * @param triggerRequestList    trigger request list
+     * @return future of run result, same order as request, never completed exceptionally
+     */
+    public CompletableFuture<List<Response<String>>> runBatch(String address, List<TriggerRequest> triggerRequestList) {
+        // batch not supported, run one by one
+        Long unsupportedTime = batchUnsupportedMap.get(address);
+        if (unsupportedTime != null) {
+            if (System.currentTimeMillis() - unsupportedTime < BATCH_UNSUPPORTED_EXPIRE) {
+                return runEach(address, triggerRequestList);
+            }
+            batchUnsupportedMap.remove(address);
+        }
+
+        int size = triggerRequestList.size();
+        return post(address, "runBatch", GsonTool.toJson(triggerRequestList),
+                httpResponse -> parseBatchResponse(httpResponse, size),
+                msg -> {
+                    List<Response<String>> resultList = new ArrayList<>();
+                    for (int i = 0; i < size; i++) {
+                        resultList.add(failResponse(msg));
+                    }
+                    return resultList;
+                })
+                .thenComposeAsync(resultList -> {
+                    if (resultList != null) {
+                        return CompletableFuture.completedFuture(resultList);
+                    }
+                    // executor not support "/runBatch", run one by one (wait in-flight on fallback thread, not callback thread)
+                    batchUnsupportedMap.put(address, System.currentTimeMillis());
+                    logger.info(">>>>>>>>>>> xxl-job, ExecutorAsyncClient runBatch not supported, fallback to run, address:{}", address);
+                    return runEach(address, triggerRequestList);
+                }, fallbackThreadPool);
+    }
+
+    private CompletableFuture<List<Response<String>>> runEach(String address, List<TriggerRequest> triggerRequestList) {
+        List<CompletableFuture<Response<String>>> futureList = new ArrayList<>();
+        for (TriggerRequest triggerRequest : triggerRequestList) {
+            futureList.add(run(address, triggerRequest));
+        }
+        return CompletableFuture.allOf(futureList.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<Response<String>> resultList = new ArrayList<>();
+            for (CompletableFuture<Response<String>> future : futureList) {
+                resultList.add(future.join());
+            }
+            return resultList;
+        });
+    }
+
+    /**
+     * beat executor, async
+     *
+     * @param address   executor address
+     * @return future of beat result, never completed exceptionally
+     */
+    public CompletableFuture<Response<String>> beat(String address) {
+        return post(address, "beat", "", this::parseResponse, ExecutorAsyncClient::failResponse);
+    }
+
+    /**
+     * idle beat executor, async
+     *
+     * @param address           executor address
+     * @param idleBeatRequest   idle beat request
+     * @return future of idle beat result, never completed exceptionally
+     */
+    public CompletableFuture<Response<String>> idleBeat(String address, IdleBeatRequest idleBeatRequest) {
+        return post(address, "idleBeat", GsonTool.toJson(idleBeatRequest), this::parseResponse, ExecutorAsyncClient::failResponse);
+    }
+
+    /**
+     * post request, and parse result
+     *
+     * @param parser    parse response body
+     * @param failer    build result by fail msg
+     */
+    private <T> CompletableFuture<T> post(String address, String uri, String requestBody, Function<HttpResponse<String>, T> parser, Function<String, T> failer) {
+        // valid
+        if (StringTool.isBlank(address)) {
+            return CompletableFuture.completedFuture(failer.apply("executor address empty."));
+        }
+
+        // in-flight limit, wait until released
+        try {
+            if (!inFlightSemaphore.tryAcquire(timeout, TimeUnit.SECONDS)) {
+                return CompletableFuture.completedFuture(failer.apply("executor async client is busy, in-flight:" + inFlight()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(failer.apply("executor async client interrupted."));
+        }
+
+        // circuit breaker, fail fast (after permit taken, trial request of half open always sent and recorded)
+        if (clientRegistry != null && !clientRegistry.allowRequest(address)) {
+            inFlightSemaphore.release();
+            return CompletableFuture.completedFuture(failer.apply("executor circuit breaker open, address:" + address));
+        }
+
+        // build request
+        long start = System.currentTimeMillis();
+        CompletableFuture<HttpResponse<String>> responseFuture;
+        try {
+            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                    .uri(URI.create(makeUrl(address, uri)))
+                    .timeout(Duration.ofSeconds(timeout))
+                    .header("Content-Type", "application/json;charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8));
+            if (StringTool.isNotBlank(accessToken)) {
+                requestBuilder.header(Const.XXL_JOB_ACCESS_TOKEN, accessToken);
+            }
+            responseFuture = httpClient.sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (Throwable e) {
+            inFlightSemaphore.release();
+            recordResult(address, start, false);
+            return CompletableFuture.completedFuture(failer.apply(e.toString()));
+        }
+
+        // parse response
+        return responseFuture.handle((httpResponse, throwable) -> {
+            inFlightSemaphore.release();
+            recordResult(address, start, throwable == null && httpResponse.statusCode() == 200);
+            if (throwable != null) {
+                Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+                logger.debug(">>>>>>>>>>> xxl-job, ExecutorAsyncClient request error, address:{}, uri:{}", address, uri, cause);
+                return failer.apply(cause.toString());
+            }
+            return parser.apply(httpResponse);
+        });
+    }
+
+    private void recordResult(String address, long start, boolean success) {
+        if (clientRegistry == null) {
+            return;
+        }
+        if (success) {
+            clientRegistry.recordSuccess(address, System.currentTimeMillis() - start);
+        } else {
+            clientRegistry.recordFailure(address, System.currentTimeMillis() - start);
+        }
+    }
+
+    private static Response<String> failResponse(String msg) {
+        return Response.of(XxlJobContext.HANDLE_CODE_FAIL, msg);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<String> parseResponse(HttpResponse<String> httpResponse) {
+        if (httpResponse.statusCode() != 200) {
+            return Response.of(XxlJobContext.HANDLE_CODE_FAIL, "xxl-job remoting fail, StatusCode(" + httpResponse.statusCode() + ") invalid.");
+        }
+        try {
+            Response<String> response = GsonTool.fromJson(httpResponse.body(), Response.class, String.class);
+            if (response == null) {
+                return Response.of(XxlJobContext.HANDLE_CODE_FAIL, "xxl-job remoting fail, response empty.");
+            }
+            return response;
+        } catch (Throwable e) {
+            return Response.of(XxlJobContext.HANDLE_CODE_FAIL, "xxl-job remoting fail, response invalid: " + httpResponse.body());
+        }
+    }
+
+    /**
+     * parse batch response
+     *
+     * @return result list, null if executor not support "/runBatch" (404/405, or uri-mapping not found)
+     */
+    private List<Response<String>> parseBatchResponse(HttpResponse<String> httpResponse, int size) {
+        int statusCode = httpResponse.statusCode();
+        if (statusCode == 404 || statusCode == 405) {
+            return null;
+        }
+        String body = httpResponse.body();
+        if (statusCode != 200 || body == null || !body.trim().startsWith("[")) {
+            // not list result, unsupported by old executor (uri-mapping not found), or fail of all (e.g. access token wrong)
+            Response<String> response = parseResponse(httpResponse);
+            if (statusCode == 200 && response.getMsg() != null && response.getMsg().contains("uri-mapping(/runBatch) not found")) {
+                return null;
+            }
+            if (response.isSuccess()) {
+                response = failResponse("xxl-job remoting fail, batch response invalid: " + body);
+            }
+            List<Response<String>> resultList = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                resultList.add(response);
+            }
+            return resultList;
+        }
+        List<Response<String>> resultList = new ArrayList<>();
+        try {
+            for (Response<String> response : parseResponseList(body)) {
+                resultList.add(response != null ? response : failResponse("xxl-job remoting fail, response empty."));
+            }
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, ExecutorAsyncClient runBatch response invalid: {}", body, e);
+        }
+        while (resultList.size() < size) {
+            resultList.add(failResponse("xxl-job remoting fail, batch response missing."));
+        }
+        return resultList;
+    }
+
+    /**
+     * parse "List<Response<String>>", by json type
+     */
+    private static List<Response<String>> parseResponseList(String body) {
+        return GsonTool.fromJson(body, new TypeToken<List<Response<String>>>(){}.getType());
+    }
+
+    /**
+     * make url, "http://ip:port/" + "run"
+     */
+    private static String makeUrl(String address, String uri) {
+        address = address.trim();
+        return address.endsWith("/") ? address + uri : address + "/" + uri;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.xxl.job.admin.scheduler.client;
+
+/**
+ * executor client metric, of one address in metric window
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorClientMetric {
+
+    private String address;
+    private int state;              // circuit state, 0=closed, 1=open, 2=half open
+    private long requestCount;
+    private long errorCount;
+    private long rejectCount;       // request rejected by circuit breaker
+    private long avgCostMs;
+    private long maxCostMs;
+
+    public ExecutorClientMetric() {
+    }
+    public ExecutorClientMetric(String address, int state, long requestCount, long errorCount, long rejectCount, long avgCostMs, long maxCostMs) {
+        this.address = address;
+        this.state = state;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.rejectCount = rejectCount;
+        this.avgCostMs = avgCostMs;
+        this.maxCostMs = maxCostMs;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getRejectCount() {
+        return rejectCount;
+    }
+
+    public long getAvgCostMs() {
+        return avgCostMs;
+    }
+
+    public long getMaxCostMs() {
+        return maxCostMs;
+    }
+
+    /**
+     * error rate, 0~1
+     */
+    public double getErrorRate() {
+        return requestCount>0?(double) errorCount/requestCount:0;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorClientMetric{" +
+                "address='" + address + '\'' +
+                ", state=" + state +
+                ", requestCount=" + requestCount +
+                ", errorCount=" + errorCount +
+                ", rejectCount=" + rejectCount +
+                ", avgCostMs=" + avgCostMs +
+                ", maxCostMs=" + maxCostMs +
+                '}';
+    }
+}
@@ -0,0 +1,337 @@
+package com.xxl.job.admin.scheduler.client;
+
+import com.xxl.job.core.constant.Const;
+import com.xxl.job.core.openapi.ExecutorBiz;
+import com.xxl.tool.core.StringTool;
+import com.xxl.tool.http.HttpTool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * executor client registry, client state of each executor address (sync client, circuit breaker, metrics)
+ *
+ *      a、client：sync client (ExecutorBiz) created lazily for each address, keep-alive connection pooled per address by jdk；
+ *      b、evict：address not accessed for "IDLE_TIMEOUT" evicted (executor offline, pod replaced)；
+ *      c、circuit breaker：open after "FAIL_THRESHOLD" continuous remoting fail, request fail fast when open, one trial request allowed after "OPEN_TIME" (half open), open again if trial result not recorded in "trialTimeout" (trial lost)；
+ *      d、metrics：request count, error rate and latency of each address, in last "METRIC_WINDOW"；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorClientRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorClientRegistry.class);
+
+    public static final long IDLE_TIMEOUT = 10 * 60 * 1000;
+    public static final int FAIL_THRESHOLD = 5;
+    public static final long OPEN_TIME = 10 * 1000;
+    public static final long METRIC_WINDOW = 60 * 1000;
+
+    public static final int STATE_CLOSED = 0;
+    public static final int STATE_OPEN = 1;
+    public static final int STATE_HALF_OPEN = 2;
+
+    private final String accessToken;
+    private final int timeout;
+    private final long trialTimeout;
+
+    private final ConcurrentMap<String, ExecutorClient> clientMap = new ConcurrentHashMap<>();
+    private Thread monitorThread;
+    private volatile boolean toStop = false;
+
+    /**
+     * @param accessToken   access token
+     * @param timeout       request timeout, by second
+     */
+    public ExecutorClientRegistry(String accessToken, int timeout) {
+        this.accessToken = accessToken;
+        this.timeout = timeout;
+        this.trialTimeout = Math.max(timeout, 1) * 2 * 1000L;     // twice of request timeout
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        monitorThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(METRIC_WINDOW);
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                    if (toStop) {
+                        break;
+                    }
+                    try {
+                        // metric window roll, and evict idle client
+                        long now = System.currentTimeMillis();
+                        for (ExecutorClient client : clientMap.values()) {
+                            client.rollMetric();
+                            if (now - client.lastAccessTime > IDLE_TIMEOUT) {
+                                clientMap.remove(client.address, client);
+                                logger.info(">>>>>>>>>>> xxl-job, ExecutorClientRegistry evict idle client, address:{}", client.address);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, ExecutorClientRegistry monitor error:{}", e.getMessage(), e);
+                        }
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, ExecutorClientRegistry stop");
+            }
+        });
+        monitorThread.setDaemon(true);
+        monitorThread.setName("xxl-job, admin ExecutorClientRegistry");
+        monitorThread.start();
+    }
+
+    /**
+     * stop
+     */
+    public void stop() {
+        toStop = true;
+        if (monitorThread != null) {
+            monitorThread.interrupt();
+            try {
+                monitorThread.join();
+            } catch (Throwable e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        clientMap.clear();
+    }
+
+
+    // ---------------------- client ----------------------
+
+    /**
+     * load sync client of executor, request recorded (circuit breaker, metrics)
+     *
+     * @param address   executor address
+     * @return sync client, null if address blank
+     */
+    public ExecutorBiz getExecutorBiz(String address) {
+        if (StringTool.isBlank(address)) {
+            return null;
+        }
+        ExecutorClient client = loadClient(address.trim());
+        if (client.executorBiz == null) {
+            synchronized (client) {
+                if (client.executorBiz == null) {
+                    client.executorBiz = buildExecutorBiz(client);
+                }
+            }
+        }
+        return client.executorBiz;
+    }
+
+    private ExecutorBiz buildExecutorBiz(ExecutorClient client) {
+        ExecutorBiz remoteBiz = HttpTool.createClient()
+                .url(client.address)
+                .timeout(timeout * 1000)
+                .header(Const.XXL_JOB_ACCESS_TOKEN, accessToken)
+                .proxy(ExecutorBiz.class);
+
+        // record request, fail fast when circuit open
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(remoteBiz, args);
+            }
+            if (!allowRequest(client.address)) {
+                throw new IllegalStateException("executor circuit breaker open, address:" + client.address);
+            }
+            long start = System.currentTimeMillis();
+            try {
+                Object result = method.invoke(remoteBiz, args);
+                recordSuccess(client.address, System.currentTimeMillis() - start);
+                return result;
+            } catch (InvocationTargetException e) {
+                recordFailure(client.address, System.currentTimeMillis() - start);
+                throw e.getCause();
+            }
+        };
+        return (ExecutorBiz) Proxy.newProxyInstance(ExecutorBiz.class.getClassLoader(), new Class<?>[]{ExecutorBiz.class}, handler);
+    }
+
+    private ExecutorClient loadClient(String address) {
+        ExecutorClient client = clientMap.get(address);
+        if (client == null) {
+            client = clientMap.computeIfAbsent(address, ExecutorClient::new);
+        }
+        client.lastAccessTime = System.currentTimeMillis();
+        return client;
+    }
+
+
+    // ---------------------- circuit breaker ----------------------
+
+    /**
+     * request allowed or not, false if circuit open (one trial request allowed when half open)
+     *
+     * @param address   executor address
+     * @return allowed
+     */
+    public boolean allowRequest(String address) {
+        ExecutorClient client = loadClient(address);
+        synchronized (client) {
+            if (client.state == STATE_CLOSED) {
+                return true;
+            }
+            long nowTime = System.currentTimeMillis();
+            if (client.state == STATE_HALF_OPEN && nowTime - client.trialTime >= trialTimeout) {
+                // trial request lost (result not recorded), open again
+                client.state = STATE_OPEN;
+                client.openTime = nowTime;
+                logger.warn(">>>>>>>>>>> xxl-job, ExecutorClientRegistry circuit breaker trial lost, open again, address:{}", address);
+            }
+            if (client.state == STATE_OPEN && nowTime - client.openTime >= OPEN_TIME) {
+                client.state = STATE_HALF_OPEN;     // trial request
+                client.trialTime = nowTime;
+                return true;
+            }
+            client.rejectCount.increment();
+            return false;
+        }
+    }
+
+    /**
+     * record remoting success
+     *
+     * @param address   executor address
+     * @param costMs    latency, by millisecond
+     */
+    public void recordSuccess(String address, long costMs) {
+        ExecutorClient client = loadClient(address);
+        client.recordRequest(costMs, false);
+        synchronized (client) {
+            client.failCount = 0;
+            if (client.state != STATE_CLOSED) {
+                client.state = STATE_CLOSED;
+                logger.info(">>>>>>>>>>> xxl-job, ExecutorClientRegistry circuit breaker closed, address:{}", address);
+            }
+        }
+    }
+
+    /**
+     * record remoting fail (connect fail, timeout, invalid http status)
+     *
+     * @param address   executor address
+     * @param costMs    latency, by millisecond
+     */
+    public void recordFailure(String address, long costMs) {
+        ExecutorClient client = loadClient(address);
+        client.recordRequest(costMs, true);
+        synchronized (client) {
+            client.failCount++;
+            if (client.state == STATE_HALF_OPEN
+                    || (client.state == STATE_CLOSED && client.failCount >= FAIL_THRESHOLD)) {
+                client.state = STATE_OPEN;
+                client.openTime = System.currentTimeMillis();
+                logger.warn(">>>>>>>>>>> xxl-job, ExecutorClientRegistry circuit breaker open, address:{}, failCount:{}", address, client.failCount);
+            }
+        }
+    }
+
+    /**
+     * circuit state of address
+     */
+    public int state(String address) {
+        ExecutorClient client = clientMap.get(address);
+        return client!=null?client.state:STATE_CLOSED;
+    }
+
+
+    // ---------------------- metrics ----------------------
+
+    /**
+     * metrics of all address, in last metric window (current window if not rolled yet)
+     */
+    public List<ExecutorClientMetric> metrics() {
+        List<ExecutorClientMetric> metricList = new ArrayList<>();
+        for (ExecutorClient client : clientMap.values()) {
+            metricList.add(client.metric());
+        }
+        return metricList;
+    }
+
+    public int size() {
+        return clientMap.size();
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static class ExecutorClient {
+        private final String address;
+        private volatile ExecutorBiz executorBiz;
+        private volatile long lastAccessTime = System.currentTimeMillis();
+
+        // circuit breaker, guarded by "this"
+        private volatile int state = STATE_CLOSED;
+        private int failCount = 0;
+        private long openTime = 0;
+        private long trialTime = 0;
+
+        // metric of current window
+        private final LongAdder requestCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder rejectCount = new LongAdder();
+        private final LongAdder totalCostMs = new LongAdder();
+        private final AtomicLong maxCostMs = new AtomicLong(0);
+        private volatile ExecutorClientMetric lastMetric;
+
+        private ExecutorClient(String address) {
+            this.address = address;
+        }
+
+        private void recordRequest(long costMs, boolean error) {
+            requestCount.increment();
+            if (error) {
+                errorCount.increment();
+            }
+            totalCostMs.add(costMs);
+            maxCostMs.accumulateAndGet(costMs, Math::max);
+        }
+
+        private ExecutorClientMetric currentMetric() {
+            long request = requestCount.sum();
+            return new ExecutorClientMetric(address,
+                    state,
+                    request,
+                    errorCount.sum(),
+                    rejectCount.sum(),
+                    request>0?totalCostMs.sum()/request:0,
+                    maxCostMs.get());
+        }
+
+        private void rollMetric() {
+            lastMetric = currentMetric();
+            requestCount.reset();
+            errorCount.reset();
+            rejectCount.reset();
+            totalCostMs.reset();
+            maxCostMs.set(0);
+        }
+
+        private ExecutorClientMetric metric() {
+            ExecutorClientMetric metric = lastMetric;
+            return metric!=null?metric:currentMetric();
+        }
+    }
+
+}
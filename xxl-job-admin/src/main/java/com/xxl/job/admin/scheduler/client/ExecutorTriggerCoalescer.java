@@ -0,0 +1,223 @@
+package com.xxl.job.admin.scheduler.client;
+
+import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.job.core.openapi.model.TriggerRequest;
+import com.xxl.tool.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * executor trigger coalescer, merge trigger to same executor address into one "/runBatch" request
+ *
+ *      a、window：first trigger of an address open a batch, flushed after "windowMs"；
+ *      b、size：batch flushed directly when reach "maxBatchSize"；
+ *      c、result：each trigger get its own result, from the item of batch result；
+ *      d、disable："windowMs <= 0", trigger send by "/run" directly；
+ *      e、send：batch flushed by window sent on send thread pool, in-flight wait not block flush scheduler (window of other address)；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorTriggerCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorTriggerCoalescer.class);
+
+    private final ExecutorAsyncClient executorAsyncClient;
+    private final int windowMs;
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<String, Batch> batchMap = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flushScheduler;
+    private ThreadPoolExecutor sendThreadPool;
+
+    /**
+     * @param executorAsyncClient   executor async client
+     * @param windowMs              coalesce window, by millisecond; "<= 0" means disable
+     * @param maxBatchSize          max trigger count of one batch
+     */
+    public ExecutorTriggerCoalescer(ExecutorAsyncClient executorAsyncClient, int windowMs, int maxBatchSize) {
+        this.executorAsyncClient = executorAsyncClient;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        flushScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "xxl-job, admin ExecutorTriggerCoalescer-flushScheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        int threadCount = Math.max(4, Runtime.getRuntime().availableProcessors());
+        sendThreadPool = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "xxl-job, admin ExecutorTriggerCoalescer-sendThreadPool-" + r.hashCode());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * stop, flush pending batch
+     */
+    public void stop() {
+        for (Batch batch : new ArrayList<>(batchMap.values())) {
+            flush(batch);
+        }
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+        }
+        if (sendThreadPool != null) {
+            sendThreadPool.shutdown();      // batch flushed by window still sent
+        }
+        logger.info(">>>>>>>>>>> xxl-job, ExecutorTriggerCoalescer stop");
+    }
+
+    /**
+     * run job on executor, coalesced by address
+     *
+     * @param address           executor address
+     * @param triggerRequest    trigger request
+     * @return future of run result, never completed exceptionally
+     */
+    public CompletableFuture<Response<String>> run(String address, TriggerRequest triggerRequest) {
+        // disable
+        if (windowMs <= 0 || address == null) {
+            return executorAsyncClient.run(address, triggerRequest);
+        }
+
+        CompletableFuture<Response<String>> future = new CompletableFuture<>();
+        while (true) {
+            // open batch
+            Batch batch = batchMap.get(address);
+            if (batch == null) {
+                Batch newBatch = new Batch(address);
+                batch = batchMap.putIfAbsent(address, newBatch);
+                if (batch == null) {
+                    batch = newBatch;
+                    scheduleFlush(newBatch);
+                }
+            }
+
+            // add, retry when batch flushed concurrently
+            int size = batch.add(triggerRequest, future);
+            if (size < 0) {
+                continue;
+            }
+            if (size >= maxBatchSize) {
+                flush(batch);
+            }
+            return future;
+        }
+    }
+
+    private void scheduleFlush(Batch batch) {
+        try {
+            flushScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // send on send thread pool, in-flight wait not block scheduler
+                    try {
+                        sendThreadPool.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                flush(batch);
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        flush(batch);       // stopped
+                    }
+                }
+            }, windowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            flush(batch);       // stopped
+        }
+    }
+
+    /**
+     * flush batch, send once
+     */
+    private void flush(Batch batch) {
+        // close
+        List<TriggerRequest> requestList;
+        List<CompletableFuture<Response<String>>> futureList;
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+            requestList = batch.requestList;
+            futureList = batch.futureList;
+        }
+        batchMap.remove(batch.address, batch);
+
+        // send
+        try {
+            if (requestList.size() == 1) {
+                executorAsyncClient.run(batch.address, requestList.get(0)).thenAccept(futureList.get(0)::complete);
+                return;
+            }
+            executorAsyncClient.runBatch(batch.address, requestList).whenComplete((resultList, e) -> {
+                for (int i = 0; i < futureList.size(); i++) {
+                    if (e == null && resultList != null && i < resultList.size()) {
+                        futureList.get(i).complete(resultList.get(i));
+                    } else {
+                        futureList.get(i).complete(Response.of(XxlJobContext.HANDLE_CODE_FAIL, "executor run batch fail, " + e));
+                    }
+                }
+            });
+            logger.debug(">>>>>>>>>>> xxl-job, ExecutorTriggerCoalescer flush, address:{}, size:{}", batch.address, requestList.size());
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, ExecutorTriggerCoalescer flush error, address:{}", batch.address, e);
+            for (CompletableFuture<Response<String>> future : futureList) {
+                future.complete(Response.of(XxlJobContext.HANDLE_CODE_FAIL, e.toString()));
+            }
+        }
+    }
+
+
+    // ---------------------- model ----------------------
+
+    /**
+     * pending trigger of one address, guarded by itself
+     */
+    private static class Batch {
+        private final String address;
+        private final List<TriggerRequest> requestList = new ArrayList<>();
+        private final List<CompletableFuture<Response<String>>> futureList = new ArrayList<>();
+        private boolean closed = false;
+
+        private Batch(String address) {
+            this.address = address;
+        }
+
+        /**
+         * @return batch size after add, "-1" if closed
+         */
+        private synchronized int add(TriggerRequest triggerRequest, CompletableFuture<Response<String>> future) {
+            if (closed) {
+                return -1;
+            }
+            requestList.add(triggerRequest);
+            futureList.add(future);
+            return requestList.size();
+        }
+    }
+
+}
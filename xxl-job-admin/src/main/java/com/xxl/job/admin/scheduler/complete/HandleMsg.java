@@ -0,0 +1,134 @@
+package com.xxl.job.admin.scheduler.complete;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.util.I18nUtil;
+import com.xxl.tool.core.StringTool;
+import com.xxl.tool.json.GsonTool;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * handle msg, structured handle-info stored in "xxl_job_log.handle_msg" (json), rendered to html when read
+ *
+ *      a、msg：handle msg from executor (or lost / kill), stored as it is；
+ *      b、child：child job id triggered when complete, child trigger msg rendered when read；
+ *      c、compatible：old html handle msg (not json, or json without handle msg field, e.g. raw msg from executor) returned directly；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class HandleMsg {
+
+    private String msg;
+    private String childJobId;      // child job id triggered, split by ","
+
+    public HandleMsg() {
+    }
+    public HandleMsg(String msg, String childJobId) {
+        this.msg = msg;
+        this.childJobId = childJobId;
+    }
+
+    public String getMsg() {
+        return msg;
+    }
+
+    public void setMsg(String msg) {
+        this.msg = msg;
+    }
+
+    public String getChildJobId() {
+        return childJobId;
+    }
+
+    public void setChildJobId(String childJobId) {
+        this.childJobId = childJobId;
+    }
+
+
+    // ---------------------- codec ----------------------
+
+    public String toJson() {
+        return GsonTool.toJson(this);
+    }
+
+    /**
+     * field of structured handle msg
+     */
+    private static final Set<String> FIELD_SET = new HashSet<>(Arrays.asList("msg", "childJobId"));
+
+    /**
+     * parse handle msg
+     *
+     * @param handleMsg handle msg of log
+     * @return null if not structured (old html, json of other field, or empty)
+     */
+    public static HandleMsg parse(String handleMsg) {
+        if (handleMsg == null || !handleMsg.startsWith("{")) {
+            return null;
+        }
+        try {
+            // only field of handle msg, at least one
+            Map<?, ?> fieldMap = GsonTool.fromJson(handleMsg, Map.class);
+            if (fieldMap == null || fieldMap.isEmpty() || !FIELD_SET.containsAll(fieldMap.keySet())) {
+                return null;
+            }
+            return GsonTool.fromJson(handleMsg, HandleMsg.class);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+
+    // ---------------------- render ----------------------
+
+    /**
+     * render handle msg of log to html
+     *
+     * @param jobLog    job log
+     * @return html
+     */
+    public static String render(XxlJobLog jobLog) {
+        HandleMsg handleMsg = parse(jobLog.getHandleMsg());
+        if (handleMsg == null) {
+            return jobLog.getHandleMsg();
+        }
+
+        StringBuilder handleMsgSb = new StringBuilder();
+        if (handleMsg.getMsg() != null) {
+            handleMsgSb.append(handleMsg.getMsg());
+        }
+
+        // child job
+        if (StringTool.isNotBlank(handleMsg.getChildJobId())) {
+            handleMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>").append(I18nUtil.getString("jobconf_trigger_child_run")).append("<<<<<<<<<<< </span><br>");
+            String[] childJobIds = handleMsg.getChildJobId().split(",");
+            for (int i = 0; i < childJobIds.length; i++) {
+                int childJobId = (StringTool.isNotBlank(childJobIds[i]) && StringTool.isNumeric(childJobIds[i]))
+                        ?Integer.parseInt(childJobIds[i])
+                        :-1;
+                if (childJobId > 0) {
+                    if (childJobId == jobLog.getJobId()) {
+                        continue;       // self, ignored
+                    }
+                    handleMsgSb.append(MessageFormat.format(I18nUtil.getString("jobconf_callback_child_msg1"),
+                            (i+1),
+                            childJobIds.length,
+                            childJobIds[i],
+                            I18nUtil.getString("system_success"),
+                            null));
+                } else {
+                    handleMsgSb.append(MessageFormat.format(I18nUtil.getString("jobconf_callback_child_msg2"),
+                            (i+1),
+                            childJobIds.length,
+                            childJobIds[i]));
+                }
+            }
+        }
+        return handleMsgSb.toString();
+    }
+
+}
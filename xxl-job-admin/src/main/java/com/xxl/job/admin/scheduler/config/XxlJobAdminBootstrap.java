@@ -2,13 +2,17 @@ package com.xxl.job.admin.scheduler.config;
 
 import com.xxl.job.admin.mapper.*;
 import com.xxl.job.admin.scheduler.alarm.JobAlarmer;
+import com.xxl.job.admin.scheduler.cache.ExecutorHealthCache;
+import com.xxl.job.admin.scheduler.cache.ExecutorLoadCache;
+import com.xxl.job.admin.scheduler.cache.JobMetaCache;
+import com.xxl.job.admin.scheduler.client.ExecutorAsyncClient;
+import com.xxl.job.admin.scheduler.client.ExecutorClientRegistry;
+import com.xxl.job.admin.scheduler.client.ExecutorTriggerCoalescer;
 import com.xxl.job.admin.scheduler.complete.JobCompleter;
 import com.xxl.job.admin.scheduler.thread.*;
 import com.xxl.job.admin.scheduler.trigger.JobTrigger;
-import com.xxl.job.core.constant.Const;
 import com.xxl.job.core.openapi.ExecutorBiz;
-import com.xxl.tool.core.StringTool;
-import com.xxl.tool.http.HttpTool;
+import com.xxl.tool.http.IPTool;
 import jakarta.annotation.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +24,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * xxl-job config
@@ -59,13 +61,54 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
     }
 
     // job module
+    private JobMetaCache jobMetaCache;
+    private ExecutorLoadCache executorLoadCache;
+    private ExecutorHealthCache executorHealthCache;
+    private JobLogIdHelper jobLogIdHelper;
+    private JobLogWriteHelper jobLogWriteHelper;
+    private ExecutorClientRegistry executorClientRegistry;
+    private ExecutorAsyncClient executorAsyncClient;
+    private ExecutorTriggerCoalescer executorTriggerCoalescer;
     private JobTriggerPoolHelper jobTriggerPoolHelper;
     private JobRegistryHelper jobRegistryHelper;
     private JobFailAlarmMonitorHelper jobFailAlarmMonitorHelper;
     private JobCompleteHelper jobCompleteHelper;
     private JobLogReportHelper jobLogReportHelper;
+    private JobStatHelper jobStatHelper;
     private JobScheduleHelper jobScheduleHelper;
+    private JobScheduleClusterHelper jobScheduleClusterHelper;
+    private JobScheduleIndexHelper jobScheduleIndexHelper;
 
+    public JobMetaCache getJobMetaCache() {
+        return jobMetaCache;
+    }
+    public ExecutorLoadCache getExecutorLoadCache() {
+        return executorLoadCache;
+    }
+    public ExecutorHealthCache getExecutorHealthCache() {
+        return executorHealthCache;
+    }
+    public JobLogIdHelper getJobLogIdHelper() {
+        return jobLogIdHelper;
+    }
+    public JobLogWriteHelper getJobLogWriteHelper() {
+        return jobLogWriteHelper;
+    }
+    public JobLogReportHelper getJobLogReportHelper() {
+        return jobLogReportHelper;
+    }
+    public JobStatHelper getJobStatHelper() {
+        return jobStatHelper;
+    }
+    public ExecutorClientRegistry getExecutorClientRegistry() {
+        return executorClientRegistry;
+    }
+    public ExecutorAsyncClient getExecutorAsyncClient() {
+        return executorAsyncClient;
+    }
+    public ExecutorTriggerCoalescer getExecutorTriggerCoalescer() {
+        return executorTriggerCoalescer;
+    }
     public JobTriggerPoolHelper getJobTriggerPoolHelper() {
         return jobTriggerPoolHelper;
     }
@@ -75,12 +118,55 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
     public JobCompleteHelper getJobCompleteHelper() {
         return jobCompleteHelper;
     }
+    public JobScheduleClusterHelper getJobScheduleClusterHelper() {
+        return jobScheduleClusterHelper;
+    }
+    public JobScheduleIndexHelper getJobScheduleIndexHelper() {
+        return jobScheduleIndexHelper;
+    }
 
     /**
      * do start
      */
     private void doStart() throws Exception {
-        // trigger-pool start
+        // job meta cache init
+        jobMetaCache = new JobMetaCache();
+
+        // executor load cache init
+        executorLoadCache = new ExecutorLoadCache();
+
+        // executor health cache init
+        executorHealthCache = new ExecutorHealthCache();
+
+        // log-id allocate start  ( lease id segment )
+        jobLogIdHelper = new JobLogIdHelper();
+        jobLogIdHelper.start();
+
+        // log-write start  ( batch write log )
+        jobLogWriteHelper = new JobLogWriteHelper();
+        jobLogWriteHelper.start();
+
+        // log-report start  ( count trigger and complete, depend on JobLogWriteHelper )
+        jobLogReportHelper = new JobLogReportHelper();
+        jobLogReportHelper.start();
+
+        // job-stat start  ( count trigger and complete by job and hour )
+        jobStatHelper = new JobStatHelper();
+        jobStatHelper.start();
+
+        // executor client registry start  ( circuit breaker, metrics )
+        executorClientRegistry = new ExecutorClientRegistry(accessToken, timeout);
+        executorClientRegistry.start();
+
+        // executor async client start
+        executorAsyncClient = new ExecutorAsyncClient(accessToken, timeout, getTriggerInFlightMax(), executorClientRegistry);
+        executorAsyncClient.start();
+
+        // executor trigger coalescer start  ( depend on ExecutorAsyncClient )
+        executorTriggerCoalescer = new ExecutorTriggerCoalescer(executorAsyncClient, triggerBatchWindow, 100);
+        executorTriggerCoalescer.start();
+
+        // trigger-pool start  ( depend on ExecutorTriggerCoalescer )
         jobTriggerPoolHelper = new JobTriggerPoolHelper();
         jobTriggerPoolHelper.start();
 
@@ -96,11 +182,17 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
         jobCompleteHelper = new JobCompleteHelper();
         jobCompleteHelper.start();
 
-        // log-report start
-        jobLogReportHelper = new JobLogReportHelper();
-        jobLogReportHelper.start();
+        // job-schedule cluster start  ( partition schedule between admins, optional )
+        if (schedulePartitionEnabled) {
+            jobScheduleClusterHelper = new JobScheduleClusterHelper(IPTool.getIp() + ":" + serverPort);
+            jobScheduleClusterHelper.start();
+        }
+
+        // job-schedule index start  ( load next trigger time of running job )
+        jobScheduleIndexHelper = new JobScheduleIndexHelper();
+        jobScheduleIndexHelper.start();
 
-        // job-schedule start  ( depend on JobTriggerPoolHelper )
+        // job-schedule start  ( depend on JobTriggerPoolHelper, JobScheduleIndexHelper )
         jobScheduleHelper = new JobScheduleHelper();
         jobScheduleHelper.start();
 
@@ -114,8 +206,13 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
         // job-schedule stop
         jobScheduleHelper.stop();
 
-        // log-report stop
-        jobLogReportHelper.stop();
+        // job-schedule index stop
+        jobScheduleIndexHelper.stop();
+
+        // job-schedule cluster stop
+        if (jobScheduleClusterHelper != null) {
+            jobScheduleClusterHelper.stop();
+        }
 
         // job complate stop
         jobCompleteHelper.stop();
@@ -129,34 +226,38 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
         // trigger-pool stop
         jobTriggerPoolHelper.stop();
 
+        // executor trigger coalescer stop
+        executorTriggerCoalescer.stop();
+
+        // executor async client stop
+        executorAsyncClient.stop();
+
+        // executor client registry stop
+        executorClientRegistry.stop();
+
+        // job-stat stop  ( flush counter )
+        jobStatHelper.stop();
+
+        // log-report stop  ( flush counter )
+        jobLogReportHelper.stop();
+
+        // log-write stop  ( flush pending log )
+        jobLogWriteHelper.stop();
+
+        // log-id allocate stop
+        jobLogIdHelper.stop();
+
         logger.info(">>>>>>>>> xxl-job admin stopped.");
     }
 
 
     // ---------------------- executor-client ----------------------
 
-    private static ConcurrentMap<String, ExecutorBiz> executorBizRepository = new ConcurrentHashMap<String, ExecutorBiz>();
+    /**
+     * load sync client of executor (managed by ExecutorClientRegistry)
+     */
     public static ExecutorBiz getExecutorBiz(String address) throws Exception {
-        // valid
-        if (StringTool.isBlank(address)) {
-            return null;
-        }
-
-        // load-cache
-        address = address.trim();
-        ExecutorBiz executorBiz = executorBizRepository.get(address);
-        if (executorBiz != null) {
-            return executorBiz;
-        }
-
-        // set-cache
-        executorBiz = HttpTool.createClient()
-                .url(address)
-                .timeout(XxlJobAdminBootstrap.getInstance().getTimeout() * 1000)
-                .header(Const.XXL_JOB_ACCESS_TOKEN, XxlJobAdminBootstrap.getInstance().getAccessToken())
-                .proxy(ExecutorBiz.class);
-        executorBizRepository.put(address, executorBiz);
-        return executorBiz;
+        return XxlJobAdminBootstrap.getInstance().getExecutorClientRegistry().getExecutorBiz(address);
     }
 
 
@@ -181,9 +282,24 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
     @Value("${xxl.job.triggerpool.slow.max}")
     private int triggerPoolSlowMax;
 
+    @Value("${xxl.job.triggerpool.inflight.max:5000}")
+    private int triggerInFlightMax;
+
+    @Value("${xxl.job.triggerpool.batch.window:10}")
+    private int triggerBatchWindow;
+
+    @Value("${xxl.job.triggerpool.broadcast.parallelism:50}")
+    private int triggerBroadcastParallelism;
+
     @Value("${xxl.job.logretentiondays}")
     private int logretentiondays;
 
+    @Value("${xxl.job.schedule.partition.enabled:false}")
+    private boolean schedulePartitionEnabled;
+
+    @Value("${server.port}")
+    private int serverPort;
+
     // service, mapper
     @Resource
     private XxlJobLogMapper xxlJobLogMapper;
@@ -198,6 +314,16 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
     @Resource
     private XxlJobLockMapper xxlJobLockMapper;
     @Resource
+    private XxlJobIdSegmentMapper xxlJobIdSegmentMapper;
+    @Resource
+    private XxlJobLogRunningMapper xxlJobLogRunningMapper;
+    @Resource
+    private XxlJobLogAlarmMapper xxlJobLogAlarmMapper;
+    @Resource
+    private XxlJobStatMapper xxlJobStatMapper;
+    @Resource
+    private XxlJobScheduleChangeMapper xxlJobScheduleChangeMapper;
+    @Resource
     private JavaMailSender mailSender;
     /*@Resource
     private DataSource dataSource;*/
@@ -244,6 +370,20 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
         return triggerPoolSlowMax;
     }
 
+    public int getTriggerInFlightMax() {
+        if (triggerInFlightMax < 500) {
+            return 500;
+        }
+        return triggerInFlightMax;
+    }
+
+    public int getTriggerBroadcastParallelism() {
+        if (triggerBroadcastParallelism < 1) {
+            return 1;
+        }
+        return triggerBroadcastParallelism;
+    }
+
     public int getLogretentiondays() {
         if (logretentiondays < 3) {
             return -1;  // Limit greater than or equal to 3, otherwise close
@@ -251,6 +391,10 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
         return logretentiondays;
     }
 
+    public boolean isSchedulePartitionEnabled() {
+        return schedulePartitionEnabled;
+    }
+
     public XxlJobLogMapper getXxlJobLogMapper() {
         return xxlJobLogMapper;
     }
@@ -275,6 +419,26 @@ public class XxlJobAdminBootstrap implements InitializingBean, DisposableBean {
         return xxlJobLockMapper;
     }
 
+    public XxlJobIdSegmentMapper getXxlJobIdSegmentMapper() {
+        return xxlJobIdSegmentMapper;
+    }
+
+    public XxlJobLogRunningMapper getXxlJobLogRunningMapper() {
+        return xxlJobLogRunningMapper;
+    }
+
+    public XxlJobLogAlarmMapper getXxlJobLogAlarmMapper() {
+        return xxlJobLogAlarmMapper;
+    }
+
+    public XxlJobStatMapper getXxlJobStatMapper() {
+        return xxlJobStatMapper;
+    }
+
+    public XxlJobScheduleChangeMapper getXxlJobScheduleChangeMapper() {
+        return xxlJobScheduleChangeMapper;
+    }
+
     public JavaMailSender getMailSender() {
         return mailSender;
     }
@@ -0,0 +1,329 @@
+package com.xxl.job.admin.scheduler.cron;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * compiled cron expression, same result as "CronExpression", shared by all job with same cron
+ *
+ *      a、compile：parse by "CronExpression", and convert each field into bitset；
+ *      b、search：field by field (year > month > day > hour > minute > second) on int value, no Calendar/TreeSet；
+ *      c、fallback：special day rule ("L"、"W"、"#"), or zone offset transition (DST) between from-time and result, use "CronExpression"；
+ *      d、cache：bounded, keyed by expression string；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public final class CompiledCronExpression {
+
+    // ---------------------- cache ----------------------
+
+    private static final int CACHE_MAX_SIZE = 10000;
+    private static final ConcurrentMap<String, CompiledCronExpression> cache = new ConcurrentHashMap<>();
+
+    /**
+     * compile cron expression, load from cache first
+     *
+     * @param cronExpression    cron expression
+     * @return compiled cron expression
+     * @throws ParseException   invalid cron expression
+     */
+    public static CompiledCronExpression compile(String cronExpression) throws ParseException {
+        CompiledCronExpression compiled = cache.get(cronExpression);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        compiled = new CompiledCronExpression(new CronExpression(cronExpression));
+        if (cache.size() >= CACHE_MAX_SIZE) {
+            cache.clear();      // avoid unbounded growth, rebuild hot expression lazily
+        }
+        CompiledCronExpression exists = cache.putIfAbsent(cronExpression, compiled);
+        return exists != null ? exists : compiled;
+    }
+
+    /**
+     * compile parsed cron expression, not cached, resolved in its time zone
+     *
+     * @param cronExpression    parsed cron expression
+     * @return compiled cron expression
+     */
+    public static CompiledCronExpression compile(CronExpression cronExpression) {
+        return new CompiledCronExpression(new CronExpression(cronExpression));
+    }
+
+    /**
+     * cache size
+     */
+    public static int cacheSize() {
+        return cache.size();
+    }
+
+
+    // ---------------------- compiled ----------------------
+
+    /**
+     * margin around zone offset transition, use "CronExpression" within
+     */
+    private static final long TRANSITION_MARGIN_SECONDS = 86400;
+
+    private final CronExpression cronExpression;
+    private final long secondBits;          // 0-59
+    private final long minuteBits;          // 0-59
+    private final int hourBits;             // 0-23
+    private final long dayOfMonthBits;      // 1-31, valid when "dayOfMonthSpec"
+    private final int monthBits;            // 1-12
+    private final int dayOfWeekBits;        // 1-7 (1=SUN), valid when "!dayOfMonthSpec"
+    private final BitSet yearBits;
+    private final boolean dayOfMonthSpec;
+    private final boolean fallback;
+
+    private CompiledCronExpression(CronExpression cronExpression) {
+        this.cronExpression = cronExpression;
+
+        this.secondBits = toBits(cronExpression.seconds, 0, 59);
+        this.minuteBits = toBits(cronExpression.minutes, 0, 59);
+        this.hourBits = (int) toBits(cronExpression.hours, 0, 23);
+        this.dayOfMonthBits = toBits(cronExpression.daysOfMonth, 1, 31);
+        this.monthBits = (int) toBits(cronExpression.months, 1, 12);
+        this.dayOfWeekBits = (int) toBits(cronExpression.daysOfWeek, 1, 7);
+        this.yearBits = new BitSet();
+        for (Integer year : cronExpression.years) {
+            if (year >= 1970) {
+                yearBits.set(year);
+            }
+        }
+        this.dayOfMonthSpec = !cronExpression.daysOfMonth.contains(CronExpression.NO_SPEC);
+
+        // special day rule, not compiled: "L"/"L-n" (day-of-month value >= LAST_DAY_OFFSET_START), "W", "nL", "n#m"
+        boolean lastDayOfMonth = cronExpression.daysOfMonth.ceiling(CronExpression.LAST_DAY_OFFSET_START) != null
+                && cronExpression.daysOfMonth.ceiling(CronExpression.LAST_DAY_OFFSET_START) <= CronExpression.LAST_DAY_OFFSET_END;
+        this.fallback = lastDayOfMonth
+                || !cronExpression.nearestWeekdays.isEmpty()
+                || cronExpression.lastDayOfWeek
+                || cronExpression.nthDayOfWeek != 0;
+    }
+
+    private static long toBits(Iterable<Integer> values, int min, int max) {
+        long bits = 0;
+        for (Integer value : values) {
+            if (value >= min && value <= max) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    public String getCronExpression() {
+        return cronExpression.getCronExpression();
+    }
+
+    /**
+     * next valid time after from-time, same as "CronExpression#getNextValidTimeAfter"
+     *
+     * @param date from time
+     * @return next valid time, null if not exists
+     */
+    public Date getNextValidTimeAfter(Date date) {
+        if (fallback) {
+            return cronExpression.getNextValidTimeAfter(date);
+        }
+
+        // zone offset at from-time
+        ZoneId zoneId = cronExpression.getTimeZone().toZoneId();
+        ZoneRules rules = zoneId.getRules();
+        long fromSecond = Math.floorDiv(date.getTime(), 1000L) + 1;     // after from-time, ignore millisecond
+        Instant fromInstant = Instant.ofEpochSecond(fromSecond);
+        ZoneOffset offset = rules.getOffset(fromInstant);
+
+        // search on local time
+        long localSecond = search(fromSecond + offset.getTotalSeconds());
+        if (localSecond == Long.MIN_VALUE) {
+            return null;
+        }
+        long resultSecond = localSecond - offset.getTotalSeconds();
+
+        // offset changed near from-time and result (DST), local time is not continuous, fallback (keep same as Calendar)
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition transition = rules.nextTransition(fromInstant.minusSeconds(TRANSITION_MARGIN_SECONDS));
+            if (transition != null && transition.getInstant().getEpochSecond() <= resultSecond + TRANSITION_MARGIN_SECONDS) {
+                return cronExpression.getNextValidTimeAfter(date);
+            }
+        }
+        return new Date(resultSecond * 1000L);
+    }
+
+    /**
+     * search next matched local time, field by field
+     *
+     * @param fromLocalSecond   local epoch second, inclusive
+     * @return matched local epoch second, or Long.MIN_VALUE if not found
+     */
+    private long search(long fromLocalSecond) {
+        long fromDay = Math.floorDiv(fromLocalSecond, 86400L);
+        int secondOfDay = (int) Math.floorMod(fromLocalSecond, 86400L);
+
+        // split from time (civil from days, same as LocalDate.ofEpochDay)
+        long zeroDay = fromDay + 719528 - 60;       // from 0000-03-01, leap day at the end of 4-year cycle
+        long era = Math.floorDiv(zeroDay, 146097);
+        long dayOfEra = zeroDay - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * marchMonth + 2) / 5 + 1);
+        int month = (int) (marchMonth < 10 ? marchMonth + 3 : marchMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        int hour = secondOfDay / 3600;
+        int minute = (secondOfDay / 60) % 60;
+        int second = secondOfDay % 60;
+
+        int maxYear = Math.min(CronExpression.MAX_YEAR, 2999);
+        while (year <= maxYear) {
+
+            // year
+            int nextYear = yearBits.nextSetBit(year);
+            if (nextYear < 0 || nextYear > maxYear) {
+                return Long.MIN_VALUE;
+            }
+            if (nextYear != year) {
+                year = nextYear;
+                month = 1; day = 1; hour = 0; minute = 0; second = 0;
+            }
+
+            // month
+            int nextMonth = nextBit(monthBits, month);
+            if (nextMonth < 0) {
+                year++;
+                month = 1; day = 1; hour = 0; minute = 0; second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1; hour = 0; minute = 0; second = 0;
+            }
+
+            // day
+            int lengthOfMonth = lengthOfMonth(year, month);
+            int nextDay = nextDay(year, month, day, lengthOfMonth);
+            if (nextDay < 0) {
+                month++;
+                day = 1; hour = 0; minute = 0; second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = 0; minute = 0; second = 0;
+            }
+
+            // hour
+            int nextHour = nextBit(hourBits, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = 0; minute = 0; second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = 0; second = 0;
+            }
+
+            // minute
+            int nextMinute = nextBit(minuteBits, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = 0; second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+
+            // second
+            int nextSecond = nextBit(secondBits, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+
+            return toEpochDay(year, month, day) * 86400L + hour * 3600L + minute * 60L + nextSecond;
+        }
+        return Long.MIN_VALUE;
+    }
+
+    /**
+     * next matched day in month, from "day" (inclusive)
+     */
+    private int nextDay(int year, int month, int day, int lengthOfMonth) {
+        if (day > lengthOfMonth) {
+            return -1;
+        }
+        if (dayOfMonthSpec) {
+            int nextDay = nextBit(dayOfMonthBits, day);
+            return nextDay > lengthOfMonth ? -1 : nextDay;
+        }
+
+        // day of week, 1=SUN (1970-01-01 is THU)
+        int dayOfWeek = (int) Math.floorMod(toEpochDay(year, month, day) + 4, 7) + 1;
+        for (int i = 0; i < 7 && day + i <= lengthOfMonth; i++) {
+            int dow = (dayOfWeek - 1 + i) % 7 + 1;
+            if ((dayOfWeekBits & (1 << dow)) != 0) {
+                return day + i;
+            }
+        }
+        return -1;
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from > 63) {
+            return -1;
+        }
+        long masked = bits & (-1L << from);
+        return masked == 0 ? -1 : Long.numberOfTrailingZeros(masked);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * epoch day, same as "LocalDate.of(year, month, day).toEpochDay()"
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (lengthOfMonth(year, 2) == 28) {
+                total--;
+            }
+        }
+        return total - 719528;
+    }
+
+}
@@ -0,0 +1,317 @@
+package com.xxl.job.admin.scheduler.ring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * hierarchical timing wheel, millisecond tick
+ *
+ *      a、wheel：3 level, "1ms * 512"、"512ms * 64"、"32768ms * 64", about 35min; farther item wait in last level, and re-cascade；
+ *      b、insert：lock-free, item push to inbox stack (CAS), and wheel thread move it into bucket；
+ *      c、bucket：only accessed by wheel thread, store primitive "jobId + triggerTime" without lock；
+ *      d、expire：each tick fire the bucket of current millisecond, repeat job (same jobId + triggerTime) fire once；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class TimingWheel {
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    // level-0: 1ms * 512
+    private static final int L0_BITS = 9;
+    private static final int L0_SIZE = 1 << L0_BITS;
+    // level-1: 512ms * 64
+    private static final int L1_BITS = 6;
+    private static final int L1_SIZE = 1 << L1_BITS;
+    private static final int L1_SHIFT = L0_BITS;
+    // level-2: 32768ms * 64
+    private static final int L2_BITS = 6;
+    private static final int L2_SIZE = 1 << L2_BITS;
+    private static final int L2_SHIFT = L0_BITS + L1_BITS;
+
+    private static final long L0_SPAN = 1L << L1_SHIFT;
+    private static final long L1_SPAN = 1L << L2_SHIFT;
+    private static final long L2_SPAN = 1L << (L2_SHIFT + L2_BITS);
+
+    /**
+     * max park time, avoid long sleep when clock jump backward
+     */
+    private static final long MAX_PARK_MS = 1000;
+
+    private final String name;
+    private final IntConsumer expireHandler;
+
+    private final Bucket[] level0 = newBuckets(L0_SIZE);
+    private final Bucket[] level1 = newBuckets(L1_SIZE);
+    private final Bucket[] level2 = newBuckets(L2_SIZE);
+    private final Bucket expireBucket = new Bucket();
+
+    private final AtomicReference<Node> inbox = new AtomicReference<>();
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+
+    private Thread wheelThread;
+    private volatile boolean toStop = false;
+    private volatile long nextWakeTime = 0;
+    private long currentTick;
+
+    public TimingWheel(String name, IntConsumer expireHandler) {
+        this.name = name;
+        this.expireHandler = expireHandler;
+    }
+
+    /**
+     * start
+     */
+    public void start() {
+        currentTick = System.currentTimeMillis();
+
+        wheelThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        // 1、move inbox item into bucket
+                        drainInbox();
+
+                        // 2、advance tick, fire expired bucket
+                        long nowTime = System.currentTimeMillis();
+                        while (currentTick <= nowTime) {
+                            processTick(currentTick);
+                            currentTick++;
+                        }
+
+                        // 3、park until next non-empty tick, or woken by earlier insert
+                        long wakeTime = findNextWakeTime();
+                        nextWakeTime = wakeTime;
+                        if (inbox.get() != null) {
+                            continue;
+                        }
+                        long parkMs = Math.min(wakeTime - System.currentTimeMillis(), MAX_PARK_MS);
+                        if (parkMs > 0) {
+                            LockSupport.parkNanos(this, parkMs * 1_000_000L);
+                        }
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, TimingWheel({}) error:{}", name, e.getMessage(), e);
+                        }
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, TimingWheel({}) stop, pending:{}", name, pendingCount.get());
+            }
+        });
+        wheelThread.setDaemon(true);
+        wheelThread.setName("xxl-job, admin TimingWheel#" + name);
+        wheelThread.start();
+    }
+
+    /**
+     * stop
+     */
+    public void stop() {
+        toStop = true;
+        if (wheelThread != null) {
+            LockSupport.unpark(wheelThread);
+            try {
+                wheelThread.join();
+            } catch (Throwable e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * add job, lock-free
+     *
+     * @param jobId         job id
+     * @param triggerTime   trigger time, millisecond
+     */
+    public void add(int jobId, long triggerTime) {
+        // push inbox
+        Node node = new Node(jobId, triggerTime);
+        Node head;
+        do {
+            head = inbox.get();
+            node.next = head;
+        } while (!inbox.compareAndSet(head, node));
+        pendingCount.incrementAndGet();
+
+        // wake wheel thread, when earlier than planned
+        if (triggerTime < nextWakeTime && wheelThread != null) {
+            LockSupport.unpark(wheelThread);
+        }
+    }
+
+    /**
+     * pending job count, not fired yet
+     */
+    public int size() {
+        return pendingCount.get();
+    }
+
+
+    // ---------------------- wheel ----------------------
+
+    private void drainInbox() {
+        Node node = inbox.getAndSet(null);
+        while (node != null) {
+            place(node.jobId, node.triggerTime);
+            node = node.next;
+        }
+        // expired when pushed, fire directly
+        if (expireBucket.size > 0) {
+            fire(expireBucket, -1);
+        }
+    }
+
+    /**
+     * place item into bucket by delay, relative to current tick
+     */
+    private void place(int jobId, long triggerTime) {
+        long delay = triggerTime - currentTick;
+        if (delay < 0) {
+            expireBucket.add(jobId, triggerTime);
+        } else if (delay < L0_SPAN) {
+            level0[(int) (triggerTime & (L0_SIZE - 1))].add(jobId, triggerTime);
+        } else if (delay < L1_SPAN) {
+            level1[(int) ((triggerTime >>> L1_SHIFT) & (L1_SIZE - 1))].add(jobId, triggerTime);
+        } else if (delay < L2_SPAN) {
+            level2[(int) ((triggerTime >>> L2_SHIFT) & (L2_SIZE - 1))].add(jobId, triggerTime);
+        } else {
+            // too far, wait in the last visited bucket of level-2, and re-cascade
+            level2[(int) ((currentTick >>> L2_SHIFT) & (L2_SIZE - 1))].add(jobId, triggerTime);
+        }
+    }
+
+    private void processTick(long tick) {
+        // cascade upper level, at the start of each lower round
+        if ((tick & (L0_SPAN - 1)) == 0) {
+            if ((tick & (L1_SPAN - 1)) == 0) {
+                cascade(level2, (int) ((tick >>> L2_SHIFT) & (L2_SIZE - 1)));
+            }
+            cascade(level1, (int) ((tick >>> L1_SHIFT) & (L1_SIZE - 1)));
+        }
+
+        // fire current millisecond
+        Bucket bucket = level0[(int) (tick & (L0_SIZE - 1))];
+        if (bucket.size > 0) {
+            fire(bucket, tick);
+        }
+    }
+
+    private void cascade(Bucket[] level, int index) {
+        Bucket bucket = level[index];
+        if (bucket.size == 0) {
+            return;
+        }
+        level[index] = new Bucket();
+        for (int i = 0; i < bucket.size; i++) {
+            place(bucket.jobIds[i], bucket.triggerTimes[i]);
+        }
+    }
+
+    /**
+     * fire bucket
+     *
+     * @param bucket    bucket
+     * @param tick      tick of bucket, "-1" means expired when pushed
+     */
+    private void fire(Bucket bucket, long tick) {
+        int size = bucket.size;
+        int[] jobIds = Arrays.copyOf(bucket.jobIds, size);
+        bucket.clear();
+        pendingCount.addAndGet(-size);
+
+        // distinct, same job in one tick fire once
+        boolean distinct = tick >= 0 && size > 1;
+        if (distinct) {
+            Arrays.sort(jobIds);
+        }
+        for (int i = 0; i < size; i++) {
+            int jobId = jobIds[i];
+            if (distinct && i > 0 && jobIds[i - 1] == jobId) {
+                logger.warn(">>>>>>>>>>> xxl-job, time-ring found job repeat beat : {} = {}", tick, jobId);
+                continue;
+            }
+            try {
+                expireHandler.accept(jobId);
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> xxl-job, TimingWheel({}) fire error, jobId:{}, tick:{}", name, jobId, tick, e);
+            }
+        }
+    }
+
+    /**
+     * next non-empty tick of level-0, or start of next round (for cascade)
+     */
+    private long findNextWakeTime() {
+        // round start not processed yet, wake to cascade first
+        if ((currentTick & (L0_SPAN - 1)) == 0) {
+            return currentTick;
+        }
+        long roundEnd = ((currentTick >>> L1_SHIFT) + 1) << L1_SHIFT;
+        for (long tick = currentTick; tick < roundEnd; tick++) {
+            if (level0[(int) (tick & (L0_SIZE - 1))].size > 0) {
+                return tick;
+            }
+        }
+        return roundEnd;
+    }
+
+    private static Bucket[] newBuckets(int size) {
+        Bucket[] buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+        return buckets;
+    }
+
+
+    // ---------------------- model ----------------------
+
+    /**
+     * inbox node
+     */
+    private static class Node {
+        private final int jobId;
+        private final long triggerTime;
+        private Node next;
+
+        private Node(int jobId, long triggerTime) {
+            this.jobId = jobId;
+            this.triggerTime = triggerTime;
+        }
+    }
+
+    /**
+     * bucket, primitive array, only accessed by wheel thread
+     */
+    private static class Bucket {
+        private int[] jobIds = new int[4];
+        private long[] triggerTimes = new long[4];
+        private int size = 0;
+
+        private void add(int jobId, long triggerTime) {
+            if (size == jobIds.length) {
+                jobIds = Arrays.copyOf(jobIds, size << 1);
+                triggerTimes = Arrays.copyOf(triggerTimes, size << 1);
+            }
+            jobIds[size] = jobId;
+            triggerTimes[size] = triggerTime;
+            size++;
+        }
+
+        private void clear() {
+            if (jobIds.length > 64) {
+                jobIds = new int[4];
+                triggerTimes = new long[4];
+            }
+            size = 0;
+        }
+    }
+
+}
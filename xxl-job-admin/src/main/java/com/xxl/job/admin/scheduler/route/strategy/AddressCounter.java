@@ -0,0 +1,113 @@
+package com.xxl.job.admin.scheduler.route.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * address counter of one job, for route strategy (LFU count, LRU access sequence), lock-free
+ *
+ *      a、value：one value for each address, in primitive atomic array (no sort, no boxing)；
+ *      b、select：address with min value selected, and updated by CAS (retry when updated by other thread)；
+ *      c、rebuild：address list changed, rebuild with value of remained address kept；
+ *
+ * @author xuxueli 2026-10-16
+ */
+class AddressCounter {
+
+    private final List<String> addressList;
+    private final AtomicLongArray values;
+
+    private AddressCounter(List<String> addressList, AtomicLongArray values) {
+        this.addressList = addressList;
+        this.values = values;
+    }
+
+    /**
+     * build counter
+     *
+     * @param addressList   address list
+     * @param initValue     init value of new address
+     * @return counter
+     */
+    static AddressCounter build(List<String> addressList, ToLongFunction<String> initValue) {
+        return new AddressCounter(null, null).rebuild(addressList, initValue);
+    }
+
+    /**
+     * address list of counter same as it
+     */
+    boolean isSameAddress(List<String> addressList) {
+        return this.addressList.equals(addressList);
+    }
+
+    /**
+     * rebuild for new address list, value of remained address kept
+     *
+     * @param addressList   new address list
+     * @param initValue     init value of new address
+     * @return new counter
+     */
+    AddressCounter rebuild(List<String> addressList, ToLongFunction<String> initValue) {
+        List<String> newAddressList = new ArrayList<>(addressList);
+        AtomicLongArray newValues = new AtomicLongArray(newAddressList.size());
+        for (int i = 0; i < newAddressList.size(); i++) {
+            int oldIndex = this.addressList!=null?this.addressList.indexOf(newAddressList.get(i)):-1;
+            newValues.set(i, oldIndex>=0?values.get(oldIndex):initValue.applyAsLong(newAddressList.get(i)));
+        }
+        return new AddressCounter(newAddressList, newValues);
+    }
+
+    /**
+     * rebuild with all value minus min value, order of value kept (avoid overflow)
+     */
+    AddressCounter normalize() {
+        long minValue = Long.MAX_VALUE;
+        for (int i = 0; i < values.length(); i++) {
+            minValue = Math.min(minValue, values.get(i));
+        }
+        AtomicLongArray newValues = new AtomicLongArray(values.length());
+        for (int i = 0; i < values.length(); i++) {
+            newValues.set(i, values.get(i) - minValue);
+        }
+        return new AddressCounter(addressList, newValues);
+    }
+
+    /**
+     * select address with min value, and update its value
+     *
+     * @param update    new value of selected address, by old value
+     * @return [address index, new value]
+     */
+    long[] selectMin(LongUnaryOperator update) {
+        int size = values.length();
+        while (true) {
+            // scan from random index, spread concurrent select when value equal
+            int start = size>1?ThreadLocalRandom.current().nextInt(size):0;
+            int minIndex = start;
+            long minValue = values.get(start);
+            for (int i = 1; i < size; i++) {
+                int index = (start + i) % size;
+                long value = values.get(index);
+                if (value < minValue) {
+                    minIndex = index;
+                    minValue = value;
+                }
+            }
+
+            // update, select again if updated by other thread
+            long newValue = update.applyAsLong(minValue);
+            if (values.compareAndSet(minIndex, minValue, newValue)) {
+                return new long[]{minIndex, newValue};
+            }
+        }
+    }
+
+    String getAddress(int index) {
+        return addressList.get(index);
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.xxl.job.admin.scheduler.route.strategy;
+
+import com.xxl.job.admin.scheduler.cache.ExecutorHealthCache;
+import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.tool.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * executor probe, hedged probe for route (FAILOVER, BUSYOVER)
+ *
+ *      a、hedge：probe executor in order, next executor probed when previous failed, or not returned after "HEDGE_DELAY_MS"；
+ *      b、first：first success result accepted, not wait for slow (or dead) executor；
+ *      c、cache：probe result cached (ExecutorHealthCache), executor failed recently probed after others；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorProbe {
+
+    /**
+     * hedge delay, by millisecond
+     */
+    public static final long HEDGE_DELAY_MS = 200;
+
+    /**
+     * probe executor, until one success
+     *
+     * @param addressList   executor address list, in priority order
+     * @param cacheKey      cache key of address
+     * @param prober        probe executor, async
+     * @param healthCache   health cache
+     * @param title         probe title, for msg
+     * @param waitTimeout   max wait time, by millisecond
+     * @return probe result, data is address of success executor; msg of all probe
+     */
+    public static Response<String> probe(List<String> addressList,
+                                         Function<String, String> cacheKey,
+                                         Function<String, CompletableFuture<Response<String>>> prober,
+                                         ExecutorHealthCache healthCache,
+                                         String title,
+                                         long waitTimeout) {
+
+        // 1、candidate, executor failed recently moved to last
+        List<String> candidateList = new ArrayList<>();
+        List<String> failedList = new ArrayList<>();
+        for (String address : addressList) {
+            Response<String> cachedResult = healthCache.get(cacheKey.apply(address));
+            if (cachedResult != null && !cachedResult.isSuccess()) {
+                failedList.add(address);
+            } else {
+                candidateList.add(address);
+            }
+        }
+        int primarySize = candidateList.size();
+        candidateList.addAll(failedList);
+        if (candidateList.isEmpty()) {
+            return Response.of(XxlJobContext.HANDLE_CODE_FAIL, title + "：address empty");
+        }
+
+        // 2、probe, hedged
+        int size = candidateList.size();
+        List<CompletableFuture<Response<String>>> futureList = new ArrayList<>(size);
+        LinkedBlockingQueue<Integer> doneQueue = new LinkedBlockingQueue<>();
+        int finishCount = 0;
+        int successIndex = -1;
+        long deadline = System.currentTimeMillis() + waitTimeout;
+
+        launch(candidateList, 0, prober, futureList, doneQueue);
+        while (successIndex < 0 && finishCount < size && System.currentTimeMillis() < deadline) {
+            Integer doneIndex;
+            try {
+                long waitTime = futureList.size() < size
+                        ? HEDGE_DELAY_MS
+                        : Math.max(1, deadline - System.currentTimeMillis());
+                doneIndex = doneQueue.poll(waitTime, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (doneIndex == null) {
+                // not returned in hedge delay, probe next (executor failed recently only after all others returned)
+                if (futureList.size() < size && (futureList.size() < primarySize || finishCount >= primarySize)) {
+                    launch(candidateList, futureList.size(), prober, futureList, doneQueue);
+                }
+                continue;
+            }
+
+            finishCount++;
+            Response<String> result = futureList.get(doneIndex).join();
+            healthCache.put(cacheKey.apply(candidateList.get(doneIndex)), result);
+            if (result.isSuccess()) {
+                successIndex = doneIndex;
+            } else if (futureList.size() < size && finishCount == futureList.size()) {
+                // all probed failed, probe next
+                launch(candidateList, futureList.size(), prober, futureList, doneQueue);
+            }
+        }
+
+        // 3、result msg, of probe returned
+        StringBuffer probeResultSB = new StringBuffer();
+        for (int i = 0; i < futureList.size(); i++) {
+            Response<String> result = futureList.get(i).getNow(null);
+            if (result == null) {
+                continue;
+            }
+            probeResultSB.append( (probeResultSB.length()>0)?"<br><br>":"")
+                    .append(title).append("：")
+                    .append("<br>address：").append(candidateList.get(i))
+                    .append("<br>code：").append(result.getCode())
+                    .append("<br>msg：").append(result.getMsg());
+        }
+
+        if (successIndex >= 0) {
+            Response<String> successResult = Response.ofSuccess(candidateList.get(successIndex));
+            successResult.setMsg(probeResultSB.toString());
+            return successResult;
+        }
+        if (probeResultSB.length() == 0) {
+            probeResultSB.append(title).append("：timeout");
+        }
+        return Response.of(XxlJobContext.HANDLE_CODE_FAIL, probeResultSB.toString());
+    }
+
+    private static void launch(List<String> candidateList,
+                               int index,
+                               Function<String, CompletableFuture<Response<String>>> prober,
+                               List<CompletableFuture<Response<String>>> futureList,
+                               LinkedBlockingQueue<Integer> doneQueue) {
+        CompletableFuture<Response<String>> future;
+        try {
+            future = prober.apply(candidateList.get(index)).exceptionally(e -> Response.of(XxlJobContext.HANDLE_CODE_FAIL, e.toString()));
+        } catch (Throwable e) {
+            future = CompletableFuture.completedFuture(Response.of(XxlJobContext.HANDLE_CODE_FAIL, e.toString()));
+        }
+        futureList.add(future);
+        future.whenComplete((result, e) -> doneQueue.offer(index));
+    }
+
+}
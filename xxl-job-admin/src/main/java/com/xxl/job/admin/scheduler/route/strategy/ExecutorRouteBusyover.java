@@ -3,7 +3,6 @@ package com.xxl.job.admin.scheduler.route.strategy;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.scheduler.route.ExecutorRouter;
 import com.xxl.job.admin.util.I18nUtil;
-import com.xxl.job.core.openapi.ExecutorBiz;
 import com.xxl.job.core.openapi.model.IdleBeatRequest;
 import com.xxl.job.core.openapi.model.TriggerRequest;
 import com.xxl.tool.response.Response;
@@ -11,38 +10,25 @@ import com.xxl.tool.response.Response;
 import java.util.List;
 
 /**
+ * 按照顺序依次进行空闲检测（对冲：前一个失败或超过对冲延迟未返回，则检测下一个），第一个空闲检测成功的机器选定为目标执行器；
+ * 近期忙碌或失败的机器最后检测；
+ *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteBusyover extends ExecutorRouter {
 
     @Override
     public Response<String> route(TriggerRequest triggerParam, List<String> addressList) {
-        StringBuffer idleBeatResultSB = new StringBuffer();
-        for (String address : addressList) {
-            // beat
-            Response<String> idleBeatResult = null;
-            try {
-                ExecutorBiz executorBiz = XxlJobAdminBootstrap.getExecutorBiz(address);
-                idleBeatResult = executorBiz.idleBeat(new IdleBeatRequest(triggerParam.getJobId()));
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                idleBeatResult = Response.ofFail( ""+e );
-            }
-            idleBeatResultSB.append( (idleBeatResultSB.length()>0)?"<br><br>":"")
-                    .append(I18nUtil.getString("jobconf_idleBeat") + "：")
-                    .append("<br>address：").append(address)
-                    .append("<br>code：").append(idleBeatResult.getCode())
-                    .append("<br>msg：").append(idleBeatResult.getMsg());
+        XxlJobAdminBootstrap adminBootstrap = XxlJobAdminBootstrap.getInstance();
+        IdleBeatRequest idleBeatRequest = new IdleBeatRequest(triggerParam.getJobId());
 
-            // beat success
-            if (idleBeatResult.isSuccess()) {
-                idleBeatResult.setMsg(idleBeatResultSB.toString());
-                idleBeatResult.setData(address);
-                return idleBeatResult;
-            }
-        }
-
-        return Response.ofFail( idleBeatResultSB.toString());
+        // idle beat, hedged
+        return ExecutorProbe.probe(addressList,
+                address -> "idleBeat#" + triggerParam.getJobId() + "#" + address,
+                address -> adminBootstrap.getExecutorAsyncClient().idleBeat(address, idleBeatRequest),
+                adminBootstrap.getExecutorHealthCache(),
+                I18nUtil.getString("jobconf_idleBeat"),
+                (adminBootstrap.getTimeout() + 1) * 1000L);
     }
 
 }
@@ -7,20 +7,40 @@ import com.xxl.tool.response.Response;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 分组下机器地址相同，不同JOB均匀散列在不同机器上，保证分组下机器分配JOB平均；且每个JOB固定调度其中一台机器；
  *      a、virtual node：解决不均衡问题
  *      b、hash method replace hashCode：String的hashCode可能重复，需要进一步扩大hashCode的取值范围
+ *      c、ring cache：hash ring built once for each address list (registry refresh produce new list), route by binary search on sorted "long[]"
+ *      d、stable：hash method and virtual node not changed, job route to same address as before
  *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteConsistentHash extends ExecutorRouter {
 
     private static final int VIRTUAL_NODE_NUM = 100;
+    private static final int RING_CACHE_MAX = 1000;
+
+    /**
+     * hash ring cache, "address list -> ring"
+     */
+    private static final ConcurrentMap<List<String>, HashRing> ringCache = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<MessageDigest> md5Local = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5 not supported", e);
+        }
+    });
 
     /**
      * get hash code on 2^32 ring (md5散列的方式计算hash值)
@@ -31,12 +51,7 @@ public class ExecutorRouteConsistentHash extends ExecutorRouter {
     private static long hash(String key) {
 
         // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
-        }
+        MessageDigest md5 = md5Local.get();
         md5.reset();
         byte[] keyBytes = null;
         keyBytes = key.getBytes(StandardCharsets.UTF_8);
@@ -64,6 +79,44 @@ public class ExecutorRouteConsistentHash extends ExecutorRouter {
 
         // ------A1------A2-------A3------
         // -----------J1------------------
+        HashRing addressRing = loadRing(addressList);
+
+        long jobHash = hash(String.valueOf(jobId));
+        return addressRing.locate(jobHash);
+    }
+
+    @Override
+    public Response<String> route(TriggerRequest triggerParam, List<String> addressList) {
+        String address = hashJob(triggerParam.getJobId(), addressList);
+        return Response.ofSuccess(address);
+    }
+
+
+    // ---------------------- ring ----------------------
+
+    /**
+     * load hash ring of address list, build when not cached
+     */
+    private static HashRing loadRing(List<String> addressList) {
+        HashRing addressRing = ringCache.get(addressList);
+        if (addressRing != null) {
+            return addressRing;
+        }
+
+        // build, limit cache size (address list changed frequently)
+        List<String> ringKey = new ArrayList<>(addressList);
+        addressRing = buildRing(ringKey);
+        if (ringCache.size() >= RING_CACHE_MAX) {
+            ringCache.clear();
+        }
+        ringCache.put(ringKey, addressRing);
+        return addressRing;
+    }
+
+    /**
+     * build hash ring, same as tree-map ring (address later in list win when hash conflict)
+     */
+    static HashRing buildRing(List<String> addressList) {
         TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
         for (String address: addressList) {
             for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
@@ -72,18 +125,42 @@ public class ExecutorRouteConsistentHash extends ExecutorRouter {
             }
         }
 
-        long jobHash = hash(String.valueOf(jobId));
-        SortedMap<Long, String> lastRing = addressRing.tailMap(jobHash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
+        long[] hashes = new long[addressRing.size()];
+        String[] addresses = new String[addressRing.size()];
+        int index = 0;
+        for (Map.Entry<Long, String> entry : addressRing.entrySet()) {
+            hashes[index] = entry.getKey();
+            addresses[index] = entry.getValue();
+            index++;
         }
-        return addressRing.firstEntry().getValue();
+        return new HashRing(hashes, addresses);
     }
 
-    @Override
-    public Response<String> route(TriggerRequest triggerParam, List<String> addressList) {
-        String address = hashJob(triggerParam.getJobId(), addressList);
-        return Response.ofSuccess(address);
+    /**
+     * hash ring, sorted hash of virtual node and its address
+     */
+    static class HashRing {
+        private final long[] hashes;
+        private final String[] addresses;
+
+        private HashRing(long[] hashes, String[] addresses) {
+            this.hashes = hashes;
+            this.addresses = addresses;
+        }
+
+        /**
+         * first node not less than hash, wrap to first node when not exists
+         */
+        String locate(long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            if (index >= hashes.length) {
+                index = 0;
+            }
+            return addresses[index];
+        }
     }
 
 }
@@ -3,46 +3,29 @@ package com.xxl.job.admin.scheduler.route.strategy;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.scheduler.route.ExecutorRouter;
 import com.xxl.job.admin.util.I18nUtil;
-import com.xxl.job.core.openapi.ExecutorBiz;
 import com.xxl.job.core.openapi.model.TriggerRequest;
 import com.xxl.tool.response.Response;
 
 import java.util.List;
 
 /**
+ * 按照顺序依次进行心跳检测（对冲：前一个失败或超过对冲延迟未返回，则检测下一个），第一个心跳检测成功的机器选定为目标执行器；
+ * 近期心跳失败的机器最后检测；
+ *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteFailover extends ExecutorRouter {
 
     @Override
     public Response<String> route(TriggerRequest triggerParam, List<String> addressList) {
-
-        StringBuffer beatResultSB = new StringBuffer();
-        for (String address : addressList) {
-            // beat
-            Response<String> beatResult = null;
-            try {
-                ExecutorBiz executorBiz = XxlJobAdminBootstrap.getExecutorBiz(address);
-                beatResult = executorBiz.beat();
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                beatResult = Response.ofFail(e.getMessage() );
-            }
-            beatResultSB.append( (beatResultSB.length()>0)?"<br><br>":"")
-                    .append(I18nUtil.getString("jobconf_beat") + "：")
-                    .append("<br>address：").append(address)
-                    .append("<br>code：").append(beatResult.getCode())
-                    .append("<br>msg：").append(beatResult.getMsg());
-
-            // beat success
-            if (beatResult.isSuccess()) {
-
-                beatResult.setMsg(beatResultSB.toString());
-                beatResult.setData(address);
-                return beatResult;
-            }
-        }
-        return Response.ofFail( beatResultSB.toString());
-
+        XxlJobAdminBootstrap adminBootstrap = XxlJobAdminBootstrap.getInstance();
+
+        // beat, hedged
+        return ExecutorProbe.probe(addressList,
+                address -> "beat#" + address,
+                address -> adminBootstrap.getExecutorAsyncClient().beat(address),
+                adminBootstrap.getExecutorHealthCache(),
+                I18nUtil.getString("jobconf_beat"),
+                (adminBootstrap.getTimeout() + 1) * 1000L);
     }
 }
@@ -4,26 +4,31 @@ import com.xxl.job.admin.scheduler.route.ExecutorRouter;
 import com.xxl.job.core.openapi.model.TriggerRequest;
 import com.xxl.tool.response.Response;
 
-import java.util.*;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
 
 /**
  * 单个JOB对应的每个执行器，使用频率最低的优先被选举
  *      a(*)、LFU(Least Frequently Used)：最不经常使用，频率/次数
  *      b、LRU(Least Recently Used)：最近最久未使用，时间
+ *      c、concurrent：count of job kept in lock-free counter, increased by CAS, no sort on route
  *
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteLFU extends ExecutorRouter {
 
+    private static final long COUNT_MAX = 1000000;
+
     /**
      * job lfu map
      *
-     * <jobId, <address, count>>
+     * <jobId, counter of address>
      */
-    private static ConcurrentMap<Integer, HashMap<String, Integer>> jobLfuMap = new ConcurrentHashMap<Integer, HashMap<String, Integer>>();
-    private static long CACHE_VALID_TIME = 0;
+    private static ConcurrentMap<Integer, AddressCounter> jobLfuMap = new ConcurrentHashMap<Integer, AddressCounter>();
+    private static volatile long CACHE_VALID_TIME = 0;
 
     public String route(int jobId, List<String> addressList) {
 
@@ -33,40 +38,22 @@ public class ExecutorRouteLFU extends ExecutorRouter {
             CACHE_VALID_TIME = System.currentTimeMillis() + 1000*60*60*24;
         }
 
-        // lfu item init
-        HashMap<String, Integer> lfuItemMap = jobLfuMap.get(jobId);     // Key排序可以用TreeMap+构造入参Compare；Value排序暂时只能通过ArrayList；
-        if (lfuItemMap == null) {
-            lfuItemMap = new HashMap<>();
-            jobLfuMap.putIfAbsent(jobId, lfuItemMap);   // 避免重复覆盖
+        // lfu item init, rebuild when address changed (put new, remove old)
+        AddressCounter lfuItem = jobLfuMap.get(jobId);
+        if (lfuItem == null || !lfuItem.isSameAddress(addressList)) {
+            ToLongFunction<String> initCount = address -> ThreadLocalRandom.current().nextInt(addressList.size());  // 初始化时主动Random一次，缓解首次压力
+            lfuItem = lfuItem==null
+                    ?AddressCounter.build(addressList, initCount)
+                    :lfuItem.rebuild(addressList, initCount);
+            jobLfuMap.put(jobId, lfuItem);
         }
 
-        // put new
-        for (String address: addressList) {
-            if (!lfuItemMap.containsKey(address) || lfuItemMap.get(address) >1000000 ) {
-                lfuItemMap.put(address, new Random().nextInt(addressList.size()));  // 初始化时主动Random一次，缓解首次压力
-            }
-        }
-        // remove old
-        List<String> delKeys = new ArrayList<>();
-        for (String existKey: lfuItemMap.keySet()) {
-            if (!addressList.contains(existKey)) {
-                delKeys.add(existKey);
-            }
-        }
-        if (!delKeys.isEmpty()) {
-            for (String delKey: delKeys) {
-                lfuItemMap.remove(delKey);
-            }
+        // load least used count address
+        long[] selected = lfuItem.selectMin(count -> count + 1);
+        if (selected[1] > COUNT_MAX) {
+            jobLfuMap.replace(jobId, lfuItem, lfuItem.normalize());
         }
-
-        // load least userd count address
-        List<Map.Entry<String, Integer>> lfuItemList = new ArrayList<>(lfuItemMap.entrySet());
-        lfuItemList.sort(Map.Entry.comparingByValue());     // 默认升序, 获取 Value 最小值
-
-        Map.Entry<String, Integer> addressItem = lfuItemList.get(0);
-        addressItem.setValue(addressItem.getValue() + 1);
-
-        return addressItem.getKey();
+        return lfuItem.getAddress((int) selected[0]);
     }
 
     @Override
@@ -4,16 +4,17 @@ import com.xxl.job.admin.scheduler.route.ExecutorRouter;
 import com.xxl.job.core.openapi.model.TriggerRequest;
 import com.xxl.tool.response.Response;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
 
 /**
  * 单个JOB对应的每个执行器，最久为使用的优先被选举
  *      a、LFU(Least Frequently Used)：最不经常使用，频率/次数
  *      b(*)、LRU(Least Recently Used)：最近最久未使用，时间
+ *      c、concurrent：access sequence of job kept in lock-free counter, min sequence is eldest, updated by CAS
  *
  * Created by xuxueli on 17/3/10.
  */
@@ -22,10 +23,11 @@ public class ExecutorRouteLRU extends ExecutorRouter {
     /**
      * job lru map
      *
-     * <jobId, <address, address>>
+     * <jobId, access sequence of address>
      */
-    private static ConcurrentMap<Integer, LinkedHashMap<String, String>> jobLRUMap = new ConcurrentHashMap<Integer, LinkedHashMap<String, String>>();
-    private static long CACHE_VALID_TIME = 0;
+    private static ConcurrentMap<Integer, AddressCounter> jobLRUMap = new ConcurrentHashMap<Integer, AddressCounter>();
+    private static final AtomicLong accessSequence = new AtomicLong(0);
+    private static volatile long CACHE_VALID_TIME = 0;
 
     public String route(int jobId, List<String> addressList) {
 
@@ -35,40 +37,19 @@ public class ExecutorRouteLRU extends ExecutorRouter {
             CACHE_VALID_TIME = System.currentTimeMillis() + 1000*60*60*24;
         }
 
-        // init lru
-        LinkedHashMap<String, String> lruItem = jobLRUMap.get(jobId);
-        if (lruItem == null) {
-            /**
-             * LinkedHashMap
-             *      a、accessOrder：true=访问顺序排序（get/put时排序）；false=插入顺序排期；
-             *      b、removeEldestEntry：新增元素时将会调用，返回true时会删除最老元素；可封装LinkedHashMap并重写该方法，比如定义最大容量，超出是返回true即可实现固定长度的LRU算法；
-             */
-            lruItem = new LinkedHashMap<>(16, 0.75f, true);
-            jobLRUMap.putIfAbsent(jobId, lruItem);
+        // init lru, rebuild when address changed (new address as newest, remove old)
+        AddressCounter lruItem = jobLRUMap.get(jobId);
+        if (lruItem == null || !lruItem.isSameAddress(addressList)) {
+            ToLongFunction<String> initSequence = address -> accessSequence.incrementAndGet();
+            lruItem = lruItem==null
+                    ?AddressCounter.build(addressList, initSequence)
+                    :lruItem.rebuild(addressList, initSequence);
+            jobLRUMap.put(jobId, lruItem);
         }
 
-        // put new
-        for (String address: addressList) {
-            if (!lruItem.containsKey(address)) {
-                lruItem.put(address, address);
-            }
-        }
-        // remove old
-        List<String> delKeys = new ArrayList<>();
-        for (String existKey: lruItem.keySet()) {
-            if (!addressList.contains(existKey)) {
-                delKeys.add(existKey);
-            }
-        }
-        if (!delKeys.isEmpty()) {
-            for (String delKey: delKeys) {
-                lruItem.remove(delKey);
-            }
-        }
-
-        // load first elment, eldest entry
-        String eldestKey = lruItem.entrySet().iterator().next().getKey();
-        return lruItem.get(eldestKey);
+        // load eldest address, and mark as newest
+        long[] selected = lruItem.selectMin(sequence -> accessSequence.incrementAndGet());
+        return lruItem.getAddress((int) selected[0]);
     }
 
     @Override
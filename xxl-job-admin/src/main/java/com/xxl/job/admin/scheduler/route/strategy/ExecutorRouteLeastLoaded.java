@@ -0,0 +1,63 @@
+package com.xxl.job.admin.scheduler.route.strategy;
+
+import com.xxl.job.admin.scheduler.cache.ExecutorLoadCache;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.admin.scheduler.route.ExecutorRouter;
+import com.xxl.job.admin.util.I18nUtil;
+import com.xxl.job.core.openapi.model.TriggerRequest;
+import com.xxl.tool.response.Response;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 选举负载最低的执行器，负载由执行器注册心跳上报（ExecutorLoadCache），路由时无需RPC
+ *      a、load：运行中JobThread + 排队触发 + 排队请求 + 本次上报后已路由次数，取最小值
+ *      b、cpu：负载相同时，CPU负载（每核）低的优先
+ *      c、unknown：无上报负载的执行器（新注册、旧版本执行器）按负载0处理；CPU负载未知时，排在CPU负载已知的执行器之后
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorRouteLeastLoaded extends ExecutorRouter {
+
+    public String route(List<String> addressList, ExecutorLoadCache loadCache) {
+        if (addressList == null || addressList.isEmpty()) {
+            return null;
+        }
+
+        // scan from random index, spread trigger when load equal
+        int size = addressList.size();
+        int start = size>1?ThreadLocalRandom.current().nextInt(size):0;
+
+        String minAddress = null;
+        int minLoadCount = Integer.MAX_VALUE;
+        double minCpuLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            String address = addressList.get((start + i) % size);
+            int loadCount = loadCache.loadCount(address);
+            double cpuLoad = loadCache.cpuLoad(address);
+            if (cpuLoad < 0) {
+                cpuLoad = Double.MAX_VALUE;     // unknown, after known
+            }
+            if (loadCount < minLoadCount || (loadCount == minLoadCount && cpuLoad < minCpuLoad)) {
+                minAddress = address;
+                minLoadCount = loadCount;
+                minCpuLoad = cpuLoad;
+            }
+        }
+
+        // count dispatched, until next beat
+        loadCache.markDispatched(minAddress);
+        return minAddress;
+    }
+
+    @Override
+    public Response<String> route(TriggerRequest triggerParam, List<String> addressList) {
+        String address = route(addressList, XxlJobAdminBootstrap.getInstance().getExecutorLoadCache());
+        if (address == null) {
+            return Response.ofFail(I18nUtil.getString("jobconf_trigger_address_empty"));
+        }
+        return Response.ofSuccess(address);
+    }
+
+}
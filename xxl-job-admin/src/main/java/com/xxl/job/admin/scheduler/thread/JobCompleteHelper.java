@@ -1,6 +1,7 @@
 package com.xxl.job.admin.scheduler.thread;
 
 import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.complete.HandleMsg;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.core.openapi.model.CallbackRequest;
@@ -10,6 +11,7 @@ import com.xxl.tool.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.*;
@@ -74,14 +76,12 @@ public class JobCompleteHelper {
 				while (!toStop) {
 					try {
 						// 任务结果丢失处理：调度记录停留在 "运行中" 状态超过10min，且对应执行器心跳注册失败不在线，则将本地调度主动标记失败；
+						// (only scan running log in "xxl_job_log_running", not whole log table)
 						Date losedTime = DateTool.addMinutes(new Date(), -10);
-						List<Long> losedJobIds  = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().findLostJobIds(losedTime);
+						List<XxlJobLog> losedJobLogs  = XxlJobAdminBootstrap.getInstance().getXxlJobLogRunningMapper().findLostLogs(losedTime);
 
-						if (losedJobIds!=null && losedJobIds.size()>0) {
-							for (Long logId: losedJobIds) {
-
-								XxlJobLog jobLog = new XxlJobLog();
-								jobLog.setId(logId);
+						if (losedJobLogs!=null && losedJobLogs.size()>0) {
+							for (XxlJobLog jobLog: losedJobLogs) {
 
 								jobLog.setHandleTime(new Date());
 								jobLog.setHandleCode(XxlJobContext.HANDLE_CODE_FAIL);
@@ -91,6 +91,9 @@ public class JobCompleteHelper {
 							}
 
 						}
+
+						// clean running log, already handled (by other admin) or cleared
+						XxlJobAdminBootstrap.getInstance().getXxlJobLogRunningMapper().removeFinished();
 					} catch (Throwable e) {
 						if (!toStop) {
 							logger.error(">>>>>>>>>>> xxl-job, job fail monitor thread error:{}", e);
@@ -137,36 +140,70 @@ public class JobCompleteHelper {
 
 	// ---------------------- helper ----------------------
 
+	/**
+	 * callback wait timeout, by millisecond; below executor client timeout (default 3s), not acked instead of timed out by executor
+	 */
+	private static final int CALLBACK_TIMEOUT = 2000;
+	/**
+	 * callback result code, log not written yet (write-behind by other admin, or not flushed)
+	 */
+	private static final int CODE_LOG_NOT_FOUND = 404;
+
+	/**
+	 * callback, acked only when all applied; log not found (not written yet) not acked, executor retry callback later
+	 */
 	public Response<String> callback(List<CallbackRequest> callbackParamList) {
 
-		callbackThreadPool.execute(new Runnable() {
+		Future<List<Long>> future = callbackThreadPool.submit(new Callable<List<Long>>() {
 			@Override
-			public void run() {
+			public List<Long> call() {
+				List<Long> notFoundLogIds = new ArrayList<>();
 				for (CallbackRequest callbackRequest: callbackParamList) {
 					Response<String> callbackResult = doCallback(callbackRequest);
 					logger.debug(">>>>>>>>> JobApiController.callback {}, callbackRequest={}, callbackResult={}",
 							(callbackResult.isSuccess()?"success":"fail"), callbackRequest, callbackResult);
+					if (callbackResult.getCode() == CODE_LOG_NOT_FOUND) {
+						notFoundLogIds.add(callbackRequest.getLogId());
+					}
 				}
+				return notFoundLogIds;
 			}
 		});
 
+		List<Long> notFoundLogIds;
+		try {
+			notFoundLogIds = future.get(CALLBACK_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (Throwable e) {
+			// not done in time, executor retry (callback applied already treated as repeat)
+			logger.warn(">>>>>>>>>>> xxl-job, callback not done in time, size:{}, error:{}", callbackParamList.size(), e.toString());
+			return Response.ofFail("callback not done in time.");
+		}
+		if (!notFoundLogIds.isEmpty()) {
+			return Response.ofFail("log item not found, logIds:" + notFoundLogIds);
+		}
 		return Response.ofSuccess();
 	}
 
 	private Response<String> doCallback(CallbackRequest handleCallbackParam) {
 		// valid log item
 		XxlJobLog log = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().load(handleCallbackParam.getLogId());
+		if (log == null && XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().isPending(handleCallbackParam.getLogId())) {
+			// log written by this admin not flushed yet (write-behind), flush and read again; log of other admin not flushed here
+			XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().flush();
+			log = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().load(handleCallbackParam.getLogId());
+		}
 		if (log == null) {
-			return Response.ofFail( "log item not found.");
+			return Response.of(CODE_LOG_NOT_FOUND, "log item not found.");
 		}
-		if (log.getHandleCode() > 0) {
-			return Response.ofFail("log repeate callback.");     // avoid repeat callback, trigger child job etc
+		if (log.getHandleCode() > 0
+				|| XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().isHandleInfoPending(log.getId())) {
+			return Response.ofFail("log repeate callback.");     // avoid repeat callback, trigger child job etc (applied already, acked)
 		}
 
 		// handle msg
 		StringBuffer handleMsg = new StringBuffer();
 		if (log.getHandleMsg()!=null) {
-			handleMsg.append(log.getHandleMsg()).append("<br>");
+			handleMsg.append(HandleMsg.render(log)).append("<br>");
 		}
 		if (handleCallbackParam.getHandleMsg() != null) {
 			handleMsg.append(handleCallbackParam.getHandleMsg());
@@ -3,25 +3,43 @@ package com.xxl.job.admin.scheduler.thread;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.admin.scheduler.trigger.TriggerMsg;
 import com.xxl.job.admin.scheduler.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.util.I18nUtil;
+import com.xxl.tool.core.DateTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 /**
  * job fail-monitor helper
  *
+ *      a、outbox：fail log saved to "xxl_job_log_alarm" when trigger or handle fail, not scan "xxl_job_log"；
+ *      b、claim：fail log claimed by batch with token of this admin, claim expired after "CLAIM_TIMEOUT" (admin stopped) and claimed again；
+ *      c、process：claimed log loaded by batch, each log locked by alarm status and removed from outbox before fail retry and alarm, not replayed when error；
+ *      d、async：alarm sent by JobAlarmer async, not block monitor, alarm status updated when alarm complete；
+ *      e、aggregate：alarm storm (same job group, executor address and fail type) sent as one digest in window by JobAlarmer；
+ *
  * @author xuxueli 2015-9-1 18:05:56
  */
 public class JobFailAlarmMonitorHelper {
 	private static Logger logger = LoggerFactory.getLogger(JobFailAlarmMonitorHelper.class);
-	
+
+	/**
+	 * max fail log claimed once
+	 */
+	public static final int BATCH_SIZE = 100;
+	/**
+	 * claim timeout, by minute
+	 */
+	public static final int CLAIM_TIMEOUT = 10;
+
 
 	// ---------------------- monitor ----------------------
 
+	private final String claimToken = UUID.randomUUID().toString().replace("-", "");
 	private Thread monitorThread;
 	private volatile boolean toStop = false;
 
@@ -36,47 +54,20 @@ public class JobFailAlarmMonitorHelper {
 
 				// monitor
 				while (!toStop) {
+					int failCount = 0;
 					try {
-
-						List<Long> failLogIds = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().findFailJobLogIds(1000);
-						if (failLogIds!=null && !failLogIds.isEmpty()) {
-							for (long failLogId: failLogIds) {
-
-								// lock log
-								int lockRet = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateAlarmStatus(failLogId, 0, -1);
-								if (lockRet < 1) {
-									continue;
-								}
-								XxlJobLog log = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().load(failLogId);
-								XxlJobInfo info = XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().loadById(log.getJobId());
-
-								// 1、fail retry monitor
-								if (log.getExecutorFailRetryCount() > 0) {
-									XxlJobAdminBootstrap.getInstance().getJobTriggerPoolHelper().trigger(log.getJobId(), TriggerTypeEnum.RETRY, (log.getExecutorFailRetryCount()-1), log.getExecutorShardingParam(), log.getExecutorParam(), null);
-									String retryMsg = "<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_type_retry") +"<<<<<<<<<<< </span><br>";
-									log.setTriggerMsg(log.getTriggerMsg() + retryMsg);
-									XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateTriggerInfo(log);
-								}
-
-								// 2、fail alarm monitor
-								int newAlarmStatus = 0;		// 告警状态：0-默认、-1=锁定状态、1-无需告警、2-告警成功、3-告警失败
-								if (info != null) {
-									boolean alarmResult = XxlJobAdminBootstrap.getInstance().getJobAlarmer().alarm(info, log);
-									newAlarmStatus = alarmResult?2:3;
-								} else {
-									newAlarmStatus = 1;
-								}
-
-								XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateAlarmStatus(failLogId, -1, newAlarmStatus);
-							}
-						}
-
+						failCount = drain();
 					} catch (Throwable e) {
 						if (!toStop) {
 							logger.error(">>>>>>>>>>> xxl-job, job fail monitor thread error:{}", e.getMessage(), e);
 						}
 					}
 
+					// more fail log, drain next batch directly
+					if (failCount >= BATCH_SIZE) {
+						continue;
+					}
+
                     try {
                         TimeUnit.SECONDS.sleep(10);
                     } catch (Throwable e) {
@@ -110,4 +101,97 @@ public class JobFailAlarmMonitorHelper {
 		}
 	}
 
+
+	// ---------------------- drain ----------------------
+
+	/**
+	 * drain one batch of fail log from outbox
+	 *
+	 * @return fail log count drained
+	 */
+	private int drain() {
+		// 1、claim fail log
+		Date nowTime = new Date();
+		XxlJobAdminBootstrap.getInstance().getXxlJobLogAlarmMapper().claim(claimToken, nowTime, DateTool.addMinutes(nowTime, -CLAIM_TIMEOUT), BATCH_SIZE);
+		List<Long> failLogIds = XxlJobAdminBootstrap.getInstance().getXxlJobLogAlarmMapper().findClaimedLogIds(claimToken);
+		if (failLogIds==null || failLogIds.isEmpty()) {
+			return 0;
+		}
+
+		// 2、load fail log
+		Map<Long, XxlJobLog> logMap = new HashMap<>();
+		List<XxlJobLog> logList = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().loadByIds(failLogIds);
+		if (logList != null) {
+			for (XxlJobLog log: logList) {
+				logMap.put(log.getId(), log);
+			}
+		}
+
+		// 3、process each fail log, fail of one log not affect others
+		for (long failLogId: failLogIds) {
+			try {
+				processFailLog(failLogId, logMap.get(failLogId));
+			} catch (Throwable e) {
+				logger.error(">>>>>>>>>>> xxl-job, job fail alarm process error, logId:{}", failLogId, e);
+			}
+		}
+		return failLogIds.size();
+	}
+
+	/**
+	 * process one fail log: lock by alarm status and remove outbox first, then fail retry and alarm (not replayed if error)
+	 */
+	private void processFailLog(long failLogId, XxlJobLog log) {
+		// 1、lock log by alarm status (告警状态：0-默认、-1-告警中、1-无需告警、2-告警成功、3-告警失败)
+		XxlJobInfo info = null;
+		int lockRet = 0;
+		if (log != null && log.getAlarmStatus() == 0) {
+			info = XxlJobAdminBootstrap.getInstance().getJobMetaCache().loadJob(log.getJobId());
+			lockRet = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateAlarmStatus(failLogId, 0, info!=null?-1:1);
+		}
+
+		// 2、remove outbox
+		XxlJobAdminBootstrap.getInstance().getXxlJobLogAlarmMapper().removeByLogIds(Collections.singletonList(failLogId));
+		if (lockRet < 1) {
+			return;		// log cleared, or alarmed already
+		}
+
+		// 3、fail retry, alarm still sent if error
+		try {
+			processRetry(log);
+		} catch (Throwable e) {
+			logger.error(">>>>>>>>>>> xxl-job, job fail retry error, logId:{}", failLogId, e);
+		}
+
+		// 4、fail alarm, async (alarm status updated when alarm complete)
+		if (info != null) {
+			XxlJobAdminBootstrap.getInstance().getJobAlarmer().alarm(info, log).whenComplete((alarmResult, e) -> {
+				int newAlarmStatus = (alarmResult!=null && alarmResult)?2:3;
+				try {
+					XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateAlarmStatus(failLogId, -1, newAlarmStatus);
+				} catch (Throwable ex) {
+					logger.error(">>>>>>>>>>> xxl-job, job fail alarm status update error, logId:{}", failLogId, ex);
+				}
+			});
+		}
+	}
+
+	/**
+	 * fail retry of one log
+	 */
+	private void processRetry(XxlJobLog log) {
+		if (log.getExecutorFailRetryCount() > 0) {
+			XxlJobAdminBootstrap.getInstance().getJobTriggerPoolHelper().trigger(log.getJobId(), TriggerTypeEnum.RETRY, (log.getExecutorFailRetryCount()-1), log.getExecutorShardingParam(), log.getExecutorParam(), null);
+			TriggerMsg triggerMsg = TriggerMsg.parse(log.getTriggerMsg());
+			if (triggerMsg != null) {
+				triggerMsg.setRetried(true);		// structured, rendered when read
+				log.setTriggerMsg(triggerMsg.toJson());
+			} else {
+				String retryMsg = "<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_type_retry") +"<<<<<<<<<<< </span><br>";
+				log.setTriggerMsg(log.getTriggerMsg() + retryMsg);
+			}
+			XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().updateTriggerInfo(log);
+		}
+	}
+
 }
@@ -0,0 +1,171 @@
+package com.xxl.job.admin.scheduler.thread;
+
+import com.xxl.job.admin.model.XxlJobIdSegment;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job log id helper, allocate log id from leased segment, trigger not wait for db insert
+ *
+ *      a、segment：lease id range "(max_id, max_id + step]" from table "xxl_job_id_segment", each admin own its range；
+ *      b、preload：next segment leased async when current segment nearly used up (double buffer)；
+ *      c、compatible：max_id not less than max log id, avoid conflict with log saved by auto increment；
+ *      d、gap：id left in segment when admin stop is skipped, log id is unique but not continuous；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobLogIdHelper {
+    private static final Logger logger = LoggerFactory.getLogger(JobLogIdHelper.class);
+
+    public static final String BIZ_TAG = "job_log";
+    public static final int DEFAULT_STEP = 1000;
+
+    private ThreadPoolExecutor preloadThreadPool;
+
+    // segment, guarded by "this"
+    private long currentId = 1;
+    private long currentMaxId = 0;
+    private long currentStep = DEFAULT_STEP;
+    private long[] nextSegment = null;
+    private boolean nextLoading = false;
+
+    /**
+     * start
+     */
+    public void start(){
+        preloadThreadPool = new ThreadPoolExecutor(
+                1,
+                1,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(10),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "xxl-job, admin JobLogIdHelper-preloadThreadPool-" + r.hashCode());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        // load first segment, not fail start
+        try {
+            long[] segment = leaseSegment();
+            synchronized (this) {
+                switchSegment(segment);
+            }
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobLogIdHelper load segment error:{}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * stop
+     */
+    public void stop(){
+        if (preloadThreadPool != null) {
+            preloadThreadPool.shutdownNow();
+        }
+        logger.info(">>>>>>>>>>> xxl-job, JobLogIdHelper stop");
+    }
+
+
+    // ---------------------- allocate ----------------------
+
+    /**
+     * allocate next log id
+     *
+     * @return log id
+     */
+    public synchronized long nextId() {
+        // current segment used up, switch to next (or lease directly)
+        if (currentId > currentMaxId) {
+            long[] segment = nextSegment;
+            nextSegment = null;
+            if (segment == null) {
+                segment = leaseSegment();
+            }
+            switchSegment(segment);
+        }
+        long id = currentId++;
+
+        // preload next segment, when remain less than 20%
+        if (nextSegment == null && !nextLoading && (currentMaxId - currentId) < currentStep / 5) {
+            nextLoading = true;
+            try {
+                preloadThreadPool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        preload();
+                    }
+                });
+            } catch (Throwable e) {
+                nextLoading = false;        // stopped
+            }
+        }
+        return id;
+    }
+
+    private void switchSegment(long[] segment) {
+        currentId = segment[0];
+        currentMaxId = segment[1];
+        currentStep = segment[1] - segment[0] + 1;
+    }
+
+    private void preload() {
+        long[] segment = null;
+        try {
+            segment = leaseSegment();
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobLogIdHelper preload segment error:{}", e.getMessage(), e);
+        }
+        synchronized (this) {
+            if (segment != null && nextSegment == null) {
+                nextSegment = segment;
+            }
+            nextLoading = false;
+        }
+    }
+
+    /**
+     * lease segment from db
+     *
+     * @return [start id, max id]
+     */
+    private long[] leaseSegment() {
+        // not less than max log id
+        long minMaxId = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().findMaxId();
+
+        TransactionStatus transactionStatus = XxlJobAdminBootstrap.getInstance().getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+        try {
+            // lease, init row when not exists
+            int ret = XxlJobAdminBootstrap.getInstance().getXxlJobIdSegmentMapper().lease(BIZ_TAG, minMaxId);
+            if (ret < 1) {
+                XxlJobAdminBootstrap.getInstance().getXxlJobIdSegmentMapper().init(BIZ_TAG, DEFAULT_STEP);
+                XxlJobAdminBootstrap.getInstance().getXxlJobIdSegmentMapper().lease(BIZ_TAG, minMaxId);
+            }
+            XxlJobIdSegment segment = XxlJobAdminBootstrap.getInstance().getXxlJobIdSegmentMapper().load(BIZ_TAG);
+            XxlJobAdminBootstrap.getInstance().getTransactionManager().commit(transactionStatus);
+
+            if (segment == null || segment.getStep() < 1) {
+                throw new IllegalStateException("xxl-job, id segment invalid, bizTag:" + BIZ_TAG);
+            }
+            logger.debug(">>>>>>>>>>> xxl-job, JobLogIdHelper lease segment, maxId:{}, step:{}", segment.getMaxId(), segment.getStep());
+            return new long[]{segment.getMaxId() - segment.getStep() + 1, segment.getMaxId()};
+        } catch (RuntimeException e) {
+            if (!transactionStatus.isCompleted()) {
+                XxlJobAdminBootstrap.getInstance().getTransactionManager().rollback(transactionStatus);
+            }
+            throw e;
+        }
+    }
+
+}
@@ -1,24 +1,61 @@
 package com.xxl.job.admin.scheduler.thread;
 
+import com.xxl.job.admin.model.XxlJobLog;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.model.XxlJobLogReport;
+import com.xxl.job.core.context.XxlJobContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * job log report helper
  *
+ *      a、counter：trigger, trigger-fail and complete (callback, lost, kill) counted in memory by trigger day, not aggregate "xxl_job_log"；
+ *      b、flush：counter merged into "xxl_job_log_report" each "FLUSH_INTERVAL" by increment, merged by all admin；
+ *      c、reconcile：report of closed day (yesterday and before, ended "RECONCILE_DELAY" ago) refreshed by full aggregate each "RECONCILE_INTERVAL" (and when start), fix drift (e.g. admin crash, repeat complete);
+ *          open day not refreshed (counter of other admin not flushed yet, counted twice), reconcile locked by "RECONCILE_LOCK", one admin at a time；
+ *      d、log-clean：expired log cleaned once each day；
+ *
  * @author xuxueli 2019-11-22
  */
 public class JobLogReportHelper {
     private static final Logger logger = LoggerFactory.getLogger(JobLogReportHelper.class);
 
+    /**
+     * counter flush interval, by second
+     */
+    public static final int FLUSH_INTERVAL = 10;
+    /**
+     * full reconcile interval, by minute
+     */
+    public static final int RECONCILE_INTERVAL = 60;
+    /**
+     * reconcile day ended before, by minute, longer than "FLUSH_INTERVAL" (wait for counter flush and log write of all admin)
+     */
+    public static final int RECONCILE_DELAY = 10;
+    /**
+     * reconcile day count, closed day (yesterday and before)
+     */
+    public static final int RECONCILE_DAYS = 2;
+    /**
+     * reconcile lock name
+     */
+    public static final String RECONCILE_LOCK = "log_report_lock";
+
+    // report counter, "trigger day -> count delta"
+    private final ConcurrentMap<Long, ReportCounter> counterMap = new ConcurrentHashMap<>();
 
     private Thread logReportThread;
     private volatile boolean toStop = false;
@@ -32,67 +69,35 @@ public class JobLogReportHelper {
             @Override
             public void run() {
 
-                // last clean log time
+                // last clean log time, last reconcile time
                 long lastCleanLogTime = 0;
+                long lastReconcileTime = 0;
 
 
                 while (!toStop) {
 
-                    // 1、log-report refresh: refresh log report in 3 days
+                    // 1、log-report flush: merge counter into report
                     try {
-
-                        for (int i = 0; i < 3; i++) {
-
-                            // today
-                            Calendar itemDay = Calendar.getInstance();
-                            itemDay.add(Calendar.DAY_OF_MONTH, -i);
-                            itemDay.set(Calendar.HOUR_OF_DAY, 0);
-                            itemDay.set(Calendar.MINUTE, 0);
-                            itemDay.set(Calendar.SECOND, 0);
-                            itemDay.set(Calendar.MILLISECOND, 0);
-
-                            Date todayFrom = itemDay.getTime();
-
-                            itemDay.set(Calendar.HOUR_OF_DAY, 23);
-                            itemDay.set(Calendar.MINUTE, 59);
-                            itemDay.set(Calendar.SECOND, 59);
-                            itemDay.set(Calendar.MILLISECOND, 999);
-
-                            Date todayTo = itemDay.getTime();
-
-                            // refresh log-report every minute
-                            XxlJobLogReport xxlJobLogReport = new XxlJobLogReport();
-                            xxlJobLogReport.setTriggerDay(todayFrom);
-                            xxlJobLogReport.setRunningCount(0);
-                            xxlJobLogReport.setSucCount(0);
-                            xxlJobLogReport.setFailCount(0);
-
-                            Map<String, Object> triggerCountMap = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().findLogReport(todayFrom, todayTo);
-                            if (triggerCountMap!=null && !triggerCountMap.isEmpty()) {
-                                int triggerDayCount = triggerCountMap.containsKey("triggerDayCount")?Integer.parseInt(String.valueOf(triggerCountMap.get("triggerDayCount"))):0;
-                                int triggerDayCountRunning = triggerCountMap.containsKey("triggerDayCountRunning")?Integer.parseInt(String.valueOf(triggerCountMap.get("triggerDayCountRunning"))):0;
-                                int triggerDayCountSuc = triggerCountMap.containsKey("triggerDayCountSuc")?Integer.parseInt(String.valueOf(triggerCountMap.get("triggerDayCountSuc"))):0;
-                                int triggerDayCountFail = triggerDayCount - triggerDayCountRunning - triggerDayCountSuc;
-
-                                xxlJobLogReport.setRunningCount(triggerDayCountRunning);
-                                xxlJobLogReport.setSucCount(triggerDayCountSuc);
-                                xxlJobLogReport.setFailCount(triggerDayCountFail);
-                            }
-
-                            // do refresh:
-                            XxlJobAdminBootstrap.getInstance().getXxlJobLogReportMapper().saveOrUpdate(xxlJobLogReport);      // 0-fail; 1-save suc; 2-update suc;
-                            /*if (ret < 1) {
-                                XxlJobAdminBootstrap.getInstance().getXxlJobLogReportMapper().save(xxlJobLogReport);
-                            }*/
+                        flush();
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogReportHelper(log-report flush) error:{}", e.getMessage(), e);
                         }
+                    }
 
+                    // 2、log-report reconcile: refresh log report of closed day, by full aggregate
+                    try {
+                        if (System.currentTimeMillis() - lastReconcileTime >= RECONCILE_INTERVAL * 60 * 1000L) {
+                            reconcile();
+                            lastReconcileTime = System.currentTimeMillis();
+                        }
                     } catch (Throwable e) {
                         if (!toStop) {
                             logger.error(">>>>>>>>>>> xxl-job, JobLogReportHelper(log-report refresh) error:{}", e.getMessage(), e);
                         }
                     }
 
-                    // 2、log-clean: switch open & once each day
+                    // 3、log-clean: switch open & once each day
                     try {
                         if (XxlJobAdminBootstrap.getInstance().getLogretentiondays()>0
                                 && System.currentTimeMillis() - lastCleanLogTime > 24*60*60*1000) {
@@ -125,7 +130,7 @@ public class JobLogReportHelper {
                     }
 
                     try {
-                        TimeUnit.MINUTES.sleep(1);
+                        TimeUnit.SECONDS.sleep(FLUSH_INTERVAL);
                     } catch (Throwable e) {
                         if (!toStop) {
                             logger.error(e.getMessage(), e);
@@ -134,6 +139,12 @@ public class JobLogReportHelper {
 
                 }
 
+                // flush counter, before stop
+                try {
+                    flush();
+                } catch (Throwable e) {
+                    logger.error(">>>>>>>>>>> xxl-job, JobLogReportHelper(log-report flush) error:{}", e.getMessage(), e);
+                }
                 logger.info(">>>>>>>>>>> xxl-job, job log report thread stop");
 
             }
@@ -157,4 +168,179 @@ public class JobLogReportHelper {
         }
     }
 
+
+    // ---------------------- counter ----------------------
+
+    /**
+     * log triggered, count as running
+     *
+     * @param jobLog    job log, with trigger time
+     */
+    public void addTrigger(XxlJobLog jobLog) {
+        count(jobLog.getTriggerTime(), 1, 0, 0);
+    }
+
+    /**
+     * log trigger fail, running to fail
+     *
+     * @param jobLog    job log, with trigger time
+     */
+    public void addTriggerFail(XxlJobLog jobLog) {
+        count(jobLog.getTriggerTime(), -1, 0, 1);
+    }
+
+    /**
+     * log complete (callback, lost, kill), running to success or fail
+     *
+     * @param jobLog    job log, with trigger time and handle code
+     */
+    public void addComplete(XxlJobLog jobLog) {
+        if (XxlJobContext.HANDLE_CODE_SUCCESS == jobLog.getHandleCode()) {
+            count(jobLog.getTriggerTime(), -1, 1, 0);
+        } else {
+            count(jobLog.getTriggerTime(), -1, 0, 1);
+        }
+    }
+
+    private void count(Date triggerTime, int runningCount, int sucCount, int failCount) {
+        if (triggerTime == null) {
+            return;     // not counted, fixed by reconcile
+        }
+        counterMap.compute(triggerDay(triggerTime).getTime(), (day, counter) -> {
+            if (counter == null) {
+                counter = new ReportCounter();
+            }
+            counter.runningCount += runningCount;
+            counter.sucCount += sucCount;
+            counter.failCount += failCount;
+            return counter;
+        });
+    }
+
+    /**
+     * merge counter into report, by increment
+     */
+    private void flush() {
+        // take counter
+        List<XxlJobLogReport> reportList = new ArrayList<>();
+        for (Long day : new ArrayList<>(counterMap.keySet())) {
+            ReportCounter counter = counterMap.remove(day);
+            if (counter == null
+                    || (counter.runningCount == 0 && counter.sucCount == 0 && counter.failCount == 0)) {
+                continue;
+            }
+            XxlJobLogReport report = new XxlJobLogReport();
+            report.setTriggerDay(new Date(day));
+            report.setRunningCount(counter.runningCount);
+            report.setSucCount(counter.sucCount);
+            report.setFailCount(counter.failCount);
+            reportList.add(report);
+        }
+        if (reportList.isEmpty()) {
+            return;
+        }
+
+        // write, ordered by trigger day (avoid deadlock between admin)
+        Collections.sort(reportList, (o1, o2) -> o1.getTriggerDay().compareTo(o2.getTriggerDay()));
+        try {
+            XxlJobAdminBootstrap.getInstance().getXxlJobLogReportMapper().saveOrIncrementBatch(reportList);
+        } catch (Throwable e) {
+            // write fail, give back counter
+            for (XxlJobLogReport report : reportList) {
+                count(report.getTriggerDay(), report.getRunningCount(), report.getSucCount(), report.getFailCount());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * refresh log report of closed day, by full aggregate of "xxl_job_log"
+     */
+    private void reconcile() {
+        // write pending log and counter of this admin first, report overwritten by aggregate
+        XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().flush();
+        flush();
+
+        XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().scheduleLockInit(RECONCILE_LOCK);
+        TransactionStatus transactionStatus = XxlJobAdminBootstrap.getInstance().getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+        try {
+            // lock, reconcile by one admin at a time
+            XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().lock(RECONCILE_LOCK);
+
+            for (int i = 1; i <= RECONCILE_DAYS; i++) {
+
+                // closed day
+                Calendar itemDay = Calendar.getInstance();
+                itemDay.add(Calendar.DAY_OF_MONTH, -i);
+                itemDay.set(Calendar.HOUR_OF_DAY, 0);
+                itemDay.set(Calendar.MINUTE, 0);
+                itemDay.set(Calendar.SECOND, 0);
+                itemDay.set(Calendar.MILLISECOND, 0);
+
+                Date todayFrom = itemDay.getTime();
+
+                itemDay.set(Calendar.HOUR_OF_DAY, 23);
+                itemDay.set(Calendar.MINUTE, 59);
+                itemDay.set(Calendar.SECOND, 59);
+                itemDay.set(Calendar.MILLISECOND, 999);
+
+                Date todayTo = itemDay.getTime();
+                if (todayTo.getTime() + RECONCILE_DELAY * 60 * 1000L > System.currentTimeMillis()) {
+                    continue;       // counter of day may be not flushed yet
+                }
+
+                // refresh log-report
+                XxlJobLogReport xxlJobLogReport = new XxlJobLogReport();
+                xxlJobLogReport.setTriggerDay(todayFrom);
+                xxlJobLogReport.setRunningCount(0);
+                xxlJobLogReport.setSucCount(0);
+                xxlJobLogReport.setFailCount(0);
+
+                Map<String, Object> triggerCountMap = XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().findLogReport(todayFrom, todayTo);
+                if (triggerCountMap!=null && !triggerCountMap.isEmpty()) {
+                    int triggerDayCount = triggerCountMap.containsKey("triggerDayCount")?Integer.parseInt(String.valueOf(triggerCountMap.get("triggerDayCount"))):0;
+                    int triggerDayCountRunning = triggerCountMap.containsKey("triggerDayCountRunning")?Integer.parseInt(String.valueOf(triggerCountMap.get("triggerDayCountRunning"))):0;
+                    int triggerDayCountSuc = triggerCountMap.containsKey("triggerDayCountSuc")?Integer.parseInt(String.valueOf(triggerCountMap.get("triggerDayCountSuc"))):0;
+                    int triggerDayCountFail = triggerDayCount - triggerDayCountRunning - triggerDayCountSuc;
+
+                    xxlJobLogReport.setRunningCount(triggerDayCountRunning);
+                    xxlJobLogReport.setSucCount(triggerDayCountSuc);
+                    xxlJobLogReport.setFailCount(triggerDayCountFail);
+                }
+
+                // do refresh:
+                XxlJobAdminBootstrap.getInstance().getXxlJobLogReportMapper().saveOrUpdate(xxlJobLogReport);      // 0-fail; 1-save suc; 2-update suc;
+            }
+            XxlJobAdminBootstrap.getInstance().getTransactionManager().commit(transactionStatus);
+        } catch (RuntimeException e) {
+            if (!transactionStatus.isCompleted()) {
+                XxlJobAdminBootstrap.getInstance().getTransactionManager().rollback(transactionStatus);
+            }
+            throw e;
+        }
+        logger.debug(">>>>>>>>>>> xxl-job, JobLogReportHelper log-report reconciled.");
+    }
+
+    /**
+     * trigger day, start of day
+     */
+    private static Date triggerDay(Date triggerTime) {
+        Calendar day = Calendar.getInstance();
+        day.setTime(triggerTime);
+        day.set(Calendar.HOUR_OF_DAY, 0);
+        day.set(Calendar.MINUTE, 0);
+        day.set(Calendar.SECOND, 0);
+        day.set(Calendar.MILLISECOND, 0);
+        return day.getTime();
+    }
+
+    /**
+     * count delta of one trigger day, guarded by "counterMap"
+     */
+    private static class ReportCounter {
+        private int runningCount;
+        private int sucCount;
+        private int failCount;
+    }
+
 }
@@ -0,0 +1,621 @@
+package com.xxl.job.admin.scheduler.thread;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.core.context.XxlJobContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * job log write helper, write-behind for "xxl_job_log", trigger and callback not wait for db write
+ *
+ *      a、batch：pending write flushed each "FLUSH_INTERVAL" or "BATCH_SIZE" by multi-row statement, write of same log merged into one；
+ *      b、order：write of log in flushing or direct writing kept pending, flushed after it, insert always written before update；
+ *      c、backpressure：pending reach "MAX_PENDING", writer write directly (sync) not wait；
+ *      d、retry：write fail (log, running, alarm) retried by next flush, dropped after "RETRY_TIMEOUT"；
+ *      e、outbox：written log synced to "xxl_job_log_running" (lost job detect) and "xxl_job_log_alarm" (fail alarm)；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobLogWriteHelper {
+    private static final Logger logger = LoggerFactory.getLogger(JobLogWriteHelper.class);
+
+    /**
+     * flush interval, by millisecond
+     */
+    public static final int FLUSH_INTERVAL = 100;
+    /**
+     * max log count of one statement
+     */
+    public static final int BATCH_SIZE = 200;
+    /**
+     * max pending log, write directly (sync) when exceed
+     */
+    public static final int MAX_PENDING = 10000;
+    /**
+     * write fail retry timeout, by millisecond, dropped when exceed
+     */
+    public static final int RETRY_TIMEOUT = 60 * 1000;
+    /**
+     * flush interval after write fail, by millisecond
+     */
+    public static final int RETRY_INTERVAL = 1000;
+
+    private static final int WRITE_INSERT = 1;
+    private static final int WRITE_TRIGGER_INFO = 2;
+    private static final int WRITE_HANDLE_INFO = 4;
+    private static final int WRITE_ALARM = 8;
+
+    private Thread flushThread;
+    private volatile boolean toStop = false;
+    private volatile boolean writeFail = false;
+
+    // pending write, "log id -> write", guarded by "this"
+    private Map<Long, PendingWrite> pendingMap = new LinkedHashMap<>();
+    private Map<Long, PendingWrite> flushingMap = null;
+    private final Map<Long, PendingWrite> directingMap = new LinkedHashMap<>();
+    // running write fail, "log id -> first fail time", retried by next flush, guarded by "this"
+    private final Map<Long, Long> runningSaveRetryMap = new LinkedHashMap<>();
+    private final Map<Long, Long> runningRemoveRetryMap = new LinkedHashMap<>();
+    // alarm write fail, "log id -> write", retried by next flush, guarded by "this"
+    private final Map<Long, PendingWrite> alarmRetryMap = new LinkedHashMap<>();
+    private final Object flushLock = new Object();
+
+    // metrics
+    private volatile long flushCount = 0;
+    private volatile long flushLastMs = 0;
+    private volatile long flushMaxMs = 0;
+    private volatile long backpressureCount = 0;
+
+    /**
+     * start
+     */
+    public void start(){
+        flushThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        // wait interval, or wake up when batch full (wait longer after write fail)
+                        synchronized (JobLogWriteHelper.this) {
+                            if (writeFail) {
+                                JobLogWriteHelper.this.wait(RETRY_INTERVAL);
+                            } else if (pendingMap.size() < BATCH_SIZE || !directingMap.isEmpty()) {
+                                JobLogWriteHelper.this.wait(FLUSH_INTERVAL);
+                            }
+                        }
+                        flush();
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper flush error:{}", e.getMessage(), e);
+                        }
+                    }
+                }
+
+                // flush pending, before stop
+                flush();
+                if (getPendingSize() > 0) {
+                    logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper stop with write fail, pending:{}", getPendingSize());
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobLogWriteHelper stop");
+            }
+        });
+        flushThread.setDaemon(true);
+        flushThread.setName("xxl-job, admin JobLogWriteHelper");
+        flushThread.start();
+    }
+
+    /**
+     * stop, flush pending log
+     */
+    public void stop(){
+        toStop = true;
+
+        // wake up and wait
+        synchronized (this) {
+            this.notifyAll();
+        }
+        if (flushThread != null) {
+            try {
+                flushThread.join();
+            } catch (Throwable e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+
+    // ---------------------- write ----------------------
+
+    /**
+     * save new log, id allocated already
+     *
+     * @param jobLog    job log
+     */
+    public void save(XxlJobLog jobLog) {
+        add(Collections.singletonList(jobLog), WRITE_INSERT);
+    }
+
+    /**
+     * save new log in batch (e.g. shard logs of broadcast), id allocated already
+     *
+     * @param jobLogList    job log list
+     */
+    public void saveBatch(List<XxlJobLog> jobLogList) {
+        add(jobLogList, WRITE_INSERT);
+    }
+
+    /**
+     * update log trigger-info
+     *
+     * @param jobLog    job log
+     */
+    public void updateTriggerInfo(XxlJobLog jobLog) {
+        add(Collections.singletonList(jobLog), WRITE_TRIGGER_INFO);
+    }
+
+    /**
+     * update log handle-info
+     *
+     * @param jobLog    job log
+     */
+    public void updateHandleInfo(XxlJobLog jobLog) {
+        add(Collections.singletonList(jobLog), WRITE_HANDLE_INFO);
+    }
+
+    /**
+     * save log fail, to alarm (and fail retry)
+     *
+     * @param jobLog    job log
+     */
+    public void saveAlarm(XxlJobLog jobLog) {
+        add(Collections.singletonList(jobLog), WRITE_ALARM);
+    }
+
+    private void add(List<XxlJobLog> jobLogList, int writeType) {
+        List<XxlJobLog> snapshotList = new ArrayList<>();
+        for (XxlJobLog jobLog : jobLogList) {
+            snapshotList.add(copy(jobLog));
+        }
+        Map<Long, PendingWrite> directMap = null;
+        synchronized (this) {
+            for (XxlJobLog snapshot : snapshotList) {
+                // merge (not limited)
+                PendingWrite pendingWrite = pendingMap.get(snapshot.getId());
+                if (pendingWrite != null) {
+                    pendingWrite.merge(snapshot, writeType);
+                    continue;
+                }
+
+                // backpressure, pending full, write directly (not wait); log in flushing or direct writing still pending, keep order
+                if (!toStop && pendingMap.size() >= MAX_PENDING
+                        && (flushingMap == null || !flushingMap.containsKey(snapshot.getId()))
+                        && !directingMap.containsKey(snapshot.getId())) {
+                    if (directMap == null) {
+                        directMap = new LinkedHashMap<>();
+                    }
+                    directMap.put(snapshot.getId(), new PendingWrite(snapshot, writeType));
+                    continue;
+                }
+                pendingMap.put(snapshot.getId(), new PendingWrite(snapshot, writeType));
+            }
+            if (directMap != null) {
+                directingMap.putAll(directMap);
+                backpressureCount++;
+            }
+            if (pendingMap.size() >= BATCH_SIZE) {
+                this.notifyAll();
+            }
+        }
+
+        // write directly, by writer
+        if (directMap != null) {
+            try {
+                write(directMap);
+            } finally {
+                synchronized (this) {
+                    directingMap.keySet().removeAll(directMap.keySet());
+                }
+            }
+        }
+
+        // stopped, flush directly
+        if (toStop) {
+            flush();
+        }
+    }
+
+    /**
+     * flush pending log to db
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            // take pending
+            Map<Long, PendingWrite> flushMap;
+            synchronized (this) {
+                flushMap = pendingMap;
+                pendingMap = new LinkedHashMap<>();
+                if (!directingMap.isEmpty()) {
+                    // log in direct writing kept pending, flushed after it
+                    for (Long logId : directingMap.keySet()) {
+                        PendingWrite laterWrite = flushMap.remove(logId);
+                        if (laterWrite != null) {
+                            pendingMap.put(logId, laterWrite);
+                        }
+                    }
+                }
+                if (flushMap.isEmpty()) {
+                    flushMap = null;
+                    if (!isRetry()) {
+                        return;
+                    }
+                } else {
+                    flushingMap = flushMap;
+                }
+            }
+
+            // only running or alarm write fail, retry
+            if (flushMap == null) {
+                writeRunning(Collections.<PendingWrite>emptyList());
+                writeAlarm(Collections.<PendingWrite>emptyList());
+                writeFail = isRetry();
+                return;
+            }
+
+            try {
+                write(flushMap);
+            } finally {
+                synchronized (this) {
+                    flushingMap = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * write log, insert first; write fail given back to pending
+     */
+    private void write(Map<Long, PendingWrite> writeMap) {
+        List<PendingWrite> insertList = new ArrayList<>();
+        List<PendingWrite> triggerInfoList = new ArrayList<>();
+        List<PendingWrite> handleInfoList = new ArrayList<>();
+        for (PendingWrite pendingWrite : writeMap.values()) {
+            if ((pendingWrite.writeType & WRITE_INSERT) != 0) {
+                insertList.add(pendingWrite);
+                continue;
+            }
+            if ((pendingWrite.writeType & WRITE_TRIGGER_INFO) != 0) {
+                triggerInfoList.add(pendingWrite);
+            }
+            if ((pendingWrite.writeType & WRITE_HANDLE_INFO) != 0) {
+                handleInfoList.add(pendingWrite);
+            }
+        }
+
+        // write, insert first
+        long start = System.currentTimeMillis();
+        List<PendingWrite> failList = new ArrayList<>();
+        writeBatch(insertList, WRITE_INSERT, failList);
+        writeBatch(triggerInfoList, WRITE_TRIGGER_INFO, failList);
+        writeBatch(handleInfoList, WRITE_HANDLE_INFO, failList);
+
+        // running and alarm, only log written
+        List<PendingWrite> writtenList = new ArrayList<>(writeMap.values());
+        if (!failList.isEmpty()) {
+            writtenList.removeAll(new HashSet<>(failList));
+        }
+        writeRunning(writtenList);
+        writeAlarm(writtenList);
+        recordFlush(System.currentTimeMillis() - start, writeMap.size());
+
+        // write fail, give back
+        giveBack(failList);
+        writeFail = !failList.isEmpty() || isRetry();
+    }
+
+    private void writeBatch(List<PendingWrite> writeList, int writeType, List<PendingWrite> failList) {
+        for (int i = 0; i < writeList.size(); i += BATCH_SIZE) {
+            List<PendingWrite> batchList = writeList.subList(i, Math.min(i + BATCH_SIZE, writeList.size()));
+            try {
+                writeLog(batchList, writeType);
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper write batch error, writeType:{}, size:{}", writeType, batchList.size(), e);
+                if (batchList.size() > 1 && e instanceof DataIntegrityViolationException) {
+                    // bad data, write one by one, only bad log fail
+                    for (PendingWrite pendingWrite : batchList) {
+                        try {
+                            writeLog(Collections.singletonList(pendingWrite), writeType);
+                        } catch (Throwable ex) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper write error, writeType:{}, logId:{}", writeType, pendingWrite.jobLog.getId(), ex);
+                            failList.add(pendingWrite);
+                        }
+                    }
+                } else {
+                    failList.addAll(batchList);
+                }
+            }
+        }
+    }
+
+    private void writeLog(List<PendingWrite> writeList, int writeType) {
+        List<XxlJobLog> logList = new ArrayList<>();
+        for (PendingWrite pendingWrite : writeList) {
+            logList.add(pendingWrite.jobLog);
+        }
+        if (writeType == WRITE_INSERT) {
+            XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().saveBatch(logList);
+        } else if (writeType == WRITE_TRIGGER_INFO) {
+            XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateTriggerInfoBatch(logList);
+        } else {
+            XxlJobAdminBootstrap.getInstance().getXxlJobLogMapper().updateHandleInfoBatch(logList);
+        }
+    }
+
+    /**
+     * give back write fail to pending, merged with later write of same log; dropped after "RETRY_TIMEOUT"
+     */
+    private void giveBack(List<PendingWrite> failList) {
+        if (failList.isEmpty()) {
+            return;
+        }
+        long nowTime = System.currentTimeMillis();
+        synchronized (this) {
+            for (PendingWrite failWrite : failList) {
+                if (failWrite.failTime == 0) {
+                    failWrite.failTime = nowTime;
+                } else if (nowTime - failWrite.failTime > RETRY_TIMEOUT) {
+                    logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper write retry timeout, dropped, logId:{}, writeType:{}", failWrite.jobLog.getId(), failWrite.writeType);
+                    continue;
+                }
+                PendingWrite laterWrite = pendingMap.remove(failWrite.jobLog.getId());
+                if (laterWrite != null) {
+                    failWrite.merge(laterWrite.jobLog, laterWrite.writeType);
+                }
+                pendingMap.put(failWrite.jobLog.getId(), failWrite);
+            }
+        }
+    }
+
+    /**
+     * sync running log (in-flight), after log written; with running write fail before
+     */
+    private void writeRunning(Collection<PendingWrite> pendingWriteList) {
+        // log id -> first fail time (0 if not fail)
+        Map<Long, Long> startedIdMap = new LinkedHashMap<>();
+        Map<Long, Long> finishedIdMap = new LinkedHashMap<>();
+        synchronized (this) {
+            startedIdMap.putAll(runningSaveRetryMap);
+            finishedIdMap.putAll(runningRemoveRetryMap);
+            runningSaveRetryMap.clear();
+            runningRemoveRetryMap.clear();
+        }
+        for (PendingWrite pendingWrite : pendingWriteList) {
+            XxlJobLog jobLog = pendingWrite.jobLog;
+            if (jobLog.getHandleCode() > 0) {
+                if ((pendingWrite.writeType & WRITE_INSERT) == 0) {
+                    finishedIdMap.putIfAbsent(jobLog.getId(), 0L);
+                }
+            } else if ((pendingWrite.writeType & (WRITE_INSERT | WRITE_TRIGGER_INFO)) != 0
+                    && jobLog.getTriggerCode() == XxlJobContext.HANDLE_CODE_SUCCESS) {
+                startedIdMap.putIfAbsent(jobLog.getId(), 0L);
+            }
+        }
+
+        // save first, "saveByLogIds" skip log handled already
+        writeRunningBatch(startedIdMap, true);
+        writeRunningBatch(finishedIdMap, false);
+    }
+
+    private void writeRunningBatch(Map<Long, Long> idMap, boolean save) {
+        List<Long> idList = new ArrayList<>(idMap.keySet());
+        for (int i = 0; i < idList.size(); i += BATCH_SIZE) {
+            List<Long> batchList = idList.subList(i, Math.min(i + BATCH_SIZE, idList.size()));
+            try {
+                if (save) {
+                    XxlJobAdminBootstrap.getInstance().getXxlJobLogRunningMapper().saveByLogIds(batchList);
+                } else {
+                    XxlJobAdminBootstrap.getInstance().getXxlJobLogRunningMapper().removeByLogIds(batchList);
+                }
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper {} running error, size:{}", save?"save":"remove", batchList.size(), e);
+
+                // give back, retry by next flush (idempotent)
+                long nowTime = System.currentTimeMillis();
+                synchronized (this) {
+                    Map<Long, Long> retryMap = save?runningSaveRetryMap:runningRemoveRetryMap;
+                    for (Long logId : batchList) {
+                        long failTime = idMap.get(logId);
+                        if (failTime == 0) {
+                            failTime = nowTime;
+                        } else if (nowTime - failTime > RETRY_TIMEOUT) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper {} running retry timeout, dropped, logId:{}", save?"save":"remove", logId);
+                            continue;
+                        }
+                        retryMap.put(logId, failTime);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized boolean isRetry() {
+        return !runningSaveRetryMap.isEmpty() || !runningRemoveRetryMap.isEmpty() || !alarmRetryMap.isEmpty();
+    }
+
+    /**
+     * save fail log to alarm outbox, after log written; with alarm write fail before
+     */
+    private void writeAlarm(Collection<PendingWrite> pendingWriteList) {
+        Map<Long, PendingWrite> alarmMap = new LinkedHashMap<>();
+        synchronized (this) {
+            alarmMap.putAll(alarmRetryMap);
+            alarmRetryMap.clear();
+        }
+        for (PendingWrite pendingWrite : pendingWriteList) {
+            if ((pendingWrite.writeType & WRITE_ALARM) != 0) {
+                alarmMap.putIfAbsent(pendingWrite.jobLog.getId(), new PendingWrite(pendingWrite.jobLog, WRITE_ALARM));
+            }
+        }
+
+        List<PendingWrite> alarmList = new ArrayList<>(alarmMap.values());
+        for (int i = 0; i < alarmList.size(); i += BATCH_SIZE) {
+            List<PendingWrite> batchList = alarmList.subList(i, Math.min(i + BATCH_SIZE, alarmList.size()));
+            List<XxlJobLog> logList = new ArrayList<>();
+            for (PendingWrite pendingWrite : batchList) {
+                logList.add(pendingWrite.jobLog);
+            }
+            try {
+                XxlJobAdminBootstrap.getInstance().getXxlJobLogAlarmMapper().saveBatch(logList);
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper save alarm error, size:{}", batchList.size(), e);
+
+                // give back, retry by next flush (idempotent, "INSERT IGNORE")
+                long nowTime = System.currentTimeMillis();
+                synchronized (this) {
+                    for (PendingWrite failWrite : batchList) {
+                        if (failWrite.failTime == 0) {
+                            failWrite.failTime = nowTime;
+                        } else if (nowTime - failWrite.failTime > RETRY_TIMEOUT) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper save alarm retry timeout, dropped, logId:{}", failWrite.jobLog.getId());
+                            continue;
+                        }
+                        alarmRetryMap.put(failWrite.jobLog.getId(), failWrite);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * write of log not flushed yet (pending, flushing or direct writing), by this admin
+     */
+    public synchronized boolean isPending(long logId) {
+        return pendingMap.containsKey(logId)
+                || (flushingMap != null && flushingMap.containsKey(logId))
+                || directingMap.containsKey(logId);
+    }
+
+    /**
+     * handle-info of log written but not flushed yet (avoid repeat callback)
+     */
+    public synchronized boolean isHandleInfoPending(long logId) {
+        PendingWrite pendingWrite = pendingMap.get(logId);
+        if (pendingWrite == null && flushingMap != null) {
+            pendingWrite = flushingMap.get(logId);
+        }
+        if (pendingWrite == null) {
+            pendingWrite = directingMap.get(logId);
+        }
+        return pendingWrite != null && pendingWrite.jobLog.getHandleCode() > 0;
+    }
+
+
+    // ---------------------- metrics ----------------------
+
+    private void recordFlush(long costMs, int logCount) {
+        flushCount++;
+        flushLastMs = costMs;
+        if (costMs > flushMaxMs) {
+            flushMaxMs = costMs;
+        }
+        if (costMs >= 1000) {
+            logger.warn(">>>>>>>>>>> xxl-job, JobLogWriteHelper flush slow, cost:{}ms, logCount:{}, pending:{}", costMs, logCount, getPendingSize());
+        } else {
+            logger.debug(">>>>>>>>>>> xxl-job, JobLogWriteHelper flush, cost:{}ms, logCount:{}", costMs, logCount);
+        }
+    }
+
+    /**
+     * queue depth, pending log not flushed
+     */
+    public synchronized int getPendingSize() {
+        return pendingMap.size();
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushLastMs() {
+        return flushLastMs;
+    }
+
+    public long getFlushMaxMs() {
+        return flushMaxMs;
+    }
+
+    /**
+     * times of writer write directly for full pending
+     */
+    public long getBackpressureCount() {
+        return backpressureCount;
+    }
+
+
+    // ---------------------- model ----------------------
+
+    private static XxlJobLog copy(XxlJobLog source) {
+        XxlJobLog target = new XxlJobLog();
+        target.setId(source.getId());
+        target.setJobGroup(source.getJobGroup());
+        target.setJobId(source.getJobId());
+        copyTriggerInfo(source, target);
+        copyHandleInfo(source, target);
+        target.setAlarmStatus(source.getAlarmStatus());
+        return target;
+    }
+
+    private static void copyTriggerInfo(XxlJobLog source, XxlJobLog target) {
+        target.setExecutorAddress(source.getExecutorAddress());
+        target.setExecutorHandler(source.getExecutorHandler());
+        target.setExecutorParam(source.getExecutorParam());
+        target.setExecutorShardingParam(source.getExecutorShardingParam());
+        target.setExecutorFailRetryCount(source.getExecutorFailRetryCount());
+        target.setTriggerTime(source.getTriggerTime());
+        target.setTriggerCode(source.getTriggerCode());
+        target.setTriggerMsg(source.getTriggerMsg());
+    }
+
+    private static void copyHandleInfo(XxlJobLog source, XxlJobLog target) {
+        target.setHandleTime(source.getHandleTime());
+        target.setHandleCode(source.getHandleCode());
+        target.setHandleMsg(source.getHandleMsg());
+    }
+
+    /**
+     * pending write of one log, guarded by helper
+     */
+    private static class PendingWrite {
+        private final XxlJobLog jobLog;
+        private int writeType;
+        private long failTime = 0;      // first write fail time
+
+        private PendingWrite(XxlJobLog jobLog, int writeType) {
+            this.jobLog = jobLog;
+            this.writeType = writeType;
+        }
+
+        /**
+         * merge later write, only the part it changed
+         */
+        private void merge(XxlJobLog snapshot, int writeType) {
+            if ((writeType & WRITE_TRIGGER_INFO) != 0) {
+                copyTriggerInfo(snapshot, jobLog);
+            }
+            if ((writeType & WRITE_HANDLE_INFO) != 0) {
+                copyHandleInfo(snapshot, jobLog);
+            }
+            this.writeType |= writeType;
+        }
+    }
+
+}
@@ -17,16 +17,37 @@ import java.util.concurrent.*;
 /**
  * job registry instance helper
  *
+ *      a、beat：registry beat absorbed into in-memory last-seen map, flushed each "BEAT_FLUSH_INTERVAL" by multi-row upsert；
+ *      b、new：registry not in memory written directly, and group address refreshed at once；
+ *      c、dead：registry beat to this admin detected dead from memory, registry beat to other (or stopped) admin removed by db scan；
+ *      d、group：group address refreshed by diff, written only when address changed；
+ *      e、remove：removed registry marked, its pending beat not written any more; write and delete serialized by "writeLock", removed registry not written back；
+ *
  * @author xuxueli 2016-10-02 19:10:24
  */
 public class JobRegistryHelper {
 	private static Logger logger = LoggerFactory.getLogger(JobRegistryHelper.class);
 
 
+	/**
+	 * beat flush interval, by millisecond
+	 */
+	public static final int BEAT_FLUSH_INTERVAL = 1000;
+	/**
+	 * max registry count of one upsert
+	 */
+	public static final int BEAT_BATCH_SIZE = 500;
+
 	private ThreadPoolExecutor registryOrRemoveThreadPool = null;
 	private Thread registryMonitorThread;
+	private Thread beatFlushThread;
 	private volatile boolean toStop = false;
 
+	// registry beat to this admin, "group#key#value -> beat"
+	private final ConcurrentMap<String, RegistryBeat> beatMap = new ConcurrentHashMap<>();
+	// registry write (beat flush, new registry) and delete, serialized
+	private final Object writeLock = new Object();
+
 
 	/**
 	 * start
@@ -64,50 +85,31 @@ public class JobRegistryHelper {
 						List<XxlJobGroup> groupList = XxlJobAdminBootstrap.getInstance().getXxlJobGroupMapper().findByAddressType(0);
 						if (groupList!=null && !groupList.isEmpty()) {
 
-							// remove dead address (admin/executor)
+							// remove dead address (admin/executor), fallback for registry beat to other or stopped admin
 							List<Integer> ids = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().findDead(Const.DEAD_TIMEOUT, new Date());
 							if (ids!=null && !ids.isEmpty()) {
 								XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().removeDead(ids);
 							}
 
-							// fresh online address (admin/executor)
-							HashMap<String, List<String>> appAddressMap = new HashMap<String, List<String>>();
+							// online address (admin/executor), group by appname
+							HashMap<String, List<XxlJobRegistry>> appRegistryMap = new HashMap<String, List<XxlJobRegistry>>();
 							List<XxlJobRegistry> list = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().findAll(Const.DEAD_TIMEOUT, new Date());
 							if (list != null) {
 								for (XxlJobRegistry item: list) {
 									if (RegistType.EXECUTOR.name().equals(item.getRegistryGroup())) {
-										String appname = item.getRegistryKey();
-										List<String> registryList = appAddressMap.get(appname);
-										if (registryList == null) {
-											registryList = new ArrayList<String>();
-										}
-
-										if (!registryList.contains(item.getRegistryValue())) {
-											registryList.add(item.getRegistryValue());
-										}
-										appAddressMap.put(appname, registryList);
+										appRegistryMap.computeIfAbsent(item.getRegistryKey(), k -> new ArrayList<XxlJobRegistry>()).add(item);
 									}
 								}
 							}
 
-							// fresh group address
+							// fresh group address, write changed only
+							int changedCount = 0;
 							for (XxlJobGroup group: groupList) {
-								List<String> registryList = appAddressMap.get(group.getAppname());
-								String addressListStr = null;
-								if (registryList!=null && !registryList.isEmpty()) {
-									Collections.sort(registryList);
-									StringBuilder addressListSB = new StringBuilder();
-									for (String item:registryList) {
-										addressListSB.append(item).append(",");
-									}
-									addressListStr = addressListSB.toString();
-									addressListStr = addressListStr.substring(0, addressListStr.length()-1);
+								if (refreshGroup(group, appRegistryMap.get(group.getAppname()))) {
+									changedCount++;
 								}
-								group.setAddressList(addressListStr);
-								group.setUpdateTime(new Date());
-
-								XxlJobAdminBootstrap.getInstance().getXxlJobGroupMapper().update(group);
 							}
+							logger.debug(">>>>>>>>>>> xxl-job, job registry monitor fresh group, total:{}, changed:{}", groupList.size(), changedCount);
 						}
 					} catch (Throwable e) {
 						if (!toStop) {
@@ -128,6 +130,41 @@ public class JobRegistryHelper {
 		registryMonitorThread.setDaemon(true);
 		registryMonitorThread.setName("xxl-job, admin JobRegistryMonitorHelper-registryMonitorThread");
 		registryMonitorThread.start();
+
+		// for beat flush
+		beatFlushThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (!toStop) {
+					try {
+						TimeUnit.MILLISECONDS.sleep(BEAT_FLUSH_INTERVAL);
+					} catch (Throwable e) {
+						if (!toStop) {
+							logger.error(">>>>>>>>>>> xxl-job, job registry beat flush thread error:{}", e.getMessage(), e);
+						}
+					}
+					try {
+						flushBeat();
+						removeDeadBeat();
+					} catch (Throwable e) {
+						if (!toStop) {
+							logger.error(">>>>>>>>>>> xxl-job, job registry beat flush thread error:{}", e.getMessage(), e);
+						}
+					}
+				}
+
+				// flush pending beat, before stop
+				try {
+					flushBeat();
+				} catch (Throwable e) {
+					logger.error(">>>>>>>>>>> xxl-job, job registry beat flush thread error:{}", e.getMessage(), e);
+				}
+				logger.info(">>>>>>>>>>> xxl-job, job registry beat flush thread stop");
+			}
+		});
+		beatFlushThread.setDaemon(true);
+		beatFlushThread.setName("xxl-job, admin JobRegistryMonitorHelper-beatFlushThread");
+		beatFlushThread.start();
 	}
 
 
@@ -147,6 +184,14 @@ public class JobRegistryHelper {
 		} catch (Throwable e) {
 			logger.error(e.getMessage(), e);
 		}
+
+		// stop beat flush (interrupt and wait, pending beat flushed)
+		beatFlushThread.interrupt();
+		try {
+			beatFlushThread.join();
+		} catch (Throwable e) {
+			logger.error(e.getMessage(), e);
+		}
 	}
 
 
@@ -164,23 +209,43 @@ public class JobRegistryHelper {
 			return Response.ofFail("Illegal Argument.");
 		}
 
-		// async execute
+		// executor load, for route (LEAST_LOADED)
+		if (RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup()) && registryParam.getLoad() != null) {
+			XxlJobAdminBootstrap.getInstance().getExecutorLoadCache().report(registryParam.getRegistryValue(), registryParam.getLoad());
+		}
+
+		// beat, absorbed into memory when registry known
+		long nowTime = System.currentTimeMillis();
+		String beatKey = beatKey(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue());
+		RegistryBeat beat = beatMap.get(beatKey);
+		if (beat != null) {
+			beat.lastSeen = nowTime;
+			return Response.ofSuccess();
+		}
+		beat = new RegistryBeat(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), nowTime);
+		RegistryBeat existBeat = beatMap.putIfAbsent(beatKey, beat);
+		if (existBeat != null) {
+			existBeat.lastSeen = nowTime;
+			return Response.ofSuccess();
+		}
+
+		// async execute, new registry written directly
+		final RegistryBeat newBeat = beat;
 		registryOrRemoveThreadPool.execute(new Runnable() {
 			@Override
 			public void run() {
 				// 0-fail; 1-save suc; 2-update suc;
-				int ret = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registrySaveOrUpdate(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
+				int ret;
+				synchronized (writeLock) {
+					if (newBeat.removed) {
+						return;		// removed already, not written back
+					}
+					ret = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registrySaveOrUpdate(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date(nowTime));
+				}
 				if (ret == 1) {
 					// fresh (add)
 					freshGroupRegistryInfo(registryParam);
 				}
-				/*int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryUpdate(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
-				if (ret < 1) {
-					XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registrySave(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
-
-					// fresh
-					freshGroupRegistryInfo(registryParam);
-				}*/
 			}
 		});
 
@@ -198,12 +263,20 @@ public class JobRegistryHelper {
 				|| StringTool.isBlank(registryParam.getRegistryValue())) {
 			return Response.ofFail("Illegal Argument.");
 		}
+		XxlJobAdminBootstrap.getInstance().getExecutorLoadCache().remove(registryParam.getRegistryValue());
+		RegistryBeat removedBeat = beatMap.remove(beatKey(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue()));
+		if (removedBeat != null) {
+			removedBeat.removed = true;		// pending beat not written any more
+		}
 
 		// async execute
 		registryOrRemoveThreadPool.execute(new Runnable() {
 			@Override
 			public void run() {
-				int ret = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registryDelete(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue());
+				int ret;
+				synchronized (writeLock) {
+					ret = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registryDelete(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue());
+				}
 				if (ret > 0) {
 					// fresh (delete)
 					freshGroupRegistryInfo(registryParam);
@@ -214,8 +287,180 @@ public class JobRegistryHelper {
 		return Response.ofSuccess();
 	}
 
+	// ---------------------- beat ----------------------
+
+	private static String beatKey(String registryGroup, String registryKey, String registryValue) {
+		return registryGroup + "#" + registryKey + "#" + registryValue;
+	}
+
+	/**
+	 * flush beat not written yet, by multi-row upsert
+	 */
+	private void flushBeat() {
+		// collect beat, sorted (same lock order as other admin)
+		List<RegistryBeat> dirtyList = new ArrayList<>();
+		for (RegistryBeat beat: beatMap.values()) {
+			if (beat.lastSeen > beat.lastWritten) {
+				dirtyList.add(beat);
+			}
+		}
+		if (dirtyList.isEmpty()) {
+			return;
+		}
+		dirtyList.sort(Comparator.comparing((RegistryBeat item) -> item.registryGroup)
+				.thenComparing(item -> item.registryKey)
+				.thenComparing(item -> item.registryValue));
+
+		// write by batch, removed registry skipped (checked in lock, not written back after delete)
+		for (int i = 0; i < dirtyList.size(); i += BEAT_BATCH_SIZE) {
+			List<RegistryBeat> batchList = dirtyList.subList(i, Math.min(i + BEAT_BATCH_SIZE, dirtyList.size()));
+			synchronized (writeLock) {
+				List<RegistryBeat> writeList = new ArrayList<>();
+				List<XxlJobRegistry> registryList = new ArrayList<>();
+				List<Long> lastSeenList = new ArrayList<>();
+				for (RegistryBeat beat: batchList) {
+					if (beat.removed) {
+						continue;
+					}
+					long lastSeen = beat.lastSeen;
+
+					XxlJobRegistry registry = new XxlJobRegistry();
+					registry.setRegistryGroup(beat.registryGroup);
+					registry.setRegistryKey(beat.registryKey);
+					registry.setRegistryValue(beat.registryValue);
+					registry.setUpdateTime(new Date(lastSeen));
+					registryList.add(registry);
+					writeList.add(beat);
+					lastSeenList.add(lastSeen);
+				}
+				if (registryList.isEmpty()) {
+					continue;
+				}
+				try {
+					XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registrySaveOrUpdateBatch(registryList);
+					for (int j = 0; j < writeList.size(); j++) {
+						writeList.get(j).lastWritten = lastSeenList.get(j);
+					}
+				} catch (Throwable e) {
+					logger.error(">>>>>>>>>>> xxl-job, job registry beat flush error, size:{}", registryList.size(), e);
+				}
+			}
+		}
+		logger.debug(">>>>>>>>>>> xxl-job, job registry beat flush, size:{}", dirtyList.size());
+	}
+
+	/**
+	 * remove registry not beat to this admin for "DEAD_TIMEOUT", detected from memory
+	 */
+	private void removeDeadBeat() {
+		long deadTime = System.currentTimeMillis() - Const.DEAD_TIMEOUT * 1000L;
+		for (Map.Entry<String, RegistryBeat> entry: beatMap.entrySet()) {
+			RegistryBeat beat = entry.getValue();
+			if (beat.lastSeen >= deadTime || !beatMap.remove(entry.getKey(), beat)) {
+				continue;
+			}
+			beat.removed = true;
+
+			// remove from db, not beat to other admin meanwhile
+			int ret;
+			synchronized (writeLock) {
+				ret = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registryDeleteDead(beat.registryGroup, beat.registryKey, beat.registryValue, Const.DEAD_TIMEOUT, new Date());
+			}
+			if (ret > 0) {
+				logger.info(">>>>>>>>>>> xxl-job, job registry dead, registryGroup:{}, registryKey:{}, registryValue:{}", beat.registryGroup, beat.registryKey, beat.registryValue);
+				XxlJobAdminBootstrap.getInstance().getExecutorLoadCache().remove(beat.registryValue);
+				freshGroupRegistryInfo(new RegistryRequest(beat.registryGroup, beat.registryKey, beat.registryValue));
+			}
+		}
+	}
+
+	/**
+	 * registry beat, last seen of registry beat to this admin
+	 */
+	private static class RegistryBeat {
+		private final String registryGroup;
+		private final String registryKey;
+		private final String registryValue;
+		private volatile long lastSeen;
+		private volatile long lastWritten;		// written by flush thread (or registry directly)
+		private volatile boolean removed;		// removed (registry remove, or dead), not written any more
+
+		private RegistryBeat(String registryGroup, String registryKey, String registryValue, long lastSeen) {
+			this.registryGroup = registryGroup;
+			this.registryKey = registryKey;
+			this.registryValue = registryValue;
+			this.lastSeen = lastSeen;
+			this.lastWritten = lastSeen;
+		}
+	}
+
+
+	// ---------------------- group ----------------------
+
+	/**
+	 * fresh group address when executor registry added or removed, route see it without waiting for monitor
+	 */
 	private void freshGroupRegistryInfo(RegistryRequest registryParam){
-		// Under consideration, prevent affecting core tables
+		if (!RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())) {
+			return;
+		}
+		try {
+			// auto registry group of appname
+			List<XxlJobGroup> groupList = XxlJobAdminBootstrap.getInstance().getXxlJobGroupMapper().findByAddressType(0);
+			if (groupList == null || groupList.isEmpty()) {
+				return;
+			}
+			List<XxlJobRegistry> registryList = null;
+			for (XxlJobGroup group: groupList) {
+				if (!registryParam.getRegistryKey().equals(group.getAppname())) {
+					continue;
+				}
+				if (registryList == null) {
+					registryList = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().findAllByRegistryKey(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), Const.DEAD_TIMEOUT, new Date());
+				}
+				refreshGroup(group, registryList);
+			}
+		} catch (Throwable e) {
+			logger.error(">>>>>>>>>>> xxl-job, job registry fresh group error, registryKey:{}", registryParam.getRegistryKey(), e);
+		}
+	}
+
+	/**
+	 * fresh group address by online registry, write db only when address changed
+	 *
+	 * @param group			group, loaded from db
+	 * @param registryList	online registry of group appname
+	 * @return true if address changed
+	 */
+	private synchronized boolean refreshGroup(XxlJobGroup group, List<XxlJobRegistry> registryList) {
+		String addressListStr = buildAddressList(registryList);
+		boolean changed = !Objects.equals(addressListStr, group.getAddressList());
+		if (changed) {
+			group.setAddressList(addressListStr);
+			group.setUpdateTime(new Date());
+			XxlJobAdminBootstrap.getInstance().getXxlJobGroupMapper().updateAddressList(group.getId(), group.getAddressList(), group.getUpdateTime());
+			logger.info(">>>>>>>>>>> xxl-job, job registry group address changed, appname:{}, addressList:{}", group.getAppname(), addressListStr);
+		}
+
+		// cache always, group may be changed by other admin
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().putGroup(group);
+		return changed;
+	}
+
+	/**
+	 * address list of registry, sorted and distinct, split by ","
+	 *
+	 * @return null if empty
+	 */
+	static String buildAddressList(List<XxlJobRegistry> registryList) {
+		if (registryList == null || registryList.isEmpty()) {
+			return null;
+		}
+		TreeSet<String> addressSet = new TreeSet<String>();
+		for (XxlJobRegistry item: registryList) {
+			addressSet.add(item.getRegistryValue());
+		}
+		return String.join(",", addressSet);
 	}
 
 
@@ -0,0 +1,192 @@
+package com.xxl.job.admin.scheduler.thread;
+
+import com.xxl.job.admin.model.XxlJobRegistry;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.core.constant.RegistType;
+import com.xxl.tool.core.CollectionTool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job schedule cluster helper, partition "xxl_job_info" between online admins
+ *
+ *      a、job partition：each job is hashed into fixed partitions by "id % PARTITION_COUNT"；
+ *      b、partition owner：online admins (registry by "RegistType.ADMIN") sorted by address, partition is owned by "admin[partition % adminCount]"；
+ *      c、partition lock：each partition has its own lock row, admin only lock owned partitions, so admins schedule concurrently；
+ *          during rebalance two admins may own the same partition for a while, but they still serialize on the same lock row；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobScheduleClusterHelper {
+    private static final Logger logger = LoggerFactory.getLogger(JobScheduleClusterHelper.class);
+
+    /**
+     * partition count, fixed for all admins (lock row each partition)
+     */
+    public static final int PARTITION_COUNT = 64;
+    /**
+     * admin registry key
+     */
+    public static final String REGISTRY_KEY = "xxl-job-admin";
+    /**
+     * admin registry beat, shorter than executor, rebalance faster
+     */
+    public static final int BEAT_TIMEOUT = 10;
+    public static final int DEAD_TIMEOUT = BEAT_TIMEOUT * 3;
+
+    private final String address;
+    private Thread clusterThread;
+    private volatile boolean toStop = false;
+
+    private volatile List<String> adminList = Collections.emptyList();
+    private volatile List<Integer> partitionList = Collections.emptyList();
+
+    public JobScheduleClusterHelper(String address) {
+        this.address = address;
+    }
+
+    /**
+     * start
+     */
+    public void start(){
+
+        // init partition lock
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().scheduleLockInit(makeLockName(i));
+        }
+
+        // registry and fresh once, before schedule start
+        refresh();
+
+        // for beat and rebalance
+        clusterThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        TimeUnit.SECONDS.sleep(BEAT_TIMEOUT);
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                    if (!toStop) {
+                        refresh();
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobScheduleClusterHelper stop");
+            }
+        });
+        clusterThread.setDaemon(true);
+        clusterThread.setName("xxl-job, admin JobScheduleClusterHelper");
+        clusterThread.start();
+    }
+
+    /**
+     * stop
+     */
+    public void stop(){
+        toStop = true;
+
+        // stop cluster thread (interrupt and wait)
+        if (clusterThread != null) {
+            clusterThread.interrupt();
+            try {
+                clusterThread.join();
+            } catch (Throwable e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        // registry remove, other admins take over partitions at next beat
+        partitionList = Collections.emptyList();
+        try {
+            XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registryDelete(RegistType.ADMIN.name(), REGISTRY_KEY, address);
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobScheduleClusterHelper registry remove error:{}", e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    /**
+     * beat self and rebalance partition by online admins
+     */
+    public void refresh() {
+        try {
+            // beat
+            XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().registrySaveOrUpdate(RegistType.ADMIN.name(), REGISTRY_KEY, address, new Date());
+
+            // online admins
+            List<String> onlineAdminList = new ArrayList<>();
+            List<XxlJobRegistry> registryList = XxlJobAdminBootstrap.getInstance().getXxlJobRegistryMapper().findAllByRegistryGroup(RegistType.ADMIN.name(), DEAD_TIMEOUT, new Date());
+            if (CollectionTool.isNotEmpty(registryList)) {
+                for (XxlJobRegistry item: registryList) {
+                    if (REGISTRY_KEY.equals(item.getRegistryKey()) && !onlineAdminList.contains(item.getRegistryValue())) {
+                        onlineAdminList.add(item.getRegistryValue());
+                    }
+                }
+            }
+            if (!onlineAdminList.contains(address)) {
+                onlineAdminList.add(address);
+            }
+            Collections.sort(onlineAdminList);
+
+            // rebalance
+            if (!onlineAdminList.equals(adminList)) {
+                adminList = Collections.unmodifiableList(onlineAdminList);
+                partitionList = Collections.unmodifiableList(assignPartition(onlineAdminList, address));
+                logger.info(">>>>>>>>>>> xxl-job, JobScheduleClusterHelper rebalance, address:{}, adminList:{}, partitionList:{}", address, adminList, partitionList);
+            }
+        } catch (Throwable e) {
+            if (!toStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobScheduleClusterHelper refresh error:{}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * assign partition for admin
+     *
+     * @param adminList     online admin list, sorted
+     * @param address       current admin address
+     * @return owned partition list, asc
+     */
+    public static List<Integer> assignPartition(List<String> adminList, String address) {
+        List<Integer> result = new ArrayList<>();
+        int adminIndex = adminList.indexOf(address);
+        if (adminIndex < 0) {
+            return result;
+        }
+        for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+            if (partition % adminList.size() == adminIndex) {
+                result.add(partition);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * make lock name of partition, zero-padded to keep lock order same as partition order
+     */
+    public static String makeLockName(int partition) {
+        return String.format("schedule_lock_p%02d", partition);
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public List<String> getAdminList() {
+        return adminList;
+    }
+
+    public List<Integer> getPartitionList() {
+        return partitionList;
+    }
+
+}
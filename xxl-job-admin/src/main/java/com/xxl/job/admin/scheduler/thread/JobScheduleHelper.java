@@ -4,17 +4,16 @@ import com.xxl.job.admin.constant.TriggerStatus;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.scheduler.misfire.MisfireStrategyEnum;
+import com.xxl.job.admin.scheduler.ring.TimingWheel;
 import com.xxl.job.admin.scheduler.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.scheduler.type.ScheduleTypeEnum;
 import com.xxl.tool.core.CollectionTool;
-import com.xxl.tool.core.MapTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,18 +31,30 @@ public class JobScheduleHelper {
     * elegant shutdown wait seconds
      */
     private static final long ELEGANT_SHUTDOWN_WAITING_SECONDS = 10;
+    /**
+     * schedule write-back batch size, each batch is one sql
+     */
+    private static final int SCHEDULE_UPDATE_BATCH_SIZE = 200;
+
+    /**
+     * schedule lock hold time, by millisecond (last pass, and max)
+     */
+    private volatile long lockHoldLastMs = 0;
+    private volatile long lockHoldMaxMs = 0;
 
     private Thread scheduleThread;
-    private Thread ringThread;
     private volatile boolean scheduleThreadToStop = false;
-    private volatile boolean ringThreadToStop = false;
-    private final Map<Integer, List<Integer>> ringData = new ConcurrentHashMap<>();
+    private TimingWheel timingWheel;
 
     /**
      * start
      */
     public void start(){
 
+        // time ring, millisecond timing wheel, trigger at exact trigger-time
+        timingWheel = new TimingWheel("ring", jobId -> XxlJobAdminBootstrap.getInstance().getJobTriggerPoolHelper().trigger(jobId, TriggerTypeEnum.CRON, -1, null, null, null));
+        timingWheel.start();
+
         // schedule thread
         scheduleThread = new Thread(new Runnable() {
             @Override
@@ -71,22 +82,48 @@ public class JobScheduleHelper {
 
                     // transaction start
                     TransactionStatus transactionStatus = null;
+                    List<XxlJobInfo> scheduleList = null;
+                    boolean scheduleUpdated = false;
+                    long lockStart = 0;
                     try {
-                        transactionStatus = XxlJobAdminBootstrap.getInstance().getTransactionManager().getTransaction(new DefaultTransactionDefinition());
-                        // 1、job lock
-                        String lockedRecord = XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().scheduleLock();
+                        // 1、find due job from schedule index (no due job, skip lock and db); sync index first (rebalance, job change of other admin)
+                        List<Integer> partitionList = null;
+                        JobScheduleClusterHelper clusterHelper = XxlJobAdminBootstrap.getInstance().getJobScheduleClusterHelper();
+                        if (clusterHelper != null) {
+                            partitionList = clusterHelper.getPartitionList();
+                        }
+                        XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().sync(JobScheduleClusterHelper.PARTITION_COUNT, partitionList);
+                        List<Integer> dueJobIdList = XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper()
+                                .findDue(System.currentTimeMillis() + PRE_READ_MS, preReadCount, JobScheduleClusterHelper.PARTITION_COUNT, partitionList);
+
+                        // 2、job lock (partition lock when cluster enabled, else global lock)
+                        if (CollectionTool.isNotEmpty(dueJobIdList)) {
+                            transactionStatus = XxlJobAdminBootstrap.getInstance().getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+                            if (partitionList != null) {
+                                List<String> lockNameList = new ArrayList<>();
+                                for (Integer partition : partitionList) {
+                                    lockNameList.add(JobScheduleClusterHelper.makeLockName(partition));
+                                }
+                                XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().schedulePartitionLock(lockNameList);
+                            } else {
+                                XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().scheduleLock();
+                            }
+                            lockStart = System.currentTimeMillis();     // lock acquired
+                        }
                         long nowTime = System.currentTimeMillis();
 
-                        // scan and process job
-                        List<XxlJobInfo> scheduleList = XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().scheduleJobQuery(nowTime + PRE_READ_MS, preReadCount);
+                        // 3、load due job (db first, may be changed by other admin)
+                        if (CollectionTool.isNotEmpty(dueJobIdList)) {
+                            scheduleList = loadDueJob(dueJobIdList, nowTime + PRE_READ_MS);
+                        }
                         if (CollectionTool.isNotEmpty(scheduleList)) {
 
-                            // 2、push time-ring
+                            // 4、push time-ring
                             for (XxlJobInfo jobInfo: scheduleList) {
 
                                 // time-ring jump
                                 if (nowTime > jobInfo.getTriggerNextTime() + PRE_READ_MS) {
-                                    // 2.1、trigger-expire > 5s：pass && make next-trigger-time
+                                    // 4.1、trigger-expire > 5s：pass && make next-trigger-time
 
                                     // 1、misfire handle
                                     MisfireStrategyEnum misfireStrategyEnum = MisfireStrategyEnum.match(jobInfo.getMisfireStrategy(), MisfireStrategyEnum.DO_NOTHING);
@@ -96,7 +133,7 @@ public class JobScheduleHelper {
                                     refreshNextTriggerTime(jobInfo, new Date());
 
                                 } else if (nowTime > jobInfo.getTriggerNextTime()) {
-                                    // 2.2、trigger-expire < 5s：direct-trigger && make next-trigger-time
+                                    // 4.2、trigger-expire < 5s：direct-trigger && make next-trigger-time
 
                                     // 1、trigger direct
                                     XxlJobAdminBootstrap.getInstance().getJobTriggerPoolHelper().trigger(jobInfo.getId(), TriggerTypeEnum.CRON, -1, null, null, null);
@@ -108,39 +145,32 @@ public class JobScheduleHelper {
                                     // next-trigger-time in 5s, pre-read again
                                     if (jobInfo.getTriggerStatus()== TriggerStatus.RUNNING.getValue() && nowTime + PRE_READ_MS > jobInfo.getTriggerNextTime()) {
 
-                                        // 1、make ring second
-                                        int ringSecond = (int)((jobInfo.getTriggerNextTime()/1000)%60);
-
-                                        // 2、push time ring (pre read)
-                                        pushTimeRing(ringSecond, jobInfo.getId());
+                                        // 1、push time ring (pre read)
+                                        pushTimeRing(jobInfo.getId(), jobInfo.getTriggerNextTime());
                                         logger.debug(">>>>>>>>>>> xxl-job, schedule pre-read, push trigger : jobId = " + jobInfo.getId() );
 
-                                        // 3、fresh next
+                                        // 2、fresh next
                                         refreshNextTriggerTime(jobInfo, new Date(jobInfo.getTriggerNextTime()));
 
                                     }
 
                                 } else {
-                                    // 2.3、trigger-pre-read：time-ring trigger && make next-trigger-time
-
-                                    // 1、make ring second
-                                    int ringSecond = (int)((jobInfo.getTriggerNextTime()/1000)%60);
+                                    // 4.3、trigger-pre-read：time-ring trigger && make next-trigger-time
 
-                                    // 2、push time ring
-                                    pushTimeRing(ringSecond, jobInfo.getId());
+                                    // 1、push time ring
+                                    pushTimeRing(jobInfo.getId(), jobInfo.getTriggerNextTime());
                                     logger.debug(">>>>>>>>>>> xxl-job, schedule normal, push trigger : jobId = " + jobInfo.getId() );
 
-                                    // 3、fresh next
+                                    // 2、fresh next
                                     refreshNextTriggerTime(jobInfo, new Date(jobInfo.getTriggerNextTime()));
 
                                 }
 
                             }
 
-                            // 3、update trigger info
-                            for (XxlJobInfo jobInfo: scheduleList) {
-                                XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().scheduleUpdate(jobInfo);
-                            }
+                            // 5、update trigger info, batch
+                            scheduleUpdateBatch(scheduleList);
+                            scheduleUpdated = true;
 
                         } else {
                             preReadSuc = false;
@@ -155,6 +185,17 @@ public class JobScheduleHelper {
                         try {
                             if (transactionStatus != null) {
                                 XxlJobAdminBootstrap.getInstance().getTransactionManager().commit(transactionStatus);   // avlid schedule repeat
+                                if (lockStart > 0) {
+                                    recordLockHold(System.currentTimeMillis() - lockStart, scheduleList!=null?scheduleList.size():0);
+                                }
+                            }
+
+                            // 6、fresh schedule index, after trigger info committed
+                            if (scheduleUpdated) {
+                                for (XxlJobInfo jobInfo: scheduleList) {
+                                    int triggerStatus = jobInfo.getTriggerStatus()==-1 ? TriggerStatus.RUNNING.getValue() : jobInfo.getTriggerStatus();     // "-1" means not changed
+                                    XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().put(jobInfo.getId(), triggerStatus, jobInfo.getTriggerNextTime());
+                                }
                             }
                         } catch (Throwable e) {
                             logger.error(">>>>>>>>>>> xxl-job, JobScheduleHelper#scheduleThread transaction commit error:{}", e.getMessage(), e);
@@ -184,67 +225,76 @@ public class JobScheduleHelper {
         scheduleThread.setDaemon(true);
         scheduleThread.setName("xxl-job, admin JobScheduleHelper#scheduleThread");
         scheduleThread.start();
+    }
 
+    /**
+     * load due job from db, and correct schedule index when job is not due
+     *
+     * @param dueJobIdList  due job id, from schedule index
+     * @param maxNextTime   max next trigger time
+     * @return due job list
+     */
+    private List<XxlJobInfo> loadDueJob(List<Integer> dueJobIdList, long maxNextTime) {
+        long loadVersion = XxlJobAdminBootstrap.getInstance().getJobMetaCache().version();
+        List<XxlJobInfo> jobList = XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().scheduleJobLoadByIds(dueJobIdList);
+
+        List<XxlJobInfo> dueJobList = new ArrayList<>();
+        Set<Integer> loadJobIdSet = new HashSet<>();
+        for (XxlJobInfo jobInfo: jobList) {
+            loadJobIdSet.add(jobInfo.getId());
+            if (jobInfo.getTriggerStatus() == TriggerStatus.RUNNING.getValue() && jobInfo.getTriggerNextTime() <= maxNextTime) {
+                dueJobList.add(jobInfo);
+                XxlJobAdminBootstrap.getInstance().getJobMetaCache().putJob(jobInfo, loadVersion);      // fresh, for trigger soon
+            } else {
+                // scheduled or changed by other admin
+                XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().put(jobInfo);
+            }
+        }
+        for (Integer jobId: dueJobIdList) {
+            if (!loadJobIdSet.contains(jobId)) {
+                // removed by other admin
+                XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().remove(jobId);
+            }
+        }
+        return dueJobList;
+    }
 
-        // ring thread
-        ringThread = new Thread(new Runnable() {
-            @Override
-            public void run() {
-
-                while (!ringThreadToStop) {
-
-                    // align second
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(1000 - System.currentTimeMillis() % 1000);
-                    } catch (Throwable e) {
-                        if (!ringThreadToStop) {
-                            logger.error(e.getMessage(), e);
-                        }
-                    }
+    /**
+     * update trigger info, batch by "SCHEDULE_UPDATE_BATCH_SIZE", reduce db round trip while holding schedule lock
+     *
+     * @param scheduleList  schedule job list
+     */
+    private void scheduleUpdateBatch(List<XxlJobInfo> scheduleList) {
+        for (int from = 0; from < scheduleList.size(); from += SCHEDULE_UPDATE_BATCH_SIZE) {
+            int to = Math.min(from + SCHEDULE_UPDATE_BATCH_SIZE, scheduleList.size());
+            XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().scheduleUpdateBatch(scheduleList.subList(from, to));
+        }
+    }
 
-                    try {
-                        // second data
-                        List<Integer> ringItemData = new ArrayList<>();
-
-                        // collect rind data, by second
-                        int nowSecond = Calendar.getInstance().get(Calendar.SECOND);
-                        for (int i = 0; i <= 2; i++) {                                                              // 避免调度遗漏：处理耗时太长、跨过刻度，除当前刻度外 + 向前校验2个刻度；
-                            List<Integer> ringItemList = ringData.remove( (nowSecond+60-i)%60 );
-                            if (CollectionTool.isNotEmpty(ringItemList)) {
-                                // distinct for each second
-                                List<Integer> ringItemListDistinct = ringItemList.stream().distinct().toList();     // 避免调度重复：重复推送时间轮刻度，去重只保留一个；；
-                                if (ringItemListDistinct.size() < ringItemList.size()) {
-                                    logger.warn(">>>>>>>>>>> xxl-job, time-ring found job repeat beat : " + nowSecond + " = " + ringItemData);
-                                }
+    /**
+     * record schedule lock hold time
+     *
+     * @param lockHoldMs    lock hold time, by millisecond
+     * @param jobCount      job count scheduled in this pass
+     */
+    private void recordLockHold(long lockHoldMs, int jobCount) {
+        lockHoldLastMs = lockHoldMs;
+        if (lockHoldMs > lockHoldMaxMs) {
+            lockHoldMaxMs = lockHoldMs;
+        }
+        if (lockHoldMs >= 1000) {
+            logger.warn(">>>>>>>>>>> xxl-job, JobScheduleHelper schedule lock hold too long, cost:{}ms, jobCount:{}", lockHoldMs, jobCount);
+        } else {
+            logger.debug(">>>>>>>>>>> xxl-job, JobScheduleHelper schedule lock hold, cost:{}ms, jobCount:{}", lockHoldMs, jobCount);
+        }
+    }
 
-                                // collect ring item
-                                ringItemData.addAll(ringItemListDistinct);
-                            }
-                        }
+    public long getLockHoldLastMs() {
+        return lockHoldLastMs;
+    }
 
-                        // ring trigger
-                        logger.debug(">>>>>>>>>>> xxl-job, time-ring beat : " + nowSecond + " = " + ringItemData);
-                        if (CollectionTool.isNotEmpty(ringItemData)) {
-                            // do trigger
-                            for (int jobId: ringItemData) {
-                                // do trigger
-                                XxlJobAdminBootstrap.getInstance().getJobTriggerPoolHelper().trigger(jobId, TriggerTypeEnum.CRON, -1, null, null, null);
-                            }
-                            // clear
-                            ringItemData.clear();
-                        }
-                    } catch (Throwable e) {
-                        if (!ringThreadToStop) {
-                            logger.error(">>>>>>>>>>> xxl-job, JobScheduleHelper#ringThread error:{}", e.getMessage(), e);
-                        }
-                    }
-                }
-                logger.info(">>>>>>>>>>> xxl-job, JobScheduleHelper#ringThread stop");
-            }
-        });
-        ringThread.setDaemon(true);
-        ringThread.setName("xxl-job, admin JobScheduleHelper#ringThread");
-        ringThread.start();
+    public long getLockHoldMaxMs() {
+        return lockHoldMaxMs;
     }
 
     /**
@@ -287,18 +337,12 @@ public class JobScheduleHelper {
     /**
      * push time ring
      *
-     * @param ringSecond    ring second
      * @param jobId         job id
+     * @param triggerTime   trigger time
      */
-    private void pushTimeRing(int ringSecond, int jobId){
-        // get ringItemData, init when not exists
-        List<Integer> ringItemList = ringData.computeIfAbsent(
-                ringSecond,
-                k -> new ArrayList<>());
-
-        // push async rind
-        ringItemList.add(jobId);
-        logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : " + ringSecond + " = " + List.of(ringItemList));
+    private void pushTimeRing(int jobId, long triggerTime){
+        timingWheel.add(jobId, triggerTime);
+        logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : jobId = {}, triggerTime = {}", jobId, triggerTime);
     }
 
     /**
@@ -324,17 +368,7 @@ public class JobScheduleHelper {
         }
 
         // if has ring data, wait for elegent shutdown
-        boolean hasRingData = false;
-        if (MapTool.isNotEmpty(ringData)) {
-            for (int second : ringData.keySet()) {
-                List<Integer> ringItemList = ringData.get(second);
-                if (CollectionTool.isNotEmpty(ringItemList)) {
-                    hasRingData = true;
-                    break;
-                }
-            }
-        }
-        if (hasRingData) {
+        if (timingWheel.size() > 0) {
             try {
                 TimeUnit.SECONDS.sleep(ELEGANT_SHUTDOWN_WAITING_SECONDS);
             } catch (Throwable e) {
@@ -343,21 +377,7 @@ public class JobScheduleHelper {
         }
 
         // stop ring (wait job-in-memory stop)
-        ringThreadToStop = true;
-        try {
-            TimeUnit.SECONDS.sleep(1);
-        } catch (Throwable e) {
-            logger.error(e.getMessage(), e);
-        }
-        if (ringThread.getState() != Thread.State.TERMINATED){
-            // interrupt and wait
-            ringThread.interrupt();
-            try {
-                ringThread.join();
-            } catch (Throwable e) {
-                logger.error(e.getMessage(), e);
-            }
-        }
+        timingWheel.stop();
 
         logger.info(">>>>>>>>>>> xxl-job, JobScheduleHelper stop");
     }
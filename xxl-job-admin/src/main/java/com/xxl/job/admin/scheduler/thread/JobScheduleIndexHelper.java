@@ -0,0 +1,433 @@
+package com.xxl.job.admin.scheduler.thread;
+
+import com.xxl.job.admin.constant.TriggerStatus;
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job schedule index, in-memory "jobId -> next trigger time", scheduler only load due job from db
+ *
+ *      a、load：load all running job at start, and reconcile with db periodically；
+ *      b、update：XxlJobServiceImpl (add/update/start/stop/remove) and schedule write-back update index；
+ *      c、query：min-heap by next trigger time (primitive array), old entry is skipped lazily when polled；
+ *      d、db first：scheduler re-check the loaded job, and correct the index when it is not due (changed by other admin)；
+ *      e、change：job change of console published to "xxl_job_schedule_change", applied by other admin at next schedule tick (not wait for reconcile)；
+ *      f、partition：only job of owned partition indexed when partition enabled, reload when owned partition changed (rebalance)；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobScheduleIndexHelper {
+    private static final Logger logger = LoggerFactory.getLogger(JobScheduleIndexHelper.class);
+
+    /**
+     * reconcile interval, by second
+     */
+    public static final int RECONCILE_INTERVAL = 30;
+    /**
+     * job change retention, by minute
+     */
+    public static final int CHANGE_RETENTION = 60;
+
+    private Thread reconcileThread;
+    private volatile boolean toStop = false;
+
+    // index, guarded by "this"
+    private Map<Integer, Long> nextTimeMap = new HashMap<>();
+    private long[] heapTimes = new long[1024];
+    private int[] heapJobIds = new int[1024];
+    private int heapSize = 0;
+    private Map<Integer, Long> reconcileDirtyMap = null;   // update during reconcile, re-apply after reconcile
+    private int partitionCount = 0;
+    private List<Integer> partitionList = null;             // owned partition, null means all job
+
+    // job change applied, by change id
+    private volatile long lastChangeId = 0;
+
+    /**
+     * start
+     */
+    public void start(){
+
+        // owned partition
+        JobScheduleClusterHelper clusterHelper = XxlJobAdminBootstrap.getInstance().getJobScheduleClusterHelper();
+        if (clusterHelper != null) {
+            synchronized (this) {
+                partitionCount = JobScheduleClusterHelper.PARTITION_COUNT;
+                partitionList = clusterHelper.getPartitionList();
+            }
+        }
+
+        // job change applied, before load
+        try {
+            lastChangeId = XxlJobAdminBootstrap.getInstance().getXxlJobScheduleChangeMapper().findMaxId();
+        } catch (Throwable e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper load change id error:{}", e.getMessage(), e);
+        }
+
+        // load once, before schedule start
+        reconcile();
+
+        // reconcile thread
+        reconcileThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        TimeUnit.SECONDS.sleep(RECONCILE_INTERVAL);
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                    if (!toStop) {
+                        reconcile();
+                        cleanChange();
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper stop");
+            }
+        });
+        reconcileThread.setDaemon(true);
+        reconcileThread.setName("xxl-job, admin JobScheduleIndexHelper");
+        reconcileThread.start();
+    }
+
+    /**
+     * stop
+     */
+    public void stop(){
+        toStop = true;
+
+        // interrupt and wait
+        if (reconcileThread != null) {
+            reconcileThread.interrupt();
+            try {
+                reconcileThread.join();
+            } catch (Throwable e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+
+    // ---------------------- index ----------------------
+
+    /**
+     * update job index, by trigger status and next trigger time
+     *
+     * @param jobInfo   job info
+     */
+    public void put(XxlJobInfo jobInfo) {
+        put(jobInfo.getId(), jobInfo.getTriggerStatus(), jobInfo.getTriggerNextTime());
+    }
+
+    /**
+     * update job index
+     *
+     * @param jobId             job id
+     * @param triggerStatus     trigger status, not running will be removed
+     * @param triggerNextTime   next trigger time
+     */
+    public synchronized void put(int jobId, int triggerStatus, long triggerNextTime) {
+        if (triggerStatus != TriggerStatus.RUNNING.getValue() || triggerNextTime <= 0 || !isOwned(jobId)) {
+            remove(jobId);
+            return;
+        }
+
+        Long oldTime = nextTimeMap.put(jobId, triggerNextTime);
+        if (oldTime == null || oldTime != triggerNextTime) {
+            heapPush(triggerNextTime, jobId);
+
+            // too many old entry, rebuild heap
+            if (heapSize > (nextTimeMap.size() << 1) + 1024) {
+                heapRebuild();
+            }
+        }
+        if (reconcileDirtyMap != null) {
+            reconcileDirtyMap.put(jobId, triggerNextTime);
+        }
+    }
+
+    /**
+     * remove job index
+     *
+     * @param jobId job id
+     */
+    public synchronized void remove(int jobId) {
+        nextTimeMap.remove(jobId);      // heap entry is skipped lazily
+        if (reconcileDirtyMap != null) {
+            reconcileDirtyMap.put(jobId, -1L);
+        }
+    }
+
+    private boolean isOwned(int jobId) {
+        return partitionList == null || (partitionCount > 0 && partitionList.contains(jobId % partitionCount));
+    }
+
+    /**
+     * update job index, and publish job change to other admin (job changed by console)
+     *
+     * @param jobInfo   job info
+     */
+    public void publish(XxlJobInfo jobInfo) {
+        put(jobInfo);
+        publishChange(jobInfo.getId());
+    }
+
+    /**
+     * remove job index, and publish job change to other admin (job removed by console)
+     *
+     * @param jobId job id
+     */
+    public void publishRemove(int jobId) {
+        remove(jobId);
+        publishChange(jobId);
+    }
+
+    private void publishChange(int jobId) {
+        try {
+            XxlJobAdminBootstrap.getInstance().getXxlJobScheduleChangeMapper().save(jobId);
+        } catch (Throwable e) {
+            // applied by other admin when reconcile
+            logger.error(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper publish change error, jobId:{}", jobId, e);
+        }
+    }
+
+    /**
+     * sync index, before find due: reload when owned partition changed (rebalance), and apply job change published by other admin
+     *
+     * @param partitionCount    partition count, job partition is "id % partitionCount"
+     * @param partitionList     owned partition list, null means all job
+     */
+    public void sync(int partitionCount, List<Integer> partitionList) {
+        // 1、owned partition changed, reload
+        boolean partitionChanged;
+        synchronized (this) {
+            partitionChanged = this.partitionCount != partitionCount || !Objects.equals(this.partitionList, partitionList);
+            this.partitionCount = partitionCount;
+            this.partitionList = partitionList;
+        }
+        if (partitionChanged) {
+            reconcile();
+        }
+
+        // 2、apply job change
+        try {
+            long maxChangeId = XxlJobAdminBootstrap.getInstance().getXxlJobScheduleChangeMapper().findMaxId();
+            if (maxChangeId <= lastChangeId) {
+                return;
+            }
+            List<Integer> changeJobIds = XxlJobAdminBootstrap.getInstance().getXxlJobScheduleChangeMapper().findJobIds(lastChangeId, maxChangeId);
+
+            List<Integer> ownedJobIds = new ArrayList<>();
+            synchronized (this) {
+                for (Integer jobId : changeJobIds) {
+                    if (isOwned(jobId)) {
+                        ownedJobIds.add(jobId);
+                    }
+                }
+            }
+            if (!ownedJobIds.isEmpty()) {
+                Set<Integer> loadJobIdSet = new HashSet<>();
+                for (XxlJobInfo jobInfo : XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().scheduleJobLoadByIds(ownedJobIds)) {
+                    loadJobIdSet.add(jobInfo.getId());
+                    put(jobInfo);
+                }
+                for (Integer jobId : ownedJobIds) {
+                    if (!loadJobIdSet.contains(jobId)) {
+                        remove(jobId);      // removed
+                    }
+                }
+            }
+            lastChangeId = maxChangeId;
+        } catch (Throwable e) {
+            if (!toStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper apply change error:{}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * clean expired job change
+     */
+    private void cleanChange() {
+        try {
+            Date clearBeforeTime = new Date(System.currentTimeMillis() - CHANGE_RETENTION * 60 * 1000L);
+            int ret;
+            do {
+                ret = XxlJobAdminBootstrap.getInstance().getXxlJobScheduleChangeMapper().clean(clearBeforeTime, 1000);
+            } while (ret >= 1000 && !toStop);
+        } catch (Throwable e) {
+            if (!toStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper clean change error:{}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * find due job, order by next trigger time
+     *
+     * @param maxNextTime       max next trigger time
+     * @param limit             max job count
+     * @param partitionCount    partition count, job partition is "id % partitionCount"
+     * @param partitionList     owned partition list, null means all job (job not owned removed from index)
+     * @return due job id list
+     */
+    public synchronized List<Integer> findDue(long maxNextTime, int limit, int partitionCount, List<Integer> partitionList) {
+        List<Integer> result = new ArrayList<>();
+        if (partitionList != null && partitionList.isEmpty()) {
+            return result;
+        }
+
+        // poll due entry, and push back after
+        List<long[]> polledList = new ArrayList<>();
+        while (heapSize > 0 && heapTimes[0] <= maxNextTime && result.size() < limit) {
+            long triggerTime = heapTimes[0];
+            int jobId = heapJobIds[0];
+            heapPoll();
+
+            // skip old entry
+            Long currentTime = nextTimeMap.get(jobId);
+            if (currentTime == null || currentTime != triggerTime) {
+                continue;
+            }
+
+            // not owned, remove (owned by other admin, not polled again)
+            if (partitionList != null && !partitionList.contains(jobId % partitionCount)) {
+                nextTimeMap.remove(jobId);
+                continue;
+            }
+            polledList.add(new long[]{triggerTime, jobId});
+            result.add(jobId);
+        }
+        for (long[] item : polledList) {
+            heapPush(item[0], (int) item[1]);
+        }
+        return result;
+    }
+
+    /**
+     * job count in index
+     */
+    public synchronized int size() {
+        return nextTimeMap.size();
+    }
+
+    /**
+     * reconcile with db, rebuild index (old heap entry is dropped)
+     */
+    public void reconcile() {
+        try {
+            // start record update, during load db
+            synchronized (this) {
+                reconcileDirtyMap = new HashMap<>();
+            }
+
+            // load running job from db
+            List<XxlJobInfo> jobList = XxlJobAdminBootstrap.getInstance().getXxlJobInfoMapper().scheduleIndexQuery();
+            Map<Integer, Long> loadMap = new HashMap<>();
+            for (XxlJobInfo jobInfo : jobList) {
+                if (jobInfo.getTriggerStatus() == TriggerStatus.RUNNING.getValue() && jobInfo.getTriggerNextTime() > 0) {
+                    loadMap.put(jobInfo.getId(), jobInfo.getTriggerNextTime());
+                }
+            }
+
+            // rebuild index, re-apply update during load, only owned job
+            synchronized (this) {
+                for (Map.Entry<Integer, Long> item : reconcileDirtyMap.entrySet()) {
+                    if (item.getValue() < 0) {
+                        loadMap.remove(item.getKey());
+                    } else {
+                        loadMap.put(item.getKey(), item.getValue());
+                    }
+                }
+                reconcileDirtyMap = null;
+                loadMap.keySet().removeIf(jobId -> !isOwned(jobId));
+
+                int diffCount = 0;
+                for (Map.Entry<Integer, Long> item : loadMap.entrySet()) {
+                    if (!item.getValue().equals(nextTimeMap.get(item.getKey()))) {
+                        diffCount++;
+                    }
+                }
+                diffCount += Math.max(0, nextTimeMap.size() - loadMap.size());
+
+                nextTimeMap = loadMap;
+                heapRebuild();
+                logger.debug(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper reconcile, size:{}, diff:{}", loadMap.size(), diffCount);
+            }
+        } catch (Throwable e) {
+            synchronized (this) {
+                reconcileDirtyMap = null;
+            }
+            if (!toStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobScheduleIndexHelper reconcile error:{}", e.getMessage(), e);
+            }
+        }
+    }
+
+
+    // ---------------------- heap ----------------------
+
+    private void heapRebuild() {
+        heapSize = 0;
+        for (Map.Entry<Integer, Long> item : nextTimeMap.entrySet()) {
+            heapPush(item.getValue(), item.getKey());
+        }
+    }
+
+    private void heapPush(long triggerTime, int jobId) {
+        if (heapSize == heapTimes.length) {
+            heapTimes = Arrays.copyOf(heapTimes, heapSize << 1);
+            heapJobIds = Arrays.copyOf(heapJobIds, heapSize << 1);
+        }
+
+        // sift up
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapTimes[parent] <= triggerTime) {
+                break;
+            }
+            heapTimes[index] = heapTimes[parent];
+            heapJobIds[index] = heapJobIds[parent];
+            index = parent;
+        }
+        heapTimes[index] = triggerTime;
+        heapJobIds[index] = jobId;
+    }
+
+    private void heapPoll() {
+        int size = --heapSize;
+        if (size == 0) {
+            return;
+        }
+        long triggerTime = heapTimes[size];
+        int jobId = heapJobIds[size];
+
+        // sift down
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && heapTimes[right] < heapTimes[child]) {
+                child = right;
+            }
+            if (triggerTime <= heapTimes[child]) {
+                break;
+            }
+            heapTimes[index] = heapTimes[child];
+            heapJobIds[index] = heapJobIds[child];
+            index = child;
+        }
+        heapTimes[index] = triggerTime;
+        heapJobIds[index] = jobId;
+    }
+
+}
@@ -0,0 +1,330 @@
+package com.xxl.job.admin.scheduler.thread;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.model.XxlJobStat;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.core.context.XxlJobContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job stat helper, count of each job by hour, rollup to day and month
+ *
+ *      a、counter：trigger, trigger-fail and complete (callback, lost, kill) counted in memory by "trigger hour + job", not scan "xxl_job_log"；
+ *      b、flush：counter merged into "xxl_job_stat" each "FLUSH_INTERVAL" by increment, hour / day / month of counter written in one transaction (rollup)；
+ *          counter given back when write fail, merged by next flush；
+ *      c、duration：complete duration (handle time - trigger time) summed as total, and keep the max；
+ *      d、clean：hour stat kept "HOUR_RETENTION_DAYS", day stat kept "DAY_RETENTION_DAYS", month stat kept forever；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobStatHelper {
+    private static final Logger logger = LoggerFactory.getLogger(JobStatHelper.class);
+
+    /**
+     * counter flush interval, by second
+     */
+    public static final int FLUSH_INTERVAL = 10;
+    /**
+     * max stat count of one transaction (counter rollup to 3 stat)
+     */
+    public static final int BATCH_SIZE = 500;
+    /**
+     * hour stat retention, by day
+     */
+    public static final int HOUR_RETENTION_DAYS = 7;
+    /**
+     * day stat retention, by day
+     */
+    public static final int DAY_RETENTION_DAYS = 400;
+
+    // stat counter, "trigger hour + job group + job id -> count delta"
+    private final ConcurrentMap<String, StatCounter> counterMap = new ConcurrentHashMap<>();
+
+    private Thread statThread;
+    private volatile boolean toStop = false;
+
+    /**
+     * start
+     */
+    public void start(){
+        statThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+
+                // last clean stat time
+                long lastCleanStatTime = 0;
+
+                while (!toStop) {
+
+                    // 1、stat flush: merge counter into stat, with rollup
+                    try {
+                        flush();
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobStatHelper(stat flush) error:{}", e.getMessage(), e);
+                        }
+                    }
+
+                    // 2、stat clean: once each day
+                    try {
+                        if (System.currentTimeMillis() - lastCleanStatTime > 24*60*60*1000) {
+                            clean();
+                            lastCleanStatTime = System.currentTimeMillis();
+                        }
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobStatHelper(stat clean) error:{}", e.getMessage(), e);
+                        }
+                    }
+
+                    try {
+                        TimeUnit.SECONDS.sleep(FLUSH_INTERVAL);
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                // flush counter, before stop
+                try {
+                    flush();
+                } catch (Throwable e) {
+                    logger.error(">>>>>>>>>>> xxl-job, JobStatHelper(stat flush) error:{}", e.getMessage(), e);
+                }
+                logger.info(">>>>>>>>>>> xxl-job, job stat thread stop");
+            }
+        });
+        statThread.setDaemon(true);
+        statThread.setName("xxl-job, admin JobStatHelper");
+        statThread.start();
+    }
+
+    /**
+     * stop
+     */
+    public void stop(){
+        toStop = true;
+        // interrupt and wait
+        statThread.interrupt();
+        try {
+            statThread.join();
+        } catch (Throwable e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- counter ----------------------
+
+    /**
+     * log triggered, count as running
+     *
+     * @param jobLog    job log, with job and trigger time
+     */
+    public void addTrigger(XxlJobLog jobLog) {
+        count(jobLog, 1, 0, 0, -1);
+    }
+
+    /**
+     * log trigger fail, running to fail
+     *
+     * @param jobLog    job log, with job and trigger time
+     */
+    public void addTriggerFail(XxlJobLog jobLog) {
+        count(jobLog, -1, 0, 1, -1);
+    }
+
+    /**
+     * log complete (callback, lost, kill), running to success or fail, with duration
+     *
+     * @param jobLog    job log, with job, trigger time, handle time and handle code
+     */
+    public void addComplete(XxlJobLog jobLog) {
+        long duration = (jobLog.getTriggerTime()!=null && jobLog.getHandleTime()!=null)
+                ?Math.max(jobLog.getHandleTime().getTime() - jobLog.getTriggerTime().getTime(), 0)
+                :-1;
+        if (XxlJobContext.HANDLE_CODE_SUCCESS == jobLog.getHandleCode()) {
+            count(jobLog, -1, 1, 0, duration);
+        } else {
+            count(jobLog, -1, 0, 1, duration);
+        }
+    }
+
+    private void count(XxlJobLog jobLog, int runningCount, int sucCount, int failCount, long duration) {
+        if (jobLog.getTriggerTime()==null || jobLog.getJobId()<=0) {
+            return;     // not counted
+        }
+        long statHour = truncate(jobLog.getTriggerTime(), XxlJobStat.STAT_TYPE_HOUR).getTime();
+        String key = statHour + "#" + jobLog.getJobGroup() + "#" + jobLog.getJobId();
+        counterMap.compute(key, (k, counter) -> {
+            if (counter == null) {
+                counter = new StatCounter(statHour, jobLog.getJobGroup(), jobLog.getJobId());
+            }
+            counter.runningCount += runningCount;
+            counter.sucCount += sucCount;
+            counter.failCount += failCount;
+            if (duration >= 0) {
+                counter.totalDuration += duration;
+                counter.maxDuration = Math.max(counter.maxDuration, duration);
+            }
+            return counter;
+        });
+    }
+
+    /**
+     * merge counter into stat, by increment, hour rollup to day and month
+     */
+    private void flush() {
+        // 1、take counter
+        List<StatCounter> counterList = new ArrayList<>();
+        for (String key : new ArrayList<>(counterMap.keySet())) {
+            StatCounter counter = counterMap.remove(key);
+            if (counter != null) {
+                counterList.add(counter);
+            }
+        }
+        if (counterList.isEmpty()) {
+            return;
+        }
+
+        // 2、write by batch of counter, hour / day / month of counter in one transaction
+        int counterBatchSize = Math.max(BATCH_SIZE / 3, 1);
+        for (int i = 0; i < counterList.size(); i += counterBatchSize) {
+            List<StatCounter> batchList = counterList.subList(i, Math.min(i + counterBatchSize, counterList.size()));
+            try {
+                write(batchList);
+            } catch (Throwable e) {
+                // write fail, give back counter not written (this batch and after)
+                for (StatCounter counter : counterList.subList(i, counterList.size())) {
+                    giveBack(counter);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * rollup counter to hour / day / month stat, and write in one transaction
+     */
+    private void write(List<StatCounter> counterList) {
+        // rollup
+        Map<String, XxlJobStat> statMap = new TreeMap<>();      // ordered by stat key, avoid deadlock between admin
+        for (StatCounter counter : counterList) {
+            for (int statType : new int[]{XxlJobStat.STAT_TYPE_HOUR, XxlJobStat.STAT_TYPE_DAY, XxlJobStat.STAT_TYPE_MONTH}) {
+                Date statTime = truncate(new Date(counter.statHour), statType);
+                String statKey = statType + "#" + String.format("%015d", statTime.getTime()) + "#" + counter.jobGroup + "#" + counter.jobId;
+
+                XxlJobStat stat = statMap.get(statKey);
+                if (stat == null) {
+                    stat = new XxlJobStat();
+                    stat.setStatType(statType);
+                    stat.setStatTime(statTime);
+                    stat.setJobGroup(counter.jobGroup);
+                    stat.setJobId(counter.jobId);
+                    statMap.put(statKey, stat);
+                }
+                stat.setRunningCount(stat.getRunningCount() + counter.runningCount);
+                stat.setSucCount(stat.getSucCount() + counter.sucCount);
+                stat.setFailCount(stat.getFailCount() + counter.failCount);
+                stat.setTotalDuration(stat.getTotalDuration() + counter.totalDuration);
+                stat.setMaxDuration(Math.max(stat.getMaxDuration(), counter.maxDuration));
+            }
+        }
+
+        // write, all tier together
+        TransactionStatus transactionStatus = XxlJobAdminBootstrap.getInstance().getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+        try {
+            XxlJobAdminBootstrap.getInstance().getXxlJobStatMapper().saveOrIncrementBatch(new ArrayList<>(statMap.values()));
+            XxlJobAdminBootstrap.getInstance().getTransactionManager().commit(transactionStatus);
+        } catch (RuntimeException e) {
+            if (!transactionStatus.isCompleted()) {
+                XxlJobAdminBootstrap.getInstance().getTransactionManager().rollback(transactionStatus);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * give back counter of write fail, merged with count after taken
+     */
+    private void giveBack(StatCounter failCounter) {
+        String key = failCounter.statHour + "#" + failCounter.jobGroup + "#" + failCounter.jobId;
+        counterMap.compute(key, (k, counter) -> {
+            if (counter == null) {
+                return failCounter;
+            }
+            counter.runningCount += failCounter.runningCount;
+            counter.sucCount += failCounter.sucCount;
+            counter.failCount += failCounter.failCount;
+            counter.totalDuration += failCounter.totalDuration;
+            counter.maxDuration = Math.max(counter.maxDuration, failCounter.maxDuration);
+            return counter;
+        });
+    }
+
+    /**
+     * clean expired stat, hour and day
+     */
+    private void clean() {
+        Date nowTime = new Date();
+        Date hourClearBeforeTime = truncate(new Date(nowTime.getTime() - HOUR_RETENTION_DAYS * 24*60*60*1000L), XxlJobStat.STAT_TYPE_DAY);
+        Date dayClearBeforeTime = truncate(new Date(nowTime.getTime() - DAY_RETENTION_DAYS * 24*60*60*1000L), XxlJobStat.STAT_TYPE_DAY);
+
+        int ret;
+        do {
+            ret = XxlJobAdminBootstrap.getInstance().getXxlJobStatMapper().clearStat(XxlJobStat.STAT_TYPE_HOUR, hourClearBeforeTime, 1000);
+        } while (ret >= 1000 && !toStop);
+        do {
+            ret = XxlJobAdminBootstrap.getInstance().getXxlJobStatMapper().clearStat(XxlJobStat.STAT_TYPE_DAY, dayClearBeforeTime, 1000);
+        } while (ret >= 1000 && !toStop);
+    }
+
+    /**
+     * truncate time to start of stat type, hour / day / month
+     */
+    public static Date truncate(Date time, int statType) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(time);
+        if (statType == XxlJobStat.STAT_TYPE_MONTH) {
+            calendar.set(Calendar.DAY_OF_MONTH, 1);
+        }
+        if (statType == XxlJobStat.STAT_TYPE_MONTH || statType == XxlJobStat.STAT_TYPE_DAY) {
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+        }
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTime();
+    }
+
+    /**
+     * count delta of one hour and job, guarded by "counterMap"
+     */
+    private static class StatCounter {
+        private final long statHour;
+        private final int jobGroup;
+        private final int jobId;
+        private int runningCount;
+        private int sucCount;
+        private int failCount;
+        private long totalDuration;
+        private long maxDuration;
+
+        private StatCounter(long statHour, int jobGroup, int jobId) {
+            this.statHour = statHour;
+            this.jobGroup = jobGroup;
+            this.jobId = jobId;
+        }
+    }
+
+}
@@ -42,6 +42,10 @@ public class JobTriggerPoolHelper {
                 new RejectedExecutionHandler() {
                     @Override
                     public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        if (r instanceof FollowUpRunnable) {
+                            r.run();        // follow-up of started trigger, not dropped, run by caller
+                            return;
+                        }
                         logger.error(">>>>>>>>>>> xxl-job, admin JobTriggerPoolHelper-fastTriggerPool execute too fast, Runnable="+r.toString() );
                     }
                 });
@@ -61,6 +65,10 @@ public class JobTriggerPoolHelper {
                 new RejectedExecutionHandler() {
                     @Override
                     public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        if (r instanceof FollowUpRunnable) {
+                            r.run();        // follow-up of started trigger, not dropped, run by caller
+                            return;
+                        }
                         logger.error(">>>>>>>>>>> xxl-job, admin JobTriggerPoolHelper-slowTriggerPool execute too fast, Runnable="+r.toString() );
                     }
                 });
@@ -119,28 +127,12 @@ public class JobTriggerPoolHelper {
                 long start = System.currentTimeMillis();
 
                 try {
-                    // do trigger
-                    XxlJobAdminBootstrap.getInstance().getJobTrigger().trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+                    // do trigger, async (thread released when rpc sent, count timeout after trigger-info saved)
+                    CompletableFuture<Void> triggerFuture = XxlJobAdminBootstrap.getInstance().getJobTrigger().trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+                    triggerFuture.whenComplete((result, e) -> countTimeout(jobId, start));
                 } catch (Throwable e) {
                     logger.error(e.getMessage(), e);
-                } finally {
-
-                    // check timeout-count-map
-                    long minTim_now = System.currentTimeMillis()/60000;
-                    if (minTim != minTim_now) {
-                        minTim = minTim_now;
-                        jobTimeoutCountMap.clear();
-                    }
-
-                    // incr timeout-count-map
-                    long cost = System.currentTimeMillis()-start;
-                    if (cost > 500) {       // ob-timeout threshold 500ms
-                        AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
-                        if (timeoutCount != null) {
-                            timeoutCount.incrementAndGet();
-                        }
-                    }
-
+                    countTimeout(jobId, start);
                 }
 
             }
@@ -151,4 +143,69 @@ public class JobTriggerPoolHelper {
         });
     }
 
+    /**
+     * run follow-up of started trigger (e.g. next shard of broadcast) on trigger pool, not on rpc callback thread;
+     * run by caller when trigger pool busy or stopped, not dropped
+     *
+     * @param jobId     job id, choose fast/slow thread pool
+     * @param runnable  follow-up runnable
+     */
+    public void execute(final int jobId, final Runnable runnable) {
+        // choose thread pool
+        ThreadPoolExecutor triggerPool_ = fastTriggerPool;
+        AtomicInteger jobTimeoutCount = jobTimeoutCountMap.get(jobId);
+        if (jobTimeoutCount!=null && jobTimeoutCount.get() > 10) {      // job-timeout 10 times in 1 min
+            triggerPool_ = slowTriggerPool;
+        }
+
+        triggerPool_.execute(new FollowUpRunnable(jobId, runnable));
+    }
+
+    /**
+     * follow-up runnable of started trigger
+     */
+    private static class FollowUpRunnable implements Runnable {
+        private final int jobId;
+        private final Runnable runnable;
+
+        private FollowUpRunnable(int jobId, Runnable runnable) {
+            this.jobId = jobId;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            runnable.run();
+        }
+
+        @Override
+        public String toString() {
+            return "Job FollowUp Runnable, jobId:"+jobId;
+        }
+    }
+
+    /**
+     * count job timeout, slow job use slow trigger pool
+     *
+     * @param jobId     job id
+     * @param start     trigger start time
+     */
+    private void countTimeout(int jobId, long start) {
+        // check timeout-count-map
+        long minTim_now = System.currentTimeMillis()/60000;
+        if (minTim != minTim_now) {
+            minTim = minTim_now;
+            jobTimeoutCountMap.clear();
+        }
+
+        // incr timeout-count-map
+        long cost = System.currentTimeMillis()-start;
+        if (cost > 500) {       // ob-timeout threshold 500ms
+            AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
+            if (timeoutCount != null) {
+                timeoutCount.incrementAndGet();
+            }
+        }
+    }
+
 }
@@ -1,8 +1,5 @@
 package com.xxl.job.admin.scheduler.trigger;
 
-import com.xxl.job.admin.mapper.XxlJobGroupMapper;
-import com.xxl.job.admin.mapper.XxlJobInfoMapper;
-import com.xxl.job.admin.mapper.XxlJobLogMapper;
 import com.xxl.job.admin.model.XxlJobGroup;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLog;
@@ -11,18 +8,19 @@ import com.xxl.job.admin.scheduler.route.ExecutorRouteStrategyEnum;
 import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.core.constant.ExecutorBlockStrategyEnum;
 import com.xxl.job.core.context.XxlJobContext;
-import com.xxl.job.core.openapi.ExecutorBiz;
 import com.xxl.job.core.openapi.model.TriggerRequest;
 import com.xxl.tool.core.StringTool;
-import com.xxl.tool.error.ThrowableTool;
 import com.xxl.tool.http.IPTool;
 import com.xxl.tool.response.Response;
-import jakarta.annotation.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * xxl-job trigger
@@ -33,15 +31,6 @@ import java.util.Date;
 public class JobTrigger {
     private static final Logger logger = LoggerFactory.getLogger(JobTrigger.class);
 
-
-    @Resource
-    private XxlJobInfoMapper xxlJobInfoMapper;
-    @Resource
-    private XxlJobGroupMapper xxlJobGroupMapper;
-    @Resource
-    private XxlJobLogMapper xxlJobLogMapper;
-
-
     /**
      * trigger job
      *
@@ -59,25 +48,26 @@ public class JobTrigger {
      * @param addressList
      *          null: use executor addressList
      *          not null: cover
+     * @return future, completed when trigger-info of all node saved
      */
-    public void trigger(int jobId,
+    public CompletableFuture<Void> trigger(int jobId,
                                TriggerTypeEnum triggerType,
                                int failRetryCount,
                                String executorShardingParam,
                                String executorParam,
                                String addressList) {
 
-        // load data
-        XxlJobInfo jobInfo = xxlJobInfoMapper.loadById(jobId);
+        // load data (meta cache)
+        XxlJobInfo jobInfo = XxlJobAdminBootstrap.getInstance().getJobMetaCache().loadJob(jobId);
         if (jobInfo == null) {
             logger.warn(">>>>>>>>>>>> trigger fail, jobId invalid，jobId={}", jobId);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         if (executorParam != null) {
             jobInfo.setExecutorParam(executorParam);
         }
         int finalFailRetryCount = failRetryCount>=0?failRetryCount:jobInfo.getExecutorFailRetryCount();
-        XxlJobGroup group = xxlJobGroupMapper.load(jobInfo.getJobGroup());
+        XxlJobGroup group = XxlJobAdminBootstrap.getInstance().getJobMetaCache().loadGroup(jobInfo.getJobGroup());
 
         // cover addressList
         if (StringTool.isNotBlank(addressList)) {
@@ -99,14 +89,17 @@ public class JobTrigger {
         if (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null)
                 && group.getRegistryList()!=null && !group.getRegistryList().isEmpty()
                 && shardingParam==null) {
-            for (int i = 0; i < group.getRegistryList().size(); i++) {
-                processTrigger(group, jobInfo, finalFailRetryCount, triggerType, triggerTime, i, group.getRegistryList().size());
-            }
+            return processBroadcastTrigger(group, jobInfo, finalFailRetryCount, triggerType, triggerTime);
         } else {
             if (shardingParam == null) {
                 shardingParam = new int[]{0, 1};
             }
-            processTrigger(group, jobInfo, finalFailRetryCount, triggerType, triggerTime, shardingParam[0], shardingParam[1]);
+            XxlJobLog jobLog = newJobLog(jobInfo, triggerTime);
+            XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().save(jobLog);
+            XxlJobAdminBootstrap.getInstance().getJobLogReportHelper().addTrigger(jobLog);
+            XxlJobAdminBootstrap.getInstance().getJobStatHelper().addTrigger(jobLog);
+            return processTrigger(jobLog, group, jobInfo, finalFailRetryCount, triggerType, shardingParam[0], shardingParam[1])
+                    .thenApply(triggerResult -> null);
         }
 
     }
@@ -120,22 +113,128 @@ public class JobTrigger {
         }
     }*/
 
+    /**
+     * process broadcast trigger, fan-out to all node in parallel
+     *
+     *      a、log：log of all shard allocated and saved in one batch；
+     *      b、parallel：shard triggered concurrently, at most "broadcast parallelism" in flight, next shard triggered (on trigger pool) when one returned；
+     *      c、result：trigger result of each shard collected, summary logged when all returned；
+     *
+     * @return future, completed when trigger-info of all shard saved
+     */
+    private CompletableFuture<Void> processBroadcastTrigger(XxlJobGroup group,
+                                                            XxlJobInfo jobInfo,
+                                                            int finalFailRetryCount,
+                                                            TriggerTypeEnum triggerType,
+                                                            Date triggerTime){
+        long start = System.currentTimeMillis();
+        int total = group.getRegistryList().size();
+
+        // 1、save log of all shard, in one batch
+        List<XxlJobLog> jobLogList = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            jobLogList.add(newJobLog(jobInfo, triggerTime));
+        }
+        XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().saveBatch(jobLogList);
+        for (XxlJobLog jobLog : jobLogList) {
+            XxlJobAdminBootstrap.getInstance().getJobLogReportHelper().addTrigger(jobLog);
+            XxlJobAdminBootstrap.getInstance().getJobStatHelper().addTrigger(jobLog);
+        }
+
+        // 2、trigger shard, with parallelism limit
+        CompletableFuture<Void> broadcastFuture = new CompletableFuture<>();
+        @SuppressWarnings("unchecked")
+        Response<String>[] shardResults = new Response[total];
+        AtomicInteger nextIndex = new AtomicInteger(0);
+        AtomicInteger remain = new AtomicInteger(total);
+        Runnable shardWorker = new Runnable() {
+            @Override
+            public void run() {
+                // trigger shard one by one, until one not returned yet (continue when it returned)
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < total) {
+                    final int shardIndex = index;
+                    CompletableFuture<Response<String>> shardFuture;
+                    try {
+                        shardFuture = processTrigger(jobLogList.get(shardIndex), group, jobInfo, finalFailRetryCount, triggerType, shardIndex, total);
+                    } catch (Throwable e) {
+                        logger.error(">>>>>>>>>>> xxl-job broadcast trigger error, jobId:{}, index:{}", jobInfo.getId(), shardIndex, e);
+                        shardFuture = CompletableFuture.completedFuture(Response.of(XxlJobContext.HANDLE_CODE_FAIL, e.getMessage()));
+                    }
+
+                    if (!shardFuture.isDone()) {
+                        shardFuture.whenComplete((shardResult, e) -> {
+                            shardResults[shardIndex] = shardResult;
+                            if (remain.decrementAndGet() == 0) {
+                                finishBroadcast(jobInfo, shardResults, start, broadcastFuture);
+                            } else {
+                                // next shard on trigger pool, not on rpc callback thread
+                                XxlJobAdminBootstrap.getInstance().getJobTriggerPoolHelper().execute(jobInfo.getId(), this);
+                            }
+                        });
+                        return;
+                    }
+                    shardResults[shardIndex] = shardFuture.getNow(null);
+                    if (remain.decrementAndGet() == 0) {
+                        finishBroadcast(jobInfo, shardResults, start, broadcastFuture);
+                        return;
+                    }
+                }
+            }
+        };
+        int parallelism = Math.min(total, XxlJobAdminBootstrap.getInstance().getTriggerBroadcastParallelism());
+        for (int i = 0; i < parallelism; i++) {
+            shardWorker.run();
+        }
+        return broadcastFuture;
+    }
+
+    private void finishBroadcast(XxlJobInfo jobInfo, Response<String>[] shardResults, long start, CompletableFuture<Void> broadcastFuture) {
+        int successCount = 0;
+        for (Response<String> shardResult : shardResults) {
+            if (shardResult != null && shardResult.isSuccess()) {
+                successCount++;
+            }
+        }
+        if (successCount < shardResults.length) {
+            logger.warn(">>>>>>>>>>> xxl-job broadcast trigger finish, jobId:{}, total:{}, success:{}, fail:{}, cost:{}ms",
+                    jobInfo.getId(), shardResults.length, successCount, shardResults.length - successCount, System.currentTimeMillis() - start);
+        } else {
+            logger.debug(">>>>>>>>>>> xxl-job broadcast trigger finish, jobId:{}, total:{}, cost:{}ms",
+                    jobInfo.getId(), shardResults.length, System.currentTimeMillis() - start);
+        }
+        broadcastFuture.complete(null);
+    }
+
+    /**
+     * new log, id from leased segment (log written by batch, not wait db)
+     */
+    private XxlJobLog newJobLog(XxlJobInfo jobInfo, Date triggerTime) {
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(XxlJobAdminBootstrap.getInstance().getJobLogIdHelper().nextId());
+        jobLog.setJobGroup(jobInfo.getJobGroup());
+        jobLog.setJobId(jobInfo.getId());
+        jobLog.setTriggerTime(triggerTime);
+        return jobLog;
+    }
+
     /**
      * process trigger with log
      *
+     * @param jobLog                    job log, saved already
      * @param group                     job group, registry list may be empty
      * @param jobInfo                   job info
      * @param finalFailRetryCount       the fail-retry count
      * @param triggerType               trigger type
-     * @param triggerTime               trigger time
      * @param index                     sharding index
      * @param total                     sharding index
+     * @return future of trigger result, completed when trigger-info saved
      */
-    private void processTrigger(XxlJobGroup group,
+    private CompletableFuture<Response<String>> processTrigger(XxlJobLog jobLog,
+                                XxlJobGroup group,
                                 XxlJobInfo jobInfo,
                                 int finalFailRetryCount,
                                 TriggerTypeEnum triggerType,
-                                Date triggerTime,
                                 int index,
                                 int total){
 
@@ -144,15 +243,9 @@ public class JobTrigger {
         ExecutorRouteStrategyEnum executorRouteStrategyEnum = ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null);    // route strategy
         String shardingParam = (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==executorRouteStrategyEnum)?String.valueOf(index).concat("/").concat(String.valueOf(total)):null;
 
-        // 1、save log-id
-        XxlJobLog jobLog = new XxlJobLog();
-        jobLog.setJobGroup(jobInfo.getJobGroup());
-        jobLog.setJobId(jobInfo.getId());
-        jobLog.setTriggerTime(triggerTime);
-        xxlJobLogMapper.save(jobLog);
         logger.debug(">>>>>>>>>>> xxl-job trigger start, jobId:{}", jobLog.getId());
 
-        // 2、init trigger-param
+        // 1、init trigger-param
         TriggerRequest triggerParam = new TriggerRequest();
         triggerParam.setJobId(jobInfo.getId());
         triggerParam.setExecutorHandler(jobInfo.getExecutorHandler());
@@ -167,7 +260,7 @@ public class JobTrigger {
         triggerParam.setBroadcastIndex(index);
         triggerParam.setBroadcastTotal(total);
 
-        // 3、init address
+        // 2、init address
         String address = null;
         Response<String> routeAddressResult = null;
         if (group.getRegistryList()!=null && !group.getRegistryList().isEmpty()) {
@@ -187,54 +280,59 @@ public class JobTrigger {
             routeAddressResult = Response.of(XxlJobContext.HANDLE_CODE_FAIL, I18nUtil.getString("jobconf_trigger_address_empty"));
         }
 
-        // 4、trigger remote executor
-        Response<String> triggerResult = null;
+        // 3、trigger remote executor, async
+        CompletableFuture<Response<String>> triggerFuture = null;
         if (address != null) {
-            triggerResult = doTrigger(triggerParam, address);
+            triggerFuture = doTrigger(triggerParam, address);
         } else {
-            triggerResult = Response.of(XxlJobContext.HANDLE_CODE_FAIL, "Address Router Fail.");
+            triggerFuture = CompletableFuture.completedFuture(Response.of(XxlJobContext.HANDLE_CODE_FAIL, "Address Router Fail."));
         }
 
-        // 5、collection trigger info
-        // trigger config
-        StringBuilder triggerMsgSb = new StringBuilder();
-        triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_type")).append("：").append(triggerType.getTitle());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_admin_adress")).append("：").append(IPTool.getIp());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regtype")).append("：")
-                .append( (group.getAddressType() == 0)?I18nUtil.getString("jobgroup_field_addressType_0"):I18nUtil.getString("jobgroup_field_addressType_1") );
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regaddress")).append("：").append(group.getRegistryList());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorRouteStrategy")).append("：").append(executorRouteStrategyEnum.getTitle());
-        if (shardingParam != null) {
-            triggerMsgSb.append("(").append(shardingParam).append(")");
-        }
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorBlockStrategy")).append("：").append(blockStrategy.getTitle());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_timeout")).append("：").append(jobInfo.getExecutorTimeout());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorFailRetryCount")).append("：").append(finalFailRetryCount);
+        // 4、save trigger info, after trigger result returned
+        final String finalAddress = address;
+        final Response<String> finalRouteAddressResult = routeAddressResult;
+        return triggerFuture.thenApply(triggerResult -> {
+            saveTriggerInfo(jobLog, group, jobInfo, finalFailRetryCount, triggerType, blockStrategy, executorRouteStrategyEnum,
+                    shardingParam, finalAddress, finalRouteAddressResult, triggerResult);
+            return triggerResult;
+        }).exceptionally(e -> {
+            logger.error(">>>>>>>>>>> xxl-job trigger save trigger-info error, jobId:{}, logId:{}", jobInfo.getId(), jobLog.getId(), e);
+            return Response.of(XxlJobContext.HANDLE_CODE_FAIL, e.getMessage());
+        });
+    }
 
-        // trigger data
-        triggerMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>").append(I18nUtil.getString("jobconf_trigger_run")).append("<<<<<<<<<<< </span><br>");
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("joblog_field_executorAddress")).append("：");
-        if (StringTool.isNotBlank(address)) {
-            triggerMsgSb.append(address);
-        } else if (routeAddressResult!=null && !routeAddressResult.isSuccess() && routeAddressResult.getMsg()!=null) {
-            triggerMsgSb.append("address route fail, ").append(routeAddressResult.getMsg());
-        } else {
-            triggerMsgSb.append("address route fail.");
+    /**
+     * save trigger info
+     */
+    private void saveTriggerInfo(XxlJobLog jobLog,
+                                 XxlJobGroup group,
+                                 XxlJobInfo jobInfo,
+                                 int finalFailRetryCount,
+                                 TriggerTypeEnum triggerType,
+                                 ExecutorBlockStrategyEnum blockStrategy,
+                                 ExecutorRouteStrategyEnum executorRouteStrategyEnum,
+                                 String shardingParam,
+                                 String address,
+                                 Response<String> routeAddressResult,
+                                 Response<String> triggerResult) {
+
+        // 1、collection trigger info (structured, rendered when read)
+        TriggerMsg triggerMsg = new TriggerMsg();
+        triggerMsg.setTriggerType(triggerType.name());
+        triggerMsg.setAdminAddress(IPTool.getIp());
+        triggerMsg.setAddressType(group.getAddressType());
+        triggerMsg.setRegistryList(group.getRegistryList());
+        triggerMsg.setRouteStrategy(executorRouteStrategyEnum!=null?executorRouteStrategyEnum.name():jobInfo.getExecutorRouteStrategy());
+        triggerMsg.setBlockStrategy(blockStrategy.name());
+        triggerMsg.setTimeout(jobInfo.getExecutorTimeout());
+        if (StringTool.isBlank(address) && routeAddressResult!=null && !routeAddressResult.isSuccess()) {
+            triggerMsg.setRouteMsg(routeAddressResult.getMsg());
         }
-        if (StringTool.isNotBlank(jobInfo.getExecutorHandler())) {
-            triggerMsgSb.append("<br>").append("JobHandler").append("：").append(jobInfo.getExecutorHandler());
-        }
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorparam")).append("：").append(jobInfo.getExecutorParam());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("joblog_field_triggerMsg")).append("：");
-        if (triggerResult.isSuccess()) {
-            triggerMsgSb.append("success");
-        } else if (triggerResult.getMsg()!=null) {
-            triggerMsgSb.append("error, ").append(triggerResult.getMsg());
-        } else {
-            triggerMsgSb.append("fail");
+        if (!triggerResult.isSuccess()) {
+            triggerMsg.setRunMsg(triggerResult.getMsg());
         }
 
-        // 6、save log trigger-info
+        // 2、save log trigger-info
         jobLog.setExecutorAddress(address);
         jobLog.setExecutorHandler(jobInfo.getExecutorHandler());
         jobLog.setExecutorParam(jobInfo.getExecutorParam());
@@ -242,40 +340,34 @@ public class JobTrigger {
         jobLog.setExecutorFailRetryCount(finalFailRetryCount);
         //jobLog.setTriggerTime();
         jobLog.setTriggerCode(triggerResult.getCode());
-        jobLog.setTriggerMsg(triggerMsgSb.toString());
-        xxlJobLogMapper.updateTriggerInfo(jobLog);
+        jobLog.setTriggerMsg(triggerMsg.toJson());
+        XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().updateTriggerInfo(jobLog);
+
+        // 3、trigger fail, to alarm (and fail retry), and report / stat
+        if (!triggerResult.isSuccess()) {
+            XxlJobAdminBootstrap.getInstance().getJobLogWriteHelper().saveAlarm(jobLog);
+            XxlJobAdminBootstrap.getInstance().getJobLogReportHelper().addTriggerFail(jobLog);
+            XxlJobAdminBootstrap.getInstance().getJobStatHelper().addTriggerFail(jobLog);
+        }
 
         logger.debug(">>>>>>>>>>> xxl-job trigger end, jobId:{}", jobLog.getId());
     }
 
     /**
-     * do trigger with address
+     * do trigger with address, async
      *
      * @param triggerParam  trigger param
      * @param address       the address
-     * @return return
+     * @return future of trigger result
      */
-    private Response<String> doTrigger(TriggerRequest triggerParam, String address){
-        try {
-            // build client
-            ExecutorBiz executorBiz = XxlJobAdminBootstrap.getExecutorBiz(address);
-
-            // invoke
-            Response<String> runResult = executorBiz.run(triggerParam);
-
-            // build result
-            StringBuffer runResultSB = new StringBuffer(I18nUtil.getString("jobconf_trigger_run") + "：");
-            runResultSB.append("<br>address：").append(address);
-            runResultSB.append("<br>code：").append(runResult.getCode());
-            runResultSB.append("<br>msg：").append(runResult.getMsg());
-
-            // return
-            runResult.setMsg(runResultSB.toString());
+    private CompletableFuture<Response<String>> doTrigger(TriggerRequest triggerParam, String address){
+        // invoke, non-blocking (coalesced with other trigger to same address)
+        return XxlJobAdminBootstrap.getInstance().getExecutorTriggerCoalescer().run(address, triggerParam).thenApply(runResult -> {
+            if (!runResult.isSuccess()) {
+                logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running. msg:{}", address, runResult.getMsg());
+            }
             return runResult;
-        } catch (Exception e) {
-            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
-            return Response.of(XxlJobContext.HANDLE_CODE_FAIL, ThrowableTool.toString(e));
-        }
+        });
     }
 
 }
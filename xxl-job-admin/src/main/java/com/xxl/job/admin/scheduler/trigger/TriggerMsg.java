@@ -0,0 +1,234 @@
+package com.xxl.job.admin.scheduler.trigger;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.route.ExecutorRouteStrategyEnum;
+import com.xxl.job.admin.util.I18nUtil;
+import com.xxl.job.core.constant.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.tool.core.StringTool;
+import com.xxl.tool.json.GsonTool;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * trigger msg, structured trigger-info stored in "xxl_job_log.trigger_msg" (json), rendered to html when read
+ *
+ *      a、compact：only info not in log column (address, handler, param, sharding, retry count read from log)；
+ *      b、lazy：i18n and html built when user open log (or alarm), not on each trigger；
+ *      c、compatible：old html trigger msg (not json, or json without trigger type, or of other field) returned directly；
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class TriggerMsg {
+
+    private String triggerType;         // TriggerTypeEnum name
+    private String adminAddress;        // admin ip
+    private int addressType;            // 0=auto registry, 1=manual
+    private List<String> registryList;
+    private String routeStrategy;       // ExecutorRouteStrategyEnum name
+    private String blockStrategy;       // ExecutorBlockStrategyEnum name
+    private int timeout;
+    private String routeMsg;            // address route fail msg
+    private String runMsg;              // executor run msg
+    private boolean retried;            // fail retry triggered
+
+    public String getTriggerType() {
+        return triggerType;
+    }
+
+    public void setTriggerType(String triggerType) {
+        this.triggerType = triggerType;
+    }
+
+    public String getAdminAddress() {
+        return adminAddress;
+    }
+
+    public void setAdminAddress(String adminAddress) {
+        this.adminAddress = adminAddress;
+    }
+
+    public int getAddressType() {
+        return addressType;
+    }
+
+    public void setAddressType(int addressType) {
+        this.addressType = addressType;
+    }
+
+    public List<String> getRegistryList() {
+        return registryList;
+    }
+
+    public void setRegistryList(List<String> registryList) {
+        this.registryList = registryList;
+    }
+
+    public String getRouteStrategy() {
+        return routeStrategy;
+    }
+
+    public void setRouteStrategy(String routeStrategy) {
+        this.routeStrategy = routeStrategy;
+    }
+
+    public String getBlockStrategy() {
+        return blockStrategy;
+    }
+
+    public void setBlockStrategy(String blockStrategy) {
+        this.blockStrategy = blockStrategy;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getRouteMsg() {
+        return routeMsg;
+    }
+
+    public void setRouteMsg(String routeMsg) {
+        this.routeMsg = routeMsg;
+    }
+
+    public String getRunMsg() {
+        return runMsg;
+    }
+
+    public void setRunMsg(String runMsg) {
+        this.runMsg = runMsg;
+    }
+
+    public boolean isRetried() {
+        return retried;
+    }
+
+    public void setRetried(boolean retried) {
+        this.retried = retried;
+    }
+
+
+    // ---------------------- codec ----------------------
+
+    public String toJson() {
+        return GsonTool.toJson(this);
+    }
+
+    /**
+     * field of structured trigger msg
+     */
+    private static final Set<String> FIELD_SET = new HashSet<>(Arrays.asList("triggerType", "adminAddress", "addressType", "registryList",
+            "routeStrategy", "blockStrategy", "timeout", "routeMsg", "runMsg", "retried"));
+
+    /**
+     * parse trigger msg
+     *
+     * @param triggerMsg    trigger msg of log
+     * @return null if not structured (old html, json of other field, or empty)
+     */
+    public static TriggerMsg parse(String triggerMsg) {
+        if (triggerMsg == null || !triggerMsg.startsWith("{")) {
+            return null;
+        }
+        try {
+            // only field of trigger msg, with trigger type
+            Map<?, ?> fieldMap = GsonTool.fromJson(triggerMsg, Map.class);
+            if (fieldMap == null || !fieldMap.containsKey("triggerType") || !FIELD_SET.containsAll(fieldMap.keySet())) {
+                return null;
+            }
+            return GsonTool.fromJson(triggerMsg, TriggerMsg.class);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+
+    // ---------------------- render ----------------------
+
+    /**
+     * render trigger msg of log to html
+     *
+     * @param jobLog    job log
+     * @return html
+     */
+    public static String render(XxlJobLog jobLog) {
+        TriggerMsg triggerMsg = parse(jobLog.getTriggerMsg());
+        if (triggerMsg == null) {
+            return jobLog.getTriggerMsg();
+        }
+
+        // trigger config
+        StringBuilder triggerMsgSb = new StringBuilder();
+        triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_type")).append("：").append(triggerTypeTitle(triggerMsg.getTriggerType()));
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_admin_adress")).append("：").append(triggerMsg.getAdminAddress());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regtype")).append("：")
+                .append( (triggerMsg.getAddressType() == 0)?I18nUtil.getString("jobgroup_field_addressType_0"):I18nUtil.getString("jobgroup_field_addressType_1") );
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regaddress")).append("：").append(triggerMsg.getRegistryList());
+        ExecutorRouteStrategyEnum routeStrategy = ExecutorRouteStrategyEnum.match(triggerMsg.getRouteStrategy(), null);
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorRouteStrategy")).append("：").append(routeStrategy!=null?routeStrategy.getTitle():triggerMsg.getRouteStrategy());
+        if (jobLog.getExecutorShardingParam() != null) {
+            triggerMsgSb.append("(").append(jobLog.getExecutorShardingParam()).append(")");
+        }
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorBlockStrategy")).append("：")
+                .append(ExecutorBlockStrategyEnum.match(triggerMsg.getBlockStrategy(), ExecutorBlockStrategyEnum.SERIAL_EXECUTION).getTitle());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_timeout")).append("：").append(triggerMsg.getTimeout());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorFailRetryCount")).append("：").append(jobLog.getExecutorFailRetryCount());
+
+        // trigger data
+        triggerMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>").append(I18nUtil.getString("jobconf_trigger_run")).append("<<<<<<<<<<< </span><br>");
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("joblog_field_executorAddress")).append("：");
+        if (StringTool.isNotBlank(jobLog.getExecutorAddress())) {
+            triggerMsgSb.append(jobLog.getExecutorAddress());
+        } else if (triggerMsg.getRouteMsg() != null) {
+            triggerMsgSb.append("address route fail, ").append(triggerMsg.getRouteMsg());
+        } else {
+            triggerMsgSb.append("address route fail.");
+        }
+        if (StringTool.isNotBlank(jobLog.getExecutorHandler())) {
+            triggerMsgSb.append("<br>").append("JobHandler").append("：").append(jobLog.getExecutorHandler());
+        }
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorparam")).append("：").append(jobLog.getExecutorParam());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("joblog_field_triggerMsg")).append("：");
+        if (jobLog.getTriggerCode() == XxlJobContext.HANDLE_CODE_SUCCESS) {
+            triggerMsgSb.append("success");
+        } else if (triggerMsg.getRunMsg() != null) {
+            triggerMsgSb.append("error, ");
+            if (StringTool.isNotBlank(jobLog.getExecutorAddress())) {
+                // run result of executor
+                triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_run")).append("：");
+                triggerMsgSb.append("<br>address：").append(jobLog.getExecutorAddress());
+                triggerMsgSb.append("<br>code：").append(jobLog.getTriggerCode());
+                triggerMsgSb.append("<br>msg：").append(triggerMsg.getRunMsg());
+            } else {
+                triggerMsgSb.append(triggerMsg.getRunMsg());
+            }
+        } else {
+            triggerMsgSb.append("fail");
+        }
+
+        // fail retry
+        if (triggerMsg.isRetried()) {
+            triggerMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>").append(I18nUtil.getString("jobconf_trigger_type_retry")).append("<<<<<<<<<<< </span><br>");
+        }
+        return triggerMsgSb.toString();
+    }
+
+    private static String triggerTypeTitle(String triggerType) {
+        for (TriggerTypeEnum item : TriggerTypeEnum.values()) {
+            if (item.name().equals(triggerType)) {
+                return item.getTitle();
+            }
+        }
+        return triggerType;
+    }
+
+}
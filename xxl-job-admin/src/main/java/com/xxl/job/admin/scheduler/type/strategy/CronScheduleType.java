@@ -1,7 +1,7 @@
 package com.xxl.job.admin.scheduler.type.strategy;
 
 import com.xxl.job.admin.model.XxlJobInfo;
-import com.xxl.job.admin.scheduler.cron.CronExpression;
+import com.xxl.job.admin.scheduler.cron.CompiledCronExpression;
 import com.xxl.job.admin.scheduler.type.ScheduleType;
 
 import java.util.Date;
@@ -10,8 +10,8 @@ public class CronScheduleType extends ScheduleType {
 
     @Override
     public Date generateNextTriggerTime(XxlJobInfo jobInfo, Date fromTime) throws Exception {
-        // generate next trigger time, with cron
-        return new CronExpression(jobInfo.getScheduleConf()).getNextValidTimeAfter(fromTime);
+        // generate next trigger time, with cron (compiled and cached by expression)
+        return CompiledCronExpression.compile(jobInfo.getScheduleConf()).getNextValidTimeAfter(fromTime);
     }
 
 }
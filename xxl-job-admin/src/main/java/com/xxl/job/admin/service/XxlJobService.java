@@ -60,4 +60,12 @@ public interface XxlJobService {
 	 */
 	public Response<Map<String,Object>> chartInfo(Date startDate, Date endDate);
 
+	/**
+	 * stat info, by job and job group (hour / day / month stat, by date range)
+	 *
+	 * @param jobGroup	filter by job group, 0 means all
+	 * @param jobId		filter by job, 0 means all
+	 */
+	public Response<Map<String,Object>> statInfo(LoginInfo loginInfo, Date startDate, Date endDate, int jobGroup, int jobId);
+
 }
@@ -1,15 +1,18 @@
 package com.xxl.job.admin.service.impl;
 
+import com.xxl.job.admin.constant.Consts;
 import com.xxl.job.admin.constant.TriggerStatus;
 import com.xxl.job.admin.mapper.*;
 import com.xxl.job.admin.model.XxlJobGroup;
 import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.model.XxlJobLogReport;
+import com.xxl.job.admin.model.XxlJobStat;
 import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
 import com.xxl.job.admin.scheduler.cron.CronExpression;
 import com.xxl.job.admin.scheduler.misfire.MisfireStrategyEnum;
 import com.xxl.job.admin.scheduler.route.ExecutorRouteStrategyEnum;
 import com.xxl.job.admin.scheduler.thread.JobScheduleHelper;
+import com.xxl.job.admin.scheduler.thread.JobStatHelper;
 import com.xxl.job.admin.scheduler.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.scheduler.type.ScheduleTypeEnum;
 import com.xxl.job.admin.service.XxlJobService;
@@ -17,6 +20,7 @@ import com.xxl.job.admin.util.I18nUtil;
 import com.xxl.job.admin.util.JobGroupPermissionUtil;
 import com.xxl.job.core.constant.ExecutorBlockStrategyEnum;
 import com.xxl.job.core.glue.GlueTypeEnum;
+import com.xxl.sso.core.helper.XxlSsoHelper;
 import com.xxl.sso.core.model.LoginInfo;
 import com.xxl.tool.core.DateTool;
 import com.xxl.tool.core.StringTool;
@@ -49,6 +53,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 	private XxlJobLogGlueMapper xxlJobLogGlueMapper;
 	@Resource
 	private XxlJobLogReportMapper xxlJobLogReportMapper;
+	@Resource
+	private XxlJobStatMapper xxlJobStatMapper;
 	
 	@Override
 	public Response<PageModel<XxlJobInfo>> pageList(int offset, int pagesize, int jobGroup, int triggerStatus, String jobDesc, String executorHandler, String author) {
@@ -167,6 +173,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 		if (jobInfo.getId() < 1) {
 			return Response.ofFail ( (I18nUtil.getString("jobinfo_field_add")+I18nUtil.getString("system_fail")) );
 		}
+		XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().publish(jobInfo);
 
 		// write operation log
 		logger.info(">>>>>>>>>>> xxl-job operation log: operator = {}, type = {}, content = {}",
@@ -307,6 +314,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		exists_jobInfo.setUpdateTime(new Date());
         xxlJobInfoMapper.update(exists_jobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().publish(exists_jobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateJob(exists_jobInfo.getId());
 
 		// write operation log
 		logger.info(">>>>>>>>>>> xxl-job operation log: operator = {}, type = {}, content = {}",
@@ -329,6 +338,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 		}
 
 		xxlJobInfoMapper.delete(id);
+		XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().publishRemove(id);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateJob(id);
 		xxlJobLogMapper.delete(id);
 		xxlJobLogGlueMapper.deleteByJobId(id);
 
@@ -379,6 +390,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		xxlJobInfo.setUpdateTime(new Date());
 		xxlJobInfoMapper.update(xxlJobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().publish(xxlJobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateJob(xxlJobInfo.getId());
 
 		// write operation log
 		logger.info(">>>>>>>>>>> xxl-job operation log: operator = {}, type = {}, content = {}",
@@ -407,6 +420,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		xxlJobInfo.setUpdateTime(new Date());
 		xxlJobInfoMapper.update(xxlJobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobScheduleIndexHelper().publish(xxlJobInfo);
+		XxlJobAdminBootstrap.getInstance().getJobMetaCache().invalidateJob(xxlJobInfo.getId());
 
 		// write operation log
 		logger.info(">>>>>>>>>>> xxl-job operation log: operator = {}, type = {}, content = {}",
@@ -528,4 +543,130 @@ public class XxlJobServiceImpl implements XxlJobService {
 		return Response.ofSuccess(result);
 	}
 
+	@Override
+	public Response<Map<String, Object>> statInfo(LoginInfo loginInfo, Date startDate, Date endDate, int jobGroup, int jobId) {
+
+		// valid
+		if (startDate==null || endDate==null || startDate.after(endDate)) {
+			return Response.ofFail(I18nUtil.getString("system_unvalid"));
+		}
+		if (jobGroup>0 && !JobGroupPermissionUtil.hasJobGroupPermission(loginInfo, jobGroup)) {
+			return Response.ofFail(I18nUtil.getString("system_permission_limit"));
+		}
+		if (jobId > 0) {
+			XxlJobInfo jobInfo = xxlJobInfoMapper.loadById(jobId);
+			if (jobInfo == null) {
+				return Response.ofFail(I18nUtil.getString("jobinfo_glue_jobid_unvalid"));
+			}
+			if (!JobGroupPermissionUtil.hasJobGroupPermission(loginInfo, jobInfo.getJobGroup())) {
+				return Response.ofFail(I18nUtil.getString("system_permission_limit"));
+			}
+		}
+
+		// stat type, by date range: hour (in 2 days, and hour stat kept), day (in 3 months), month
+		long rangeDays = (endDate.getTime() - startDate.getTime()) / (24*60*60*1000L);
+		int statType;
+		String statTimePattern;
+		if (rangeDays < 2 && startDate.getTime() > System.currentTimeMillis() - JobStatHelper.HOUR_RETENTION_DAYS * 24*60*60*1000L) {
+			statType = XxlJobStat.STAT_TYPE_HOUR;
+			statTimePattern = "yyyy-MM-dd HH:00";
+		} else if (rangeDays <= 92) {
+			statType = XxlJobStat.STAT_TYPE_DAY;
+			statTimePattern = "yyyy-MM-dd";
+		} else {
+			statType = XxlJobStat.STAT_TYPE_MONTH;
+			statTimePattern = "yyyy-MM";
+		}
+		Date statTimeFrom = JobStatHelper.truncate(startDate, statType);
+
+		// job group, and permitted job group filtered in sql (null if not limited: admin, or job group / job specified)
+		Map<Integer, XxlJobGroup> groupMap = new HashMap<>();
+		List<XxlJobGroup> groupAll = xxlJobGroupMapper.findAll();
+		if (groupAll != null) {
+			for (XxlJobGroup group: groupAll) {
+				groupMap.put(group.getId(), group);
+			}
+		}
+		List<Integer> jobGroupList = null;
+		if (jobGroup<=0 && jobId<=0 && !XxlSsoHelper.hasRole(loginInfo, Consts.ADMIN_ROLE).isSuccess()) {
+			jobGroupList = new ArrayList<>();
+			for (XxlJobGroup group: groupMap.values()) {
+				if (JobGroupPermissionUtil.hasJobGroupPermission(loginInfo, group.getId())) {
+					jobGroupList.add(group.getId());
+				}
+			}
+		}
+		boolean permitNone = jobGroupList!=null && jobGroupList.isEmpty();
+
+		// 1、stat trend
+		List<String> statTimeList = new ArrayList<>();
+		List<Integer> sucCountList = new ArrayList<>();
+		List<Integer> failCountList = new ArrayList<>();
+		List<Integer> runningCountList = new ArrayList<>();
+		List<Long> totalDurationList = new ArrayList<>();
+		List<Long> maxDurationList = new ArrayList<>();
+		List<XxlJobStat> trendList = permitNone?null:xxlJobStatMapper.queryStatTrend(statType, statTimeFrom, endDate, jobGroup, jobGroupList, jobId);
+		if (trendList != null) {
+			for (XxlJobStat item: trendList) {
+				statTimeList.add(DateTool.format(item.getStatTime(), statTimePattern));
+				sucCountList.add(item.getSucCount());
+				failCountList.add(item.getFailCount());
+				runningCountList.add(item.getRunningCount());
+				totalDurationList.add(item.getTotalDuration());
+				maxDurationList.add(item.getMaxDuration());
+			}
+		}
+
+		// 2、stat of job group, and job (top 10), filter by permission
+		List<Map<String, Object>> groupStatList = new ArrayList<>();
+		List<XxlJobStat> groupList = (jobId>0 || permitNone)?null:xxlJobStatMapper.queryStatByGroup(statType, statTimeFrom, endDate, jobGroup, jobGroupList);
+		if (groupList != null) {
+			for (XxlJobStat item: groupList) {
+				Map<String, Object> groupStat = statItem(item);
+				XxlJobGroup group = groupMap.get(item.getJobGroup());
+				groupStat.put("jobGroup", item.getJobGroup());
+				groupStat.put("groupTitle", group!=null?group.getTitle():String.valueOf(item.getJobGroup()));
+				groupStatList.add(groupStat);
+			}
+		}
+
+		List<Map<String, Object>> jobStatList = new ArrayList<>();
+		List<XxlJobStat> jobList = (jobId>0 || permitNone)?null:xxlJobStatMapper.queryStatByJob(statType, statTimeFrom, endDate, jobGroup, jobGroupList, 10);
+		if (jobList != null) {
+			for (XxlJobStat item: jobList) {
+				Map<String, Object> jobStat = statItem(item);
+				XxlJobInfo jobInfo = XxlJobAdminBootstrap.getInstance().getJobMetaCache().loadJob(item.getJobId());
+				XxlJobGroup group = groupMap.get(item.getJobGroup());
+				jobStat.put("jobId", item.getJobId());
+				jobStat.put("jobDesc", jobInfo!=null?jobInfo.getJobDesc():String.valueOf(item.getJobId()));
+				jobStat.put("jobGroup", item.getJobGroup());
+				jobStat.put("groupTitle", group!=null?group.getTitle():String.valueOf(item.getJobGroup()));
+				jobStatList.add(jobStat);
+			}
+		}
+
+		Map<String, Object> result = new HashMap<String, Object>();
+		result.put("statType", statType);
+		result.put("statTimeList", statTimeList);
+		result.put("sucCountList", sucCountList);
+		result.put("failCountList", failCountList);
+		result.put("runningCountList", runningCountList);
+		result.put("totalDurationList", totalDurationList);
+		result.put("maxDurationList", maxDurationList);
+		result.put("groupStatList", groupStatList);
+		result.put("jobStatList", jobStatList);
+
+		return Response.ofSuccess(result);
+	}
+
+	private static Map<String, Object> statItem(XxlJobStat item) {
+		Map<String, Object> statItem = new HashMap<String, Object>();
+		statItem.put("sucCount", item.getSucCount());
+		statItem.put("failCount", item.getFailCount());
+		statItem.put("runningCount", item.getRunningCount());
+		statItem.put("totalDuration", item.getTotalDuration());
+		statItem.put("maxDuration", item.getMaxDuration());
+		return statItem;
+	}
+
 }
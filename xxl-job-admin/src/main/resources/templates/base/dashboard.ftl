@@ -113,6 +113,56 @@
             </div>
         </div>
 
+        <#-- 任务统计：按任务、执行器统计（同调度报表时间区间） -->
+        <div class="row">
+            <div class="col-md-6">
+                <div class="box">
+                    <div class="box-header with-border">
+                        <h3 class="box-title">${I18n.job_dashboard_stat_job}</h3>
+                    </div>
+                    <div class="box-body table-responsive no-padding">
+                        <table class="table table-hover" id="jobStatTable" >
+                            <thead>
+                                <tr>
+                                    <th>${I18n.jobinfo_field_id}</th>
+                                    <th>${I18n.jobinfo_field_jobdesc}</th>
+                                    <th>${I18n.jobinfo_field_jobgroup}</th>
+                                    <th>${I18n.joblog_status_suc}</th>
+                                    <th>${I18n.joblog_status_fail}</th>
+                                    <th>${I18n.joblog_status_running}</th>
+                                    <th>${I18n.job_dashboard_stat_total_duration}</th>
+                                    <th>${I18n.job_dashboard_stat_max_duration}</th>
+                                </tr>
+                            </thead>
+                            <tbody></tbody>
+                        </table>
+                    </div>
+                </div>
+            </div>
+            <div class="col-md-6">
+                <div class="box">
+                    <div class="box-header with-border">
+                        <h3 class="box-title">${I18n.job_dashboard_stat_group}</h3>
+                    </div>
+                    <div class="box-body table-responsive no-padding">
+                        <table class="table table-hover" id="groupStatTable" >
+                            <thead>
+                                <tr>
+                                    <th>${I18n.jobinfo_field_jobgroup}</th>
+                                    <th>${I18n.joblog_status_suc}</th>
+                                    <th>${I18n.joblog_status_fail}</th>
+                                    <th>${I18n.joblog_status_running}</th>
+                                    <th>${I18n.job_dashboard_stat_total_duration}</th>
+                                    <th>${I18n.job_dashboard_stat_max_duration}</th>
+                                </tr>
+                            </thead>
+                            <tbody></tbody>
+                        </table>
+                    </div>
+                </div>
+            </div>
+        </div>
+
         <#-- 2-biz end -->
 
     </section>
@@ -162,8 +212,10 @@ $(function () {
         endDate: rangesConf[I18n.daterangepicker_ranges_recent_week][1]
     }, function (start, end, label) {
         freshChartDate(start, end);
+        freshStatDate(start, end);
     });
     freshChartDate(rangesConf[I18n.daterangepicker_ranges_recent_week][0], rangesConf[I18n.daterangepicker_ranges_recent_week][1]);
+    freshStatDate(rangesConf[I18n.daterangepicker_ranges_recent_week][0], rangesConf[I18n.daterangepicker_ranges_recent_week][1]);
 
     /**
      * fresh Chart Date
@@ -196,6 +248,45 @@ $(function () {
         });
     }
 
+    /**
+     * fresh stat of job and job group
+     *
+     * @param startDate
+     * @param endDate
+     */
+    function freshStatDate(startDate, endDate) {
+        $.ajax({
+            type : 'POST',
+            url : base_url + '/statInfo',
+            data : {
+                'startDate':startDate.format('YYYY-MM-DD HH:mm:ss'),
+                'endDate':endDate.format('YYYY-MM-DD HH:mm:ss')
+            },
+            dataType : "json",
+            success : function(data){
+                if (data.code == 200) {
+                    statTableInit('#jobStatTable', data.data.jobStatList, ['jobId', 'jobDesc', 'groupTitle']);
+                    statTableInit('#groupStatTable', data.data.groupStatList, ['groupTitle']);
+                }
+            }
+        });
+    }
+
+    /**
+     * stat table Init
+     */
+    function statTableInit(tableId, statList, nameFields) {
+        var $tbody = $(tableId).find('tbody');
+        $tbody.empty();
+        $.each(statList || [], function (index, item) {
+            var $tr = $('<tr></tr>');
+            $.each(nameFields.concat(['sucCount', 'failCount', 'runningCount', 'totalDuration', 'maxDuration']), function (i, field) {
+                $tr.append($('<td></td>').text(item[field]));
+            });
+            $tbody.append($tr);
+        });
+    }
+
     /**
      * line Chart Init
      */
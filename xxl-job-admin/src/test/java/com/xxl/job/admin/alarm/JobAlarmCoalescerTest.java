@@ -0,0 +1,164 @@
+package com.xxl.job.admin.alarm;
+
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.alarm.JobAlarm;
+import com.xxl.job.admin.scheduler.alarm.JobAlarmCoalescer;
+import com.xxl.job.admin.scheduler.alarm.JobAlarmDigest;
+import com.xxl.job.admin.scheduler.alarm.JobAlarmDispatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * alarm coalescer test, by stub alarm channel
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobAlarmCoalescerTest {
+
+    @Test
+    public void testAggregate() throws Exception {
+        StubAlarm stubAlarm = new StubAlarm();
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Collections.singletonList(stubAlarm), 2, 1000, 5000, 1, 50);
+        JobAlarmCoalescer coalescer = new JobAlarmCoalescer(dispatcher, 500, 5);
+        dispatcher.start();
+        coalescer.start();
+        try {
+            // alarm storm: executor "a" handle fail, executor "b" handle fail, executor "a" trigger fail
+            List<CompletableFuture<Boolean>> resultList = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                resultList.add(coalescer.alarm(newInfo(i % 10), newLog(i, i % 10, "a", 200, 500)));
+            }
+            for (int i = 100; i < 120; i++) {
+                resultList.add(coalescer.alarm(newInfo(1), newLog(i, 1, "b", 200, 500)));
+            }
+            resultList.add(coalescer.alarm(newInfo(1), newLog(120, 1, "a", 500, 0)));
+
+            // first alarm of each key sent single directly
+            Assertions.assertTrue(resultList.get(0).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(resultList.get(100).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(resultList.get(120).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(3, stubAlarm.singleList.size());
+            Assertions.assertEquals(0, stubAlarm.digestList.size());
+            Assertions.assertEquals(3, coalescer.getWindowSize());
+
+            // digest sent when window closed
+            for (CompletableFuture<Boolean> result: resultList) {
+                Assertions.assertTrue(result.get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(3, stubAlarm.singleList.size());
+            Assertions.assertEquals(2, stubAlarm.digestList.size());
+
+            Map<String, JobAlarmDigest> digestMap = new HashMap<>();
+            for (JobAlarmDigest digest: stubAlarm.digestList) {
+                digestMap.put(digest.getExecutorAddress(), digest);
+            }
+            JobAlarmDigest digestA = digestMap.get("a");
+            Assertions.assertEquals(JobAlarmDigest.FAIL_TYPE_HANDLE, digestA.getFailType());
+            Assertions.assertEquals(99, digestA.getCount());
+            Assertions.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), digestA.getSampleLogIds());
+            Assertions.assertEquals(10, digestA.getJobInfoMap().size());
+            Assertions.assertNotNull(digestA.getWindowEnd());
+            Assertions.assertEquals(19, digestMap.get("b").getCount());
+
+            // count and sample of part job, e.g. job of one alarm email
+            Assertions.assertEquals(10, digestA.getCount(Collections.singletonList(1)));
+            Assertions.assertEquals(Arrays.asList(1L, 11L, 21L, 31L, 41L), digestA.getSampleLogIds(Collections.singletonList(1)));
+            Assertions.assertEquals(20, digestA.getCount(Arrays.asList(1, 2)));
+            Assertions.assertEquals(Arrays.asList(1L, 2L, 11L, 12L, 21L), digestA.getSampleLogIds(Arrays.asList(1, 2)));
+            Assertions.assertEquals(0, digestA.getCount(Collections.singletonList(100)));
+
+            // window closed, next alarm sent single
+            Assertions.assertTrue(coalescer.alarm(newInfo(1), newLog(121, 1, "a", 200, 500)).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(4, stubAlarm.singleList.size());
+        } finally {
+            coalescer.stop();
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    public void testDisable() throws Exception {
+        StubAlarm stubAlarm = new StubAlarm();
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Collections.singletonList(stubAlarm), 2, 1000, 5000, 1, 50);
+        JobAlarmCoalescer coalescer = new JobAlarmCoalescer(dispatcher, 0, 5);
+        dispatcher.start();
+        coalescer.start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertTrue(coalescer.alarm(newInfo(1), newLog(i, 1, "a", 200, 500)).get(5, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(10, stubAlarm.singleList.size());
+            Assertions.assertEquals(0, stubAlarm.digestList.size());
+        } finally {
+            coalescer.stop();
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        StubAlarm stubAlarm = new StubAlarm();
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Collections.singletonList(stubAlarm), 2, 1000, 5000, 1, 50);
+        JobAlarmCoalescer coalescer = new JobAlarmCoalescer(dispatcher, 60 * 1000, 5);
+        dispatcher.start();
+        coalescer.start();
+
+        coalescer.alarm(newInfo(1), newLog(1, 1, "a", 200, 500));
+        CompletableFuture<Boolean> result = coalescer.alarm(newInfo(1), newLog(2, 1, "a", 200, 500));
+
+        // alarm aggregated not sent yet, completed as fail when stop
+        coalescer.stop();
+        dispatcher.stop();
+        Assertions.assertFalse(result.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, stubAlarm.digestList.size());
+    }
+
+
+    // ---------------------- stub ----------------------
+
+    private static XxlJobInfo newInfo(int jobId) {
+        XxlJobInfo info = new XxlJobInfo();
+        info.setId(jobId);
+        info.setJobGroup(1);
+        info.setJobDesc("test-" + jobId);
+        return info;
+    }
+
+    private static XxlJobLog newLog(long logId, int jobId, String executorAddress, int triggerCode, int handleCode) {
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(logId);
+        jobLog.setJobId(jobId);
+        jobLog.setJobGroup(1);
+        jobLog.setExecutorAddress(executorAddress);
+        jobLog.setTriggerCode(triggerCode);
+        jobLog.setHandleCode(handleCode);
+        return jobLog;
+    }
+
+    /**
+     * stub alarm, record single alarm and digest
+     */
+    private static class StubAlarm implements JobAlarm {
+        private final List<XxlJobLog> singleList = new CopyOnWriteArrayList<>();
+        private final List<JobAlarmDigest> digestList = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog) {
+            singleList.add(jobLog);
+            return true;
+        }
+
+        @Override
+        public boolean doAlarm(JobAlarmDigest digest) {
+            digestList.add(digest);
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+package com.xxl.job.admin.alarm;
+
+import com.sun.net.httpserver.HttpServer;
+import com.xxl.job.admin.config.WebhookProperties;
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.alarm.JobAlarm;
+import com.xxl.job.admin.scheduler.alarm.JobAlarmDispatcher;
+import com.xxl.job.admin.scheduler.alarm.impl.WebhookJobAlarm;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * alarm dispatcher test, by local stub http server (webhook) and stub mail sender
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class JobAlarmDispatcherTest {
+
+    @Test
+    public void testWebhook() throws Exception {
+        // stub http server: ok, flaky (fail twice), slow (read timeout)
+        AtomicInteger okCount = new AtomicInteger();
+        AtomicInteger flakyCount = new AtomicInteger();
+        AtomicInteger slowCount = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            okCount.incrementAndGet();
+            respond(exchange, 200);
+        });
+        server.createContext("/flaky", exchange -> {
+            respond(exchange, flakyCount.incrementAndGet() <= 2 ? 500 : 200);
+        });
+        server.createContext("/slow", exchange -> {
+            slowCount.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(1500);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            respond(exchange, 200);
+        });
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        WebhookProperties webhookProperties = new WebhookProperties();
+        webhookProperties.setEnabled(true);
+        webhookProperties.setTimeout(300);
+        WebhookJobAlarm webhookJobAlarm = new WebhookJobAlarm();
+        ReflectionTestUtils.setField(webhookJobAlarm, "webhookProperties", webhookProperties);
+
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Collections.singletonList(webhookJobAlarm), 4, 100, 5000, 3, 50);
+        dispatcher.start();
+        try {
+            // all endpoint success, flaky retried
+            webhookProperties.setUrls(baseUrl + "/ok," + baseUrl + "/flaky");
+            Assertions.assertTrue(dispatcher.dispatch(newInfo(null), newLog(1)).get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, okCount.get());
+            Assertions.assertEquals(3, flakyCount.get());
+
+            // slow endpoint fail by timeout, not block dispatch
+            webhookProperties.setUrls(baseUrl + "/ok," + baseUrl + "/slow");
+            long start = System.currentTimeMillis();
+            CompletableFuture<Boolean> result = dispatcher.dispatch(newInfo(null), newLog(2));
+            Assertions.assertTrue(System.currentTimeMillis() - start < 200);
+            Assertions.assertFalse(result.get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, okCount.get());
+            Assertions.assertEquals(3, slowCount.get());
+        } finally {
+            dispatcher.stop();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testMail() throws Exception {
+        StubMailSender mailSender = new StubMailSender();
+        mailSender.failTimes.put("b@xxl.com", 1);
+
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Collections.singletonList(new StubMailAlarm(mailSender)), 2, 100, 5000, 3, 50);
+        dispatcher.start();
+        try {
+            // each email sent and retried separately
+            Assertions.assertTrue(dispatcher.dispatch(newInfo("a@xxl.com,b@xxl.com"), newLog(1)).get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, mailSender.sendCount("a@xxl.com"));
+            Assertions.assertEquals(2, mailSender.sendCount("b@xxl.com"));
+            Assertions.assertEquals(1, dispatcher.getRetryCount());
+
+            // fail finally, after max attempts
+            mailSender.failTimes.put("c@xxl.com", 10);
+            Assertions.assertFalse(dispatcher.dispatch(newInfo("c@xxl.com"), newLog(2)).get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(3, mailSender.sendCount("c@xxl.com"));
+
+            // no email, success
+            Assertions.assertTrue(dispatcher.dispatch(newInfo(null), newLog(3)).get(10, TimeUnit.SECONDS));
+        } finally {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    public void testChannelIsolation() throws Exception {
+        // blocked channel, attempt timeout
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        JobAlarm blockedAlarm = new JobAlarm() {
+            @Override
+            public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog) {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    return false;
+                }
+                return true;
+            }
+        };
+        StubMailSender mailSender = new StubMailSender();
+
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Arrays.asList(blockedAlarm, new StubMailAlarm(mailSender)), 1, 100, 200, 1, 50);
+        dispatcher.start();
+        try {
+            List<CompletableFuture<Boolean>> resultList = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                resultList.add(dispatcher.dispatch(newInfo("a@xxl.com"), newLog(i)));
+            }
+
+            // mail channel not blocked
+            long start = System.currentTimeMillis();
+            while (mailSender.sendCount("a@xxl.com") < 5 && System.currentTimeMillis() - start < 5000) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            Assertions.assertEquals(5, mailSender.sendCount("a@xxl.com"));
+
+            // blocked channel fail by timeout
+            Assertions.assertFalse(resultList.get(0).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(dispatcher.getTimeoutCount() >= 1);
+        } finally {
+            blockLatch.countDown();
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        // blocked channel, one thread
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        JobAlarm blockedAlarm = new JobAlarm() {
+            @Override
+            public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog) {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    return false;
+                }
+                return true;
+            }
+        };
+
+        JobAlarmDispatcher dispatcher = new JobAlarmDispatcher(Collections.singletonList(blockedAlarm), 1, 100, 60 * 1000, 3, 50);
+        dispatcher.start();
+        List<CompletableFuture<Boolean>> resultList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            resultList.add(dispatcher.dispatch(newInfo("a@xxl.com"), newLog(i)));
+        }
+
+        // queued alarm completed as fail when stop
+        dispatcher.stop();
+        blockLatch.countDown();
+        for (CompletableFuture<Boolean> result: resultList) {
+            Assertions.assertFalse(result.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+
+    // ---------------------- stub ----------------------
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int code) throws java.io.IOException {
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            inputStream.readAllBytes();
+        }
+        byte[] body = "{}".getBytes();
+        exchange.sendResponseHeaders(code, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static XxlJobInfo newInfo(String alarmEmail) {
+        XxlJobInfo info = new XxlJobInfo();
+        info.setId(1);
+        info.setJobGroup(1);
+        info.setJobDesc("test");
+        info.setAlarmEmail(alarmEmail);
+        return info;
+    }
+
+    private static XxlJobLog newLog(long logId) {
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(logId);
+        jobLog.setJobId(1);
+        jobLog.setJobGroup(1);
+        jobLog.setTriggerCode(200);
+        jobLog.setHandleCode(500);
+        return jobLog;
+    }
+
+    /**
+     * stub mail sender, fail first "failTimes" send of address
+     */
+    private static class StubMailSender {
+        private final Map<String, Integer> failTimes = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> sendCountMap = new ConcurrentHashMap<>();
+
+        private boolean send(String to, String content) {
+            int count = sendCountMap.computeIfAbsent(to, k -> new AtomicInteger()).incrementAndGet();
+            return count > failTimes.getOrDefault(to, 0);
+        }
+
+        private int sendCount(String to) {
+            AtomicInteger count = sendCountMap.get(to);
+            return count!=null?count.get():0;
+        }
+    }
+
+    /**
+     * mail alarm by stub sender, split by email
+     */
+    private static class StubMailAlarm implements JobAlarm {
+        private final StubMailSender mailSender;
+
+        private StubMailAlarm(StubMailSender mailSender) {
+            this.mailSender = mailSender;
+        }
+
+        @Override
+        public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog) {
+            boolean result = true;
+            for (String email : endpoints(info, jobLog)) {
+                result &= doAlarm(info, jobLog, email);
+            }
+            return result;
+        }
+
+        @Override
+        public List<String> endpoints(XxlJobInfo info, XxlJobLog jobLog) {
+            if (info.getAlarmEmail() == null) {
+                return Collections.emptyList();
+            }
+            return Arrays.asList(info.getAlarmEmail().split(","));
+        }
+
+        @Override
+        public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog, String email) {
+            return mailSender.send(email, "Alarm Job LogId=" + jobLog.getId());
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.xxl.job.admin.core.util;
+
+import com.xxl.job.admin.scheduler.cron.CompiledCronExpression;
+import com.xxl.job.admin.scheduler.cron.CronExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class CompiledCronExpressionTest {
+
+    private static final String[] CRON_LIST = {
+            "0 0 0 ? * 1",
+            "* * * * * ?",
+            "0 0/5 * * * ?",
+            "0 0 2 * * ?",
+            "0 30 9 ? * MON-FRI",
+            "10-20/3 5,35 22-2 * * ?",
+            "0 0 0 29 2 ?",
+            "0 0 0 31 * ?",
+            "0 0 0 1 1 ? 2030",
+            "0 0 12 L * ?",
+            "0 0 12 15W * ?",
+            "0 0 12 ? * 6L",
+            "0 0 12 ? * 2#3"
+    };
+
+    private static final String[] ZONE_LIST = {
+            "UTC",
+            "Asia/Shanghai",
+            "America/New_York",
+            "Europe/London",
+            "Australia/Lord_Howe",
+            "America/Sao_Paulo",
+            "Europe/Berlin"
+    };
+
+    /**
+     * differential fuzz against "CronExpression": each zone, each cron, from random start points over ~2 years
+     */
+    @Test
+    public void sameAsCronExpression() throws ParseException {
+        Random random = new Random(1);
+        long now = System.currentTimeMillis();
+        for (String zone : ZONE_LIST) {
+            for (String cron : CRON_LIST) {
+                CronExpression cronExpression = new CronExpression(cron);
+                cronExpression.setTimeZone(TimeZone.getTimeZone(zone));
+                CompiledCronExpression compiled = CompiledCronExpression.compile(cronExpression);
+
+                for (int start = 0; start < 32; start++) {
+                    Date lastTriggerTime = new Date(now + (long) (random.nextDouble() * 730L * 86_400_000L));
+                    for (int i = 0; i < 100; i++) {
+                        Date nextTriggerTime = cronExpression.getNextValidTimeAfter(lastTriggerTime);
+                        Assertions.assertEquals(nextTriggerTime, compiled.getNextValidTimeAfter(lastTriggerTime), zone + ", " + cron + ", " + lastTriggerTime.getTime());
+                        if (nextTriggerTime == null) {
+                            break;
+                        }
+                        lastTriggerTime = nextTriggerTime;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void cache() throws ParseException {
+        Assertions.assertSame(CompiledCronExpression.compile("0 0 0 ? * 1"), CompiledCronExpression.compile("0 0 0 ? * 1"));
+        Assertions.assertThrows(ParseException.class, () -> CompiledCronExpression.compile("0 0 0 ? * 8"));
+
+        Date now = new Date();
+        Date nextTriggerTime = CompiledCronExpression.compile("0 0 0 ? * 1").getNextValidTimeAfter(now);
+        Assertions.assertEquals(new CronExpression("0 0 0 ? * 1").getNextValidTimeAfter(now), nextTriggerTime);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(nextTriggerTime);
+        Assertions.assertEquals(Calendar.SUNDAY, calendar.get(Calendar.DAY_OF_WEEK));
+        Assertions.assertEquals(0, calendar.get(Calendar.HOUR_OF_DAY) + calendar.get(Calendar.MINUTE) + calendar.get(Calendar.SECOND));
+        Assertions.assertTrue(nextTriggerTime.after(now));
+    }
+
+}
@@ -38,6 +38,8 @@ public class XxlJobGroupMapperTest {
 
         int ret2 = xxlJobGroupMapper.update(group2);
 
+        int ret4 = xxlJobGroupMapper.updateAddressList(group.getId(), "setAddressList3", new Date());
+
         int ret3 = xxlJobGroupMapper.remove(group.getId());
     }
 
@@ -0,0 +1,33 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobIdSegment;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobIdSegmentMapperTest {
+
+    @Resource
+    private XxlJobIdSegmentMapper xxlJobIdSegmentMapper;
+
+    @Test
+    public void test(){
+        String bizTag = "test_segment";
+
+        int ret = xxlJobIdSegmentMapper.init(bizTag, 100);
+        XxlJobIdSegment segment = xxlJobIdSegmentMapper.load(bizTag);
+        long maxId = segment.getMaxId();
+
+        // lease one step
+        ret = xxlJobIdSegmentMapper.lease(bizTag, 0);
+        segment = xxlJobIdSegmentMapper.load(bizTag);
+        Assertions.assertEquals(maxId + 100, segment.getMaxId());
+
+        // lease, not less than min
+        ret = xxlJobIdSegmentMapper.lease(bizTag, segment.getMaxId() + 1000);
+        Assertions.assertEquals(maxId + 100 + 1000 + 100, xxlJobIdSegmentMapper.load(bizTag).getMaxId());
+    }
+
+}
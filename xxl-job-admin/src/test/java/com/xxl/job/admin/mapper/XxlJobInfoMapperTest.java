@@ -4,11 +4,13 @@ import com.xxl.job.admin.model.XxlJobInfo;
 import com.xxl.job.admin.scheduler.misfire.MisfireStrategyEnum;
 import com.xxl.job.admin.scheduler.type.ScheduleTypeEnum;
 import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -83,4 +85,68 @@ public class XxlJobInfoMapperTest {
 
 	}
 
+	@Test
+	public void scheduleUpdateBatch(){
+		XxlJobInfo info1 = newScheduleJob(1, 1000, 2000);
+		XxlJobInfo info2 = newScheduleJob(1, 1000, 2000);
+		XxlJobInfo info3 = newScheduleJob(0, 1000, 2000);		// stopped, not updated
+
+		// info1: next schedule, keep status; info2: stop; info3: not running
+		info1.setTriggerLastTime(2000);
+		info1.setTriggerNextTime(3000);
+		info1.setTriggerStatus(-1);
+		info2.setTriggerLastTime(0);
+		info2.setTriggerNextTime(0);
+		info2.setTriggerStatus(0);
+		info3.setTriggerLastTime(2000);
+		info3.setTriggerNextTime(3000);
+		info3.setTriggerStatus(1);
+
+		try {
+			int ret = xxlJobInfoMapper.scheduleUpdateBatch(Arrays.asList(info1, info2, info3));
+			Assertions.assertEquals(2, ret);
+
+			XxlJobInfo info1Load = xxlJobInfoMapper.loadById(info1.getId());
+			Assertions.assertEquals(2000, info1Load.getTriggerLastTime());
+			Assertions.assertEquals(3000, info1Load.getTriggerNextTime());
+			Assertions.assertEquals(1, info1Load.getTriggerStatus());
+
+			XxlJobInfo info2Load = xxlJobInfoMapper.loadById(info2.getId());
+			Assertions.assertEquals(0, info2Load.getTriggerLastTime());
+			Assertions.assertEquals(0, info2Load.getTriggerNextTime());
+			Assertions.assertEquals(0, info2Load.getTriggerStatus());
+
+			XxlJobInfo info3Load = xxlJobInfoMapper.loadById(info3.getId());
+			Assertions.assertEquals(1000, info3Load.getTriggerLastTime());
+			Assertions.assertEquals(2000, info3Load.getTriggerNextTime());
+			Assertions.assertEquals(0, info3Load.getTriggerStatus());
+		} finally {
+			xxlJobInfoMapper.delete(info1.getId());
+			xxlJobInfoMapper.delete(info2.getId());
+			xxlJobInfoMapper.delete(info3.getId());
+		}
+	}
+
+	private XxlJobInfo newScheduleJob(int triggerStatus, long triggerLastTime, long triggerNextTime) {
+		XxlJobInfo info = new XxlJobInfo();
+		info.setJobGroup(1);
+		info.setJobDesc("scheduleUpdateBatch");
+		info.setAuthor("test");
+		info.setScheduleType(ScheduleTypeEnum.FIX_RATE.name());
+		info.setScheduleConf(String.valueOf(33));
+		info.setMisfireStrategy(MisfireStrategyEnum.DO_NOTHING.name());
+		info.setExecutorRouteStrategy("FIRST");
+		info.setExecutorHandler("test");
+		info.setExecutorBlockStrategy("SERIAL_EXECUTION");
+		info.setGlueType("BEAN");
+		info.setAddTime(new Date());
+		info.setUpdateTime(new Date());
+		info.setGlueUpdatetime(new Date());
+		info.setTriggerStatus(triggerStatus);
+		info.setTriggerLastTime(triggerLastTime);
+		info.setTriggerNextTime(triggerNextTime);
+		xxlJobInfoMapper.save(info);
+		return info;
+	}
+
 }
@@ -0,0 +1,32 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobLogAlarmMapperTest {
+
+    @Resource
+    private XxlJobLogAlarmMapper xxlJobLogAlarmMapper;
+
+    @Test
+    public void test(){
+        XxlJobLog log = new XxlJobLog();
+        log.setId(1);
+        log.setJobId(1);
+        int ret = xxlJobLogAlarmMapper.saveBatch(Arrays.asList(log));
+
+        int ret2 = xxlJobLogAlarmMapper.claim("token", new Date(), new Date(), 100);
+        List<Long> logIds = xxlJobLogAlarmMapper.findClaimedLogIds("token");
+        System.out.println(logIds);
+
+        int ret3 = xxlJobLogAlarmMapper.removeByLogIds(Arrays.asList(1L));
+    }
+
+}
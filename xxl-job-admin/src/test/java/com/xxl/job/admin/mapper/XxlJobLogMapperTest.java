@@ -2,9 +2,11 @@ package com.xxl.job.admin.mapper;
 
 import com.xxl.job.admin.model.XxlJobLog;
 import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -43,6 +45,36 @@ public class XxlJobLogMapperTest {
         dto = xxlJobLogMapper.load(log.getId());
 
 
+        // batch, id allocated before save
+        long maxId = xxlJobLogMapper.findMaxId();
+        List<XxlJobLog> batchList = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            XxlJobLog item = new XxlJobLog();
+            item.setId(maxId + i);
+            item.setJobGroup(1);
+            item.setJobId(1);
+            item.setTriggerTime(new Date());
+            batchList.add(item);
+        }
+        ret1 = xxlJobLogMapper.saveBatch(batchList);
+        for (XxlJobLog item : batchList) {
+            item.setTriggerCode(200);
+            item.setTriggerMsg("batch");
+            item.setExecutorAddress("127.0.0.1:9999");
+        }
+        ret1 = xxlJobLogMapper.updateTriggerInfoBatch(batchList);
+        dto = xxlJobLogMapper.load(maxId + 3);
+        Assertions.assertEquals("batch", dto.getTriggerMsg());
+
+        for (XxlJobLog item : batchList) {
+            item.setHandleTime(new Date());
+            item.setHandleCode(200);
+            item.setHandleMsg("batch handle");
+        }
+        ret1 = xxlJobLogMapper.updateHandleInfoBatch(batchList);
+        dto = xxlJobLogMapper.load(maxId + 3);
+        Assertions.assertEquals(200, dto.getHandleCode());
+
         List<Long> ret4 = xxlJobLogMapper.findClearLogIds(1, 1, new Date(), 100, 100);
 
         int ret2 = xxlJobLogMapper.delete(log.getJobId());
@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Arrays;
 import java.util.Date;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -30,5 +31,15 @@ public class XxlJobLogReportMapperTest {
 
         int ret = xxlJobLogReportMapper.saveOrUpdate(xxlJobLogReport);
         logger.info("ret:{}", ret);
+
+        // increment
+        XxlJobLogReport delta = new XxlJobLogReport();
+        delta.setTriggerDay(date);
+        delta.setRunningCount(-1);
+        delta.setSucCount(1);
+        delta.setFailCount(0);
+
+        int ret2 = xxlJobLogReportMapper.saveOrIncrementBatch(Arrays.asList(delta));
+        logger.info("ret2:{}", ret2);
     }
 }
@@ -0,0 +1,77 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobLogRunningMapperTest {
+
+    @Resource
+    private XxlJobLogRunningMapper xxlJobLogRunningMapper;
+    @Resource
+    private XxlJobLogMapper xxlJobLogMapper;
+
+    @Test
+    public void test(){
+        // log running (trigger success, not handled), on executor offline
+        Date triggerTime = new Date(System.currentTimeMillis() - 60 * 1000);
+        XxlJobLog runningLog = newLog(triggerTime, 200);
+        XxlJobLog triggerFailLog = newLog(triggerTime, 500);
+
+        // save, only running log copied
+        int ret = xxlJobLogRunningMapper.saveByLogIds(Arrays.asList(runningLog.getId(), triggerFailLog.getId()));
+        Assertions.assertEquals(1, ret);
+        int ret2 = xxlJobLogRunningMapper.saveByLogIds(Collections.singletonList(runningLog.getId()));
+        Assertions.assertEquals(0, ret2);       // ignore exists
+
+        // lost, executor offline
+        Assertions.assertTrue(containsLog(xxlJobLogRunningMapper.findLostLogs(new Date()), runningLog.getId()));
+        Assertions.assertFalse(containsLog(xxlJobLogRunningMapper.findLostLogs(new Date(triggerTime.getTime() - 1000)), runningLog.getId()));
+
+        // handled, removed as finished
+        runningLog.setHandleTime(new Date());
+        runningLog.setHandleCode(200);
+        runningLog.setHandleMsg("handled");
+        xxlJobLogMapper.updateHandleInfo(runningLog);
+        Assertions.assertFalse(containsLog(xxlJobLogRunningMapper.findLostLogs(new Date()), runningLog.getId()));
+        int ret3 = xxlJobLogRunningMapper.removeFinished();
+        Assertions.assertTrue(ret3 >= 1);
+
+        // remove
+        int ret4 = xxlJobLogRunningMapper.removeByLogIds(Collections.singletonList(runningLog.getId()));
+        Assertions.assertEquals(0, ret4);       // removed already
+    }
+
+    private XxlJobLog newLog(Date triggerTime, int triggerCode) {
+        XxlJobLog log = new XxlJobLog();
+        log.setJobGroup(1);
+        log.setJobId(1);
+        xxlJobLogMapper.save(log);
+
+        log.setTriggerTime(triggerTime);
+        log.setTriggerCode(triggerCode);
+        log.setTriggerMsg("test");
+        log.setExecutorAddress("http://127.0.0.1:" + (20000 + log.getId() % 10000) + "/");       // not registered
+        log.setExecutorHandler("test");
+        xxlJobLogMapper.updateTriggerInfo(log);
+        return log;
+    }
+
+    private static boolean containsLog(List<XxlJobLog> logList, long logId) {
+        for (XxlJobLog item : logList) {
+            if (item.getId() == logId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -27,7 +27,18 @@ public class XxlJobRegistryMapperTest {
 
         List<XxlJobRegistry> list = xxlJobRegistryMapper.findAll(1, new Date());
 
+        List<XxlJobRegistry> list2 = xxlJobRegistryMapper.findAllByRegistryKey(RegistType.EXECUTOR.name(), "xxl-job-executor-z1", 1, new Date());
+
         int ret2 = xxlJobRegistryMapper.removeDead(Arrays.asList(1));
+
+        XxlJobRegistry registry = new XxlJobRegistry();
+        registry.setRegistryGroup(RegistType.EXECUTOR.name());
+        registry.setRegistryKey("xxl-job-executor-z1");
+        registry.setRegistryValue("v2");
+        registry.setUpdateTime(new Date());
+        int ret3 = xxlJobRegistryMapper.registrySaveOrUpdateBatch(Arrays.asList(registry));
+
+        int ret4 = xxlJobRegistryMapper.registryDeleteDead(RegistType.EXECUTOR.name(), "xxl-job-executor-z1", "v2", 1, new Date());
     }
 
     @Test
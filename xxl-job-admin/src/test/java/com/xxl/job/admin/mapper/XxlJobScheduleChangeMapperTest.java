@@ -0,0 +1,36 @@
+package com.xxl.job.admin.mapper;
+
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobScheduleChangeMapperTest {
+
+    @Resource
+    private XxlJobScheduleChangeMapper xxlJobScheduleChangeMapper;
+
+    @Test
+    public void test(){
+        long fromId = xxlJobScheduleChangeMapper.findMaxId();
+
+        Assertions.assertEquals(1, xxlJobScheduleChangeMapper.save(1));
+        Assertions.assertEquals(1, xxlJobScheduleChangeMapper.save(1));
+        Assertions.assertEquals(1, xxlJobScheduleChangeMapper.save(2));
+
+        long toId = xxlJobScheduleChangeMapper.findMaxId();
+        Assertions.assertTrue(toId > fromId);
+
+        List<Integer> jobIds = xxlJobScheduleChangeMapper.findJobIds(fromId, toId);
+        Assertions.assertEquals(2, jobIds.size());
+        Assertions.assertTrue(jobIds.contains(1) && jobIds.contains(2));
+
+        xxlJobScheduleChangeMapper.clean(new Date(System.currentTimeMillis() + 60 * 1000), 1000);
+        Assertions.assertTrue(xxlJobScheduleChangeMapper.findJobIds(fromId, toId).isEmpty());
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.xxl.job.admin.mapper;
+
+import com.xxl.job.admin.model.XxlJobStat;
+import com.xxl.job.admin.scheduler.thread.JobStatHelper;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobStatMapperTest {
+
+    @Resource
+    private XxlJobStatMapper xxlJobStatMapper;
+
+    @Test
+    public void test(){
+        Date nowTime = new Date();
+        int jobGroup = 1;
+        int jobId = 100000 + (int) (System.currentTimeMillis() % 100000);     // job not exists, stat isolated
+
+        // save, and increment
+        int ret = xxlJobStatMapper.saveOrIncrementBatch(newStatList(nowTime, jobGroup, jobId, 100));
+        Assertions.assertTrue(ret >= 3);
+        int ret2 = xxlJobStatMapper.saveOrIncrementBatch(newStatList(nowTime, jobGroup, jobId, 300));
+        Assertions.assertTrue(ret2 >= 3);
+
+        // trend, by job
+        List<XxlJobStat> trendList = xxlJobStatMapper.queryStatTrend(XxlJobStat.STAT_TYPE_HOUR, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_DAY), nowTime, 0, null, jobId);
+        Assertions.assertEquals(1, trendList.size());
+        Assertions.assertEquals(JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_HOUR), trendList.get(0).getStatTime());
+        Assertions.assertEquals(2, trendList.get(0).getSucCount());
+        Assertions.assertEquals(400, trendList.get(0).getTotalDuration());
+        Assertions.assertEquals(300, trendList.get(0).getMaxDuration());
+
+        // trend, by job group list
+        List<XxlJobStat> trendList2 = xxlJobStatMapper.queryStatTrend(XxlJobStat.STAT_TYPE_HOUR, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_DAY), nowTime, 0, Collections.singletonList(jobGroup), jobId);
+        Assertions.assertEquals(1, trendList2.size());
+        List<XxlJobStat> trendList3 = xxlJobStatMapper.queryStatTrend(XxlJobStat.STAT_TYPE_HOUR, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_DAY), nowTime, 0, Collections.singletonList(-1), jobId);
+        Assertions.assertEquals(0, trendList3.size());
+
+        // job, filtered by job group list
+        List<XxlJobStat> jobList = xxlJobStatMapper.queryStatByJob(XxlJobStat.STAT_TYPE_DAY, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_DAY), nowTime, 0, Collections.singletonList(jobGroup), 1000);
+        XxlJobStat jobStat = null;
+        for (XxlJobStat item : jobList) {
+            Assertions.assertEquals(jobGroup, item.getJobGroup());
+            if (item.getJobId() == jobId) {
+                jobStat = item;
+            }
+        }
+        Assertions.assertNotNull(jobStat);
+        Assertions.assertEquals(2, jobStat.getSucCount());
+        Assertions.assertEquals(0, xxlJobStatMapper.queryStatByJob(XxlJobStat.STAT_TYPE_DAY, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_DAY), nowTime, 0, Collections.singletonList(-1), 10).size());
+
+        // job group, filtered by job group list
+        List<XxlJobStat> groupList = xxlJobStatMapper.queryStatByGroup(XxlJobStat.STAT_TYPE_MONTH, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_MONTH), nowTime, 0, Collections.singletonList(jobGroup));
+        Assertions.assertEquals(1, groupList.size());
+        Assertions.assertEquals(jobGroup, groupList.get(0).getJobGroup());
+        Assertions.assertTrue(groupList.get(0).getSucCount() >= 2);
+
+        // clear, stat before not cleared
+        int ret3 = xxlJobStatMapper.clearStat(XxlJobStat.STAT_TYPE_HOUR, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_HOUR), 1000);
+        Assertions.assertTrue(ret3 >= 0);
+        Assertions.assertEquals(1, xxlJobStatMapper.queryStatTrend(XxlJobStat.STAT_TYPE_HOUR, JobStatHelper.truncate(nowTime, XxlJobStat.STAT_TYPE_DAY), nowTime, 0, null, jobId).size());
+    }
+
+    private static List<XxlJobStat> newStatList(Date nowTime, int jobGroup, int jobId, long duration) {
+        List<XxlJobStat> statList = new ArrayList<>();
+        for (int statType : new int[]{XxlJobStat.STAT_TYPE_HOUR, XxlJobStat.STAT_TYPE_DAY, XxlJobStat.STAT_TYPE_MONTH}) {
+            XxlJobStat stat = new XxlJobStat();
+            stat.setStatType(statType);
+            stat.setStatTime(JobStatHelper.truncate(nowTime, statType));
+            stat.setJobGroup(jobGroup);
+            stat.setJobId(jobId);
+            stat.setSucCount(1);
+            stat.setTotalDuration(duration);
+            stat.setMaxDuration(duration);
+            statList.add(stat);
+        }
+        return statList;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.xxl.job.admin.route;
+
+import com.xxl.job.admin.scheduler.cache.ExecutorHealthCache;
+import com.xxl.job.admin.scheduler.route.strategy.ExecutorProbe;
+import com.xxl.job.core.context.XxlJobContext;
+import com.xxl.tool.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ExecutorProbeTest {
+
+    private static final long DEAD_DELAY = 3000;
+
+    /**
+     * probe: "dead" address not return until DEAD_DELAY, "fail" address fail directly, other success directly
+     */
+    private static Function<String, CompletableFuture<Response<String>>> prober(Map<String, AtomicInteger> probeCountMap) {
+        return address -> {
+            probeCountMap.computeIfAbsent(address, k -> new AtomicInteger()).incrementAndGet();
+            if (address.startsWith("dead")) {
+                return CompletableFuture.supplyAsync(() -> Response.of(XxlJobContext.HANDLE_CODE_FAIL, "timeout"),
+                        CompletableFuture.delayedExecutor(DEAD_DELAY, TimeUnit.MILLISECONDS));
+            }
+            if (address.startsWith("fail")) {
+                return CompletableFuture.completedFuture(Response.of(XxlJobContext.HANDLE_CODE_FAIL, "connect refused"));
+            }
+            return CompletableFuture.completedFuture(Response.ofSuccess());
+        };
+    }
+
+    @Test
+    public void hedgeTest() {
+        Map<String, AtomicInteger> probeCountMap = new ConcurrentHashMap<>();
+        List<String> addressList = Arrays.asList("dead1", "dead2", "fail1", "ok1", "ok2");
+
+        long start = System.currentTimeMillis();
+        Response<String> result = ExecutorProbe.probe(addressList, address -> "beat#" + address, prober(probeCountMap),
+                new ExecutorHealthCache(), "beat", 10000);
+        long cost = System.currentTimeMillis() - start;
+
+        Assertions.assertTrue(result.isSuccess());
+        Assertions.assertEquals("ok1", result.getData());
+        Assertions.assertNull(probeCountMap.get("ok2"));
+        // two hedge delay, not wait for dead executor
+        Assertions.assertTrue(cost < DEAD_DELAY, "cost=" + cost);
+    }
+
+    @Test
+    public void healthCacheTest() {
+        Map<String, AtomicInteger> probeCountMap = new ConcurrentHashMap<>();
+        ExecutorHealthCache healthCache = new ExecutorHealthCache();
+        List<String> addressList = Arrays.asList("fail1", "fail2", "ok1");
+
+        Response<String> result = ExecutorProbe.probe(addressList, address -> "beat#" + address, prober(probeCountMap), healthCache, "beat", 10000);
+        Assertions.assertEquals("ok1", result.getData());
+
+        // executor failed recently probed after others
+        result = ExecutorProbe.probe(addressList, address -> "beat#" + address, prober(probeCountMap), healthCache, "beat", 10000);
+        Assertions.assertEquals("ok1", result.getData());
+        Assertions.assertEquals(1, probeCountMap.get("fail1").get());
+        Assertions.assertEquals(1, probeCountMap.get("fail2").get());
+        Assertions.assertEquals(2, probeCountMap.get("ok1").get());
+    }
+
+    @Test
+    public void allFailTest() {
+        Map<String, AtomicInteger> probeCountMap = new ConcurrentHashMap<>();
+        List<String> addressList = Arrays.asList("fail1", "fail2");
+
+        Response<String> result = ExecutorProbe.probe(addressList, address -> "beat#" + address, prober(probeCountMap),
+                new ExecutorHealthCache(), "beat", 10000);
+        Assertions.assertFalse(result.isSuccess());
+        Assertions.assertTrue(result.getMsg().contains("fail1") && result.getMsg().contains("fail2"));
+    }
+
+}
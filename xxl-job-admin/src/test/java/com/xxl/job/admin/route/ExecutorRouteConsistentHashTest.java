@@ -0,0 +1,111 @@
+package com.xxl.job.admin.route;
+
+import com.xxl.job.admin.scheduler.route.strategy.ExecutorRouteConsistentHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public class ExecutorRouteConsistentHashTest {
+    private static Logger logger = LoggerFactory.getLogger(ExecutorRouteConsistentHashTest.class);
+
+    private static List<String> addressList(int count) {
+        List<String> addressList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addressList.add("http://192.168.0." + i + ":9999/");
+        }
+        return addressList;
+    }
+
+    @Test
+    public void sameAsTreeMapRingTest() throws Exception {
+        ExecutorRouteConsistentHash router = new ExecutorRouteConsistentHash();
+        for (int addressCount : new int[]{1, 3, 10, 100}) {
+            List<String> addressList = addressList(addressCount);
+            for (int jobId = 1; jobId <= 2000; jobId++) {
+                Assertions.assertEquals(treeMapHashJob(jobId, addressList), router.hashJob(jobId, addressList));
+            }
+        }
+    }
+
+    @Test
+    public void addressListChangeTest() throws Exception {
+        ExecutorRouteConsistentHash router = new ExecutorRouteConsistentHash();
+        List<String> addressList = addressList(10);
+        router.hashJob(1, addressList);
+
+        // new address list, ring rebuilt
+        List<String> newAddressList = addressList(11);
+        int moved = 0;
+        for (int jobId = 1; jobId <= 2000; jobId++) {
+            String address = router.hashJob(jobId, newAddressList);
+            Assertions.assertEquals(treeMapHashJob(jobId, newAddressList), address);
+            if (!address.equals(router.hashJob(jobId, addressList))) {
+                moved++;
+            }
+        }
+        // only part of job moved to new address
+        Assertions.assertTrue(moved > 0 && moved < 500, "moved=" + moved);
+    }
+
+    /**
+     * simple benchmark, cached ring vs ring built on each route
+     */
+    @Test
+    public void benchmarkTest() throws Exception {
+        ExecutorRouteConsistentHash router = new ExecutorRouteConsistentHash();
+        List<String> addressList = addressList(100);
+        int count = 200;
+
+        long start = System.nanoTime();
+        for (int jobId = 1; jobId <= count; jobId++) {
+            treeMapHashJob(jobId, addressList);
+        }
+        long treeMapCost = System.nanoTime() - start;
+
+        router.hashJob(0, addressList);     // warm up
+        start = System.nanoTime();
+        for (int jobId = 1; jobId <= count; jobId++) {
+            router.hashJob(jobId, addressList);
+        }
+        long cachedCost = System.nanoTime() - start;
+
+        logger.info("route {} times on 100 address, tree-map ring: {}us, cached ring: {}us", count, treeMapCost / 1000, cachedCost / 1000);
+        Assertions.assertTrue(cachedCost < treeMapCost);
+    }
+
+
+    // ---------------------- tree-map ring, built on each route ----------------------
+
+    private static long md5Hash(String key) throws Exception {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        byte[] digest = md5.digest(key.getBytes(StandardCharsets.UTF_8));
+        long hashCode = ((long) (digest[3] & 0xFF) << 24)
+                | ((long) (digest[2] & 0xFF) << 16)
+                | ((long) (digest[1] & 0xFF) << 8)
+                | (digest[0] & 0xFF);
+        return hashCode & 0xffffffffL;
+    }
+
+    private static String treeMapHashJob(int jobId, List<String> addressList) throws Exception {
+        TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
+        for (String address: addressList) {
+            for (int i = 0; i < 100; i++) {
+                addressRing.put(md5Hash("SHARD-" + address + "-NODE-" + i), address);
+            }
+        }
+        SortedMap<Long, String> lastRing = addressRing.tailMap(md5Hash(String.valueOf(jobId)));
+        if (!lastRing.isEmpty()) {
+            return lastRing.get(lastRing.firstKey());
+        }
+        return addressRing.firstEntry().getValue();
+    }
+
+}
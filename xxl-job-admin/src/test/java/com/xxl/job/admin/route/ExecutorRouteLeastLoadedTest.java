@@ -0,0 +1,93 @@
+package com.xxl.job.admin.route;
+
+import com.xxl.job.admin.scheduler.cache.ExecutorLoadCache;
+import com.xxl.job.admin.scheduler.route.strategy.ExecutorRouteLeastLoaded;
+import com.xxl.job.core.openapi.model.ExecutorLoad;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExecutorRouteLeastLoadedTest {
+
+    @Test
+    public void leastLoadedTest() {
+        ExecutorRouteLeastLoaded router = new ExecutorRouteLeastLoaded();
+        ExecutorLoadCache loadCache = new ExecutorLoadCache();
+        List<String> addressList = Arrays.asList("a", "b", "c");
+        loadCache.report("a", new ExecutorLoad(5, 10, 0, 0.5));
+        loadCache.report("b", new ExecutorLoad(1, 0, 0, 0.5));
+        loadCache.report("c", new ExecutorLoad(2, 2, 0, 0.5));
+
+        Assertions.assertEquals("b", router.route(addressList, loadCache));
+
+        // dispatched counted until next beat: b(1+1) < c(4)
+        Assertions.assertEquals("b", router.route(addressList, loadCache));
+        Assertions.assertEquals("b", router.route(addressList, loadCache));
+        Assertions.assertEquals(4, loadCache.loadCount("b"));
+
+        // new beat, dispatched reset
+        loadCache.report("b", new ExecutorLoad(10, 0, 0, 0.5));
+        Assertions.assertEquals("c", router.route(addressList, loadCache));
+    }
+
+    @Test
+    public void cpuLoadTest() {
+        ExecutorRouteLeastLoaded router = new ExecutorRouteLeastLoaded();
+        ExecutorLoadCache loadCache = new ExecutorLoadCache();
+        List<String> addressList = Arrays.asList("a", "b");
+        loadCache.report("a", new ExecutorLoad(1, 0, 0, 0.9));
+        loadCache.report("b", new ExecutorLoad(1, 0, 0, 0.2));
+
+        Assertions.assertEquals("b", router.route(addressList, loadCache));
+    }
+
+    @Test
+    public void unknownLoadTest() {
+        ExecutorRouteLeastLoaded router = new ExecutorRouteLeastLoaded();
+        ExecutorLoadCache loadCache = new ExecutorLoadCache();
+        List<String> addressList = Arrays.asList("a", "b", "c");
+
+        // no snapshot, spread by dispatched count
+        Map<String, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            countMap.merge(router.route(addressList, loadCache), 1, Integer::sum);
+        }
+        for (String address : addressList) {
+            Assertions.assertEquals(100, countMap.get(address).intValue());
+        }
+
+        // removed
+        loadCache.remove("a");
+        Assertions.assertEquals(0, loadCache.loadCount("a"));
+    }
+
+    @Test
+    public void unknownCpuLoadTest() {
+        ExecutorRouteLeastLoaded router = new ExecutorRouteLeastLoaded();
+        ExecutorLoadCache loadCache = new ExecutorLoadCache();
+        List<String> addressList = Arrays.asList("a", "b");
+        loadCache.report("a", new ExecutorLoad(1, 0, 0, -1));
+        loadCache.report("b", new ExecutorLoad(1, 0, 0, 0.9));
+
+        // load equal, known cpu load first
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("b", router.route(addressList, loadCache));
+            loadCache.report("b", new ExecutorLoad(1, 0, 0, 0.9));
+        }
+    }
+
+    @Test
+    public void emptyTest() {
+        ExecutorRouteLeastLoaded router = new ExecutorRouteLeastLoaded();
+        ExecutorLoadCache loadCache = new ExecutorLoadCache();
+
+        Assertions.assertNull(router.route(Collections.emptyList(), loadCache));
+        Assertions.assertEquals(0, loadCache.size());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.xxl.job.admin.route;
+
+import com.xxl.job.admin.scheduler.route.strategy.ExecutorRouteLFU;
+import com.xxl.job.admin.scheduler.route.strategy.ExecutorRouteLRU;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+public class ExecutorRouteLfuLruTest {
+    private static Logger logger = LoggerFactory.getLogger(ExecutorRouteLfuLruTest.class);
+
+    private static List<String> addressList(int count) {
+        List<String> addressList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addressList.add("http://192.168.0." + i + ":9999/");
+        }
+        return addressList;
+    }
+
+    @Test
+    public void lruOrderTest() {
+        ExecutorRouteLRU router = new ExecutorRouteLRU();
+        List<String> addressList = Arrays.asList("a", "b", "c");
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertEquals(addressList.get(i % 3), router.route(1001, addressList));
+        }
+
+        // new address as newest, removed address not routed
+        List<String> newAddressList = Arrays.asList("b", "c", "d");
+        Assertions.assertEquals("b", router.route(1001, newAddressList));
+        Assertions.assertEquals("c", router.route(1001, newAddressList));
+        Assertions.assertEquals("d", router.route(1001, newAddressList));
+    }
+
+    @Test
+    public void lfuLeastUsedTest() {
+        ExecutorRouteLFU router = new ExecutorRouteLFU();
+        List<String> addressList = Arrays.asList("a", "b", "c");
+        Map<String, Integer> countMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            countMap.merge(router.route(1002, addressList), 1, Integer::sum);
+        }
+        for (String address : addressList) {
+            Assertions.assertTrue(Math.abs(countMap.get(address) - 100) <= 3, countMap.toString());
+        }
+    }
+
+    @Test
+    public void lfuConcurrentTest() throws InterruptedException {
+        ExecutorRouteLFU router = new ExecutorRouteLFU();
+        concurrentBalanceTest(router::route, 1003);
+    }
+
+    @Test
+    public void lruConcurrentTest() throws InterruptedException {
+        ExecutorRouteLRU router = new ExecutorRouteLRU();
+        concurrentBalanceTest(router::route, 1004);
+    }
+
+    /**
+     * route by multi thread, each address routed almost same times
+     */
+    private void concurrentBalanceTest(BiFunction<Integer, List<String>, String> router, int jobId) throws InterruptedException {
+        int threadCount = 8;
+        int countPerThread = 20000;
+        List<String> addressList = addressList(10);
+        Map<String, AtomicInteger> countMap = new ConcurrentHashMap<>();
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < countPerThread; i++) {
+                    countMap.computeIfAbsent(router.apply(jobId, addressList), k -> new AtomicInteger()).incrementAndGet();
+                }
+                countDownLatch.countDown();
+            }).start();
+        }
+        Assertions.assertTrue(countDownLatch.await(30, TimeUnit.SECONDS));
+        long cost = System.nanoTime() - start;
+        logger.info("route {} times by {} thread, cost {}ms, {} ns/route", threadCount * countPerThread, threadCount, cost / 1000000, cost / (threadCount * countPerThread));
+
+        int expect = threadCount * countPerThread / addressList.size();
+        for (String address : addressList) {
+            int count = countMap.get(address).get();
+            Assertions.assertTrue(Math.abs(count - expect) <= 20, "address=" + address + ", count=" + count);
+        }
+    }
+
+    @Test
+    public void addressChangeConcurrentTest() throws InterruptedException {
+        ExecutorRouteLFU lfuRouter = new ExecutorRouteLFU();
+        ExecutorRouteLRU lruRouter = new ExecutorRouteLRU();
+        List<List<String>> addressLists = Arrays.asList(addressList(3), addressList(5), addressList(8));
+
+        int threadCount = 8;
+        AtomicInteger errorCount = new AtomicInteger(0);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        List<String> addressList = addressLists.get(i % addressLists.size());
+                        if (!addressList.contains(lfuRouter.route(1005, addressList))
+                                || !addressList.contains(lruRouter.route(1005, addressList))) {
+                            errorCount.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    logger.error(e.getMessage(), e);
+                    errorCount.incrementAndGet();
+                }
+                countDownLatch.countDown();
+            }).start();
+        }
+        Assertions.assertTrue(countDownLatch.await(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, errorCount.get());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.complete.HandleMsg;
+import com.xxl.job.admin.scheduler.route.ExecutorRouteStrategyEnum;
+import com.xxl.job.admin.scheduler.trigger.TriggerMsg;
+import com.xxl.job.admin.scheduler.trigger.TriggerTypeEnum;
+import com.xxl.job.core.constant.ExecutorBlockStrategyEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+
+/**
+ * structured trigger/handle msg, render test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class JobLogMsgTest {
+    private static final Logger logger = LoggerFactory.getLogger(JobLogMsgTest.class);
+
+    @Test
+    public void triggerMsg() {
+        TriggerMsg triggerMsg = new TriggerMsg();
+        triggerMsg.setTriggerType(TriggerTypeEnum.CRON.name());
+        triggerMsg.setAdminAddress("127.0.0.1");
+        triggerMsg.setRegistryList(Arrays.asList("http://127.0.0.1:9999/", "http://127.0.0.1:9998/"));
+        triggerMsg.setRouteStrategy(ExecutorRouteStrategyEnum.FIRST.name());
+        triggerMsg.setBlockStrategy(ExecutorBlockStrategyEnum.SERIAL_EXECUTION.name());
+        triggerMsg.setRunMsg("handler not found");
+
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setJobId(1);
+        jobLog.setExecutorAddress("http://127.0.0.1:9999/");
+        jobLog.setExecutorHandler("demoJobHandler");
+        jobLog.setTriggerCode(500);
+        jobLog.setTriggerMsg(triggerMsg.toJson());
+
+        String html = TriggerMsg.render(jobLog);
+        logger.info("json:{}, html:{}", jobLog.getTriggerMsg(), html);
+        Assertions.assertTrue(html.contains(TriggerTypeEnum.CRON.getTitle()));
+        Assertions.assertTrue(html.contains("demoJobHandler"));
+        Assertions.assertTrue(html.contains("handler not found"));
+
+        // old html, as it is
+        jobLog.setTriggerMsg("old<br>msg");
+        Assertions.assertEquals("old<br>msg", TriggerMsg.render(jobLog));
+
+        // old msg start with "{", not trigger msg, as it is
+        jobLog.setTriggerMsg("{old msg}");
+        Assertions.assertEquals("{old msg}", TriggerMsg.render(jobLog));
+        jobLog.setTriggerMsg("{\"code\":500,\"msg\":\"old msg\"}");
+        Assertions.assertEquals("{\"code\":500,\"msg\":\"old msg\"}", TriggerMsg.render(jobLog));
+    }
+
+    @Test
+    public void handleMsg() {
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setJobId(1);
+        jobLog.setHandleMsg(new HandleMsg("success msg", "1,2,abc").toJson());
+
+        String html = HandleMsg.render(jobLog);
+        logger.info("json:{}, html:{}", jobLog.getHandleMsg(), html);
+        Assertions.assertTrue(html.startsWith("success msg"));
+        Assertions.assertTrue(html.contains("abc"));
+
+        // old msg start with "{", not handle msg, as it is
+        jobLog.setHandleMsg("{old msg}");
+        Assertions.assertEquals("{old msg}", HandleMsg.render(jobLog));
+        jobLog.setHandleMsg("{\"code\":500,\"msg\":\"old msg\"}");
+        Assertions.assertEquals("{\"code\":500,\"msg\":\"old msg\"}", HandleMsg.render(jobLog));
+    }
+
+}
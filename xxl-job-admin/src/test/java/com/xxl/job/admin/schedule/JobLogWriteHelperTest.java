@@ -0,0 +1,196 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.mapper.XxlJobLogAlarmMapper;
+import com.xxl.job.admin.mapper.XxlJobLogMapper;
+import com.xxl.job.admin.mapper.XxlJobLogRunningMapper;
+import com.xxl.job.admin.model.XxlJobLog;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.admin.scheduler.thread.JobLogWriteHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JobLogWriteHelper, write to in-memory "xxl_job_log"; update of log not inserted yet is lost, like db
+ */
+public class JobLogWriteHelperTest {
+
+    private final Map<Long, XxlJobLog> db = new ConcurrentHashMap<>();
+    private final AtomicInteger insertCount = new AtomicInteger();
+    private final AtomicInteger updateCount = new AtomicInteger();
+    private final AtomicInteger lostUpdateCount = new AtomicInteger();
+    private final AtomicInteger insertFailCount = new AtomicInteger();
+    private final AtomicLong blockLogId = new AtomicLong(-1);
+    private volatile CountDownLatch blockStarted;
+    private volatile CountDownLatch blockRelease;
+
+    private JobLogWriteHelper writeHelper;
+
+    @BeforeEach
+    public void setUp() {
+        XxlJobLogMapper logMapper = Mockito.mock(XxlJobLogMapper.class);
+        Mockito.when(logMapper.saveBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            List<XxlJobLog> list = invocation.getArgument(0);
+            if (insertFailCount.getAndUpdate(count -> count > 0 ? count - 1 : 0) > 0) {
+                throw new IllegalStateException("db down");
+            }
+            for (XxlJobLog jobLog : list) {
+                if (jobLog.getId() == blockLogId.get()) {
+                    blockStarted.countDown();
+                    blockRelease.await(10, TimeUnit.SECONDS);
+                }
+            }
+            for (XxlJobLog jobLog : list) {
+                db.put(jobLog.getId(), copy(jobLog));
+            }
+            insertCount.incrementAndGet();
+            return list.size();
+        });
+        Mockito.when(logMapper.updateHandleInfoBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            List<XxlJobLog> list = invocation.getArgument(0);
+            int ret = 0;
+            for (XxlJobLog jobLog : list) {
+                XxlJobLog row = db.get(jobLog.getId());
+                if (row == null) {
+                    lostUpdateCount.incrementAndGet();
+                    continue;
+                }
+                row.setHandleTime(jobLog.getHandleTime());
+                row.setHandleCode(jobLog.getHandleCode());
+                row.setHandleMsg(jobLog.getHandleMsg());
+                ret++;
+            }
+            updateCount.incrementAndGet();
+            return ret;
+        });
+        Mockito.when(logMapper.updateTriggerInfoBatch(Mockito.anyList())).thenAnswer(invocation -> {
+            updateCount.incrementAndGet();
+            return 0;
+        });
+
+        XxlJobAdminBootstrap bootstrap = new XxlJobAdminBootstrap();
+        ReflectionTestUtils.setField(bootstrap, "xxlJobLogMapper", logMapper);
+        ReflectionTestUtils.setField(bootstrap, "xxlJobLogRunningMapper", Mockito.mock(XxlJobLogRunningMapper.class));
+        ReflectionTestUtils.setField(bootstrap, "xxlJobLogAlarmMapper", Mockito.mock(XxlJobLogAlarmMapper.class));
+        ReflectionTestUtils.setField(XxlJobAdminBootstrap.class, "adminConfig", bootstrap);
+
+        writeHelper = new JobLogWriteHelper();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(XxlJobAdminBootstrap.class, "adminConfig", null);
+    }
+
+    @Test
+    public void mergeTest() {
+        writeHelper.save(newLog(1));
+        writeHelper.save(newLog(2));
+        writeHelper.updateHandleInfo(handledLog(1, 200));
+
+        // insert carry handle-info, one statement
+        Assertions.assertEquals(2, writeHelper.getPendingSize());
+        Assertions.assertTrue(writeHelper.isHandleInfoPending(1));
+        Assertions.assertTrue(writeHelper.isPending(2));
+        Assertions.assertFalse(writeHelper.isPending(3));
+        writeHelper.flush();
+
+        Assertions.assertEquals(0, writeHelper.getPendingSize());
+        Assertions.assertFalse(writeHelper.isPending(1));
+        Assertions.assertEquals(1, insertCount.get());
+        Assertions.assertEquals(0, updateCount.get());
+        Assertions.assertEquals(200, db.get(1L).getHandleCode());
+        Assertions.assertEquals(0, db.get(2L).getHandleCode());
+    }
+
+    @Test
+    public void giveBackTest() {
+        insertFailCount.set(1);
+        writeHelper.save(newLog(1));
+        writeHelper.flush();
+
+        // write fail given back, later write merged
+        Assertions.assertTrue(db.isEmpty());
+        Assertions.assertEquals(1, writeHelper.getPendingSize());
+        writeHelper.updateHandleInfo(handledLog(1, 500));
+        Assertions.assertEquals(1, writeHelper.getPendingSize());
+
+        writeHelper.flush();
+        Assertions.assertEquals(0, writeHelper.getPendingSize());
+        Assertions.assertEquals(500, db.get(1L).getHandleCode());
+        Assertions.assertEquals(0, updateCount.get());
+    }
+
+    @Test
+    public void backpressureOrderTest() throws Exception {
+        // pending full
+        List<XxlJobLog> fillList = new ArrayList<>();
+        for (long logId = 1; logId <= JobLogWriteHelper.MAX_PENDING; logId++) {
+            fillList.add(newLog(logId));
+        }
+        writeHelper.saveBatch(fillList);
+        Assertions.assertEquals(JobLogWriteHelper.MAX_PENDING, writeHelper.getPendingSize());
+
+        // insert written directly by writer, block in db
+        long logId = JobLogWriteHelper.MAX_PENDING + 1;
+        blockLogId.set(logId);
+        blockStarted = new CountDownLatch(1);
+        blockRelease = new CountDownLatch(1);
+        Thread writer = new Thread(() -> writeHelper.save(newLog(logId)));
+        writer.start();
+        Assertions.assertTrue(blockStarted.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, writeHelper.getBackpressureCount());
+
+        // update while insert in direct writing, kept pending and not flushed before insert
+        writeHelper.updateHandleInfo(handledLog(logId, 200));
+        Assertions.assertTrue(writeHelper.isHandleInfoPending(logId));
+        writeHelper.flush();
+        Assertions.assertEquals(1, writeHelper.getPendingSize());
+        Assertions.assertEquals(JobLogWriteHelper.MAX_PENDING, db.size());
+        Assertions.assertEquals(0, lostUpdateCount.get());
+
+        // insert done, update flushed after it
+        blockRelease.countDown();
+        writer.join(10 * 1000);
+        writeHelper.flush();
+        Assertions.assertEquals(0, writeHelper.getPendingSize());
+        Assertions.assertEquals(200, db.get(logId).getHandleCode());
+        Assertions.assertEquals(0, lostUpdateCount.get());
+        Assertions.assertEquals(1, writeHelper.getBackpressureCount());
+    }
+
+    private static XxlJobLog newLog(long logId) {
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(logId);
+        jobLog.setJobGroup(1);
+        jobLog.setJobId(1);
+        return jobLog;
+    }
+
+    private static XxlJobLog handledLog(long logId, int handleCode) {
+        XxlJobLog jobLog = newLog(logId);
+        jobLog.setHandleCode(handleCode);
+        jobLog.setHandleMsg("handled");
+        return jobLog;
+    }
+
+    private static XxlJobLog copy(XxlJobLog source) {
+        XxlJobLog target = newLog(source.getId());
+        target.setHandleCode(source.getHandleCode());
+        target.setHandleMsg(source.getHandleMsg());
+        return target;
+    }
+
+}
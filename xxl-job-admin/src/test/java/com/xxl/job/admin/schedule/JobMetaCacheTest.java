@@ -0,0 +1,175 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.mapper.XxlJobGroupMapper;
+import com.xxl.job.admin.mapper.XxlJobInfoMapper;
+import com.xxl.job.admin.model.XxlJobGroup;
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.scheduler.cache.JobMetaCache;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * job meta cache, by stub job and group mapper
+ */
+public class JobMetaCacheTest {
+
+    private final Map<Integer, String> jobDb = new ConcurrentHashMap<>();
+    private final Map<Integer, String> groupDb = new ConcurrentHashMap<>();
+    private final AtomicInteger jobLoadCount = new AtomicInteger();
+    private final AtomicInteger groupLoadCount = new AtomicInteger();
+    private volatile Runnable duringLoad;
+
+    private JobMetaCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        XxlJobInfoMapper jobMapper = Mockito.mock(XxlJobInfoMapper.class);
+        Mockito.when(jobMapper.loadById(Mockito.anyInt())).thenAnswer(invocation -> {
+            int jobId = invocation.getArgument(0);
+            jobLoadCount.incrementAndGet();
+            String handler = jobDb.get(jobId);
+            if (duringLoad != null) {
+                duringLoad.run();
+            }
+            if (handler == null) {
+                return null;
+            }
+            XxlJobInfo jobInfo = new XxlJobInfo();
+            jobInfo.setId(jobId);
+            jobInfo.setExecutorHandler(handler);
+            return jobInfo;
+        });
+        XxlJobGroupMapper groupMapper = Mockito.mock(XxlJobGroupMapper.class);
+        Mockito.when(groupMapper.load(Mockito.anyInt())).thenAnswer(invocation -> {
+            int groupId = invocation.getArgument(0);
+            groupLoadCount.incrementAndGet();
+            String addressList = groupDb.get(groupId);
+            if (duringLoad != null) {
+                duringLoad.run();
+            }
+            if (addressList == null) {
+                return null;
+            }
+            return newGroup(groupId, addressList);
+        });
+
+        XxlJobAdminBootstrap bootstrap = new XxlJobAdminBootstrap();
+        ReflectionTestUtils.setField(bootstrap, "xxlJobInfoMapper", jobMapper);
+        ReflectionTestUtils.setField(bootstrap, "xxlJobGroupMapper", groupMapper);
+        ReflectionTestUtils.setField(XxlJobAdminBootstrap.class, "adminConfig", bootstrap);
+
+        cache = new JobMetaCache();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(XxlJobAdminBootstrap.class, "adminConfig", null);
+    }
+
+    @Test
+    public void loadAndInvalidateTest() {
+        jobDb.put(1, "v1");
+
+        // loaded once, then from cache
+        Assertions.assertEquals("v1", cache.loadJob(1).getExecutorHandler());
+        Assertions.assertEquals("v1", cache.loadJob(1).getExecutorHandler());
+        Assertions.assertEquals(1, jobLoadCount.get());
+
+        // changed in db, invalidated, loaded again
+        jobDb.put(1, "v2");
+        Assertions.assertEquals("v1", cache.loadJob(1).getExecutorHandler());
+        cache.invalidateJob(1);
+        Assertions.assertEquals("v2", cache.loadJob(1).getExecutorHandler());
+        Assertions.assertEquals(2, jobLoadCount.get());
+
+        // removed in db
+        jobDb.remove(1);
+        cache.invalidateJob(1);
+        Assertions.assertNull(cache.loadJob(1));
+        Assertions.assertEquals(0, cache.jobSize());
+    }
+
+    @Test
+    public void versionTest() {
+        // put of stale load (started before invalidate) skipped
+        jobDb.put(1, "v1");
+        long loadVersion = cache.version();
+        XxlJobInfo staleJob = new XxlJobInfo();
+        staleJob.setId(1);
+        staleJob.setExecutorHandler("stale");
+        cache.invalidateJob(1);
+        cache.putJob(staleJob, loadVersion);
+        Assertions.assertEquals(0, cache.jobSize());
+        Assertions.assertEquals("v1", cache.loadJob(1).getExecutorHandler());
+
+        // put of fresh load cached
+        XxlJobInfo freshJob = new XxlJobInfo();
+        freshJob.setId(2);
+        freshJob.setExecutorHandler("fresh");
+        cache.putJob(freshJob, cache.version());
+        Assertions.assertEquals("fresh", cache.loadJob(2).getExecutorHandler());
+        Assertions.assertEquals(1, jobLoadCount.get());
+
+        // invalidated during db load, loaded value returned but not cached
+        jobDb.put(3, "v1");
+        duringLoad = () -> cache.invalidateJob(3);
+        Assertions.assertEquals("v1", cache.loadJob(3).getExecutorHandler());
+        duringLoad = null;
+        jobDb.put(3, "v2");
+        Assertions.assertEquals("v2", cache.loadJob(3).getExecutorHandler());
+
+        // group, same
+        groupDb.put(1, "http://a");
+        duringLoad = () -> cache.invalidateGroup(1);
+        Assertions.assertEquals("http://a", cache.loadGroup(1).getAddressList());
+        duringLoad = null;
+        groupDb.put(1, "http://b");
+        Assertions.assertEquals("http://b", cache.loadGroup(1).getAddressList());
+        Assertions.assertEquals(2, groupLoadCount.get());
+    }
+
+    @Test
+    public void copyTest() {
+        jobDb.put(1, "v1");
+        groupDb.put(1, "http://a,http://b");
+
+        // caller modify return value (cover param, cover address), cache not changed
+        XxlJobInfo jobInfo = cache.loadJob(1);
+        jobInfo.setExecutorParam("cover");
+        jobInfo.setExecutorHandler("cover");
+        Assertions.assertEquals("v1", cache.loadJob(1).getExecutorHandler());
+        Assertions.assertNull(cache.loadJob(1).getExecutorParam());
+
+        XxlJobGroup group = cache.loadGroup(1);
+        Assertions.assertEquals(2, group.getRegistryList().size());
+        group.setAddressType(1);
+        group.setAddressList("http://c");
+        Assertions.assertEquals(1, group.getRegistryList().size());
+        Assertions.assertEquals("http://a,http://b", cache.loadGroup(1).getAddressList());
+        Assertions.assertEquals(2, cache.loadGroup(1).getRegistryList().size());
+        Assertions.assertEquals(0, cache.loadGroup(1).getAddressType());
+        Assertions.assertEquals(1, groupLoadCount.get());
+
+        // put fresh group (registry refresh), replace cached
+        cache.putGroup(newGroup(1, "http://d"));
+        Assertions.assertEquals("http://d", cache.loadGroup(1).getAddressList());
+        Assertions.assertEquals(1, groupLoadCount.get());
+    }
+
+    private static XxlJobGroup newGroup(int groupId, String addressList) {
+        XxlJobGroup group = new XxlJobGroup();
+        group.setId(groupId);
+        group.setAddressList(addressList);
+        return group;
+    }
+
+}
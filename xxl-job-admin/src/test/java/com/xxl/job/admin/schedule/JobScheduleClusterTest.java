@@ -0,0 +1,146 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.admin.scheduler.thread.JobScheduleClusterHelper;
+import com.xxl.job.admin.scheduler.thread.JobScheduleIndexHelper;
+import com.xxl.tool.core.DateTool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * multi admin (in-process) against one db
+ */
+@SpringBootTest
+public class JobScheduleClusterTest {
+    private static Logger logger = LoggerFactory.getLogger(JobScheduleClusterTest.class);
+
+    @Test
+    public void assignPartitionTest() {
+        List<String> adminList = Arrays.asList("127.0.0.1:18081", "127.0.0.1:18082", "127.0.0.1:18083");
+
+        Set<Integer> allPartition = new HashSet<>();
+        for (String address : adminList) {
+            List<Integer> partitionList = JobScheduleClusterHelper.assignPartition(adminList, address);
+            for (Integer partition : partitionList) {
+                Assertions.assertTrue(allPartition.add(partition), "partition assigned repeat: " + partition);
+            }
+        }
+        Assertions.assertEquals(JobScheduleClusterHelper.PARTITION_COUNT, allPartition.size());
+
+        Assertions.assertTrue(JobScheduleClusterHelper.assignPartition(adminList, "127.0.0.1:18084").isEmpty());
+    }
+
+    @Test
+    public void rebalanceTest() {
+        List<JobScheduleClusterHelper> helperList = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            JobScheduleClusterHelper helper = new JobScheduleClusterHelper("127.0.0.1:1808" + i);
+            helper.start();
+            helperList.add(helper);
+        }
+        try {
+            // fresh after all admin registry
+            for (JobScheduleClusterHelper helper : helperList) {
+                helper.refresh();
+            }
+            assertPartitionCover(helperList);
+
+            // admin leave, rebalance
+            JobScheduleClusterHelper leaveHelper = helperList.remove(2);
+            leaveHelper.stop();
+            Assertions.assertTrue(leaveHelper.getPartitionList().isEmpty());
+            for (JobScheduleClusterHelper helper : helperList) {
+                helper.refresh();
+                Assertions.assertFalse(helper.getAdminList().contains(leaveHelper.getAddress()));
+            }
+            assertPartitionCover(helperList);
+
+            // schedule index of each admin (owned partition), disjoint
+            Set<Integer> jobIdSet = new HashSet<>();
+            for (JobScheduleClusterHelper helper : helperList) {
+                for (Integer jobId : findDue(helper.getPartitionList())) {
+                    Assertions.assertTrue(jobIdSet.add(jobId), "job scheduled by multi admin: " + jobId);
+                    Assertions.assertTrue(helper.getPartitionList().contains(jobId % JobScheduleClusterHelper.PARTITION_COUNT));
+                }
+            }
+            Assertions.assertEquals(findDue(null).size(), jobIdSet.size());
+        } finally {
+            for (JobScheduleClusterHelper helper : helperList) {
+                helper.stop();
+            }
+        }
+    }
+
+    @Test
+    public void partitionLockTest() throws InterruptedException {
+        List<String> adminList = Arrays.asList("127.0.0.1:18081", "127.0.0.1:18082");
+        for (int i = 0; i < JobScheduleClusterHelper.PARTITION_COUNT; i++) {
+            XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().scheduleLockInit(JobScheduleClusterHelper.makeLockName(i));
+        }
+
+        // admins hold disjoint partition lock, not blocked by each other
+        CountDownLatch countDownLatch = new CountDownLatch(adminList.size());
+        long start = System.currentTimeMillis();
+        for (String address : adminList) {
+            new Thread(() -> {
+                try {
+                    lockTest(address, JobScheduleClusterHelper.assignPartition(adminList, address));
+                } finally {
+                    countDownLatch.countDown();
+                }
+            }).start();
+        }
+        countDownLatch.await();
+        long cost = System.currentTimeMillis() - start;
+        logger.info("partition lock cost: {}", cost);
+        Assertions.assertTrue(cost < 500 * adminList.size());
+    }
+
+    private void lockTest(String address, List<Integer> partitionList) {
+        List<String> lockNameList = new ArrayList<>();
+        for (Integer partition : partitionList) {
+            lockNameList.add(JobScheduleClusterHelper.makeLockName(partition));
+        }
+
+        TransactionStatus transactionStatus = XxlJobAdminBootstrap.getInstance().getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+        try {
+            List<String> lockedList = XxlJobAdminBootstrap.getInstance().getXxlJobLockMapper().schedulePartitionLock(lockNameList); // for update
+            Assertions.assertEquals(lockNameList.size(), lockedList.size());
+
+            logger.info(address + " : start at " + DateTool.format(new Date(), "yyyy-MM-dd HH:mm:ss SSS") );
+            TimeUnit.MILLISECONDS.sleep(500);
+            logger.info(address + " : end at " + DateTool.format(new Date(), "yyyy-MM-dd HH:mm:ss SSS") );
+        } catch (InterruptedException e) {
+            logger.error("error: ",  e);
+        } finally {
+            XxlJobAdminBootstrap.getInstance().getTransactionManager().commit(transactionStatus);
+        }
+    }
+
+    private List<Integer> findDue(List<Integer> partitionList) {
+        JobScheduleIndexHelper index = new JobScheduleIndexHelper();
+        index.sync(JobScheduleClusterHelper.PARTITION_COUNT, partitionList);
+        return index.findDue(Long.MAX_VALUE, 10000, JobScheduleClusterHelper.PARTITION_COUNT, partitionList);
+    }
+
+    private void assertPartitionCover(List<JobScheduleClusterHelper> helperList) {
+        Set<Integer> allPartition = new HashSet<>();
+        for (JobScheduleClusterHelper helper : helperList) {
+            Assertions.assertEquals(helperList.size(), helper.getAdminList().size());
+            for (Integer partition : helper.getPartitionList()) {
+                Assertions.assertTrue(allPartition.add(partition), "partition owned by multi admin: " + partition);
+            }
+        }
+        Assertions.assertEquals(JobScheduleClusterHelper.PARTITION_COUNT, allPartition.size());
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.constant.TriggerStatus;
+import com.xxl.job.admin.scheduler.thread.JobScheduleIndexHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class JobScheduleIndexHelperTest {
+
+    private static final int RUNNING = TriggerStatus.RUNNING.getValue();
+    private static final int STOPPED = TriggerStatus.STOPPED.getValue();
+
+    @Test
+    public void findDueTest() {
+        JobScheduleIndexHelper index = new JobScheduleIndexHelper();
+        index.put(1, RUNNING, 3000);
+        index.put(2, RUNNING, 1000);
+        index.put(3, RUNNING, 2000);
+        index.put(4, RUNNING, 9000);
+        index.put(5, STOPPED, 1000);
+
+        // order by next trigger time, not due and stopped excluded
+        Assertions.assertEquals(Arrays.asList(2, 3, 1), index.findDue(5000, 100, 64, null));
+        Assertions.assertEquals(Arrays.asList(2, 3), index.findDue(5000, 2, 64, null));
+        Assertions.assertEquals(4, index.size());
+
+        // update and remove, old entry skipped
+        index.put(2, RUNNING, 8000);
+        index.put(3, STOPPED, 0);
+        index.remove(1);
+        Assertions.assertTrue(index.findDue(5000, 100, 64, null).isEmpty());
+        Assertions.assertEquals(Arrays.asList(2, 4), index.findDue(9000, 100, 64, null));
+    }
+
+    @Test
+    public void partitionTest() {
+        JobScheduleIndexHelper index = new JobScheduleIndexHelper();
+        for (int jobId = 1; jobId <= 10; jobId++) {
+            index.put(jobId, RUNNING, 1000 + jobId);
+        }
+
+        List<Integer> dueList = index.findDue(5000, 100, 2, Arrays.asList(0));
+        Assertions.assertEquals(Arrays.asList(2, 4, 6, 8, 10), dueList);
+        Assertions.assertTrue(index.findDue(5000, 100, 2, Arrays.asList()).isEmpty());
+
+        // not owned job removed from index
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(Arrays.asList(2, 4, 6, 8, 10), index.findDue(5000, 100, 2, null));
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.model.XxlJobGroup;
+import com.xxl.job.admin.model.XxlJobInfo;
+import com.xxl.job.admin.scheduler.cache.JobMetaCache;
+import com.xxl.job.admin.scheduler.client.ExecutorTriggerCoalescer;
+import com.xxl.job.admin.scheduler.config.XxlJobAdminBootstrap;
+import com.xxl.job.admin.scheduler.route.ExecutorRouteStrategyEnum;
+import com.xxl.job.admin.scheduler.thread.JobLogIdHelper;
+import com.xxl.job.admin.scheduler.thread.JobLogReportHelper;
+import com.xxl.job.admin.scheduler.thread.JobLogWriteHelper;
+import com.xxl.job.admin.scheduler.thread.JobStatHelper;
+import com.xxl.job.admin.scheduler.thread.JobTriggerPoolHelper;
+import com.xxl.job.admin.scheduler.trigger.JobTrigger;
+import com.xxl.job.admin.scheduler.trigger.TriggerTypeEnum;
+import com.xxl.job.admin.util.I18nUtil;
+import com.xxl.job.core.constant.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.openapi.model.TriggerRequest;
+import com.xxl.tool.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * broadcast trigger fan-out, by stub executor result (sync, async, mixed) and stub log writer
+ */
+public class JobTriggerBroadcastTest {
+
+    private static final int PARALLELISM = 3;
+    private static final int SHARD_TOTAL = 40;
+
+    private final Map<Integer, AtomicInteger> triggerCountMap = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final ScheduledExecutorService executorStub = Executors.newScheduledThreadPool(4);
+    private volatile String mode;
+
+    private JobLogWriteHelper jobLogWriteHelper;
+    private JobTriggerPoolHelper jobTriggerPoolHelper;
+    private JobTrigger jobTrigger;
+
+    @BeforeEach
+    public void setUp() {
+        I18nUtil i18nUtil = new I18nUtil();
+        ReflectionTestUtils.setField(i18nUtil, "i18n", "en");
+        ReflectionTestUtils.setField(I18nUtil.class, "single", i18nUtil);
+
+        // job and group
+        JobMetaCache jobMetaCache = Mockito.mock(JobMetaCache.class);
+        Mockito.when(jobMetaCache.loadJob(1)).thenAnswer(invocation -> newJob());
+        Mockito.when(jobMetaCache.loadGroup(1)).thenAnswer(invocation -> {
+            XxlJobGroup group = new XxlJobGroup();
+            group.setId(1);
+            return group;
+        });
+
+        // log id
+        AtomicLong logId = new AtomicLong(0);
+        JobLogIdHelper jobLogIdHelper = Mockito.mock(JobLogIdHelper.class);
+        Mockito.when(jobLogIdHelper.nextId()).thenAnswer(invocation -> logId.incrementAndGet());
+
+        // executor: sync, async, or mixed (odd shard async)
+        ExecutorTriggerCoalescer coalescer = Mockito.mock(ExecutorTriggerCoalescer.class);
+        Mockito.when(coalescer.run(Mockito.anyString(), Mockito.any(TriggerRequest.class))).thenAnswer(invocation -> {
+            TriggerRequest triggerRequest = invocation.getArgument(1);
+            int index = triggerRequest.getBroadcastIndex();
+            triggerCountMap.computeIfAbsent(index, k -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            boolean async = "async".equals(mode) || ("mixed".equals(mode) && index % 2 == 1);
+            if (!async) {
+                inFlight.decrementAndGet();
+                return CompletableFuture.completedFuture(Response.ofSuccess());
+            }
+            CompletableFuture<Response<String>> future = new CompletableFuture<>();
+            executorStub.schedule(() -> {
+                inFlight.decrementAndGet();
+                future.complete(Response.ofSuccess());
+            }, 5, TimeUnit.MILLISECONDS);
+            return future;
+        });
+
+        XxlJobAdminBootstrap bootstrap = new XxlJobAdminBootstrap();
+        jobLogWriteHelper = Mockito.mock(JobLogWriteHelper.class);
+        ReflectionTestUtils.setField(bootstrap, "jobMetaCache", jobMetaCache);
+        ReflectionTestUtils.setField(bootstrap, "jobLogIdHelper", jobLogIdHelper);
+        ReflectionTestUtils.setField(bootstrap, "jobLogWriteHelper", jobLogWriteHelper);
+        ReflectionTestUtils.setField(bootstrap, "jobLogReportHelper", Mockito.mock(JobLogReportHelper.class));
+        ReflectionTestUtils.setField(bootstrap, "jobStatHelper", Mockito.mock(JobStatHelper.class));
+        ReflectionTestUtils.setField(bootstrap, "executorTriggerCoalescer", coalescer);
+        ReflectionTestUtils.setField(bootstrap, "triggerBroadcastParallelism", PARALLELISM);
+        ReflectionTestUtils.setField(XxlJobAdminBootstrap.class, "adminConfig", bootstrap);
+
+        jobTriggerPoolHelper = new JobTriggerPoolHelper();
+        jobTriggerPoolHelper.start();
+        ReflectionTestUtils.setField(bootstrap, "jobTriggerPoolHelper", jobTriggerPoolHelper);
+
+        jobTrigger = new JobTrigger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobTriggerPoolHelper.stop();
+        executorStub.shutdownNow();
+        ReflectionTestUtils.setField(XxlJobAdminBootstrap.class, "adminConfig", null);
+    }
+
+    @Test
+    public void syncTest() throws Exception {
+        broadcast("sync");
+    }
+
+    @Test
+    public void asyncTest() throws Exception {
+        broadcast("async");
+    }
+
+    @Test
+    public void mixedTest() throws Exception {
+        broadcast("mixed");
+    }
+
+    @Test
+    public void rejectedTest() throws Exception {
+        // trigger pool stopped, next shard run by caller (rpc callback thread), not dropped
+        jobTriggerPoolHelper.stop();
+        broadcast("async");
+    }
+
+    private void broadcast(String mode) throws Exception {
+        this.mode = mode;
+        CompletableFuture<Void> future = jobTrigger.trigger(1, TriggerTypeEnum.MANUAL, 0, null, null, addressList());
+        future.get(10, TimeUnit.SECONDS);
+
+        // each shard triggered once, in-flight limited, trigger-info of each shard saved
+        Assertions.assertEquals(SHARD_TOTAL, triggerCountMap.size(), mode);
+        for (int index = 0; index < SHARD_TOTAL; index++) {
+            Assertions.assertEquals(1, triggerCountMap.get(index).get(), mode + ", index:" + index);
+        }
+        Assertions.assertTrue(maxInFlight.get() <= PARALLELISM, mode + ", maxInFlight:" + maxInFlight.get());
+        Assertions.assertEquals(0, inFlight.get(), mode);
+        Mockito.verify(jobLogWriteHelper, Mockito.times(SHARD_TOTAL)).updateTriggerInfo(Mockito.any());
+        if (!"sync".equals(mode)) {
+            Assertions.assertEquals(PARALLELISM, maxInFlight.get(), mode);
+        }
+    }
+
+    private static XxlJobInfo newJob() {
+        XxlJobInfo jobInfo = new XxlJobInfo();
+        jobInfo.setId(1);
+        jobInfo.setJobGroup(1);
+        jobInfo.setExecutorRouteStrategy(ExecutorRouteStrategyEnum.SHARDING_BROADCAST.name());
+        jobInfo.setExecutorBlockStrategy(ExecutorBlockStrategyEnum.SERIAL_EXECUTION.name());
+        jobInfo.setExecutorHandler("demoJobHandler");
+        jobInfo.setGlueType("BEAN");
+        jobInfo.setGlueUpdatetime(new Date());
+        return jobInfo;
+    }
+
+    private static String addressList() {
+        List<String> addressList = new ArrayList<>();
+        for (int i = 0; i < SHARD_TOTAL; i++) {
+            addressList.add("http://127.0.0.1:" + (9000 + i) + "/");
+        }
+        return String.join(",", addressList);
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.xxl.job.admin.schedule;
+
+import com.xxl.job.admin.scheduler.ring.TimingWheel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TimingWheelTest {
+
+    @Test
+    public void fireAtTriggerTimeTest() throws InterruptedException {
+        int count = 200;
+        Map<Integer, Long> fireTimeMap = new ConcurrentHashMap<>();
+        CountDownLatch countDownLatch = new CountDownLatch(count);
+        TimingWheel timingWheel = new TimingWheel("test", jobId -> {
+            fireTimeMap.put(jobId, System.currentTimeMillis());
+            countDownLatch.countDown();
+        });
+        timingWheel.start();
+
+        // spread in 1.5s, cross level-0 round (512ms)
+        long start = System.currentTimeMillis();
+        Map<Integer, Long> triggerTimeMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            long triggerTime = start + 100 + (i * 7L);
+            triggerTimeMap.put(i, triggerTime);
+            timingWheel.add(i, triggerTime);
+        }
+
+        Assertions.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        for (int jobId : triggerTimeMap.keySet()) {
+            long delay = fireTimeMap.get(jobId) - triggerTimeMap.get(jobId);
+            Assertions.assertTrue(delay >= 0 && delay < 50, "jobId=" + jobId + ", delay=" + delay);
+        }
+        Assertions.assertEquals(0, timingWheel.size());
+        timingWheel.stop();
+    }
+
+    @Test
+    public void concurrentAddTest() throws InterruptedException {
+        int threadCount = 8;
+        int countPerThread = 1000;
+        Map<Integer, Integer> fireCountMap = new ConcurrentHashMap<>();
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount * countPerThread);
+        TimingWheel timingWheel = new TimingWheel("test", jobId -> {
+            fireCountMap.merge(jobId, 1, Integer::sum);
+            countDownLatch.countDown();
+        });
+        timingWheel.start();
+
+        long triggerTime = System.currentTimeMillis() + 300;
+        for (int t = 0; t < threadCount; t++) {
+            int base = t * countPerThread;
+            new Thread(() -> {
+                for (int i = 0; i < countPerThread; i++) {
+                    timingWheel.add(base + i, triggerTime + (i % 100));
+                }
+            }).start();
+        }
+
+        Assertions.assertTrue(countDownLatch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(threadCount * countPerThread, fireCountMap.size());
+        timingWheel.stop();
+    }
+
+    @Test
+    public void expiredAndRepeatTest() throws InterruptedException {
+        Map<Integer, Integer> fireCountMap = new ConcurrentHashMap<>();
+        TimingWheel timingWheel = new TimingWheel("test", jobId -> fireCountMap.merge(jobId, 1, Integer::sum));
+        timingWheel.start();
+
+        // expired, fire directly
+        timingWheel.add(1, System.currentTimeMillis() - 1000);
+
+        // repeat push same trigger-time, fire once
+        long triggerTime = System.currentTimeMillis() + 200;
+        timingWheel.add(2, triggerTime);
+        timingWheel.add(2, triggerTime);
+
+        TimeUnit.MILLISECONDS.sleep(500);
+        Assertions.assertEquals(1, fireCountMap.get(1));
+        Assertions.assertEquals(1, fireCountMap.get(2));
+        Assertions.assertEquals(0, timingWheel.size());
+        timingWheel.stop();
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.xxl.job.openapi;
+
+import com.xxl.job.admin.scheduler.client.ExecutorAsyncClient;
+import com.xxl.job.admin.scheduler.client.ExecutorTriggerCoalescer;
+import com.xxl.job.core.constant.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.glue.GlueTypeEnum;
+import com.xxl.job.core.openapi.model.TriggerRequest;
+import com.xxl.job.core.server.EmbedServer;
+import com.xxl.tool.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * executor async client test, against in-process EmbedServer
+ */
+public class ExecutorAsyncClientTest {
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorAsyncClientTest.class);
+
+    private static final int port = 19999;
+    private static final String addressUrl = "http://127.0.0.1:" + port + "/";
+    private static final String accessToken = "default_token";
+
+    private static EmbedServer embedServer;
+    private static ExecutorAsyncClient executorAsyncClient;
+
+    @BeforeAll
+    public static void start() throws Exception {
+        // embed server, appname null means not registry
+        embedServer = new EmbedServer();
+        embedServer.start(addressUrl, port, null, accessToken);
+
+        executorAsyncClient = new ExecutorAsyncClient(accessToken, 3, 1000);
+        executorAsyncClient.start();
+
+        // wait server start
+        for (int i = 0; i < 50; i++) {
+            if (executorAsyncClient.beat(addressUrl).get().isSuccess()) {
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        executorAsyncClient.stop();
+        embedServer.stop();
+    }
+
+    @Test
+    public void beat() throws Exception {
+        Response<String> retval = executorAsyncClient.beat(addressUrl).get(3, TimeUnit.SECONDS);
+        Assertions.assertEquals(200, retval.getCode());
+    }
+
+    @Test
+    public void run() throws Exception {
+        // handler not exists on this executor, fail but returned by executor
+        Response<String> retval = executorAsyncClient.run(addressUrl, buildTriggerRequest(1)).get(3, TimeUnit.SECONDS);
+        Assertions.assertEquals(500, retval.getCode());
+        Assertions.assertTrue(retval.getMsg().contains("not found"), retval.getMsg());
+    }
+
+    @Test
+    public void runInFlight() throws Exception {
+        int count = 1000;
+
+        // submit without waiting
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Response<String>>> futureList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futureList.add(executorAsyncClient.run(addressUrl, buildTriggerRequest(i)));
+        }
+        CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        logger.info("async run, count:{}, cost:{}ms", count, System.currentTimeMillis() - start);
+
+        for (CompletableFuture<Response<String>> future : futureList) {
+            Assertions.assertNotNull(future.get().getMsg());
+        }
+        Assertions.assertEquals(0, executorAsyncClient.inFlight());
+    }
+
+    @Test
+    public void runBatch() throws Exception {
+        List<TriggerRequest> triggerRequestList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            triggerRequestList.add(buildTriggerRequest(i));
+        }
+
+        // one result for each trigger
+        List<Response<String>> resultList = executorAsyncClient.runBatch(addressUrl, triggerRequestList).get(3, TimeUnit.SECONDS);
+        Assertions.assertEquals(triggerRequestList.size(), resultList.size());
+        for (Response<String> result : resultList) {
+            Assertions.assertTrue(result.getMsg().contains("not found"), result.getMsg());
+        }
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        ExecutorTriggerCoalescer coalescer = new ExecutorTriggerCoalescer(executorAsyncClient, 10, 100);
+        coalescer.start();
+        try {
+            int count = 500;
+            List<CompletableFuture<Response<String>>> futureList = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futureList.add(coalescer.run(addressUrl, buildTriggerRequest(i)));
+            }
+            for (CompletableFuture<Response<String>> future : futureList) {
+                Response<String> result = future.get(5, TimeUnit.SECONDS);
+                Assertions.assertTrue(result.getMsg().contains("not found"), result.getMsg());
+            }
+        } finally {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    public void accessTokenWrong() throws Exception {
+        ExecutorAsyncClient client = new ExecutorAsyncClient("wrong_token", 3, 10);
+        client.start();
+        try {
+            Response<String> retval = client.beat(addressUrl).get(3, TimeUnit.SECONDS);
+            Assertions.assertEquals("The access token is wrong.", retval.getMsg());
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    public void addressDown() throws Exception {
+        // fail result, not exception
+        Response<String> retval = executorAsyncClient.beat("http://127.0.0.1:" + (port - 1) + "/").get(5, TimeUnit.SECONDS);
+        Assertions.assertFalse(retval.isSuccess());
+        Assertions.assertEquals(0, executorAsyncClient.inFlight());
+    }
+
+    private TriggerRequest buildTriggerRequest(int jobId) {
+        TriggerRequest triggerParam = new TriggerRequest();
+        triggerParam.setJobId(jobId);
+        triggerParam.setExecutorHandler("asyncClientTestHandler");
+        triggerParam.setExecutorBlockStrategy(ExecutorBlockStrategyEnum.SERIAL_EXECUTION.name());
+        triggerParam.setGlueType(GlueTypeEnum.BEAN.name());
+        triggerParam.setGlueUpdatetime(System.currentTimeMillis());
+        triggerParam.setLogId(jobId);
+        triggerParam.setLogDateTime(System.currentTimeMillis());
+        return triggerParam;
+    }
+
+}
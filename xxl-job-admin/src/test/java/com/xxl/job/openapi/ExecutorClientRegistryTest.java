@@ -0,0 +1,59 @@
+package com.xxl.job.openapi;
+
+import com.xxl.job.admin.scheduler.client.ExecutorClientMetric;
+import com.xxl.job.admin.scheduler.client.ExecutorClientRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ExecutorClientRegistryTest {
+
+    private static final String address = "http://127.0.0.1:9999/";
+
+    @Test
+    public void circuitBreakerTest() throws Exception {
+        ExecutorClientRegistry clientRegistry = new ExecutorClientRegistry("default_token", 3);
+
+        // open after continuous fail
+        for (int i = 0; i < ExecutorClientRegistry.FAIL_THRESHOLD; i++) {
+            Assertions.assertTrue(clientRegistry.allowRequest(address));
+            clientRegistry.recordFailure(address, 10);
+        }
+        Assertions.assertEquals(ExecutorClientRegistry.STATE_OPEN, clientRegistry.state(address));
+        Assertions.assertFalse(clientRegistry.allowRequest(address));
+
+        // sync client fail fast when open
+        Assertions.assertThrows(IllegalStateException.class, () -> clientRegistry.getExecutorBiz(address).beat());
+    }
+
+    @Test
+    public void successResetTest() {
+        ExecutorClientRegistry clientRegistry = new ExecutorClientRegistry("default_token", 3);
+        for (int i = 0; i < ExecutorClientRegistry.FAIL_THRESHOLD - 1; i++) {
+            clientRegistry.recordFailure(address, 10);
+        }
+        clientRegistry.recordSuccess(address, 5);
+        clientRegistry.recordFailure(address, 10);
+        Assertions.assertEquals(ExecutorClientRegistry.STATE_CLOSED, clientRegistry.state(address));
+    }
+
+    @Test
+    public void metricTest() {
+        ExecutorClientRegistry clientRegistry = new ExecutorClientRegistry("default_token", 3);
+        clientRegistry.recordSuccess(address, 10);
+        clientRegistry.recordSuccess(address, 30);
+        clientRegistry.recordFailure(address, 20);
+        clientRegistry.recordFailure(address, 40);
+
+        List<ExecutorClientMetric> metricList = clientRegistry.metrics();
+        Assertions.assertEquals(1, metricList.size());
+        ExecutorClientMetric metric = metricList.get(0);
+        Assertions.assertEquals(4, metric.getRequestCount());
+        Assertions.assertEquals(2, metric.getErrorCount());
+        Assertions.assertEquals(0.5, metric.getErrorRate());
+        Assertions.assertEquals(25, metric.getAvgCostMs());
+        Assertions.assertEquals(40, metric.getMaxCostMs());
+    }
+
+}
@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -317,4 +318,8 @@ public class XxlJobExecutor  {
     public static JobThread loadJobThread(int jobId){
         return jobThreadRepository.get(jobId);
     }
+
+    public static Collection<JobThread> loadJobThreadList(){
+        return jobThreadRepository.values();
+    }
 }
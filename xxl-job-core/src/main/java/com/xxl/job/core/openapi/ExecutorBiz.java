@@ -3,6 +3,8 @@ package com.xxl.job.core.openapi;
 import com.xxl.job.core.openapi.model.*;
 import com.xxl.tool.response.Response;
 
+import java.util.List;
+
 /**
  * Created by xuxueli on 17/3/1.
  */
@@ -29,6 +31,14 @@ public interface ExecutorBiz {
      */
     public Response<String> run(TriggerRequest triggerRequest);
 
+    /**
+     * run batch, each trigger request dispatch to job thread independently
+     *
+     * @param triggerRequestList triggerRequestList
+     * @return response of each trigger request, same order as request
+     */
+    public List<Response<String>> runBatch(List<TriggerRequest> triggerRequestList);
+
     /**
      * kill
      * @param killRequest killRequest
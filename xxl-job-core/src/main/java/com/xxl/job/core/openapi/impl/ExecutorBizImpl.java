@@ -16,7 +16,9 @@ import com.xxl.tool.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Created by xuxueli on 17/3/1.
@@ -178,6 +180,23 @@ public class ExecutorBizImpl implements ExecutorBiz {
         return jobThread.pushTriggerQueue(triggerRequest);
     }
 
+    @Override
+    public List<Response<String>> runBatch(List<TriggerRequest> triggerRequestList) {
+        List<Response<String>> resultList = new ArrayList<>();
+        if (triggerRequestList == null) {
+            return resultList;
+        }
+        for (TriggerRequest triggerRequest : triggerRequestList) {
+            try {
+                resultList.add(run(triggerRequest));
+            } catch (Throwable e) {
+                logger.error(">>>>>>>>>>> xxl-job runBatch error, jobId:{}, logId:{}", triggerRequest.getJobId(), triggerRequest.getLogId(), e);
+                resultList.add(Response.ofFail("run error:" + e.getMessage()));
+            }
+        }
+        return resultList;
+    }
+
     @Override
     public Response<String> kill(KillRequest killRequest) {
         // kill handlerThread, and create new one
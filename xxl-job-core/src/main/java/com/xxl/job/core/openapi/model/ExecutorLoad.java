@@ -0,0 +1,67 @@
+package com.xxl.job.core.openapi.model;
+
+import java.io.Serializable;
+
+/**
+ * executor load, reported with registry beat
+ *
+ * @author xuxueli 2026-10-16
+ */
+public class ExecutorLoad implements Serializable {
+    private static final long serialVersionUID = 42L;
+
+    private int activeThreadCount;      // JobThread running job
+    private int queueSize;              // trigger queued in all JobThread
+    private int bizQueueSize;           // request queued in EmbedServer bizThreadPool
+    private double cpuLoad;             // system load average per processor, -1 if not available
+
+    public ExecutorLoad(){}
+    public ExecutorLoad(int activeThreadCount, int queueSize, int bizQueueSize, double cpuLoad) {
+        this.activeThreadCount = activeThreadCount;
+        this.queueSize = queueSize;
+        this.bizQueueSize = bizQueueSize;
+        this.cpuLoad = cpuLoad;
+    }
+
+    public int getActiveThreadCount() {
+        return activeThreadCount;
+    }
+
+    public void setActiveThreadCount(int activeThreadCount) {
+        this.activeThreadCount = activeThreadCount;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getBizQueueSize() {
+        return bizQueueSize;
+    }
+
+    public void setBizQueueSize(int bizQueueSize) {
+        this.bizQueueSize = bizQueueSize;
+    }
+
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+
+    public void setCpuLoad(double cpuLoad) {
+        this.cpuLoad = cpuLoad;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorLoad{" +
+                "activeThreadCount=" + activeThreadCount +
+                ", queueSize=" + queueSize +
+                ", bizQueueSize=" + bizQueueSize +
+                ", cpuLoad=" + cpuLoad +
+                '}';
+    }
+}
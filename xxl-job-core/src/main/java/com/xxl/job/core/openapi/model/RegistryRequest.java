@@ -11,6 +11,7 @@ public class RegistryRequest implements Serializable {
     private String registryGroup;
     private String registryKey;
     private String registryValue;
+    private ExecutorLoad load;          // executor load, only for beat of executor (null for old executor)
 
     public RegistryRequest(){}
     public RegistryRequest(String registryGroup, String registryKey, String registryValue) {
@@ -43,12 +44,21 @@ public class RegistryRequest implements Serializable {
         this.registryValue = registryValue;
     }
 
+    public ExecutorLoad getLoad() {
+        return load;
+    }
+
+    public void setLoad(ExecutorLoad load) {
+        this.load = load;
+    }
+
     @Override
     public String toString() {
         return "RegistryParam{" +
                 "registryGroup='" + registryGroup + '\'' +
                 ", registryKey='" + registryKey + '\'' +
                 ", registryValue='" + registryValue + '\'' +
+                ", load=" + load +
                 '}';
     }
 }
@@ -21,6 +21,7 @@ import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -33,6 +34,7 @@ public class EmbedServer {
 
     private ExecutorBiz executorBiz;
     private Thread thread;
+    private volatile ThreadPoolExecutor bizThreadPool;
 
     public void start(final String address, final int port, final String appname, final String accessToken) {
         executorBiz = new ExecutorBizImpl();
@@ -42,7 +44,7 @@ public class EmbedServer {
                 // param
                 EventLoopGroup bossGroup = new NioEventLoopGroup();
                 EventLoopGroup workerGroup = new NioEventLoopGroup();
-                ThreadPoolExecutor bizThreadPool = new ThreadPoolExecutor(
+                bizThreadPool = new ThreadPoolExecutor(
                         0,
                         200,
                         60L,
@@ -192,6 +194,9 @@ public class EmbedServer {
                     case "/run":
                         TriggerRequest triggerParam = GsonTool.fromJson(requestData, TriggerRequest.class);
                         return executorBiz.run(triggerParam);
+                    case "/runBatch":
+                        List<TriggerRequest> triggerParamList = GsonTool.fromJsonList(requestData, TriggerRequest.class);
+                        return executorBiz.runBatch(triggerParamList);
                     case "/kill":
                         KillRequest killParam = GsonTool.fromJson(requestData, KillRequest.class);
                         return executorBiz.kill(killParam);
@@ -247,7 +252,7 @@ public class EmbedServer {
 
     public void startRegistry(final String appname, final String address) {
         // start registry
-        ExecutorRegistryThread.getInstance().start(appname, address);
+        ExecutorRegistryThread.getInstance().start(appname, address, bizThreadPool);
     }
 
     public void stopRegistry() {
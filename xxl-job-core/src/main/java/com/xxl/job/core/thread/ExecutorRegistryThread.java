@@ -2,6 +2,7 @@ package com.xxl.job.core.thread;
 
 import com.xxl.job.core.constant.RegistType;
 import com.xxl.job.core.openapi.AdminBiz;
+import com.xxl.job.core.openapi.model.ExecutorLoad;
 import com.xxl.job.core.openapi.model.RegistryRequest;
 import com.xxl.job.core.constant.Const;
 import com.xxl.job.core.executor.XxlJobExecutor;
@@ -9,6 +10,8 @@ import com.xxl.tool.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -25,6 +28,17 @@ public class ExecutorRegistryThread {
     private Thread registryThread;
     private volatile boolean toStop = false;
     public void start(final String appname, final String address){
+        start(appname, address, null);
+    }
+
+    /**
+     * start registry, beat with executor load
+     *
+     * @param appname           appname
+     * @param address           address
+     * @param bizThreadPool     biz thread pool of EmbedServer, for load (nullable)
+     */
+    public void start(final String appname, final String address, final ThreadPoolExecutor bizThreadPool){
 
         // valid
         if (appname==null || appname.trim().length()==0) {
@@ -44,6 +58,7 @@ public class ExecutorRegistryThread {
                 while (!toStop) {
                     try {
                         RegistryRequest registryParam = new RegistryRequest(RegistType.EXECUTOR.name(), appname, address);
+                        registryParam.setLoad(collectLoad(bizThreadPool));
                         for (AdminBiz adminBiz: XxlJobExecutor.getAdminBizList()) {
                             try {
                                 Response<String> registryResult = adminBiz.registry(registryParam);
@@ -112,6 +127,28 @@ public class ExecutorRegistryThread {
         registryThread.start();
     }
 
+    /**
+     * collect executor load, for admin route (LEAST_LOADED)
+     */
+    private ExecutorLoad collectLoad(ThreadPoolExecutor bizThreadPool) {
+        int activeThreadCount = 0;
+        int queueSize = 0;
+        for (JobThread jobThread: XxlJobExecutor.loadJobThreadList()) {
+            if (jobThread.isRunning()) {
+                activeThreadCount++;
+            }
+            queueSize += jobThread.getTriggerQueueSize();
+        }
+        int bizQueueSize = bizThreadPool!=null?bizThreadPool.getQueue().size():0;
+
+        double cpuLoad = -1;
+        double systemLoadAverage = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        if (systemLoadAverage >= 0) {
+            cpuLoad = systemLoadAverage / Runtime.getRuntime().availableProcessors();
+        }
+        return new ExecutorLoad(activeThreadCount, queueSize, bizQueueSize, cpuLoad);
+    }
+
     public void toStop() {
         toStop = true;
 
@@ -79,6 +79,20 @@ public class JobThread extends Thread{
 		this.stopReason = stopReason;
 	}
 
+    /**
+     * is running job now
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * trigger queued, not running yet
+     */
+    public int getTriggerQueueSize() {
+        return triggerQueue.size();
+    }
+
     /**
      * is running job
      */